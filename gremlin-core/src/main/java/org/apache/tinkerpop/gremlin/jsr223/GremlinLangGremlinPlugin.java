@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.jsr223;
+
+import java.util.Collections;
+import java.util.HashSet;
+
+/**
+ * A {@link GremlinPlugin} that provides access to configuration options of the {@link GremlinLangScriptEngine}. This
+ * {@link GremlinPlugin} is not enabled for the {@code ServiceLoader}. It is designed to be instantiated manually.
+ */
+public final class GremlinLangGremlinPlugin extends AbstractGremlinPlugin {
+    private static final String NAME = "tinkerpop.gremlinLang";
+
+    private GremlinLangGremlinPlugin(final Builder builder) {
+        super(NAME, new HashSet<>(Collections.singletonList("gremlin-lang")), new QueryCacheCustomizer(builder.queryCacheMaxSize));
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int queryCacheMaxSize = GremlinLangScriptEngine.DEFAULT_QUERY_CACHE_MAX_SIZE;
+
+        private Builder() {}
+
+        /**
+         * Sets the maximum number of parse trees of scripts held in the cache of the {@link GremlinLangScriptEngine},
+         * after which the least recently used one is evicted. Defaults to
+         * {@link GremlinLangScriptEngine#DEFAULT_QUERY_CACHE_MAX_SIZE} and a value of zero disables the cache.
+         */
+        public Builder queryCacheMaxSize(final int queryCacheMaxSize) {
+            if (queryCacheMaxSize < 0) throw new IllegalArgumentException("queryCacheMaxSize must not be negative");
+            this.queryCacheMaxSize = queryCacheMaxSize;
+            return this;
+        }
+
+        public GremlinLangGremlinPlugin create() {
+            return new GremlinLangGremlinPlugin(this);
+        }
+    }
+}
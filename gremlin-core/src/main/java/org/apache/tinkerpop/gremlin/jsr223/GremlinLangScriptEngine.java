@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.jsr223;
 
 import org.apache.tinkerpop.gremlin.language.grammar.GremlinAntlrToJava;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinParser;
 import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
@@ -32,6 +33,11 @@ import javax.script.ScriptException;
 import javax.script.SimpleBindings;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 /**
  * A {@link GremlinScriptEngine} implementation that evaluates Gremlin scripts using {@code gremlin-language}. As it
@@ -47,10 +53,26 @@ import java.io.Reader;
  * implementation represents the first step to changes in what it means to have a {@link GremlinScriptEngine}. In some
  * sense, there is question why a {@link GremlinScriptEngine} approach is necessary at all except for easily plugging
  * into the existing internals of Gremlin Server or more specifically the {@code GremlinExecutor}.
+ * <p/>
+ * Parse trees of scripts are held in a cache bounded to {@link #DEFAULT_QUERY_CACHE_MAX_SIZE} entries so that a
+ * script that was seen before is only interpreted against the {@link TraversalSource} and not parsed again. The bound
+ * can be changed with the {@link GremlinLangGremlinPlugin}.
  */
 public class GremlinLangScriptEngine extends AbstractScriptEngine implements GremlinScriptEngine {
+
+    /**
+     * The default maximum number of parse trees held in the cache, after which the least recently used one is evicted.
+     */
+    public static final int DEFAULT_QUERY_CACHE_MAX_SIZE = 10000;
+
     private volatile GremlinScriptEngineFactory factory;
 
+    private final int queryCacheMaxSize;
+    private final Map<String, GremlinParser.QueryListContext> queryCache;
+    private final LongAdder queryCacheHits = new LongAdder();
+    private final LongAdder queryCacheMisses = new LongAdder();
+    private final LongAdder queryCacheEvictions = new LongAdder();
+
     /**
      * Creates a new instance using no {@link Customizer}.
      */
@@ -59,6 +81,16 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
     }
 
     public GremlinLangScriptEngine(final Customizer... customizers) {
+        queryCacheMaxSize = Stream.of(customizers).filter(c -> c instanceof QueryCacheCustomizer).
+                map(c -> ((QueryCacheCustomizer) c).getMaxSize()).findFirst().orElse(DEFAULT_QUERY_CACHE_MAX_SIZE);
+        queryCache = Collections.synchronizedMap(new LinkedHashMap<String, GremlinParser.QueryListContext>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, GremlinParser.QueryListContext> eldest) {
+                final boolean evict = size() > queryCacheMaxSize;
+                if (evict) queryCacheEvictions.increment();
+                return evict;
+            }
+        });
     }
 
     @Override
@@ -107,12 +139,88 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
         final GremlinAntlrToJava antlr = new GremlinAntlrToJava((GraphTraversalSource) o);
 
         try {
-            return GremlinQueryParser.parse(script, antlr);
+            return GremlinQueryParser.parse(getParseTree(script), antlr);
         } catch (Exception ex) {
             throw new ScriptException(ex);
         }
     }
 
+    /**
+     * Gets the parse tree of the script from the cache or parses it and caches it. Scripts that fail to parse are
+     * not cached.
+     */
+    private GremlinParser.QueryListContext getParseTree(final String script) {
+        GremlinParser.QueryListContext queryContext = queryCache.get(script);
+        if (queryContext != null) {
+            queryCacheHits.increment();
+        } else {
+            queryCacheMisses.increment();
+            queryContext = GremlinQueryParser.parseTree(script);
+            if (queryCacheMaxSize > 0) queryCache.put(script, queryContext);
+        }
+        return queryContext;
+    }
+
+    /**
+     * Removes all parse trees from the cache.
+     */
+    public void reset() {
+        queryCache.clear();
+    }
+
+    /**
+     * Gets the number of parse trees in the cache.
+     */
+    public long getQueryCacheEstimatedSize() {
+        return queryCache.size();
+    }
+
+    /**
+     * Gets the number of parse trees that were evicted from the cache because it was full.
+     */
+    public long getQueryCacheEvictionCount() {
+        return queryCacheEvictions.longValue();
+    }
+
+    /**
+     * Gets the number of scripts that were found in the cache.
+     */
+    public long getQueryCacheHitCount() {
+        return queryCacheHits.longValue();
+    }
+
+    /**
+     * Gets the ratio of scripts found in the cache to all scripts evaluated, which is {@code 1.0} when no script was
+     * evaluated yet.
+     */
+    public double getQueryCacheHitRate() {
+        final long requestCount = getQueryCacheRequestCount();
+        return requestCount == 0 ? 1.0 : (double) getQueryCacheHitCount() / requestCount;
+    }
+
+    /**
+     * Gets the number of scripts that were not found in the cache and had to be parsed.
+     */
+    public long getQueryCacheMissCount() {
+        return queryCacheMisses.longValue();
+    }
+
+    /**
+     * Gets the ratio of scripts that had to be parsed to all scripts evaluated, which is {@code 0.0} when no script
+     * was evaluated yet.
+     */
+    public double getQueryCacheMissRate() {
+        final long requestCount = getQueryCacheRequestCount();
+        return requestCount == 0 ? 0.0 : (double) getQueryCacheMissCount() / requestCount;
+    }
+
+    /**
+     * Gets the number of scripts evaluated, whether they were found in the cache or not.
+     */
+    public long getQueryCacheRequestCount() {
+        return getQueryCacheHitCount() + getQueryCacheMissCount();
+    }
+
     @Override
     public Object eval(final Reader reader, final ScriptContext context) throws ScriptException {
         return eval(readFully(reader), context);
@@ -34,6 +34,15 @@ public class GremlinQueryParser {
     }
 
     public static Object parse(final String query, final GremlinVisitor<Object> visitor)  {
+        return parse(parseTree(query), visitor);
+    }
+
+    /**
+     * Parses the query to its parse tree without interpreting it. The tree may be kept and interpreted by
+     * {@link #parse(GremlinParser.QueryListContext, GremlinVisitor)} more than once and from more than one thread as
+     * visiting it does not modify it.
+     */
+    public static GremlinParser.QueryListContext parseTree(final String query) {
         final CharStream in = CharStreams.fromString(query);
         final GremlinLexer lexer = new GremlinLexer(in);
         lexer.removeErrorListeners();
@@ -69,6 +78,13 @@ public class GremlinQueryParser {
             }        
         }
 
+        return queryContext;
+    }
+
+    /**
+     * Interprets a parse tree produced by {@link #parseTree(String)} with the visitor.
+     */
+    public static Object parse(final GremlinParser.QueryListContext queryContext, final GremlinVisitor<Object> visitor) {
         try {
             return visitor.visit(queryContext);
         } catch (ClassCastException ex) {
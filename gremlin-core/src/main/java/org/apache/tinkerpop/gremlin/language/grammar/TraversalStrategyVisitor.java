@@ -23,6 +23,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.SpillStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.BatchStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.LazyBarrierStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProductiveByStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.AbstractWarningVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.EdgeLabelVerificationStrategy;
@@ -50,6 +53,10 @@ public class TraversalStrategyVisitor extends DefaultGremlinBaseVisitor<Traversa
                 return ReadOnlyStrategy.instance();
             else if (strategyName.equals(ProductiveByStrategy.class.getSimpleName()))
                 return ProductiveByStrategy.instance();
+            else if (strategyName.equals(SpillStrategy.class.getSimpleName()))
+                return SpillStrategy.instance();
+            else if (strategyName.equals(BatchStrategy.class.getSimpleName()))
+                return BatchStrategy.instance();
         } else if (ctx.getChild(0).getText().equals("new")) {
             final String strategyName = ctx.getChild(1).getText();
             if (strategyName.equals(PartitionStrategy.class.getSimpleName()))
@@ -64,6 +71,14 @@ public class TraversalStrategyVisitor extends DefaultGremlinBaseVisitor<Traversa
                 return new SeedStrategy(Long.parseLong(ctx.integerLiteral().getText()));
             else if (strategyName.equals(ProductiveByStrategy.class.getSimpleName()))
                 return getProductiveByStrategy(ctx.traversalStrategyArgs_ProductiveByStrategy());
+            else if (strategyName.equals(SpillStrategy.class.getSimpleName()))
+                return getSpillStrategy(ctx.traversalStrategyArgs_SpillStrategy());
+            else if (strategyName.equals(LazyBarrierStrategy.class.getSimpleName()))
+                return LazyBarrierStrategy.build().adaptive(null != ctx.booleanLiteral() &&
+                        GenericLiteralVisitor.getBooleanLiteral(ctx.booleanLiteral())).create();
+            else if (strategyName.equals(BatchStrategy.class.getSimpleName()))
+                return null == ctx.integerLiteral() ? BatchStrategy.instance() : BatchStrategy.build().batchSize(
+                        ((Number) GenericLiteralVisitor.getInstance().visitIntegerLiteral(ctx.integerLiteral())).intValue()).create();
         }
         throw new IllegalStateException("Unexpected TraversalStrategy specification - " + ctx.getText());
     }
@@ -153,6 +168,22 @@ public class TraversalStrategyVisitor extends DefaultGremlinBaseVisitor<Traversa
         return builder.create();
     }
 
+    private static SpillStrategy getSpillStrategy(final List<GremlinParser.TraversalStrategyArgs_SpillStrategyContext> ctxs) {
+        final SpillStrategy.Builder builder = SpillStrategy.build();
+        ctxs.forEach(ctx -> {
+            switch (ctx.getChild(0).getText()) {
+                case SpillStrategy.MAX_IN_MEMORY:
+                    builder.maxInMemory(((Number) GenericLiteralVisitor.getInstance().visitIntegerLiteral(ctx.integerLiteral())).intValue());
+                    break;
+                case SpillStrategy.DIRECTORY:
+                    builder.directory(GenericLiteralVisitor.getStringLiteral(ctx.stringBasedLiteral()));
+                    break;
+            }
+        });
+
+        return builder.create();
+    }
+
     private static ProductiveByStrategy getProductiveByStrategy(final GremlinParser.TraversalStrategyArgs_ProductiveByStrategyContext ctx) {
         final ProductiveByStrategy.Builder builder = ProductiveByStrategy.build();
         builder.productiveKeys(Arrays.asList(GenericLiteralVisitor.getStringLiteralList(ctx.stringLiteralList())));
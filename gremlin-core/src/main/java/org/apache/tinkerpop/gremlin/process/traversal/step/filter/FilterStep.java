@@ -24,11 +24,21 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 
+import java.util.NoSuchElementException;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public abstract class FilterStep<S> extends AbstractStep<S, S> {
 
+    /**
+     * The starts taken for batch mode, of which those from {@code startIndex} to {@code startCount} are yet to be
+     * filtered.
+     */
+    private Traverser.Admin<S>[] startBatch;
+    private int startIndex = 0;
+    private int startCount = 0;
+
     public FilterStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -55,5 +65,47 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
         }
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<S>[] batch) {
+        while (true) {
+            if (this.startIndex == this.startCount) {
+                if (null == this.startBatch || this.startBatch.length != batch.length)
+                    this.startBatch = new Traverser.Admin[batch.length];
+                this.startIndex = 0;
+                this.startCount = this.starts.nextBatch(this.startBatch);
+                if (0 == this.startCount)
+                    return 0;
+            }
+            int kept = 0;
+            while (kept < batch.length && this.startIndex < this.startCount) {
+                final Traverser.Admin<S> traverser = this.startBatch[this.startIndex];
+                this.startBatch[this.startIndex++] = null;
+                try {
+                    if (this.filter(traverser) && traverser.bulk() > 0)
+                        batch[kept++] = traverser;
+                } catch (GremlinTypeErrorException ex) {
+                    // same binary reduction from ERROR -> FALSE as processNextStart()
+                    if (!(this instanceof BinaryReductionStep || getTraversal().isRoot()))
+                        throw ex;
+                } catch (final NoSuchElementException e) {
+                    // the start is dropped and ends the batch as it would end hasNext() in processNextStart() while
+                    // the starts after it are filtered in the next batch
+                    if (0 == kept) throw e;
+                    return kept;
+                }
+            }
+            if (kept > 0)
+                return kept;
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.startBatch = null;
+        this.startIndex = 0;
+        this.startCount = 0;
+    }
+
     protected abstract boolean filter(final Traverser.Admin<S> traverser);
 }
@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -34,6 +35,13 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
     private Traverser.Admin<S> head = null;
     private Iterator<E> iterator = EmptyIterator.instance();
 
+    /**
+     * The starts taken in a batch from the previous step in batch mode, which are flat mapped one after the other.
+     */
+    private Traverser.Admin<S>[] heads = null;
+    private int headIndex = 0;
+    private int headCount = 0;
+
     public FlatMapStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -51,6 +59,34 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] batch) {
+        int count = 0;
+        try {
+            while (count < batch.length) {
+                if (this.iterator.hasNext()) {
+                    batch[count++] = this.head.split(this.iterator.next(), this);
+                } else {
+                    closeIterator();
+                    if (this.headIndex == this.headCount) {
+                        if (null == this.heads || this.heads.length != batch.length)
+                            this.heads = new Traverser.Admin[batch.length];
+                        this.headIndex = 0;
+                        this.headCount = this.starts.nextBatch(this.heads);
+                        if (0 == this.headCount)
+                            break;
+                    }
+                    this.head = this.heads[this.headIndex];
+                    this.heads[this.headIndex++] = null;
+                    this.iterator = this.flatMap(this.head);
+                }
+            }
+        } catch (final NoSuchElementException e) {
+            if (0 == count) throw e;
+        }
+        return count;
+    }
+
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
     @Override
@@ -58,6 +94,9 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
         super.reset();
         closeIterator();
         this.iterator = EmptyIterator.instance();
+        this.heads = null;
+        this.headIndex = 0;
+        this.headCount = 0;
     }
 
     protected void closeIterator() {
@@ -31,13 +31,18 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.PartitionedSpill;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,13 +52,19 @@ import java.util.function.BinaryOperator;
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
-        implements ByModulating, TraversalParent, ProfilingAware, Grouping<S, K, V> {
+        implements ByModulating, TraversalParent, ProfilingAware, Grouping<S, K, V>, AutoCloseable {
+
+    private static final int SPILL_PARTITIONS = 32;
 
     private char state = 'k';
     private Traversal.Admin<S, K> keyTraversal;
     private Traversal.Admin<S, V> valueTraversal;
     private Barrier barrierStep;
     private boolean resetBarrierForProfiling = false;
+    private int maxInMemory = Integer.MAX_VALUE;
+    private File spillDirectory = null;
+    private boolean spillable = true;
+    private PartitionedSpill<K, V> spill = null;
 
     public GroupStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -136,6 +147,63 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
         return map;
     }
 
+    @Override
+    public void processAllStarts() {
+        if (Integer.MAX_VALUE == this.maxInMemory) {
+            super.processAllStarts();
+            return;
+        }
+
+        if (this.hasProcessedOnce && !this.starts.hasNext())
+            return;
+        this.hasProcessedOnce = true;
+
+        if (this.seed == NON_EMITTING_SEED)
+            this.seed = getSeedSupplier().get();
+
+        while (this.starts.hasNext()) {
+            this.seed = this.reducingBiOperator.apply(this.seed, this.projectTraverser(this.starts.next()));
+            if (this.seed.size() >= this.maxInMemory && this.spillable)
+                this.spill();
+        }
+    }
+
+    /**
+     * Writes the groups collected so far to their partitions on disk, to be aggregated partition by partition on
+     * output. If they cannot be written, the step stops spilling and keeps everything it collects in memory.
+     */
+    private void spill() {
+        if (null == this.spill) this.spill = new PartitionedSpill<>(this.spillDirectory, SPILL_PARTITIONS);
+        if (this.spill.write(this.seed, this.getTraversal()))
+            this.seed.clear();
+        else
+            this.spillable = false;
+    }
+
+    /**
+     * Sets the number of groups the step may hold in memory before it writes them out to the spill directory, which is
+     * unlimited by default. This only bounds the groups held while they are collected and reduced, as the map that
+     * {@link #generateFinalResult(Map)} returns holds all of them.
+     */
+    public void setMaxInMemory(final int maxInMemory) {
+        this.maxInMemory = maxInMemory;
+    }
+
+    public int getMaxInMemory() {
+        return this.maxInMemory;
+    }
+
+    /**
+     * Sets the directory spilled groups are written to, where {@code null} is the default temporary directory.
+     */
+    public void setSpillDirectory(final File spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    public File getSpillDirectory() {
+        return this.spillDirectory;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.keyTraversal, this.valueTraversal);
@@ -162,9 +230,34 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
             clone.keyTraversal = this.keyTraversal.clone();
         clone.valueTraversal = this.valueTraversal.clone();
         clone.barrierStep = determineBarrierStep(clone.valueTraversal);
+        clone.spillable = true;
+        clone.spill = null;
         return clone;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.closeSpill();
+        this.spillable = true;
+    }
+
+    /**
+     * Deletes the partitions of groups that were spilled to disk and not yet aggregated and closes the {@code by()}
+     * modulators as {@link TraversalParent#close()} would.
+     */
+    @Override
+    public void close() {
+        this.closeSpill();
+        for (final Traversal.Admin<?, ?> traversal : this.getLocalChildren()) {
+            CloseableIterator.closeIterator(traversal);
+        }
+    }
+
+    private void closeSpill() {
+        if (null != this.spill) this.spill.close();
+    }
+
     @Override
     public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
         super.setTraversal(parentTraversal);
@@ -180,9 +273,31 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
         return result;
     }
 
+    /**
+     * Reduces the groups to the map the step returns. Groups that were written out are read back and reduced one
+     * partition at a time, but they all end up in the one map that is returned, which therefore has to fit in memory.
+     */
     @Override
     public Map<K, V> generateFinalResult(final Map<K, V> object) {
-        return doFinalReduction((Map<K, Object>) object, this.valueTraversal);
+        if (null == this.spill || this.spill.isEmpty())
+            return doFinalReduction((Map<K, Object>) object, this.valueTraversal);
+
+        // aggregate a partition at a time, with the groups still in memory coming after the ones written before them
+        final Map<K, V> result = new HashMap<>();
+        for (int i = 0; i < this.spill.getPartitionCount(); i++) {
+            final Map<K, V> partition = new HashMap<>();
+            this.spill.read(i, this.getTraversal(), (k, v) -> this.reducingBiOperator.apply(partition, Collections.singletonMap(k, v)));
+            final Iterator<Map.Entry<K, V>> inMemory = object.entrySet().iterator();
+            while (inMemory.hasNext()) {
+                final Map.Entry<K, V> entry = inMemory.next();
+                if (this.spill.partitionOf(entry.getKey()) == i) {
+                    this.reducingBiOperator.apply(partition, Collections.singletonMap(entry.getKey(), entry.getValue()));
+                    inMemory.remove();
+                }
+            }
+            result.putAll(doFinalReduction((Map<K, Object>) partition, this.valueTraversal));
+        }
+        return result;
     }
 
     ///////////////////////
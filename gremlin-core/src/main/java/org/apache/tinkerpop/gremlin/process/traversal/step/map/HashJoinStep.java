@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.HashJoinStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
+import org.javatuples.Pair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Joins the incoming traversers with the results of a traversal that does not depend on them, pairing each incoming
+ * traverser with every result whose value equals the value of the incoming traverser's {@code probeKey}. The values
+ * are taken through the optional {@code by()}-modulators given for either side. The results of the traversal are
+ * gathered once into a hash table keyed by their value, which each incoming traverser then probes, rather than
+ * running the traversal again for every incoming traverser. The table is kept across resets as the step is only used
+ * where nothing in the traversal mutates the graph.
+ * <p/>
+ * The step is not part of the Gremlin language and is instead put in place by {@link HashJoinStrategy}.
+ */
+public final class HashJoinStep<S, E> extends AbstractStep<S, E> implements TraversalParent, Scoping, PathProcessor {
+
+    private Traversal.Admin<?, E> buildTraversal;
+    private Traversal.Admin<Object, Object> buildBy;
+    private Traversal.Admin<Object, Object> probeBy;
+    private final String probeKey;
+    private Set<String> keepLabels;
+
+    private Map<Object, List<Pair<Object, Traverser.Admin<E>>>> table = null;
+    private Traverser.Admin<S> head = null;
+    private Object probeValue = null;
+    private Iterator<Pair<Object, Traverser.Admin<E>>> matches = EmptyIterator.instance();
+
+    public HashJoinStep(final Traversal.Admin traversal, final Traversal.Admin<?, E> buildTraversal,
+                        final Traversal.Admin<?, ?> buildBy, final String probeKey, final Traversal.Admin<?, ?> probeBy) {
+        super(traversal);
+        this.buildTraversal = this.integrateChild(buildTraversal);
+        this.buildBy = null == buildBy ? null : this.integrateChild(buildBy);
+        this.probeKey = probeKey;
+        this.probeBy = null == probeBy ? null : this.integrateChild(probeBy);
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() {
+        if (null == this.table)
+            this.buildTable();
+        while (true) {
+            while (this.matches.hasNext()) {
+                final Pair<Object, Traverser.Admin<E>> match = this.matches.next();
+                if (Compare.eq.test(match.getValue0(), this.probeValue)) {
+                    final Traverser.Admin<E> traverser = this.head.split(match.getValue1().get(), this);
+                    traverser.setBulk(this.head.bulk() * match.getValue1().bulk());
+                    return PathProcessor.processTraverserPathLabels(traverser, this.keepLabels);
+                }
+            }
+            this.head = this.starts.next();
+            final TraversalProduct product = TraversalUtil.produce((Object) this.getSafeScopeValue(Pop.last, this.probeKey, this.head), this.probeBy);
+            if (product.isProductive()) {
+                this.probeValue = product.get();
+                this.matches = this.table.getOrDefault(hashKey(this.probeValue), Collections.emptyList()).iterator();
+            } else {
+                this.probeValue = null;
+                this.matches = EmptyIterator.instance();
+            }
+        }
+    }
+
+    private void buildTable() {
+        this.table = new HashMap<>();
+        while (this.buildTraversal.hasNext()) {
+            final Traverser.Admin<E> traverser = this.buildTraversal.nextTraverser();
+            final TraversalProduct product = TraversalUtil.produce((Object) traverser.get(), this.buildBy);
+            if (product.isProductive())
+                this.table.computeIfAbsent(hashKey(product.get()), k -> new ArrayList<>()).add(Pair.with(product.get(), traverser));
+        }
+    }
+
+    /**
+     * Gets a key under which all values that are {@link Compare#eq} to one another hash alike. Numbers are keyed by
+     * their {@code double} value, which can put unequal numbers together but never splits equal ones, given that the
+     * matches are tested with {@link Compare#eq} anyway.
+     */
+    private static Object hashKey(final Object value) {
+        if (value instanceof Number) {
+            final double d = ((Number) value).doubleValue();
+            return 0.0d == d ? 0.0d : d;
+        }
+        return value;
+    }
+
+    public Traversal.Admin<?, E> getBuildTraversal() {
+        return this.buildTraversal;
+    }
+
+    public String getProbeKey() {
+        return this.probeKey;
+    }
+
+    @Override
+    public List<Traversal.Admin<?, E>> getGlobalChildren() {
+        return Collections.singletonList(this.buildTraversal);
+    }
+
+    @Override
+    public List<Traversal.Admin<Object, Object>> getLocalChildren() {
+        final List<Traversal.Admin<Object, Object>> children = new ArrayList<>(2);
+        if (null != this.buildBy)
+            children.add(this.buildBy);
+        if (null != this.probeBy)
+            children.add(this.probeBy);
+        return children;
+    }
+
+    @Override
+    public void replaceLocalChild(final Traversal.Admin<?, ?> oldTraversal, final Traversal.Admin<?, ?> newTraversal) {
+        if (null != this.buildBy && this.buildBy.equals(oldTraversal))
+            this.buildBy = this.integrateChild(newTraversal);
+        if (null != this.probeBy && this.probeBy.equals(oldTraversal))
+            this.probeBy = this.integrateChild(newTraversal);
+    }
+
+    @Override
+    public Set<String> getScopeKeys() {
+        return Collections.singleton(this.probeKey);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements(TraverserRequirement.OBJECT, TraverserRequirement.SIDE_EFFECTS);
+    }
+
+    @Override
+    public void setKeepLabels(final Set<String> keepLabels) {
+        this.keepLabels = new HashSet<>(keepLabels);
+    }
+
+    @Override
+    public Set<String> getKeepLabels() {
+        return this.keepLabels;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.head = null;
+        this.probeValue = null;
+        this.matches = EmptyIterator.instance();
+    }
+
+    @Override
+    public HashJoinStep<S, E> clone() {
+        final HashJoinStep<S, E> clone = (HashJoinStep<S, E>) super.clone();
+        clone.buildTraversal = this.buildTraversal.clone();
+        clone.buildBy = null == this.buildBy ? null : this.buildBy.clone();
+        clone.probeBy = null == this.probeBy ? null : this.probeBy.clone();
+        clone.table = null;
+        clone.head = null;
+        clone.probeValue = null;
+        clone.matches = EmptyIterator.instance();
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.buildTraversal);
+        if (null != this.buildBy)
+            this.integrateChild(this.buildBy);
+        if (null != this.probeBy)
+            this.integrateChild(this.probeBy);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.buildTraversal, this.buildBy, this.probeKey, this.probeBy);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.buildTraversal.hashCode() ^ Objects.hashCode(this.buildBy) ^
+                this.probeKey.hashCode() ^ Objects.hashCode(this.probeBy);
+    }
+}
@@ -24,25 +24,33 @@ import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.AndStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConnectiveStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.CardinalityEstimator;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.PathUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
@@ -53,6 +61,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -754,7 +763,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
                 Collections.sort(this.bundles,
                         Comparator.<Bundle>comparingLong(b -> Helper.getStartLabels(b.traversal).stream().filter(startLabel -> !lastLabels.contains(startLabel)).count()).
                                 thenComparingInt(b -> b.traversalType.ordinal()).
-                                thenComparingDouble(b -> b.multiplicity));
+                                thenComparingDouble(this::getCost));
             }
 
             Bundle startLabelsBundle = null;
@@ -780,11 +789,23 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             this.getBundle(traversal).incrementEndCount();
             if (!this.onComputer) {  // if on computer, sort on a per traverser-basis with bias towards local star graph
                 if (this.counter < 200 || this.counter % 250 == 0) // aggressively sort for the first 200 results -- after that, sort every 250
-                    Collections.sort(this.bundles, Comparator.<Bundle>comparingInt(b -> b.traversalType.ordinal()).thenComparingDouble(b -> b.multiplicity));
+                    this.sortBundles();
                 this.counter++;
             }
         }
 
+        protected void sortBundles() {
+            Collections.sort(this.bundles, Comparator.<Bundle>comparingInt(b -> b.traversalType.ordinal()).thenComparingDouble(this::getCost));
+        }
+
+        /**
+         * The cost of trying the pattern of the {@link Bundle} next, where lower costs go first. By default this is
+         * the number of results the pattern produced per traverser that started it so far.
+         */
+        protected double getCost(final Bundle bundle) {
+            return bundle.multiplicity;
+        }
+
         protected Bundle getBundle(final Traversal.Admin<Object, Object> traversal) {
             for (final Bundle bundle : this.bundles) {
                 if (bundle.traversal == traversal)
@@ -815,4 +836,72 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             }
         }
     }
+
+    /**
+     * A {@link CountMatchAlgorithm} that orders the patterns by their estimated cost until they have been tried often
+     * enough for their runtime counts to say more. The estimate of a pattern is the number of results it is expected
+     * to produce per traverser that starts it, which is derived from its steps and the {@link CardinalityEstimator}
+     * that the graph supplies. Selective patterns thus go first from the very first traverser onwards rather than
+     * only once the counts have settled.
+     */
+    public static class CostMatchAlgorithm extends CountMatchAlgorithm {
+
+        /**
+         * The number of traversers that must have started a pattern before its runtime counts replace its estimate.
+         */
+        protected static final long MIN_STARTS_COUNT = 100L;
+
+        private static final double FILTER_SELECTIVITY = 0.5d;
+
+        protected Map<Traversal.Admin<Object, Object>, Double> estimates;
+
+        @Override
+        public void initialize(final boolean onComputer, final List<Traversal.Admin<Object, Object>> traversals) {
+            super.initialize(onComputer, traversals);
+            final CardinalityEstimator estimator = traversals.isEmpty() ?
+                    CardinalityEstimator.DEFAULT :
+                    traversals.get(0).getGraph().map(CardinalityEstimator::of).orElse(CardinalityEstimator.DEFAULT);
+            this.estimates = new IdentityHashMap<>();
+            for (final Traversal.Admin<Object, Object> traversal : traversals) {
+                this.estimates.put(traversal, estimate(traversal, estimator));
+            }
+            this.sortBundles();
+        }
+
+        @Override
+        protected double getCost(final Bundle bundle) {
+            return bundle.startsCount < MIN_STARTS_COUNT ? this.estimates.get(bundle.traversal) : bundle.multiplicity;
+        }
+
+        /**
+         * Estimates the number of results that the given pattern produces per traverser that starts it.
+         */
+        public static double estimate(final Traversal.Admin<?, ?> traversal, final CardinalityEstimator estimator) {
+            double cardinality = 1.0d;
+            // patterns start from vertices in the common case and the steps that walk the graph say what follows
+            Class<? extends Element> elementClass = Vertex.class;
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                if (step instanceof VertexStep) {
+                    final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                    cardinality *= estimator.getAverageDegree(vertexStep.getDirection(), vertexStep.getEdgeLabels());
+                    elementClass = vertexStep.returnsEdge() ? Edge.class : Vertex.class;
+                } else if (step instanceof EdgeVertexStep) {
+                    if (Direction.BOTH == ((EdgeVertexStep) step).getDirection())
+                        cardinality *= 2.0d;
+                    elementClass = Vertex.class;
+                } else if (step instanceof EdgeOtherVertexStep) {
+                    elementClass = Vertex.class;
+                } else if (step instanceof HasContainerHolder) {
+                    for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                        cardinality *= estimator.getSelectivity(elementClass, hasContainer);
+                    }
+                } else if (step instanceof FilterStep) {
+                    cardinality *= FILTER_SELECTIVITY;
+                } else if (step instanceof FlatMapStep) {
+                    cardinality *= CardinalityEstimator.DEFAULT_AVERAGE_DEGREE;
+                }
+            }
+            return cardinality;
+        }
+    }
 }
@@ -33,27 +33,54 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
+ * A barrier that gathers up to {@code maxBarrierSize} unique traversers so that they bulk before they move on to the
+ * next step. An adaptive barrier, as inserted by {@code LazyBarrierStrategy} when it is configured to be
+ * {@code adaptive}, starts at that size and resizes itself after each fill by how well the traversers bulked. It
+ * doubles its size, up to four times the starting size, while at least half of the traversers merge and halves it
+ * again, down to the starting size, when fewer do. It lets traversers pass straight through for a while when almost
+ * none of them merge, checking again with a full barrier every so often in case that changes.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S> {
 
+    private static final int MIN_SAMPLE_SIZE = 64;
+    private static final int MAX_GROWTH = 4;
+    private static final int MAX_BYPASS_FILLS = 64;
+
     private int maxBarrierSize;
     private TraverserSet<S> barrier;
 
+    private final boolean adaptive;
+    private int barrierSize;
+    private int bypass = 0;
+    private int bypassFills = 1;
+
     public NoOpBarrierStep(final Traversal.Admin traversal) {
         this(traversal, Integer.MAX_VALUE);
     }
 
     public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize) {
+        this(traversal, maxBarrierSize, false);
+    }
+
+    public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize, final boolean adaptive) {
         super(traversal);
         this.maxBarrierSize = maxBarrierSize;
+        this.adaptive = adaptive;
+        this.barrierSize = maxBarrierSize;
         this.barrier = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
     }
 
     @Override
     protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
-        if (this.barrier.isEmpty())
+        if (this.barrier.isEmpty()) {
+            if (this.bypass > 0) {
+                this.bypass--;
+                return this.starts.next();
+            }
             this.processAllStarts();
+        }
         return this.barrier.remove();
     }
 
@@ -64,10 +91,42 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
 
     @Override
     public void processAllStarts() {
-        while ((this.maxBarrierSize == Integer.MAX_VALUE || this.barrier.size() < this.maxBarrierSize) && this.starts.hasNext()) {
+        final int size = this.barrier.size();
+        int added = 0;
+        while ((this.barrierSize == Integer.MAX_VALUE || this.barrier.size() < this.barrierSize) && this.starts.hasNext()) {
             final Traverser.Admin<S> traverser = this.starts.next();
             traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
             this.barrier.add(traverser);
+            added++;
+        }
+        if (this.adaptive)
+            this.adapt(added, this.barrier.size() - size);
+    }
+
+    /**
+     * Resizes the barrier by how many of the traversers added in the last fill merged with one another.
+     */
+    private void adapt(final int added, final int unique) {
+        // too few traversers to tell anything from, which is typically the end of the starts
+        if (added < MIN_SAMPLE_SIZE)
+            return;
+
+        if (added >= 2L * unique) {
+            if (this.barrierSize != Integer.MAX_VALUE)
+                this.barrierSize = (int) Math.min(2L * this.barrierSize, (long) MAX_GROWTH * this.maxBarrierSize);
+            this.bypassFills = 1;
+            return;
+        }
+
+        // the extra room no longer pays for itself
+        this.barrierSize = Math.max(this.barrierSize / 2, this.maxBarrierSize);
+        if (100L * added <= 105L * unique) {
+            // barely anything bulked so let the next traversers through without the cost of the barrier and back off
+            // further each time that happens in a row
+            this.bypass = (int) Math.min((long) this.barrierSize * this.bypassFills, Integer.MAX_VALUE);
+            this.bypassFills = Math.min(2 * this.bypassFills, MAX_BYPASS_FILLS);
+        } else {
+            this.bypassFills = 1;
         }
     }
 
@@ -98,6 +157,9 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public NoOpBarrierStep<S> clone() {
         final NoOpBarrierStep<S> clone = (NoOpBarrierStep<S>) super.clone();
         clone.barrier = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
+        clone.barrierSize = this.maxBarrierSize;
+        clone.bypass = 0;
+        clone.bypassFills = 1;
         return clone;
     }
 
@@ -115,9 +177,24 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public void reset() {
         super.reset();
         this.barrier.clear();
+        this.barrierSize = this.maxBarrierSize;
+        this.bypass = 0;
+        this.bypassFills = 1;
     }
 
     public int getMaxBarrierSize() {
         return maxBarrierSize;
     }
+
+    public boolean isAdaptive() {
+        return this.adaptive;
+    }
+
+    /**
+     * Gets the number of unique traversers the barrier currently holds before it drains, which only differs from
+     * {@link #getMaxBarrierSize()} for an adaptive barrier.
+     */
+    public int getBarrierSize() {
+        return this.barrierSize;
+    }
 }
@@ -31,12 +31,17 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrie
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.MultiComparator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.javatuples.Pair;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -52,12 +57,17 @@ import java.util.stream.Collectors;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Seedable {
+public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Seedable, AutoCloseable {
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private MultiComparator<C> multiComparator = null;
     private long limit = Long.MAX_VALUE;
     private final Random random = new Random();
+    private int maxInMemory = Integer.MAX_VALUE;
+    private File spillDirectory = null;
+    private boolean spillable = true;
+    private TraverserSpill<S> spill = null;
+    private Iterator<Traverser.Admin<S>> sorted = null;
 
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -83,9 +93,73 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         while (this.starts.hasNext()) {
             // only add the traverser if the comparator traversal was productive
             this.createProjectedTraverser(this.starts.next()).ifPresent(traverserSet::add);
+            if (this.traverserSet.size() >= this.maxInMemory && this.spillable)
+                this.spill();
         }
     }
 
+    @Override
+    public Traverser.Admin<S> processNextStart() {
+        if (Integer.MAX_VALUE == this.maxInMemory)
+            return super.processNextStart();
+
+        while (true) {
+            if (null != this.sorted) {
+                if (this.sorted.hasNext())
+                    return ProjectedTraverser.tryUnwrap(this.sorted.next());
+                this.sorted = null;
+            }
+            this.processAllStarts();
+            final boolean spilled = null != this.spill && !this.spill.isEmpty();
+            if (this.traverserSet.isEmpty() && !spilled)
+                throw FastNoSuchElementException.instance();
+            this.barrierConsumer(this.traverserSet);
+            final Iterator<Traverser.Admin<S>> inMemory = IteratorUtils.removeOnNext(this.traverserSet.iterator());
+            this.sorted = spilled ? this.spill.merge(inMemory, this.multiComparator, this.getTraversal()) : inMemory;
+        }
+    }
+
+    /**
+     * Sorts the traversers collected so far and writes them out as a run to be merged with the others on output. If
+     * they cannot be written, the step stops spilling and keeps everything it collects in memory.
+     */
+    private void spill() {
+        if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+        if (this.multiComparator.isShuffle()) {
+            this.spillable = false;
+            return;
+        }
+        if (null == this.spill) this.spill = new TraverserSpill<>(this.spillDirectory, this.maxInMemory);
+        this.traverserSet.sort((Comparator) this.multiComparator);
+        if (this.spill.write(this.traverserSet, this.getTraversal()))
+            this.traverserSet.clear();
+        else
+            this.spillable = false;
+    }
+
+    /**
+     * Sets the number of traversers the step holds in memory before it writes them out to a temporary file in the
+     * spill directory and sorts externally, which is unlimited by default.
+     */
+    public void setMaxInMemory(final int maxInMemory) {
+        this.maxInMemory = maxInMemory;
+    }
+
+    public int getMaxInMemory() {
+        return this.maxInMemory;
+    }
+
+    /**
+     * Sets the directory spilled traversers are written to, where {@code null} is the default temporary directory.
+     */
+    public void setSpillDirectory(final File spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    public File getSpillDirectory() {
+        return this.spillDirectory;
+    }
+
     public void setLimit(final long limit) {
         this.limit = limit;
     }
@@ -158,9 +232,37 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> comparator : this.comparators) {
             clone.comparators.add(new Pair<>(comparator.getValue0().clone(), comparator.getValue1()));
         }
+        clone.spillable = true;
+        clone.spill = null;
+        clone.sorted = null;
         return clone;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.closeSpill();
+        this.spillable = true;
+    }
+
+    /**
+     * Deletes the runs of traversers that were spilled to disk and not yet merged and closes the {@code by()}
+     * modulators as {@link TraversalParent#close()} would, since they may hold an {@code order()} of their own.
+     */
+    @Override
+    public void close() {
+        this.closeSpill();
+        for (final Traversal.Admin<?, ?> traversal : this.getLocalChildren()) {
+            CloseableIterator.closeIterator(traversal);
+        }
+    }
+
+    private void closeSpill() {
+        CloseableIterator.closeIterator(this.sorted);
+        this.sorted = null;
+        if (null != this.spill) this.spill.close();
+    }
+
     @Override
     public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
         super.setTraversal(parentTraversal);
@@ -21,6 +21,8 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 
+import java.util.NoSuchElementException;
+
 /**
  * A type of {@link MapStep} class which will transform the object of one {@link Traverser} into another. This class
  * simply requires the implementation of the {@link #map(Traverser.Admin)} method to extract the object of the given
@@ -30,6 +32,15 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 public abstract class ScalarMapStep<S, E> extends MapStep<S,E> {
+
+    /**
+     * The starts taken for batch mode, of which those from {@code startIndex} to {@code startCount} are yet to be
+     * mapped.
+     */
+    private Traverser.Admin<S>[] startBatch;
+    private int startIndex = 0;
+    private int startCount = 0;
+
     public ScalarMapStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -40,5 +51,38 @@ public abstract class ScalarMapStep<S, E> extends MapStep<S,E> {
         return traverser.split(this.map(traverser), this);
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] batch) {
+        if (this.startIndex == this.startCount) {
+            if (null == this.startBatch || this.startBatch.length != batch.length)
+                this.startBatch = new Traverser.Admin[batch.length];
+            this.startIndex = 0;
+            this.startCount = this.starts.nextBatch(this.startBatch);
+        }
+        int count = 0;
+        while (count < batch.length && this.startIndex < this.startCount) {
+            final Traverser.Admin<S> start = this.startBatch[this.startIndex];
+            this.startBatch[this.startIndex++] = null;
+            try {
+                batch[count] = start.split(this.map(start), this);
+                count++;
+            } catch (final NoSuchElementException e) {
+                // the start is dropped and ends the batch as it would end hasNext() in processNextStart() while
+                // the starts after it are mapped in the next batch
+                if (0 == count) throw e;
+                return count;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.startBatch = null;
+        this.startIndex = 0;
+        this.startCount = 0;
+    }
+
     protected abstract E map(final Traverser.Admin<S> traverser);
 }
@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.EmptyTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
@@ -40,12 +41,22 @@ import java.util.Set;
 public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected Set<String> labels = new LinkedHashSet<>();
+    private Set<String> unmodifiableLabels = Collections.unmodifiableSet(this.labels);
     protected String id = Traverser.Admin.HALT;
     protected Traversal.Admin traversal;
     protected ExpandableStepIterator<S> starts;
     protected Traverser.Admin<E> nextEnd = EmptyTraverser.instance();
     protected boolean traverserStepIdAndLabelsSetByChild = false;
 
+    /**
+     * When greater than zero, the step produces its traversers in batches of this size through
+     * {@link #processNextBatch(Traverser.Admin[])} and {@link #next()} serves them from the current batch.
+     */
+    protected int batchSize = 0;
+    private Traverser.Admin<E>[] batch = null;
+    private int batchIndex = 0;
+    private int batchCount = 0;
+
     protected Step<?, S> previousStep = EmptyStep.instance();
     protected Step<E, ?> nextStep = EmptyStep.instance();
 
@@ -77,13 +88,15 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     @Override
     public Set<String> getLabels() {
-        return Collections.unmodifiableSet(this.labels);
+        // the same view is returned each time so that the paths of traversers can all share it
+        return this.unmodifiableLabels;
     }
 
     @Override
     public void reset() {
         this.starts.clear();
         this.nextEnd = EmptyTraverser.instance();
+        this.clearBatch();
     }
 
     @Override
@@ -123,6 +136,13 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     @Override
     public Traverser.Admin<E> next() {
+        if (this.batchSize > 0) {
+            if (!this.hasNextInBatch())
+                throw FastNoSuchElementException.instance();
+            final Traverser.Admin<E> traverser = this.batch[this.batchIndex];
+            this.batch[this.batchIndex++] = null;
+            return this.prepareTraversalForNextStep(traverser);
+        }
         if (EmptyTraverser.instance() != this.nextEnd) {
             try {
                 return this.prepareTraversalForNextStep(this.nextEnd);
@@ -141,6 +161,8 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     @Override
     public boolean hasNext() {
+        if (this.batchSize > 0)
+            return this.hasNextInBatch();
         if (EmptyTraverser.instance() != this.nextEnd)
             return true;
         else {
@@ -171,6 +193,95 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected abstract Traverser.Admin<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Sets the number of traversers this step produces at a time, where zero (the default) produces them one at a
+     * time through {@link #processNextStart()}.
+     */
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 0)
+            throw new IllegalArgumentException("The batch size must be zero or greater: " + batchSize);
+        this.batchSize = batchSize;
+        this.clearBatch();
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Fills the array with the next traversers of this step, ready for the next step, as {@link #next()} would
+     * return them. It returns how many were written, which is only zero once the step is exhausted. A step that is
+     * not in batch mode fills the array one {@link #next()} at a time.
+     */
+    public int nextBatch(final Traverser.Admin<E>[] batch) {
+        int count = 0;
+        if (this.batchSize > 0) {
+            // hand over the remainder of the current batch before producing straight into the given array
+            while (count < batch.length && this.batchIndex < this.batchCount) {
+                batch[count++] = this.prepareTraversalForNextStep(this.batch[this.batchIndex]);
+                this.batch[this.batchIndex++] = null;
+            }
+            if (0 == count) {
+                if (Thread.interrupted()) throw new TraversalInterruptedException();
+                count = this.produceBatch(batch);
+                for (int i = 0; i < count; i++) {
+                    this.prepareTraversalForNextStep(batch[i]);
+                }
+            }
+        } else {
+            while (count < batch.length && this.hasNext()) {
+                batch[count++] = this.next();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Fills the array with the next traversers of this step in batch mode and returns how many were written, which
+     * must only be zero once the step is exhausted. The traversers are prepared for the next step by the caller.
+     * This default implementation calls {@link #processNextStart()} for each traverser, so steps override it to
+     * process a whole batch of their starts at once, which they can get with
+     * {@link ExpandableStepIterator#nextBatch(Traverser.Admin[])}.
+     */
+    protected int processNextBatch(final Traverser.Admin<E>[] batch) throws NoSuchElementException {
+        int count = 0;
+        try {
+            while (count < batch.length) {
+                final Traverser.Admin<E> traverser = this.processNextStart();
+                if (traverser.bulk() > 0)
+                    batch[count++] = traverser;
+            }
+        } catch (final NoSuchElementException e) {
+            if (0 == count) throw e;
+        }
+        return count;
+    }
+
+    private boolean hasNextInBatch() {
+        if (this.batchIndex < this.batchCount)
+            return true;
+        if (null == this.batch || this.batch.length != this.batchSize)
+            this.batch = new Traverser.Admin[this.batchSize];
+        if (Thread.interrupted()) throw new TraversalInterruptedException();
+        this.batchIndex = 0;
+        this.batchCount = this.produceBatch(this.batch);
+        return this.batchCount > 0;
+    }
+
+    private int produceBatch(final Traverser.Admin<E>[] batch) {
+        try {
+            return this.processNextBatch(batch);
+        } catch (final NoSuchElementException e) {
+            return 0;
+        }
+    }
+
+    private void clearBatch() {
+        this.batch = null;
+        this.batchIndex = 0;
+        this.batchCount = 0;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this);
@@ -187,6 +298,7 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
             clone.nextEnd = EmptyTraverser.instance();
             clone.traversal = EmptyTraversal.instance();
             clone.labels = new LinkedHashSet<>(this.labels);
+            clone.unmodifiableLabels = Collections.unmodifiableSet(clone.labels);
             clone.reset();
             return clone;
         } catch (final CloneNotSupportedException e) {
@@ -58,6 +58,26 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
         return this.traverserSet.remove();
     }
 
+    /**
+     * Fills the array with the next starts of the host step, taking those added to this iterator first and otherwise
+     * a batch from the previous step. It returns how many were written, which is only zero once there are no more.
+     */
+    public int nextBatch(final Traverser.Admin<S>[] batch) {
+        int count = 0;
+        while (count < batch.length && !this.traverserSet.isEmpty()) {
+            batch[count++] = this.traverserSet.remove();
+        }
+        if (count > 0)
+            return count;
+        final Step<?, S> previousStep = this.hostStep.getPreviousStep();
+        if (previousStep instanceof AbstractStep)
+            return ((AbstractStep<?, S>) previousStep).nextBatch(batch);
+        while (count < batch.length && previousStep.hasNext()) {
+            batch[count++] = previousStep.next();
+        }
+        return count;
+    }
+
     public void add(final Iterator<Traverser.Admin<S>> iterator) {
         iterator.forEachRemaining(this.traverserSet::add);
     }
@@ -106,20 +106,34 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         if (labels.isEmpty())
             return this;
 
-        // get all the immutable path sections
+        // get the immutable path sections down to the oldest one that changes as everything before it can be shared
+        // with the new path. a section changes if it has a label to retract or if it has no labels at all.
         final List<ImmutablePath> immutablePaths = new ArrayList<>();
+        int changed = -1;
         ImmutablePath currentPath = this;
         while (true) {
             if (currentPath.isTail())
                 break;
-            immutablePaths.add(0, currentPath);
+            immutablePaths.add(currentPath);
+            if (currentPath.currentLabels.isEmpty() || !Collections.disjoint(currentPath.currentLabels, labels))
+                changed = immutablePaths.size() - 1;
             currentPath = currentPath.previousPath;
         }
-        // build a new immutable path using the respective path sections that are not to be retracted
-        Path newPath = TAIL_PATH;
-        for (final ImmutablePath immutablePath : immutablePaths) {
-            final Set<String> temp = new LinkedHashSet<>(immutablePath.currentLabels);
-            temp.removeAll(labels);
+        if (-1 == changed)
+            return this;
+
+        // build on the shared sections with the respective path sections that are not to be retracted, where the
+        // labels of sections that are unchanged are shared as well
+        Path newPath = immutablePaths.get(changed).previousPath;
+        for (int i = changed; i >= 0; i--) {
+            final ImmutablePath immutablePath = immutablePaths.get(i);
+            final Set<String> temp;
+            if (Collections.disjoint(immutablePath.currentLabels, labels))
+                temp = immutablePath.currentLabels;
+            else {
+                temp = new LinkedHashSet<>(immutablePath.currentLabels);
+                temp.removeAll(labels);
+            }
             if (!temp.isEmpty())
                 newPath = newPath.extend(immutablePath.currentObject, temp);
         }
@@ -149,9 +163,10 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
                 if (currentPath.isTail())
                     break;
                 else if (currentPath.currentLabels.contains(label))
-                    list.add(0, currentPath.currentObject);
+                    list.add(currentPath.currentObject);
                 currentPath = currentPath.previousPath;
             }
+            Collections.reverse(list);
             return (A) list;
         } else if (Pop.last == pop) {
             ImmutablePath currentPath = this;
@@ -198,9 +213,10 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         while (true) {
             if (currentPath.isTail())
                 break;
-            objects.add(0, currentPath.currentObject);
+            objects.add(currentPath.currentObject);
             currentPath = currentPath.previousPath;
         }
+        Collections.reverse(objects);
         return Collections.unmodifiableList(objects);
     }
 
@@ -211,9 +227,10 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         while (true) {
             if (currentPath.isTail())
                 break;
-            labels.add(0, currentPath.currentLabels);
+            labels.add(currentPath.currentLabels);
             currentPath = currentPath.previousPath;
         }
+        Collections.reverse(labels);
         return Collections.unmodifiableList(labels);
     }
 
@@ -247,6 +264,8 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         if (!(other instanceof Path))
             return false;
         final Path otherPath = (Path) other;
+        if (otherPath instanceof ImmutablePath)
+            return this.equals((ImmutablePath) otherPath);
         int size = this.size();
         if (otherPath.size() != size)
             return false;
@@ -267,6 +286,26 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         return true;
     }
 
+    /**
+     * Walks both paths together rather than building the lists of objects and labels of the other path, stopping at
+     * the first section they share as the rest of the paths are then the same.
+     */
+    private boolean equals(final ImmutablePath otherPath) {
+        ImmutablePath currentPath = this;
+        ImmutablePath currentOtherPath = otherPath;
+        while (true) {
+            if (currentPath == currentOtherPath)
+                return true;
+            else if (currentPath.isTail() || currentOtherPath.isTail())
+                return currentPath.isTail() && currentOtherPath.isTail();
+            else if ((!(currentPath.currentObject == null && currentOtherPath.currentObject == null) && (currentPath.currentObject != null && !currentPath.currentObject.equals(currentOtherPath.currentObject))) ||
+                    !currentPath.currentLabels.equals(currentOtherPath.currentLabels))
+                return false;
+            currentPath = currentPath.previousPath;
+            currentOtherPath = currentOtherPath.previousPath;
+        }
+    }
+
     @Override
     public boolean popEquals(final Pop pop, final Object other) {
         if (!(other instanceof Path))
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A start step that runs the front of a traversal, from its start step up to its first barrier, in partitions on a
+ * {@code ForkJoinPool}. The traversers of the start step are split into partitions and each partition is pushed
+ * through its own clone of the steps. When the barrier is a {@link ReducingBarrierStep} it is cloned into each
+ * partition as well and the partial results are merged with its {@link ReducingBarrierStep#getBiOperator()} in the
+ * same way that partial results are merged on a {@code GraphComputer}. Otherwise the traversers of the partitions are
+ * emitted to the barrier that follows this step.
+ * <p/>
+ * When a partition fails or the thread that iterates the traversal is interrupted, the other partitions are cancelled
+ * and stop at the next traverser they take in. The threads of the pool are never interrupted as they are not owned by
+ * the traversal.
+ */
+public final class ParallelStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+
+    private final ForkJoinPool pool;
+    private final int partitions;
+    private Traversal.Admin<?, E> pipeline;
+    private boolean first = true;
+    private Iterator<Traverser.Admin<E>> results = EmptyIterator.instance();
+
+    public ParallelStep(final Traversal.Admin traversal, final ForkJoinPool pool, final int partitions) {
+        super(traversal);
+        this.pool = pool;
+        this.partitions = partitions;
+        this.pipeline = new DefaultTraversal<>();
+        this.pipeline.setParent(this);
+        this.pipeline.setSideEffects(traversal.getSideEffects());
+        this.pipeline.setStrategies(traversal.getStrategies());
+        ((Traversal.Admin<?, ?>) traversal).getGraph().ifPresent(this.pipeline::setGraph);
+    }
+
+    /**
+     * Moves the step to the end of the steps that this step runs in partitions, keeping its identifier.
+     */
+    public void addStep(final Step<?, ?> step) {
+        final String id = step.getId();
+        this.pipeline.addStep(step);
+        step.setId(id);
+    }
+
+    public List<Step> getSteps() {
+        return this.pipeline.getSteps();
+    }
+
+    public int getPartitions() {
+        return this.partitions;
+    }
+
+    /**
+     * Determines if the steps end with a {@link ReducingBarrierStep} whose result this step emits.
+     */
+    public boolean isReducing() {
+        return this.pipeline.getEndStep() instanceof ReducingBarrierStep;
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (this.first) {
+            this.first = false;
+            this.processPartitions();
+        }
+        return this.isReducing() ? this.pipeline.getEndStep().next() : this.results.next();
+    }
+
+    private void processPartitions() {
+        final Step<?, ?> startStep = this.pipeline.getStartStep();
+        final List<Traverser.Admin> starts = new ArrayList<>();
+        while (startStep.hasNext()) {
+            starts.add(startStep.next());
+        }
+        if (starts.isEmpty())
+            return;
+
+        final boolean reducing = this.isReducing();
+        final int count = Math.min(this.partitions, starts.size());
+        final List<Partition> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Traversal.Admin<?, ?> clone = this.pipeline.clone();
+            clone.removeStep(0);
+            tasks.add(new Partition(clone, starts.subList(i * starts.size() / count, (i + 1) * starts.size() / count).iterator(), reducing));
+        }
+
+        // the partials are merged in the order of the partitions so that the result is the same as it is serially
+        final List<Object> partials = new ArrayList<>(count);
+        if (1 == count) {
+            partials.add(tasks.get(0).call());
+        } else {
+            // partitions are taken as they complete so that a failure cancels the others without waiting on them
+            final CompletionService<Object> completion = new ExecutorCompletionService<>(this.pool);
+            final Map<Future<Object>, Integer> indexes = new IdentityHashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                indexes.put(completion.submit(tasks.get(i)), i);
+            }
+            final Object[] results = new Object[count];
+            try {
+                for (int i = 0; i < count; i++) {
+                    final Future<Object> future = completion.take();
+                    results[indexes.get(future)] = future.get();
+                }
+                partials.addAll(Arrays.asList(results));
+            } catch (final InterruptedException ie) {
+                tasks.forEach(Partition::cancel);
+                throw new TraversalInterruptedException();
+            } catch (final ExecutionException ee) {
+                tasks.forEach(Partition::cancel);
+                if (ee.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) ee.getCause();
+                else if (ee.getCause() instanceof Error)
+                    throw (Error) ee.getCause();
+                throw new IllegalStateException(ee.getCause().getMessage(), ee.getCause());
+            }
+        }
+
+        if (reducing) {
+            final Barrier<Object> barrier = (Barrier<Object>) this.pipeline.getEndStep();
+            for (final Object partial : partials) {
+                if (ReducingBarrierStep.NON_EMITTING_SEED != partial)
+                    barrier.addBarrier(partial);
+            }
+        } else {
+            final List<Traverser.Admin<E>> traversers = new ArrayList<>();
+            for (final Object partial : partials) {
+                traversers.addAll((List<Traverser.Admin<E>>) partial);
+            }
+            this.results = traversers.iterator();
+        }
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.pipeline.getTraverserRequirements();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.pipeline.reset();
+        this.first = true;
+        this.results = EmptyIterator.instance();
+    }
+
+    @Override
+    public ParallelStep<S, E> clone() {
+        final ParallelStep<S, E> clone = (ParallelStep<S, E>) super.clone();
+        clone.pipeline = this.pipeline.clone();
+        clone.pipeline.setParent(clone);
+        clone.first = true;
+        clone.results = EmptyIterator.instance();
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.pipeline.getSteps());
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.pipeline.hashCode();
+    }
+
+    /**
+     * Runs a clone of the steps over one partition of the start traversers. Its result is the partial result of the
+     * {@link ReducingBarrierStep}, or {@link ReducingBarrierStep#NON_EMITTING_SEED} if it has none, or otherwise the
+     * list of traversers that came out of the steps. Once cancelled, it throws a {@link TraversalInterruptedException}
+     * as the steps take in their next start or it takes the next traverser from them.
+     */
+    private static final class Partition implements Callable<Object> {
+
+        private final Traversal.Admin<?, ?> traversal;
+        private final boolean reducing;
+        private volatile boolean cancelled = false;
+
+        private Partition(final Traversal.Admin<?, ?> traversal, final Iterator<Traverser.Admin> starts, final boolean reducing) {
+            this.traversal = traversal;
+            this.reducing = reducing;
+            // the steps would take in all of the starts at once if they were added to them
+            traversal.addStep(0, new PartitionStartStep(traversal, starts));
+        }
+
+        @Override
+        public Object call() {
+            if (this.reducing) {
+                final Barrier<?> barrier = (Barrier<?>) this.traversal.getEndStep();
+                return barrier.hasNextBarrier() ? barrier.nextBarrier() : ReducingBarrierStep.NON_EMITTING_SEED;
+            } else {
+                final Step<?, ?> endStep = this.traversal.getEndStep();
+                final List<Traverser.Admin<?>> traversers = new ArrayList<>();
+                while (endStep.hasNext()) {
+                    checkCancelled();
+                    traversers.add(endStep.next());
+                }
+                return traversers;
+            }
+        }
+
+        private void cancel() {
+            this.cancelled = true;
+        }
+
+        private void checkCancelled() {
+            if (this.cancelled)
+                throw new TraversalInterruptedException();
+        }
+
+        /**
+         * Emits the starts of the partition one at a time, as long as the partition is not cancelled.
+         */
+        private final class PartitionStartStep extends AbstractStep {
+
+            private final Iterator<Traverser.Admin> starts;
+
+            private PartitionStartStep(final Traversal.Admin traversal, final Iterator<Traverser.Admin> starts) {
+                super(traversal);
+                this.starts = starts;
+            }
+
+            @Override
+            protected Traverser.Admin processNextStart() throws NoSuchElementException {
+                checkCancelled();
+                if (!this.starts.hasNext())
+                    throw FastNoSuchElementException.instance();
+                return this.starts.next();
+            }
+        }
+    }
+}
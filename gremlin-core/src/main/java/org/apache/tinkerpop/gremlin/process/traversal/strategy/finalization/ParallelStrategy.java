@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Seedable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.InjectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@code ParallelStrategy} runs the front of a traversal on several threads. The traversers of a {@link GraphStep}
+ * or {@link InjectStep} that starts the traversal are split into partitions, each of which is processed by its own
+ * copy of the steps that follow on a {@code ForkJoinPool}, up to the first barrier. A reducing barrier like
+ * {@code count()}, {@code sum()}, {@code fold()} or {@code group()} is computed per partition and the partial results
+ * are merged with the bi-operator of the step, while the traversers of the partitions are gathered into an
+ * {@code order()}. It is not applied by default.
+ * <p/>
+ * The partials are merged in the order of the partitions, but as each partition bulks its traversers at a
+ * {@code barrier()} on its own, the order of the items in a {@code fold()} may differ from a serial execution in the
+ * same way that it does on a {@code GraphComputer}.
+ * <p/>
+ * The strategy only applies where partitioning can not change the result, so it leaves traversals alone when the
+ * steps to partition have side-effects, mutations, lambdas, randomness or a {@code match()}, when they include a range or a barrier
+ * other than {@code barrier()}, on a {@code GraphComputer} and on graphs that support transactions as those are
+ * typically bound to the thread that opened them.
+ *
+ * @example <pre>
+ * g.withStrategies(ParallelStrategy.instance()).V().out().out().count()
+ * g.withStrategies(ParallelStrategy.build().partitions(64).create()).V().out().groupCount().by("name")
+ * </pre>
+ */
+public final class ParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String PARTITIONS = "partitions";
+
+    private static final int DEFAULT_PARTITIONS = 4 * ForkJoinPool.getCommonPoolParallelism();
+    private static final ParallelStrategy INSTANCE = new ParallelStrategy(ForkJoinPool.commonPool(), DEFAULT_PARTITIONS);
+    private static final Set<Class<? extends FinalizationStrategy>> POSTS = Collections.singleton(ProfileStrategy.class);
+    /**
+     * Steps whose results depend on the order that traversers come to them or that are not safe to run on several
+     * threads, where {@link MatchStep} is among the former as its traversers bulk differently in each partition.
+     */
+    private static final List<Class> UNSAFE_STEPS = Arrays.asList(
+            SideEffectCapable.class, SideEffectStep.class, Mutating.class, LambdaHolder.class, Seedable.class,
+            MatchStep.class);
+
+    private final ForkJoinPool pool;
+    private final int partitions;
+
+    private ParallelStrategy(final ForkJoinPool pool, final int partitions) {
+        if (partitions < 1)
+            throw new IllegalArgumentException("The number of partitions must be greater than zero: " + partitions);
+        this.pool = pool;
+        this.partitions = partitions;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.isRoot() || TraversalHelper.onGraphComputer(traversal) ||
+                !traversal.getSideEffects().keys().isEmpty() ||
+                null != traversal.getSideEffects().getSackInitialValue() ||
+                traversal.getGraph().map(g -> g.features().graph().supportsTransactions()).orElse(false))
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        if (steps.isEmpty() || !(steps.get(0) instanceof GraphStep || steps.get(0) instanceof InjectStep))
+            return;
+
+        int end = 1;
+        while (end < steps.size() && isPartitionable(steps.get(end))) {
+            end++;
+        }
+
+        // there must be something to partition that is followed by a barrier to merge the partitions into
+        if (1 == end || end == steps.size())
+            return;
+        final Step barrier = steps.get(end);
+        final boolean reducing = barrier instanceof ReducingBarrierStep && !isUnsafe(barrier);
+        if (!reducing && !(barrier instanceof OrderGlobalStep))
+            return;
+
+        final ParallelStep<?, ?> parallelStep = new ParallelStep<>(traversal, this.pool, this.partitions);
+        for (int i = reducing ? end : end - 1; i >= 0; i--) {
+            parallelStep.addStep(steps.get(0));
+            traversal.removeStep(0);
+        }
+        traversal.addStep(0, parallelStep);
+    }
+
+    private static boolean isPartitionable(final Step step) {
+        return !(step instanceof Barrier && !(step instanceof NoOpBarrierStep)) &&
+                !(step instanceof Ranging) && !isUnsafe(step);
+    }
+
+    private static boolean isUnsafe(final Step step) {
+        if (UNSAFE_STEPS.stream().anyMatch(c -> c.isAssignableFrom(step.getClass())))
+            return true;
+        if (step instanceof TraversalParent) {
+            final TraversalParent parent = (TraversalParent) step;
+            return parent.getLocalChildren().stream().anyMatch(t -> TraversalHelper.hasStepOfAssignableClassRecursively(UNSAFE_STEPS, t)) ||
+                    parent.getGlobalChildren().stream().anyMatch(t -> TraversalHelper.hasStepOfAssignableClassRecursively(UNSAFE_STEPS, t));
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, ParallelStrategy.class.getCanonicalName());
+        map.put(PARTITIONS, this.partitions);
+        return new MapConfiguration(map);
+    }
+
+    public static ParallelStrategy create(final Configuration configuration) {
+        return new ParallelStrategy(ForkJoinPool.commonPool(), configuration.getInt(PARTITIONS, DEFAULT_PARTITIONS));
+    }
+
+    public static ParallelStrategy instance() {
+        return INSTANCE;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+        private int partitions = DEFAULT_PARTITIONS;
+
+        private Builder() {}
+
+        /**
+         * The pool that the partitions are processed on, which defaults to the common {@code ForkJoinPool}.
+         */
+        public Builder pool(final ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        /**
+         * The number of partitions to split the start traversers into, which defaults to four per thread of the
+         * common {@code ForkJoinPool} so that partitions of uneven cost still spread over all of its threads.
+         */
+        public Builder partitions(final int partitions) {
+            this.partitions = partitions;
+            return this;
+        }
+
+        public ParallelStrategy create() {
+            return new ParallelStrategy(this.pool, this.partitions);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code SpillStrategy} bounds the number of traversers that an {@code order()} holds in memory. Once the step has
+ * collected more than {@code maxInMemory} distinct traversers, it sorts them and writes them as a run to a temporary
+ * file, and on output merges the runs with what remains in memory. This keeps a large sort from exhausting the heap
+ * of a server that is shared by many requests, at the cost of the disk I/O. It is not applied by default.
+ * <p/>
+ * A {@code group()} is bounded in the same way by the number of groups it holds. Once it has more than
+ * {@code maxInMemory} groups, it writes them to temporary files partitioned by the hash of their key, and on output
+ * aggregates one partition at a time. As the result of a {@code group()} is a single map, this bounds what the step
+ * holds while it collects and reduces its groups but not the size of the map it returns.
+ * <p/>
+ * Runs are written with Gryo and elements are read back by their id, so the traversers of an {@code order()} are
+ * only written when they do not carry a path and hold elements or simple values, and the groups of a
+ * {@code group()} only when their keys and values are made of those. Otherwise the step keeps them in memory as it
+ * would without the strategy, as it does for {@code order().by(shuffle)} and on a {@code GraphComputer}, where the
+ * barrier is held by the {@code Memory} of the computer.
+ *
+ * @example <pre>
+ * g.withStrategies(SpillStrategy.build().maxInMemory(100000).directory("/var/tmp").create()).V().order().by("name")
+ * </pre>
+ */
+public final class SpillStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String MAX_IN_MEMORY = "maxInMemory";
+    public static final String DIRECTORY = "directory";
+
+    private static final int DEFAULT_MAX_IN_MEMORY = 100_000;
+    private static final SpillStrategy INSTANCE = new SpillStrategy(DEFAULT_MAX_IN_MEMORY, null);
+
+    private final int maxInMemory;
+    private final String directory;
+
+    private SpillStrategy(final int maxInMemory, final String directory) {
+        if (maxInMemory < 1)
+            throw new IllegalArgumentException("The maximum number of traversers in memory must be greater than zero: " + maxInMemory);
+        this.maxInMemory = maxInMemory;
+        this.directory = directory;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        for (final OrderGlobalStep<?, ?> step : TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal)) {
+            step.setMaxInMemory(this.maxInMemory);
+            step.setSpillDirectory(null == this.directory ? null : new File(this.directory));
+        }
+        for (final GroupStep<?, ?, ?> step : TraversalHelper.getStepsOfClass(GroupStep.class, traversal)) {
+            step.setMaxInMemory(this.maxInMemory);
+            step.setSpillDirectory(null == this.directory ? null : new File(this.directory));
+        }
+    }
+
+    public int getMaxInMemory() {
+        return this.maxInMemory;
+    }
+
+    public String getDirectory() {
+        return this.directory;
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, SpillStrategy.class.getCanonicalName());
+        map.put(MAX_IN_MEMORY, this.maxInMemory);
+        if (null != this.directory)
+            map.put(DIRECTORY, this.directory);
+        return new MapConfiguration(map);
+    }
+
+    public static SpillStrategy create(final Configuration configuration) {
+        return new SpillStrategy(configuration.getInt(MAX_IN_MEMORY, DEFAULT_MAX_IN_MEMORY),
+                configuration.getString(DIRECTORY, null));
+    }
+
+    public static SpillStrategy instance() {
+        return INSTANCE;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int maxInMemory = DEFAULT_MAX_IN_MEMORY;
+        private String directory = null;
+
+        private Builder() {}
+
+        /**
+         * The number of distinct traversers an {@code order()}, or groups a {@code group()}, may hold before it writes
+         * them to disk, which defaults to 100000.
+         */
+        public Builder maxInMemory(final int maxInMemory) {
+            this.maxInMemory = maxInMemory;
+            return this;
+        }
+
+        /**
+         * The directory to write to, which defaults to {@code java.io.tmpdir}.
+         */
+        public Builder directory(final String directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public SpillStrategy create() {
+            return new SpillStrategy(this.maxInMemory, this.directory);
+        }
+    }
+}
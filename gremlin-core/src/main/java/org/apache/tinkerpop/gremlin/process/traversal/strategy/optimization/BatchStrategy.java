@@ -0,0 +1,169 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ScalarMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code BatchStrategy} has the filter, map and flatmap steps of a root traversal pass their traversers along in
+ * batches, so that each step processes a whole batch of its starts in one call rather than pulling them one at a
+ * time through {@code hasNext()} and {@code next()}. This lowers the per-traverser overhead of long linear
+ * traversals. It is not applied by default.
+ * <p/>
+ * As a step works through a full batch before the next step sees any of it, the strategy is not applied where that
+ * order could be observed, which is when the traversal has side effects, mutations or lambdas, nor to steps before
+ * a {@code range()} or {@code limit()} which would then do more work than the limit requires.
+ *
+ * @example <pre>
+ * g.withStrategies(BatchStrategy.instance()).V().out().out().has("name","ripple").values("age")
+ * </pre>
+ */
+public final class BatchStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    public static final String BATCH_SIZE = "batchSize";
+
+    private static final int DEFAULT_BATCH_SIZE = 256;
+    private static final BatchStrategy INSTANCE = new BatchStrategy(DEFAULT_BATCH_SIZE);
+    private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            AdjacentToIncidentStrategy.class, CountStrategy.class, EarlyLimitStrategy.class,
+            FilterRankingStrategy.class, IdentityRemovalStrategy.class, IncidentToAdjacentStrategy.class,
+            InlineFilterStrategy.class, LazyBarrierStrategy.class, MatchPredicateStrategy.class,
+            OrderLimitStrategy.class, PathRetractionStrategy.class, RepeatUnrollStrategy.class));
+    private static final List<Class> UNORDERED_STEPS = Arrays.asList(
+            SideEffectCapable.class, SideEffectStep.class, Mutating.class, LambdaHolder.class);
+
+    private final int batchSize;
+
+    private BatchStrategy(final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be greater than zero: " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.isRoot() || TraversalHelper.onGraphComputer(traversal) ||
+                TraversalHelper.hasStepOfAssignableClassRecursively(UNORDERED_STEPS, traversal))
+            return;
+
+        // only batch after the last range() so that a limit still stops the steps in front of it early
+        final List<Step> steps = traversal.getSteps();
+        int first = 0;
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            if (steps.get(i) instanceof Ranging) {
+                first = i + 1;
+                break;
+            }
+        }
+        for (int i = first; i < steps.size(); i++) {
+            final Step step = steps.get(i);
+            if (isBatchable(step))
+                ((AbstractStep) step).setBatchSize(this.batchSize);
+        }
+    }
+
+    /**
+     * Determines if the step is one whose batched processing is the same as its processing of single traversers,
+     * which is not the case when it overrides {@code processNextStart()} of the class that provides the batching.
+     */
+    private static boolean isBatchable(final Step step) {
+        if (step instanceof Barrier)
+            return false;
+        final Class<?> base = step instanceof FilterStep ? FilterStep.class :
+                step instanceof ScalarMapStep ? ScalarMapStep.class :
+                step instanceof FlatMapStep ? FlatMapStep.class : null;
+        if (null == base)
+            return false;
+        for (Class<?> c = step.getClass(); c != base; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("processNextStart");
+                return false;
+            } catch (final NoSuchMethodException e) {
+                // keep looking up the hierarchy
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, BatchStrategy.class.getCanonicalName());
+        map.put(BATCH_SIZE, this.batchSize);
+        return new MapConfiguration(map);
+    }
+
+    public static BatchStrategy create(final Configuration configuration) {
+        return new BatchStrategy(configuration.getInt(BATCH_SIZE, DEFAULT_BATCH_SIZE));
+    }
+
+    public static BatchStrategy instance() {
+        return INSTANCE;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        private Builder() {}
+
+        /**
+         * The number of traversers a step passes to the next at a time, which defaults to 256.
+         */
+        public Builder batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public BatchStrategy create() {
+            return new BatchStrategy(this.batchSize);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Seedable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.HashJoinStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code HashJoinStrategy} turns the correlation of the traversers of a traversal with the results of a mid-traversal
+ * {@code V()} or {@code E()}, filtered by {@code where()} on the equality of a label from either side, into a
+ * {@link HashJoinStep}. Rather than going through all the results of {@code V()} for every traverser, the join
+ * gathers them once into a hash table keyed by their {@code by()}-modulated value and looks up the matches of each
+ * traverser in it, which turns the O(n*m) nested loop into O(n+m). It is not applied by default.
+ * <p/>
+ * The steps between {@code V()} and {@code where()} may only be adjacency steps and filters that depend on nothing but
+ * the element at hand, and only the last of them may be labelled. As the results of {@code V()} are gathered once, the
+ * strategy is not applied where the traversal mutates the graph, needs full paths or runs on a
+ * {@code GraphComputer}.
+ *
+ * @example <pre>
+ * __.as("a").V().as("b").where("a", eq("b")).by("name")                    // is replaced by
+ * __.as("a").hashJoin([V()], "name", "a", "name").as("b")
+ * </pre>
+ */
+public final class HashJoinStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final HashJoinStrategy INSTANCE = new HashJoinStrategy();
+    private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            FilterRankingStrategy.class, IdentityRemovalStrategy.class, IncidentToAdjacentStrategy.class,
+            InlineFilterStrategy.class, MatchPredicateStrategy.class));
+    private static final Set<Class<? extends OptimizationStrategy>> POSTS = new HashSet<>(Arrays.asList(
+            BatchStrategy.class, LazyBarrierStrategy.class, PathRetractionStrategy.class));
+    private static final Set<TraverserRequirement> DEPENDENT_REQUIREMENTS = EnumSet.of(
+            TraverserRequirement.PATH, TraverserRequirement.LABELED_PATH, TraverserRequirement.SACK,
+            TraverserRequirement.SIDE_EFFECTS, TraverserRequirement.SINGLE_LOOP, TraverserRequirement.NESTED_LOOP);
+
+    private HashJoinStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final Traversal.Admin<?, ?> root = TraversalHelper.getRootTraversal(traversal);
+        if (TraversalHelper.hasStepOfAssignableClassRecursively(Mutating.class, root) ||
+                TraversalHelper.anyStepRecursively(s -> s.getRequirements().contains(TraverserRequirement.PATH), root))
+            return;
+
+        for (final WherePredicateStep<?> whereStep : TraversalHelper.getStepsOfClass(WherePredicateStep.class, traversal)) {
+            join(whereStep, traversal);
+        }
+    }
+
+    private static void join(final WherePredicateStep<?> whereStep, final Traversal.Admin<?, ?> traversal) {
+        final P<?> predicate = whereStep.getPredicate().orElse(null);
+        final List<? extends Traversal.Admin<?, ?>> bys = whereStep.getLocalChildren();
+        if (null == predicate || predicate.getBiPredicate() != Compare.eq || !(predicate.getValue() instanceof String) ||
+                bys.size() > 2 || !bys.stream().allMatch(HashJoinStrategy::isIndependent))
+            return;
+
+        // walk back from where() to the V() or E() whose results it correlates
+        final Step<?, ?> endStep = whereStep.getPreviousStep();
+        Step<?, ?> step = endStep;
+        while (!(step instanceof GraphStep)) {
+            if (step instanceof EmptyStep || !isJoinable(step) || (step != endStep && !step.getLabels().isEmpty()))
+                return;
+            step = step.getPreviousStep();
+        }
+        final GraphStep<?, ?> graphStep = (GraphStep<?, ?>) step;
+        if (graphStep.isStartStep() || graphStep.getClass() != GraphStep.class || !graphStep.getParameters().isEmpty() ||
+                (graphStep != endStep && !graphStep.getLabels().isEmpty()))
+            return;
+
+        // one side of the equality has to be the results of V() and the other a label from before it
+        final Set<String> buildLabels = new HashSet<>(endStep.getLabels());
+        final String startKey = whereStep.getStartKey().orElse(null);
+        final String selectKey = (String) predicate.getValue();
+        final String probeKey;
+        final boolean buildIsStart;
+        if (null == startKey || buildLabels.contains(startKey)) {
+            probeKey = selectKey;
+            buildIsStart = true;
+        } else {
+            probeKey = startKey;
+            buildIsStart = false;
+            if (!buildLabels.contains(selectKey))
+                return;
+        }
+        if (buildLabels.contains(probeKey) || !isLabelledBefore(probeKey, graphStep))
+            return;
+
+        final Traversal.Admin<?, ?> startBy = bys.isEmpty() ? null : bys.get(0).clone();
+        final Traversal.Admin<?, ?> selectBy = bys.isEmpty() ? null : bys.get(bys.size() - 1).clone();
+
+        final Traversal.Admin<?, ?> buildTraversal = new DefaultTraversal<>();
+        buildTraversal.addStep(new GraphStep<>(buildTraversal, graphStep.getReturnClass(), true, graphStep.getIds()));
+        if (graphStep != endStep) {
+            TraversalHelper.removeToTraversal((Step) graphStep.getNextStep(), whereStep, (Traversal.Admin) buildTraversal);
+            buildLabels.forEach(buildTraversal.getEndStep()::removeLabel);
+        }
+
+        final HashJoinStep<?, ?> joinStep = new HashJoinStep<>(traversal, buildTraversal,
+                buildIsStart ? startBy : selectBy, probeKey, buildIsStart ? selectBy : startBy);
+        buildLabels.forEach(joinStep::addLabel);
+        whereStep.getLabels().forEach(joinStep::addLabel);
+        final int index = TraversalHelper.stepIndex(graphStep, traversal);
+        traversal.removeStep(whereStep);
+        traversal.removeStep(graphStep);
+        traversal.addStep(index, joinStep);
+    }
+
+    /**
+     * Determines if the step can be run once for all the traversers rather than for each of them, which are the
+     * adjacency steps and the filters that hold no state across traversers.
+     */
+    private static boolean isJoinable(final Step<?, ?> step) {
+        return (step instanceof VertexStep || step instanceof EdgeVertexStep ||
+                (step instanceof FilterStep && !(step instanceof Ranging) && !(step instanceof Barrier) && !(step instanceof Seedable)))
+                && isIndependent(step);
+    }
+
+    private static boolean isIndependent(final Traversal.Admin<?, ?> traversal) {
+        return traversal.getSteps().stream().allMatch(HashJoinStrategy::isIndependent);
+    }
+
+    /**
+     * Determines if the step depends on nothing but the object of the traverser at hand.
+     */
+    private static boolean isIndependent(final Step<?, ?> step) {
+        if (step instanceof Scoping || step instanceof LambdaHolder || step instanceof SideEffectCapable ||
+                !Collections.disjoint(step.getRequirements(), DEPENDENT_REQUIREMENTS))
+            return false;
+        if (step instanceof TraversalParent) {
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                if (!isIndependent(child))
+                    return false;
+            }
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                if (!isIndependent(child))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLabelledBefore(final String label, final Step<?, ?> step) {
+        for (Step<?, ?> previous = step.getPreviousStep(); !(previous instanceof EmptyStep); previous = previous.getPreviousStep()) {
+            if (previous.getLabels().contains(label))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    public static HashJoinStrategy instance() {
+        return INSTANCE;
+    }
+}
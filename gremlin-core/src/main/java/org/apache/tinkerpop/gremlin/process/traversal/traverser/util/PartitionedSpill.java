@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Tree;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.KryoException;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * The entries of a map that a reducing barrier has written to temporary files after holding more keys than it may
+ * keep in memory. Each entry goes to one of a fixed number of partitions by the hash of its key, so that all the
+ * values written for a key end up in the same partition and a partition can be aggregated on its own with
+ * {@link #read(int, Traversal.Admin, BiConsumer)}, which is a partitioned hash aggregation of everything the barrier
+ * collected.
+ * <p/>
+ * Entries are written with Gryo. Only maps whose keys and values are elements, properties or values made of
+ * strings, numbers and the like are written out. Elements are written as references and attached to the graph again
+ * when they are read back. A map that cannot be written is refused by {@link #write(Map, Traversal.Admin)}, in which
+ * case the barrier has to keep its entries in memory.
+ */
+public final class PartitionedSpill<K, V> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedSpill.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File directory;
+    private final File[] partitions;
+    private Kryo kryo;
+
+    /**
+     * @param directory the directory to write the partitions to, or {@code null} for the default temporary directory
+     * @param partitionCount the number of partitions the entries are spread over
+     */
+    public PartitionedSpill(final File directory, final int partitionCount) {
+        this.directory = directory;
+        this.partitions = new File[partitionCount];
+    }
+
+    public boolean isEmpty() {
+        for (final File partition : this.partitions) {
+            if (null != partition) return false;
+        }
+        return true;
+    }
+
+    public int getPartitionCount() {
+        return this.partitions.length;
+    }
+
+    /**
+     * Gets the partition that the entries of the key are written to.
+     */
+    public int partitionOf(final K key) {
+        final int hash = null == key ? 0 : key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), this.partitions.length);
+    }
+
+    /**
+     * Appends the entries of the map to their partitions. The map is left as it is and {@code false} is returned if
+     * any of its keys or values cannot be written, or with a logged warning if the first write to the files fails. A
+     * later write that fails cannot be undone and throws an {@code IllegalStateException}.
+     */
+    public boolean write(final Map<K, V> map, final Traversal.Admin<?, ?> traversal) {
+        // elements can only be written if there is a graph to attach them to when they are read back
+        final boolean attachable = !(traversal.getGraph().orElse(EmptyGraph.instance()) instanceof EmptyGraph);
+        for (final Map.Entry<K, V> entry : map.entrySet()) {
+            if (!isWritable(entry.getKey(), attachable) || !isWritable(entry.getValue(), attachable))
+                return false;
+        }
+
+        final List<List<Map.Entry<K, V>>> byPartition = new ArrayList<>(this.partitions.length);
+        for (int i = 0; i < this.partitions.length; i++) {
+            byPartition.add(new ArrayList<>());
+        }
+        for (final Map.Entry<K, V> entry : map.entrySet()) {
+            byPartition.get(this.partitionOf(entry.getKey())).add(entry);
+        }
+
+        final boolean first = this.isEmpty();
+        try {
+            for (int i = 0; i < this.partitions.length; i++) {
+                if (byPartition.get(i).isEmpty()) continue;
+                if (null == this.partitions[i])
+                    this.partitions[i] = File.createTempFile("gremlin-spill-", ".kryo", this.directory);
+                try (final Output output = new Output(new FileOutputStream(this.partitions[i], true), BUFFER_SIZE)) {
+                    for (final Map.Entry<K, V> entry : byPartition.get(i)) {
+                        this.kryo().writeClassAndObject(output, ReferenceFactory.detach(entry.getKey()));
+                        this.kryo().writeClassAndObject(output, ReferenceFactory.detach(entry.getValue()));
+                    }
+                }
+            }
+            return true;
+        } catch (final IOException | KryoException e) {
+            // the entries of earlier writes cannot be kept apart from a partial write, so only the first may be refused
+            this.close();
+            final Object directory = null == this.directory ? System.getProperty("java.io.tmpdir") : this.directory;
+            if (!first)
+                throw new IllegalStateException("Could not write spilled entries to " + directory, e);
+            logger.warn("Could not write spilled entries to {} - they are kept in memory instead", directory, e);
+            return false;
+        }
+    }
+
+    /**
+     * Reads the entries of a partition back in the order they were written and deletes it, after which the partition
+     * may be written to again.
+     */
+    public void read(final int partition, final Traversal.Admin<?, ?> traversal, final BiConsumer<K, V> consumer) {
+        final File file = this.partitions[partition];
+        if (null == file)
+            return;
+        this.partitions[partition] = null;
+
+        final Graph graph = traversal.getGraph().orElse(EmptyGraph.instance());
+        try (final Input input = new Input(new FileInputStream(file), BUFFER_SIZE)) {
+            while (!input.eof()) {
+                final K key = attach(this.kryo().readClassAndObject(input), graph);
+                final V value = attach(this.kryo().readClassAndObject(input), graph);
+                consumer.accept(key, value);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not read spilled entries from " + file, e);
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Deletes any partitions that were not read.
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < this.partitions.length; i++) {
+            if (null != this.partitions[i]) {
+                this.partitions[i].delete();
+                this.partitions[i] = null;
+            }
+        }
+    }
+
+    private Kryo kryo() {
+        if (null == this.kryo) {
+            try {
+                this.kryo = GryoMapper.build().create().createMapper();
+            } catch (final IllegalArgumentException e) {
+                // kryo cannot create its serializers where the jvm does not open the classes it registers
+                throw new KryoException("Could not create the Gryo mapper to spill with", e);
+            }
+        }
+        return this.kryo;
+    }
+
+    private static <T> T attach(final Object object, final Graph graph) {
+        if (object instanceof Element || object instanceof Property) {
+            return (T) ((Attachable) object).attach(Attachable.Method.get(graph));
+        } else if (object instanceof List) {
+            final List list = new ArrayList(((List) object).size());
+            for (final Object item : (List) object) {
+                list.add(attach(item, graph));
+            }
+            return (T) list;
+        } else if (object instanceof BulkSet) {
+            final BulkSet set = new BulkSet();
+            for (final Map.Entry<Object, Long> entry : ((BulkSet<Object>) object).asBulk().entrySet()) {
+                set.add(attach(entry.getKey(), graph), entry.getValue());
+            }
+            return (T) set;
+        } else if (object instanceof Set) {
+            final Set set = object instanceof LinkedHashSet ? new LinkedHashSet() : new HashSet();
+            for (final Object item : (Set) object) {
+                set.add(attach(item, graph));
+            }
+            return (T) set;
+        } else if (object instanceof Map) {
+            final Map map = object instanceof Tree ? new Tree() :
+                    object instanceof LinkedHashMap ? new LinkedHashMap() : new HashMap();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                map.put(attach(entry.getKey(), graph), attach(entry.getValue(), graph));
+            }
+            return (T) map;
+        }
+        return (T) object;
+    }
+
+    private static boolean isWritable(final Object object, final boolean attachable) {
+        if (null == object || object instanceof CharSequence || object instanceof Number || object instanceof Boolean ||
+                object instanceof Character || object instanceof Enum || object instanceof UUID || object instanceof Date)
+            return true;
+        else if (object instanceof Element || object instanceof Property)
+            return attachable;
+        else if (object instanceof List || object instanceof Set) {
+            for (final Object o : (Collection) object) {
+                if (!isWritable(o, attachable)) return false;
+            }
+            return true;
+        } else if (object instanceof Map) {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                if (!isWritable(entry.getKey(), attachable) || !isWritable(entry.getValue(), attachable)) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+}
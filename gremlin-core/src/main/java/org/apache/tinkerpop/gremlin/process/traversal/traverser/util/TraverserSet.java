@@ -37,17 +37,23 @@ import java.util.Set;
 import java.util.Spliterator;
 
 /**
+ * A set of {@link Traverser} objects that merges the bulk of equal traversers as they are added. It is not safe to
+ * share a {@code TraverserSet} between threads that modify it, since traversals execute on a single thread and the
+ * synchronization would be paid on every {@code add()} and {@code remove()}. Callers that must share a set have to
+ * synchronize on it themselves.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map;
 
     public TraverserSet() {
-
+        this.map = new LinkedHashMap<>();
     }
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
+        this();
         if (traverser != null)
             this.map.put(traverser, traverser);
     }
@@ -86,9 +92,8 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public boolean add(final Traverser.Admin<S> traverser) {
-        final Traverser.Admin<S> existing = this.map.get(traverser);
+        final Traverser.Admin<S> existing = this.map.putIfAbsent(traverser, traverser);
         if (null == existing) {
-            this.map.put(traverser, traverser);
             return true;
         } else {
             existing.merge(traverser);
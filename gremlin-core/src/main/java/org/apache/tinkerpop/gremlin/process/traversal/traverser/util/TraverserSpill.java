@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyPath;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.KryoException;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * The sorted runs of traversers that a barrier has written to temporary files after collecting more traversers than
+ * it may keep in memory. The runs are merged back together with the traversers still held in memory by
+ * {@link #merge(Iterator, Comparator, Traversal.Admin)}, which is an external merge sort of everything the barrier
+ * collected.
+ * <p/>
+ * Runs are written with Gryo. Only traversers that do not carry a path and whose object is an {@link Element}, a
+ * {@link Property} or a value made of strings, numbers and the like are written out. Elements are written as
+ * references and attached to the graph again when they are read back. A set that cannot be written is refused by
+ * {@link #write(TraverserSet, Traversal.Admin)}, in which case the barrier has to keep its traversers in memory.
+ */
+public final class TraverserSpill<S> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TraverserSpill.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File directory;
+    private final int maxInMemory;
+    private final List<File> runs = new ArrayList<>();
+    private Kryo kryo;
+
+    /**
+     * @param directory the directory to write the runs to, or {@code null} for the default temporary directory
+     * @param maxInMemory the number of traversers that may be held in memory while merging
+     */
+    public TraverserSpill(final File directory, final int maxInMemory) {
+        this.directory = directory;
+        this.maxInMemory = maxInMemory;
+    }
+
+    public boolean isEmpty() {
+        return this.runs.isEmpty();
+    }
+
+    public int getRunCount() {
+        return this.runs.size();
+    }
+
+    /**
+     * Writes the traversers of the set, which must already be sorted, as a new run. The set is left as it is and
+     * {@code false} is returned if any of its traversers cannot be written, or with a logged warning if writing them
+     * to a file fails.
+     */
+    public boolean write(final TraverserSet<S> traverserSet, final Traversal.Admin<?, ?> traversal) {
+        // elements can only be written if there is a graph to attach them to when they are read back
+        final boolean attachable = !(traversal.getGraph().orElse(EmptyGraph.instance()) instanceof EmptyGraph);
+        for (final Traverser.Admin<S> traverser : traverserSet) {
+            if (!(traverser.path() instanceof EmptyPath) || !isWritable(traverser.get(), attachable))
+                return false;
+        }
+
+        File file = null;
+        try {
+            file = File.createTempFile("gremlin-spill-", ".kryo", this.directory);
+            try (final Output output = new Output(new FileOutputStream(file), BUFFER_SIZE)) {
+                for (final Traverser.Admin<S> traverser : traverserSet) {
+                    final S object = traverser.get();
+                    if (object instanceof Element || object instanceof Property)
+                        traverser.set(ReferenceFactory.detach(object));
+                    try {
+                        output.writeBoolean(true);
+                        this.kryo().writeClassAndObject(output, traverser);
+                    } finally {
+                        traverser.set(object);
+                    }
+                }
+                output.writeBoolean(false);
+            }
+            this.runs.add(file);
+            return true;
+        } catch (final IOException | KryoException e) {
+            if (null != file) file.delete();
+            logger.warn("Could not write spilled traversers to {} - they are kept in memory instead",
+                    null == this.directory ? System.getProperty("java.io.tmpdir") : this.directory, e);
+            return false;
+        }
+    }
+
+    /**
+     * Merges the runs with the sorted traversers still held in memory. The runs are deleted once the returned
+     * iterator is exhausted or closed and this spill may be written to again.
+     * <p/>
+     * Traversers that compare as equal are gathered before they are returned, so that equal traversers from different
+     * runs have their bulk merged and come out in the order they would have had in a single sort.
+     */
+    public CloseableIterator<Traverser.Admin<S>> merge(final Iterator<Traverser.Admin<S>> sorted, final Comparator comparator,
+                                              final Traversal.Admin<?, ?> traversal) {
+        final Graph graph = traversal.getGraph().orElse(EmptyGraph.instance());
+        final List<File> files = new ArrayList<>(this.runs);
+        this.runs.clear();
+
+        final PriorityQueue<Run<S>> queue = new PriorityQueue<>((a, b) -> {
+            final int comparison = comparator.compare(a.head, b.head);
+            return 0 != comparison ? comparison : Integer.compare(a.index, b.index);
+        });
+        final List<Run<S>> open = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            final Run<S> run = new Run<>(i, files.get(i), this.kryo(), graph, traversal);
+            open.add(run);
+            if (run.advance()) queue.add(run);
+        }
+        final Run<S> memory = new Run<>(files.size(), sorted);
+        if (memory.advance()) queue.add(memory);
+
+        final TraverserSet<S> ties = new TraverserSet<>();
+        return new CloseableIterator<Traverser.Admin<S>>() {
+            @Override
+            public boolean hasNext() {
+                if (queue.isEmpty() && ties.isEmpty()) {
+                    this.close();
+                    return false;
+                }
+                return true;
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                if (ties.isEmpty()) {
+                    if (queue.isEmpty())
+                        throw FastNoSuchElementException.instance();
+                    final Traverser.Admin<S> first = this.poll();
+                    ties.add(first);
+                    while (!queue.isEmpty() && ties.size() < maxInMemory && 0 == comparator.compare(first, queue.peek().head)) {
+                        ties.add(this.poll());
+                    }
+                }
+                return ties.remove();
+            }
+
+            private Traverser.Admin<S> poll() {
+                final Run<S> run = queue.poll();
+                final Traverser.Admin<S> traverser = run.head;
+                if (run.advance()) queue.add(run);
+                return traverser;
+            }
+
+            @Override
+            public void close() {
+                open.forEach(Run::close);
+                open.clear();
+                queue.clear();
+                ties.clear();
+            }
+        };
+    }
+
+    /**
+     * Deletes any runs that were not merged.
+     */
+    @Override
+    public void close() {
+        this.runs.forEach(File::delete);
+        this.runs.clear();
+    }
+
+    private Kryo kryo() {
+        if (null == this.kryo) {
+            try {
+                this.kryo = GryoMapper.build().create().createMapper();
+            } catch (final IllegalArgumentException e) {
+                // kryo cannot create its serializers where the jvm does not open the classes it registers
+                throw new KryoException("Could not create the Gryo mapper to spill with", e);
+            }
+        }
+        return this.kryo;
+    }
+
+    private static boolean isWritable(final Object object, final boolean attachable) {
+        if (null == object || object instanceof CharSequence || object instanceof Number || object instanceof Boolean ||
+                object instanceof Character || object instanceof Enum || object instanceof UUID || object instanceof Date)
+            return true;
+        else if (object instanceof Element || object instanceof Property)
+            return attachable;
+        else if (object instanceof Collection) {
+            for (final Object o : (Collection) object) {
+                if (!isWritable(o, false)) return false;
+            }
+            return true;
+        } else if (object instanceof Map) {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                if (!isWritable(entry.getKey(), false) || !isWritable(entry.getValue(), false)) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static final class Run<S> {
+        private final int index;
+        private final File file;
+        private final Input input;
+        private final Kryo kryo;
+        private final Graph graph;
+        private final Traversal.Admin<?, ?> traversal;
+        private final Iterator<Traverser.Admin<S>> iterator;
+        private Traverser.Admin<S> head;
+        private boolean closed = false;
+
+        private Run(final int index, final File file, final Kryo kryo, final Graph graph, final Traversal.Admin<?, ?> traversal) {
+            this.index = index;
+            this.file = file;
+            this.kryo = kryo;
+            this.graph = graph;
+            this.traversal = traversal;
+            this.iterator = null;
+            try {
+                this.input = new Input(new FileInputStream(file), BUFFER_SIZE);
+            } catch (final IOException e) {
+                throw new IllegalStateException("Could not read spilled traversers from " + file, e);
+            }
+        }
+
+        private Run(final int index, final Iterator<Traverser.Admin<S>> iterator) {
+            this.index = index;
+            this.iterator = iterator;
+            this.file = null;
+            this.input = null;
+            this.kryo = null;
+            this.graph = null;
+            this.traversal = null;
+        }
+
+        private boolean advance() {
+            if (null != this.iterator) {
+                this.head = this.iterator.hasNext() ? this.iterator.next() : null;
+            } else if (this.input.readBoolean()) {
+                this.head = (Traverser.Admin<S>) this.kryo.readClassAndObject(this.input);
+                this.head.attach(Attachable.Method.get(this.graph));
+                this.head.setSideEffects(this.traversal.getSideEffects());
+            } else {
+                this.head = null;
+                this.close();
+            }
+            return null != this.head;
+        }
+
+        private void close() {
+            if (null != this.input && !this.closed) {
+                this.closed = true;
+                this.input.close();
+                this.file.delete();
+            }
+        }
+    }
+}
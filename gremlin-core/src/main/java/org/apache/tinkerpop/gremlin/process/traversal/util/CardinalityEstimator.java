@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.Collection;
+
+/**
+ * Estimates the cardinalities that a cost-based optimization like {@link MatchStep.CostMatchAlgorithm} weighs the
+ * steps of a traversal by. A {@link Graph} that knows something about the shape of its data, such as from its
+ * statistics or indices, can implement this interface to supply better estimates than the defaults given here, which
+ * are rough guesses that hold for no graph in particular.
+ */
+public interface CardinalityEstimator {
+
+    /**
+     * The estimator used for a {@link Graph} that does not implement {@link CardinalityEstimator}.
+     */
+    public static final CardinalityEstimator DEFAULT = new CardinalityEstimator() {};
+
+    public static final double DEFAULT_AVERAGE_DEGREE = 10.0d;
+
+    /**
+     * Gets the average number of edges with any of the given labels, or with any label if none are given, that are
+     * incident to a vertex in the given direction.
+     */
+    public default double getAverageDegree(final Direction direction, final String... edgeLabels) {
+        return Direction.BOTH == direction ? 2.0d * DEFAULT_AVERAGE_DEGREE : DEFAULT_AVERAGE_DEGREE;
+    }
+
+    /**
+     * Gets the number of elements of the given class, which is a {@code Vertex} or an {@code Edge}, or {@code -1} if
+     * it is not known.
+     */
+    public default long getCount(final Class<? extends Element> elementClass) {
+        return -1L;
+    }
+
+    /**
+     * Gets the number of elements of the given class, which is a {@code Vertex} or an {@code Edge}, that have the
+     * given label or {@code -1} if it is not known.
+     */
+    public default long getLabelCount(final Class<? extends Element> elementClass, final String label) {
+        return -1L;
+    }
+
+    /**
+     * Gets the fraction of elements of the given class, between {@code 0.0} and {@code 1.0}, that are expected to
+     * pass the given {@link HasContainer}. A check on the label is estimated from {@link #getLabelCount} when the
+     * counts are known.
+     */
+    public default double getSelectivity(final Class<? extends Element> elementClass, final HasContainer hasContainer) {
+        if (hasContainer.getKey().equals(T.label.getAccessor())) {
+            final long count = getCount(elementClass);
+            if (count > 0) {
+                final Object value = hasContainer.getValue();
+                long labelCount = -1L;
+                if (hasContainer.getBiPredicate() == Compare.eq && value instanceof String) {
+                    labelCount = getLabelCount(elementClass, (String) value);
+                } else if (hasContainer.getBiPredicate() == Contains.within && value instanceof Collection) {
+                    labelCount = 0L;
+                    for (final Object label : (Collection<?>) value) {
+                        final long c = label instanceof String ? getLabelCount(elementClass, (String) label) : -1L;
+                        if (c < 0) {
+                            labelCount = -1L;
+                            break;
+                        }
+                        labelCount += c;
+                    }
+                }
+                if (labelCount >= 0)
+                    return Math.min(1.0d, (double) labelCount / count);
+            }
+        }
+
+        if (hasContainer.getBiPredicate() != Compare.eq)
+            return 0.5d;
+        return hasContainer.getKey().equals(T.id.getAccessor()) ? 0.01d : 0.1d;
+    }
+
+    /**
+     * Gets the {@link CardinalityEstimator} that the given graph supplies or {@link #DEFAULT} if it supplies none.
+     */
+    public static CardinalityEstimator of(final Graph graph) {
+        return graph instanceof CardinalityEstimator ? (CardinalityEstimator) graph : DEFAULT;
+    }
+}
@@ -45,7 +45,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Partit
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.SpillStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.BatchStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ByModulatorOptimizationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.EarlyLimitStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FilterRankingStrategy;
@@ -193,7 +195,9 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             SeedStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            SpillStrategy.class,
                             AdjacentToIncidentStrategy.class,
+                            BatchStrategy.class,
                             ByModulatorOptimizationStrategy.class,
                             ProductiveByStrategy.class,
                             CountStrategy.class,
@@ -324,7 +328,9 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     SeedStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    SpillStrategy.class,
                     AdjacentToIncidentStrategy.class,
+                    BatchStrategy.class,
                     ByModulatorOptimizationStrategy.class,
                     ProductiveByStrategy.class,
                     CountStrategy.class,
@@ -434,7 +440,9 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             SeedStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            SpillStrategy.class,
                             AdjacentToIncidentStrategy.class,
+                            BatchStrategy.class,
                             ByModulatorOptimizationStrategy.class,
                             ProductiveByStrategy.class,
                             CountStrategy.class,
@@ -555,7 +563,9 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     SeedStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    SpillStrategy.class,
                     AdjacentToIncidentStrategy.class,
+                    BatchStrategy.class,
                     ByModulatorOptimizationStrategy.class,
                     CountStrategy.class,
                     FilterRankingStrategy.class,
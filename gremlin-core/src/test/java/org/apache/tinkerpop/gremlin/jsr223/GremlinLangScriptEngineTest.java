@@ -29,6 +29,8 @@ import javax.script.ScriptException;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
 
 public class GremlinLangScriptEngineTest {
 
@@ -52,4 +54,73 @@ public class GremlinLangScriptEngineTest {
         assertThat(result, instanceOf(Traversal.Admin.class));
         assertEquals(g.V().asAdmin().getBytecode(), ((Traversal.Admin) result).getBytecode());
     }
+
+    @Test
+    public void shouldCacheParseTreeOfGremlinScript() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine();
+        engine.put("g", g);
+
+        final Object first = engine.eval("g.V().has('name','marko')");
+        final Object second = engine.eval("g.V().has('name','marko')");
+        final Object other = engine.eval("g.V().has('name','josh')");
+
+        assertNotSame(first, second);
+        assertEquals(g.V().has("name", "marko").asAdmin().getBytecode(), ((Traversal.Admin) second).getBytecode());
+        assertEquals(g.V().has("name", "josh").asAdmin().getBytecode(), ((Traversal.Admin) other).getBytecode());
+        assertEquals(1, engine.getQueryCacheHitCount());
+        assertEquals(2, engine.getQueryCacheMissCount());
+        assertEquals(2, engine.getQueryCacheEstimatedSize());
+        assertEquals(1.0 / 3, engine.getQueryCacheHitRate(), 0.0001);
+
+        engine.reset();
+        assertEquals(0, engine.getQueryCacheEstimatedSize());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedParseTree() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine(
+                GremlinLangGremlinPlugin.build().queryCacheMaxSize(2).create().getCustomizers().get());
+        engine.put("g", g);
+
+        engine.eval("g.V().has('name','marko')");
+        engine.eval("g.V().has('name','josh')");
+        engine.eval("g.V().has('name','marko')");
+        engine.eval("g.V().has('name','vadas')");
+        assertEquals(2, engine.getQueryCacheEstimatedSize());
+        assertEquals(1, engine.getQueryCacheEvictionCount());
+
+        // josh was least recently used so it was evicted and marko is still cached
+        engine.eval("g.V().has('name','marko')");
+        assertEquals(2, engine.getQueryCacheHitCount());
+        engine.eval("g.V().has('name','josh')");
+        assertEquals(4, engine.getQueryCacheMissCount());
+    }
+
+    @Test
+    public void shouldNotCacheParseTreeWhenCacheIsDisabled() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine(
+                GremlinLangGremlinPlugin.build().queryCacheMaxSize(0).create().getCustomizers().get());
+        engine.put("g", g);
+
+        engine.eval("g.V().has('name','marko')");
+        engine.eval("g.V().has('name','marko')");
+        assertEquals(0, engine.getQueryCacheHitCount());
+        assertEquals(0, engine.getQueryCacheEstimatedSize());
+    }
+
+    @Test
+    public void shouldNotCacheParseTreeOfInvalidGremlinScript() {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine();
+        engine.put("g", g);
+
+        try {
+            engine.eval("g.V(");
+            fail("Script should not have parsed");
+        } catch (ScriptException ignored) {
+            // expected
+        }
+
+        assertEquals(0, engine.getQueryCacheEstimatedSize());
+        assertEquals(1, engine.getQueryCacheMissCount());
+    }
 }
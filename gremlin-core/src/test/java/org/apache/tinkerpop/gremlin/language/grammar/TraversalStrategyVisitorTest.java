@@ -26,6 +26,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.SpillStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.BatchStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.LazyBarrierStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProductiveByStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.EdgeLabelVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReadOnlyStrategy;
@@ -62,6 +65,14 @@ public class TraversalStrategyVisitorTest {
                 {"new PartitionStrategy(partitionKey: 'k', writePartition: 'p', readPartitions: ['p','x','y'])", PartitionStrategy.build().partitionKey("k").writePartition("p").readPartitions("p", "x", "y").create()},
                 {"ProductiveByStrategy", ProductiveByStrategy.instance()},
                 {"new ProductiveByStrategy(productiveKeys: ['a','b'])", ProductiveByStrategy.build().productiveKeys("a", "b").create()},
+                {"BatchStrategy", BatchStrategy.instance()},
+                {"new BatchStrategy()", BatchStrategy.build().create()},
+                {"new BatchStrategy(batchSize: 64)", BatchStrategy.build().batchSize(64).create()},
+                {"new LazyBarrierStrategy()", LazyBarrierStrategy.instance()},
+                {"new LazyBarrierStrategy(adaptive: true)", LazyBarrierStrategy.build().adaptive(true).create()},
+                {"SpillStrategy", SpillStrategy.instance()},
+                {"new SpillStrategy()", SpillStrategy.build().create()},
+                {"new SpillStrategy(maxInMemory: 1000, directory: '/tmp/spill')", SpillStrategy.build().maxInMemory(1000).directory("/tmp/spill").create()},
                 {"new EdgeLabelVerificationStrategy()", EdgeLabelVerificationStrategy.build().create()},
                 {"new EdgeLabelVerificationStrategy(logWarning: true, throwException: true)", EdgeLabelVerificationStrategy.build().logWarning(true).throwException(true).create()},
                 {"new ReservedKeysVerificationStrategy()", ReservedKeysVerificationStrategy.build().create()},
@@ -39,6 +39,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -283,6 +284,35 @@ public class PathTest {
         });
     }
 
+    @Test
+    public void shouldShareUnchangedSectionsOfImmutablePathOnRetract() {
+        final Path base = ImmutablePath.make().
+                extend("marko", Collections.singleton("a")).
+                extend("josh", Collections.singleton("b"));
+        final Path path = base.
+                extend("lop", new LinkedHashSet<>(Arrays.asList("c", "d"))).
+                extend("ripple", Collections.singleton("e"));
+        assertSame(path, path.retract(Collections.singleton("x")));
+        assertSame(path, path.retract(new HashSet<>(Arrays.asList("x", "y"))));
+
+        final Path retracted = path.retract(Collections.singleton("c"));
+        assertEquals(Arrays.asList("marko", "josh", "lop", "ripple"), retracted.objects());
+        assertEquals(Arrays.asList(Collections.singleton("a"), Collections.singleton("b"), Collections.singleton("d"),
+                Collections.singleton("e")), retracted.labels());
+        assertSame(base, retracted.retract(new HashSet<>(Arrays.asList("d", "e"))));
+        assertEquals(Collections.singletonList("ripple"), path.retract(new HashSet<>(Arrays.asList("a", "b", "c", "d"))).objects());
+
+        final Path mutable = MutablePath.make().
+                extend("marko", Collections.singleton("a")).
+                extend("josh", Collections.singleton("b"));
+        assertEquals(base, mutable);
+        assertEquals(mutable, base);
+        assertEquals(base, ImmutablePath.make().extend("marko", Collections.singleton("a")).extend("josh", Collections.singleton("b")));
+        assertNotEquals(base, ImmutablePath.make().extend("josh", Collections.singleton("b")));
+        assertNotEquals(ImmutablePath.make().extend("josh", Collections.singleton("b")), base);
+        assertNotEquals(base, path);
+    }
+
     @Test
     public void shouldHavePopEquality() {
         PATH_SUPPLIERS.forEach(supplier -> {
@@ -30,7 +30,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversal
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_P_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.EmptyTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.CardinalityEstimator;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -194,6 +197,60 @@ public class MatchStepTest extends StepTest {
         });
     }
 
+    @Test
+    public void testCostMatchAlgorithm() {
+        // THE ESTIMATES ORDER THE PATTERNS UNTIL THE COUNTS OF ENOUGH STARTS TAKE OVER
+        final Traversal.Admin<?, ?> traversal = __.match(as("a").out().out().as("b"), as("c").in().has("name", "marko").as("d")).asAdmin();
+        final MatchStep.CostMatchAlgorithm costMatchAlgorithm = new MatchStep.CostMatchAlgorithm();
+        costMatchAlgorithm.initialize(false, ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren());
+        final Traversal.Admin<Object, Object> firstPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(0);
+        final Traversal.Admin<Object, Object> secondPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(1);
+        //
+        assertEquals(100.0d, MatchStep.CostMatchAlgorithm.estimate(firstPattern, CardinalityEstimator.DEFAULT), 0.01d);
+        assertEquals(1.0d, MatchStep.CostMatchAlgorithm.estimate(secondPattern, CardinalityEstimator.DEFAULT), 0.01d);
+        assertEquals(secondPattern, costMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(firstPattern, costMatchAlgorithm.bundles.get(1).traversal);
+        // a few starts with many ends do not outweigh the estimate
+        for (int i = 0; i < 10; i++) {
+            costMatchAlgorithm.recordStart(EmptyTraverser.instance(), secondPattern);
+            costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+            costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+        }
+        assertEquals(2.0d, costMatchAlgorithm.getBundle(secondPattern).multiplicity, 0.01d);
+        assertEquals(secondPattern, costMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(firstPattern, costMatchAlgorithm.bundles.get(1).traversal);
+        // once both patterns have been started often enough their counts decide at the next periodic sort
+        for (int i = 0; i < 200; i++) {
+            costMatchAlgorithm.recordStart(EmptyTraverser.instance(), firstPattern);
+            costMatchAlgorithm.recordStart(EmptyTraverser.instance(), secondPattern);
+            costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), firstPattern);
+            costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+            costMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+        }
+        assertEquals(firstPattern, costMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(secondPattern, costMatchAlgorithm.bundles.get(1).traversal);
+    }
+
+    @Test
+    public void testCostMatchAlgorithmEstimatesLabelsByElementClass() {
+        final CardinalityEstimator estimator = new CardinalityEstimator() {
+            @Override
+            public long getCount(final Class<? extends Element> elementClass) {
+                return Vertex.class.isAssignableFrom(elementClass) ? 100L : 1000L;
+            }
+
+            @Override
+            public long getLabelCount(final Class<? extends Element> elementClass, final String label) {
+                return Vertex.class.isAssignableFrom(elementClass) ? 50L : 10L;
+            }
+        };
+        final Traversal.Admin<?, ?> traversal = __.match(as("a").hasLabel("person").as("b"), as("c").outE().hasLabel("knows").as("d")).asAdmin();
+        final Traversal.Admin<Object, Object> firstPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(0);
+        final Traversal.Admin<Object, Object> secondPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(1);
+        assertEquals(0.5d, MatchStep.CostMatchAlgorithm.estimate(firstPattern, estimator), 0.01d);
+        assertEquals(0.1d, MatchStep.CostMatchAlgorithm.estimate(secondPattern, estimator), 0.01d);
+    }
+
     @Test
     public void testCountMatchAlgorithm() {
         // MAKE SURE THE SORT ORDER CHANGES AS MORE RESULTS ARE RETURNED BY ONE OR THE OTHER TRAVERSAL
@@ -19,14 +19,29 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.LazyBarrierStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Florian Grieskamp
@@ -52,4 +67,106 @@ public class NoOpBarrierStepTest extends StepTest {
         final NoOpBarrierStep<?> barrier = (NoOpBarrierStep<?>) traversal.getStartStep();
         assertEquals(customBarrierSize, barrier.getMaxBarrierSize());
     }
+
+    @Test
+    public void shouldGrowAdaptiveBarrierWhenTraversersBulk() {
+        final Random random = new Random(123456789L);
+        final Integer[] numbers = IntStream.range(0, 100000).map(i -> random.nextInt(3000)).boxed().toArray(Integer[]::new);
+        final Traversal.Admin<List<Integer>, Integer> traversal = __.inject(Arrays.asList(numbers)).<Integer>unfold().asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 2500, true);
+        traversal.addStep(barrier);
+
+        final Map<Integer, Long> counts = drain(traversal);
+        assertEquals(Arrays.stream(numbers).collect(Collectors.groupingBy(n -> n, Collectors.counting())), counts);
+        assertThat(barrier.getBarrierSize(), greaterThan(2500));
+    }
+
+    @Test
+    public void shouldBypassAdaptiveBarrierWhenTraversersDoNotBulk() {
+        final Integer[] numbers = IntStream.range(0, 100000).map(i -> i < 20000 ? i : i % 10).boxed().toArray(Integer[]::new);
+        final Traversal.Admin<List<Integer>, Integer> traversal = __.inject(Arrays.asList(numbers)).<Integer>unfold().asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 2500, true);
+        traversal.addStep(barrier);
+
+        // the unique numbers pass through unbulked, backing off a little further each time so that some of the
+        // repeated ones that follow do too, until the barrier checks again and they bulk
+        int traversers = 0;
+        final Map<Integer, Long> counts = new HashMap<>();
+        while (traversal.hasNext()) {
+            final Traverser.Admin<Integer> traverser = traversal.nextTraverser();
+            counts.merge(traverser.get(), traverser.bulk(), Long::sum);
+            traversers++;
+        }
+        assertEquals(Arrays.stream(numbers).collect(Collectors.groupingBy(n -> n, Collectors.counting())), counts);
+        assertThat(traversers, greaterThan(20010));
+        assertThat(traversers, lessThan(30000));
+    }
+
+    @Test
+    public void shouldNotAdaptFixedBarrier() {
+        final Integer[] numbers = IntStream.range(0, 20000).map(i -> i % 3000).boxed().toArray(Integer[]::new);
+        final Traversal.Admin<List<Integer>, Integer> traversal = __.inject(Arrays.asList(numbers)).<Integer>unfold().asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 2500);
+        traversal.addStep(barrier);
+        drain(traversal);
+        assertFalse(barrier.isAdaptive());
+        assertEquals(2500, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldCapAdaptiveBarrierGrowth() {
+        final Integer[] numbers = IntStream.range(0, 200000).map(i -> i / 4).boxed().toArray(Integer[]::new);
+        final Traversal.Admin<List<Integer>, Integer> traversal = __.inject(Arrays.asList(numbers)).<Integer>unfold().asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 1000, true);
+        traversal.addStep(barrier);
+        drain(traversal);
+        assertEquals(4000, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldShrinkAdaptiveBarrierWhenTraversersStopBulking() {
+        final Integer[] numbers = IntStream.range(0, 100000).map(i -> i < 50000 ? i / 4 : i).boxed().toArray(Integer[]::new);
+        final Traversal.Admin<List<Integer>, Integer> traversal = __.inject(Arrays.asList(numbers)).<Integer>unfold().asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 1000, true);
+        traversal.addStep(barrier);
+        drain(traversal);
+        assertEquals(1000, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldResetAdaptiveBarrier() {
+        final Integer[] numbers = IntStream.range(0, 100000).map(i -> i % 100).boxed().toArray(Integer[]::new);
+        final Traversal.Admin<List<Integer>, Integer> traversal = __.inject(Arrays.asList(numbers)).<Integer>unfold().asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 1000, true);
+        traversal.addStep(barrier);
+        drain(traversal);
+        assertThat(barrier.getBarrierSize(), greaterThan(1000));
+
+        barrier.reset();
+        assertEquals(1000, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldOnlyInsertAdaptiveBarriersWhenConfigured() {
+        assertFalse(lazyBarrier(LazyBarrierStrategy.instance()).isAdaptive());
+        assertFalse(lazyBarrier(LazyBarrierStrategy.build().create()).isAdaptive());
+        assertTrue(lazyBarrier(LazyBarrierStrategy.build().adaptive(true).create()).isAdaptive());
+        assertTrue(lazyBarrier(LazyBarrierStrategy.create(LazyBarrierStrategy.build().adaptive(true).create().getConfiguration())).isAdaptive());
+    }
+
+    private static NoOpBarrierStep<?> lazyBarrier(final LazyBarrierStrategy strategy) {
+        final Traversal.Admin<?, ?> traversal = __.out().out().out().asAdmin();
+        traversal.setStrategies(new DefaultTraversalStrategies().addStrategies(strategy));
+        traversal.applyStrategies();
+        return TraversalHelper.getFirstStepOfAssignableClass(NoOpBarrierStep.class, traversal).get();
+    }
+
+    private static Map<Integer, Long> drain(final Traversal.Admin<?, Integer> traversal) {
+        final Map<Integer, Long> counts = new HashMap<>();
+        while (traversal.hasNext()) {
+            final Traverser.Admin<Integer> traverser = traversal.nextTraverser();
+            counts.merge(traverser.get(), traverser.bulk(), Long::sum);
+        }
+        return counts;
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.LambdaMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.InjectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class ParallelStepTest {
+
+    @Test
+    public void shouldCountInPartitions() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final Traversal.Admin<Integer, Long> traversal = parallel(pool, 4, x -> x);
+            assertEquals(Long.valueOf(2000), traversal.next());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldCancelOtherPartitionsWithoutInterruptingThePool() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        final AtomicInteger processed = new AtomicInteger();
+        try {
+            final Traversal.Admin<Integer, Long> traversal = parallel(pool, 2, x -> {
+                if (x >= 1000)
+                    throw new IllegalStateException("partition failed");
+                try {
+                    Thread.sleep(1);
+                } catch (final InterruptedException ie) {
+                    throw new IllegalStateException("pool thread was interrupted", ie);
+                }
+                processed.incrementAndGet();
+                return x;
+            });
+            try {
+                traversal.next();
+                fail("The failure of the second partition should have been thrown");
+            } catch (final IllegalStateException ise) {
+                // the pool may rethrow it as a copy that is caused by the original
+                assertEquals("partition failed", ExceptionUtils.getRootCause(ise).getMessage());
+            }
+
+            // the first partition stops at its next start rather than running to the end
+            pool.awaitQuiescence(30, TimeUnit.SECONDS);
+            assertThat(processed.get(), lessThan(1000));
+
+            final List<Future<Boolean>> interrupted = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                interrupted.add(pool.submit(() -> Thread.currentThread().isInterrupted()));
+            }
+            for (final Future<Boolean> future : interrupted) {
+                assertFalse(future.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Traversal.Admin<Integer, Long> parallel(final ForkJoinPool pool, final int partitions,
+                                                           final Function<Integer, Integer> function) {
+        final Traversal.Admin<Integer, Long> traversal = new DefaultTraversal<>();
+        traversal.setStrategies(new DefaultTraversalStrategies());
+        final ParallelStep<Integer, Long> step = new ParallelStep<>(traversal, pool, partitions);
+        step.addStep(new InjectStep<>(traversal, IntStream.range(0, 2000).boxed().toArray(Integer[]::new)));
+        step.addStep(new LambdaMapStep<Integer, Integer>(traversal, t -> function.apply(t.get())));
+        step.addStep(new CountGlobalStep<>(traversal));
+        traversal.addStep(step);
+        return traversal;
+    }
+}
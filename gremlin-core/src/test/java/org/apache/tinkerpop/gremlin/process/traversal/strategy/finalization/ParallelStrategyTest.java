@@ -0,0 +1,133 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.IsStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.Order.desc;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelStrategyTest {
+
+    @Test
+    public void shouldPartitionUpToReducingBarrier() {
+        final Traversal.Admin<?, ?> traversal = applyStrategy(__.V().out().out().count().is(P.gt(1)));
+        assertThat(stepClasses(traversal.getSteps()), contains(ParallelStep.class, IsStep.class));
+        final ParallelStep<?, ?> parallelStep = (ParallelStep<?, ?>) traversal.getStartStep();
+        assertTrue(parallelStep.isReducing());
+        assertThat(stepClasses(parallelStep.getSteps()), contains(GraphStep.class, VertexStep.class, VertexStep.class, CountGlobalStep.class));
+    }
+
+    @Test
+    public void shouldPartitionUpToOrder() {
+        final Traversal.Admin<?, ?> traversal = applyStrategy(__.V().out().order().by("name", desc));
+        assertThat(stepClasses(traversal.getSteps()), contains(ParallelStep.class, OrderGlobalStep.class));
+        final ParallelStep<?, ?> parallelStep = (ParallelStep<?, ?>) traversal.getStartStep();
+        assertFalse(parallelStep.isReducing());
+        assertThat(stepClasses(parallelStep.getSteps()), contains(GraphStep.class, VertexStep.class));
+    }
+
+    @Test
+    public void shouldNotPartitionWhenPartitioningCouldChangeTheResult() {
+        assertNotPartitioned(__.V().out().map(t -> t.get()).count());
+        assertNotPartitioned(__.V().out().where(__.map(t -> t.get())).count());
+        assertNotPartitioned(__.V().out().aggregate("x").count());
+        assertNotPartitioned(__.V().out().limit(10).count());
+        assertNotPartitioned(__.V().out().dedup().count());
+        assertNotPartitioned(__.V().out().coin(0.5).count());
+        assertNotPartitioned(__.V().out().groupCount().by(t -> t));
+        assertNotPartitioned(__.V().out().out());
+        assertNotPartitioned(__.V().count());
+        assertNotPartitioned(__.out().count());
+    }
+
+    @Test
+    public void shouldProduceTheSameResultsInPartitions() {
+        final Integer[] numbers = IntStream.range(0, 1000).boxed().toArray(Integer[]::new);
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        assertSameResults(g, s -> s.inject(numbers).is(P.gt(10)).math("_ * 2").count());
+        assertSameResults(g, s -> s.inject(numbers).is(P.gt(10)).math("_ * 2").sum());
+        assertSameResults(g, s -> s.inject(numbers).is(P.gt(10)).math("_ * 2").mean());
+        assertSameResults(g, s -> s.inject(numbers).is(P.gt(10)).math("_ * 2").max());
+        assertSameResults(g, s -> s.inject(numbers).is(P.gt(10)).math("_ * 2").fold());
+        assertSameResults(g, s -> s.inject(numbers).is(P.gt(10)).math("_ % 7").groupCount());
+        assertSameResults(g, s -> s.inject(numbers).is(P.gt(10)).math("_ % 7").group().by().by(__.count()));
+        assertSameResults(g, s -> s.inject(numbers).is(P.gt(10)).math("_ % 7").order().by(desc));
+        assertSameResults(g, s -> s.inject(numbers).is(P.gt(1000)).math("_ * 2").sum());
+        assertSameResults(g, s -> s.inject(numbers).is(P.gt(1000)).math("_ * 2").count());
+    }
+
+    private static void assertSameResults(final GraphTraversalSource g, final Function<GraphTraversalSource, GraphTraversal<?, ?>> traversal) {
+        final List<?> expected = traversal.apply(g).toList();
+        final GraphTraversal<?, ?> parallel = traversal.apply(g.withStrategies(ParallelStrategy.instance()));
+        assertEquals(expected, parallel.toList());
+        assertThat(parallel.asAdmin().getStartStep(), instanceOf(ParallelStep.class));
+        for (final int partitions : new int[]{1, 3, 7, 5000}) {
+            assertEquals(expected, traversal.apply(g.withStrategies(ParallelStrategy.build().partitions(partitions).create())).toList());
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(expected, traversal.apply(g.withStrategies(ParallelStrategy.build().pool(pool).partitions(16).create())).toList());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void assertNotPartitioned(final Traversal<?, ?> traversal) {
+        final List<Class> before = stepClasses(traversal.asAdmin().getSteps());
+        assertEquals(before, stepClasses(applyStrategy(traversal).getSteps()));
+    }
+
+    private static Traversal.Admin<?, ?> applyStrategy(final Traversal<?, ?> traversal) {
+        final DefaultTraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(ParallelStrategy.instance());
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().applyStrategies();
+        return traversal.asAdmin();
+    }
+
+    private static List<Class> stepClasses(final List<Step> steps) {
+        return steps.stream().map(s -> (Class) s.getClass()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.util.TestSupport;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeNoException;
+
+public class SpillStrategyTest {
+
+    @Test
+    public void shouldBoundEveryOrder() {
+        final Traversal.Admin<?, ?> traversal = __.V().order().by("name").local(__.out().order()).asAdmin();
+        final DefaultTraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(SpillStrategy.build().maxInMemory(10).directory("/tmp/spill").create());
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+
+        final List<OrderGlobalStep> steps = TraversalHelper.getStepsOfAssignableClassRecursively(OrderGlobalStep.class, traversal);
+        assertEquals(2, steps.size());
+        for (final OrderGlobalStep<?, ?> step : steps) {
+            assertEquals(10, step.getMaxInMemory());
+            assertEquals(new File("/tmp/spill"), step.getSpillDirectory());
+        }
+    }
+
+    @Test
+    public void shouldRoundTripConfiguration() {
+        final SpillStrategy strategy = SpillStrategy.create(SpillStrategy.build().maxInMemory(10).directory("/tmp/spill").create().getConfiguration());
+        assertEquals(10, strategy.getMaxInMemory());
+        assertEquals("/tmp/spill", strategy.getDirectory());
+        assertNull(SpillStrategy.create(SpillStrategy.instance().getConfiguration()).getDirectory());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowAnEmptyBudget() {
+        SpillStrategy.build().maxInMemory(0).create();
+    }
+
+    @Test
+    public void shouldSortExternally() throws Exception {
+        assumeGryoIsAvailable();
+        final File directory = emptyDirectory("shouldSortExternally");
+        final List<Integer> numbers = IntStream.range(0, 1000).map(i -> i % 700).boxed().collect(Collectors.toList());
+        Collections.shuffle(numbers, new Random(42));
+
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        final GraphTraversalSource spilling = g.withStrategies(SpillStrategy.build().maxInMemory(64).directory(directory.getAbsolutePath()).create());
+
+        assertEquals(g.inject(numbers).unfold().order().toList(),
+                spilling.inject(numbers).unfold().order().toList());
+        assertEquals(g.inject(numbers).unfold().order().by(Order.desc).toList(),
+                spilling.inject(numbers).unfold().order().by(Order.desc).toList());
+        assertEquals(g.inject(numbers).unfold().order().by(__.math("_ % 10")).by(Order.desc).toList(),
+                spilling.inject(numbers).unfold().order().by(__.math("_ % 10")).by(Order.desc).toList());
+        assertEquals(g.inject(numbers).unfold().order().limit(5).toList(),
+                spilling.inject(numbers).unfold().order().limit(5).toList());
+        assertEquals(g.inject(numbers).unfold().project("n", "m").by().by(__.math("_ % 3")).order().by(__.select("m")).by(__.select("n")).toList(),
+                spilling.inject(numbers).unfold().project("n", "m").by().by(__.math("_ % 3")).order().by(__.select("m")).by(__.select("n")).toList());
+        assertEquals(0, directory.list().length);
+
+        // the runs are on disk while they are merged and deleted when the traversal is closed
+        final Traversal<?, Object> traversal = spilling.inject(numbers).unfold().order();
+        assertEquals(0, traversal.next());
+        assertEquals(15, directory.list().length);
+        traversal.close();
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void shouldDeleteRunsOfNestedOrdersWhenClosed() throws Exception {
+        assumeGryoIsAvailable();
+        final File directory = emptyDirectory("shouldDeleteRunsOfNestedOrdersWhenClosed");
+        final List<Integer> numbers = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        Collections.shuffle(numbers, new Random(42));
+
+        final GraphTraversalSource spilling = EmptyGraph.instance().traversal().
+                withStrategies(SpillStrategy.build().maxInMemory(64).directory(directory.getAbsolutePath()).create());
+
+        final Traversal<?, Object> mapped = spilling.inject(1).map(__.inject(numbers).unfold().order());
+        assertEquals(0, mapped.next());
+        assertEquals(15, directory.list().length);
+        mapped.close();
+        assertEquals(0, directory.list().length);
+
+        final Traversal<?, Object> local = spilling.inject(1).local(__.inject(numbers).unfold().order().limit(1));
+        assertEquals(0, local.next());
+        assertEquals(15, directory.list().length);
+        local.close();
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void shouldBoundEveryGroup() {
+        final Traversal.Admin<?, ?> traversal = __.V().group().by("name").local(__.out().group().by(T.label)).asAdmin();
+        final DefaultTraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(SpillStrategy.build().maxInMemory(10).directory("/tmp/spill").create());
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+
+        final List<GroupStep> steps = TraversalHelper.getStepsOfAssignableClassRecursively(GroupStep.class, traversal);
+        assertEquals(2, steps.size());
+        for (final GroupStep<?, ?, ?> step : steps) {
+            assertEquals(10, step.getMaxInMemory());
+            assertEquals(new File("/tmp/spill"), step.getSpillDirectory());
+        }
+    }
+
+    @Test
+    public void shouldGroupExternally() {
+        final File directory = emptyDirectory("shouldGroupExternally");
+        final List<Integer> numbers = IntStream.range(0, 1000).map(i -> i % 700).boxed().collect(Collectors.toList());
+        Collections.shuffle(numbers, new Random(42));
+
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        final GraphTraversalSource spilling = g.withStrategies(SpillStrategy.build().maxInMemory(64).directory(directory.getAbsolutePath()).create());
+
+        assertEquals(g.inject(numbers).unfold().group().toList(),
+                spilling.inject(numbers).unfold().group().toList());
+        assertEquals(g.inject(numbers).unfold().groupCount().toList(),
+                spilling.inject(numbers).unfold().groupCount().toList());
+        assertEquals(g.inject(numbers).unfold().group().by(__.math("_ % 300")).by(__.sum()).toList(),
+                spilling.inject(numbers).unfold().group().by(__.math("_ % 300")).by(__.sum()).toList());
+        assertEquals(g.inject(numbers).unfold().group().by(__.math("_ % 300")).by(__.order().fold()).toList(),
+                spilling.inject(numbers).unfold().group().by(__.math("_ % 300")).by(__.order().fold()).toList());
+        assertEquals(g.inject(numbers).unfold().group().by(__.math("_ % 300")).by(__.fold().count(Scope.local)).toList(),
+                spilling.inject(numbers).unfold().group().by(__.math("_ % 300")).by(__.fold().count(Scope.local)).toList());
+        assertEquals(g.inject(numbers).unfold().group().by(__.math("_ % 300")).by(__.dedup().count()).toList(),
+                spilling.inject(numbers).unfold().group().by(__.math("_ % 300")).by(__.dedup().count()).toList());
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void shouldDeleteGroupsWhenClosed() throws Exception {
+        assumeGryoIsAvailable();
+        final File directory = emptyDirectory("shouldDeleteGroupsWhenClosed");
+        final List<Integer> numbers = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        final GraphTraversalSource spilling = EmptyGraph.instance().traversal().
+                withStrategies(SpillStrategy.build().maxInMemory(64).directory(directory.getAbsolutePath()).create());
+
+        // the partitions are written once the step holds 64 groups and only read when the step is asked for its map
+        final Traversal.Admin<?, ?> traversal = spilling.inject(numbers).unfold().group().asAdmin();
+        traversal.applyStrategies();
+        final GroupStep<?, ?, ?> step = TraversalHelper.getLastStepOfAssignableClass(GroupStep.class, traversal).get();
+        step.processAllStarts();
+        assertEquals(32, directory.list().length);
+        traversal.close();
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void shouldGroupInMemoryWhatCannotBeWritten() {
+        final File directory = emptyDirectory("shouldGroupInMemoryWhatCannotBeWritten");
+        final List<Object> objects = IntStream.range(0, 1000).mapToObj(i -> new Unwritable(i % 700)).collect(Collectors.toList());
+
+        final Map<Object, Long> groups = EmptyGraph.instance().traversal().
+                withStrategies(SpillStrategy.build().maxInMemory(64).directory(directory.getAbsolutePath()).create()).
+                inject(objects).unfold().<Object, Long>group().by().by(__.count()).next();
+        assertEquals(1000, groups.size());
+        assertEquals(1000L, groups.values().stream().mapToLong(Long::longValue).sum());
+
+        final Map<Object, List<Object>> unwritable = EmptyGraph.instance().traversal().
+                withStrategies(SpillStrategy.build().maxInMemory(64).directory(directory.getAbsolutePath()).create()).
+                inject(objects).unfold().<Object, List<Object>>group().by(__.map(t -> ((Unwritable) t.get()).value)).next();
+        assertEquals(700, unwritable.size());
+        for (int i = 0; i < 700; i++) {
+            assertEquals(i < 300 ? 2 : 1, unwritable.get(i).size());
+        }
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void shouldSortInMemoryWhatCannotBeWritten() {
+        final File directory = emptyDirectory("shouldSortInMemoryWhatCannotBeWritten");
+        final List<Object> objects = IntStream.range(0, 1000).mapToObj(Unwritable::new).collect(Collectors.toList());
+        Collections.shuffle(objects, new Random(42));
+
+        final List<Object> sorted = EmptyGraph.instance().traversal().
+                withStrategies(SpillStrategy.build().maxInMemory(64).directory(directory.getAbsolutePath()).create()).
+                inject(objects).unfold().order().toList();
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i, ((Unwritable) sorted.get(i)).value);
+        }
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void shouldKeepInMemoryWhatFailsToBeWritten() {
+        final File directory = new File(emptyDirectory("shouldKeepInMemoryWhatFailsToBeWritten"), "missing");
+        final List<Integer> numbers = IntStream.range(0, 1000).map(i -> i % 700).boxed().collect(Collectors.toList());
+        Collections.shuffle(numbers, new Random(42));
+
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        final GraphTraversalSource spilling = g.withStrategies(SpillStrategy.build().maxInMemory(64).directory(directory.getAbsolutePath()).create());
+
+        assertEquals(g.inject(numbers).unfold().order().toList(),
+                spilling.inject(numbers).unfold().order().toList());
+        assertEquals(g.inject(numbers).unfold().groupCount().toList(),
+                spilling.inject(numbers).unfold().groupCount().toList());
+        assertFalse(directory.exists());
+    }
+
+    /**
+     * Nothing is written where Gryo cannot create its serializers, as on a JVM that does not open the classes it
+     * registers, and the steps keep everything in memory instead.
+     */
+    private static void assumeGryoIsAvailable() {
+        try {
+            GryoMapper.build().create().createMapper();
+        } catch (final IllegalArgumentException e) {
+            assumeNoException(e);
+        }
+    }
+
+    private static File emptyDirectory(final String name) {
+        final File directory = TestSupport.makeTestDataPath(SpillStrategyTest.class, name);
+        directory.mkdirs();
+        for (final File file : directory.listFiles()) {
+            file.delete();
+        }
+        return directory;
+    }
+
+    private static final class Unwritable implements Comparable<Unwritable> {
+        private final int value;
+
+        private Unwritable(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(final Unwritable other) {
+            return Integer.compare(this.value, other.value);
+        }
+    }
+}
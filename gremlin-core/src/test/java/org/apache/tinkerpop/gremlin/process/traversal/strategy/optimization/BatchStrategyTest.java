@@ -0,0 +1,152 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ScalarMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
+
+public class BatchStrategyTest {
+
+    @Test
+    public void shouldBatchFilterMapAndFlatMapSteps() {
+        assertThat(batchSizes(__.out().has("name", "marko").values("age").is(P.gt(30))), contains(256, 256, 256, 256));
+        assertThat(batchSizes(__.out().id(), BatchStrategy.build().batchSize(8).create()), contains(8, 8));
+    }
+
+    @Test
+    public void shouldNotBatchStepsThatAreNotFilterMapOrFlatMap() {
+        assertThat(batchSizes(__.out().order().out()), contains(256, 0, 256));
+        assertThat(batchSizes(__.out().dedup().out()), contains(256, 0, 256));
+    }
+
+    @Test
+    public void shouldNotBatchBeforeRange() {
+        assertThat(batchSizes(__.out().out().limit(1).out()), contains(0, 0, 0, 256));
+    }
+
+    @Test
+    public void shouldNotBatchWhenOrderOfEvaluationCouldBeObserved() {
+        assertThat(batchSizes(__.out().aggregate("x").out()), contains(0, 0, 0));
+        assertThat(batchSizes(__.out().map(t -> t.get()).out()), contains(0, 0, 0));
+        assertThat(batchSizes(__.out().where(__.sideEffect(t -> {})).out()), contains(0, 0, 0));
+    }
+
+    @Test
+    public void shouldNotBatchChildTraversals() {
+        final Traversal.Admin<?, ?> traversal = __.out().where(__.out().has("name", "marko")).asAdmin();
+        applyStrategy(traversal, BatchStrategy.instance());
+        final Traversal.Admin<?, ?> child = (Traversal.Admin<?, ?>) ((org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent) traversal.getSteps().get(1)).getLocalChildren().get(0);
+        assertThat(child.getSteps().stream().map(s -> ((AbstractStep) s).getBatchSize()).collect(Collectors.toList()), contains(0, 0));
+    }
+
+    @Test
+    public void shouldProduceTheSameResultsInBatches() {
+        final Integer[] numbers = IntStream.range(0, 1000).boxed().toArray(Integer[]::new);
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        final List<Object> expected = g.inject(numbers).is(P.gt(10)).math("_ * 2").is(P.lt(1500)).
+                unfold().as("a").toList();
+        for (final int batchSize : new int[]{1, 3, 256, 5000}) {
+            assertEquals(expected, g.withStrategies(BatchStrategy.build().batchSize(batchSize).create()).
+                    inject(numbers).is(P.gt(10)).math("_ * 2").is(P.lt(1500)).unfold().as("a").toList());
+        }
+    }
+
+    @Test
+    public void shouldKeepStartsOfBatchWhenMapHasNoResult() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(IntStream.range(0, 1000).boxed().toArray(Integer[]::new)).asAdmin();
+        traversal.addStep(new ScalarMapStep<Integer, Integer>(traversal) {
+            @Override
+            protected Integer map(final Traverser.Admin<Integer> traverser) {
+                if (traverser.get() % 10 == 3)
+                    throw FastNoSuchElementException.instance();
+                return traverser.get() * 2;
+            }
+        });
+        assertEquals(IntStream.range(0, 1000).filter(i -> i % 10 != 3).map(i -> i * 2).boxed().collect(Collectors.toList()),
+                drainInBatches(traversal));
+    }
+
+    @Test
+    public void shouldKeepStartsOfBatchWhenFilterHasNoResult() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(IntStream.range(0, 1000).boxed().toArray(Integer[]::new)).asAdmin();
+        traversal.addStep(new FilterStep<Integer>(traversal) {
+            @Override
+            protected boolean filter(final Traverser.Admin<Integer> traverser) {
+                if (traverser.get() % 10 == 3)
+                    throw FastNoSuchElementException.instance();
+                return traverser.get() % 2 == 0;
+            }
+        });
+        assertEquals(IntStream.range(0, 1000).filter(i -> i % 2 == 0).boxed().collect(Collectors.toList()),
+                drainInBatches(traversal));
+    }
+
+    /**
+     * Takes all the results of the end step in batches of eight, where a start without a result ends
+     * {@code hasNext()} as it does without batches but leaves the starts after it to the next call.
+     */
+    private static List<Integer> drainInBatches(final Traversal.Admin<Integer, Integer> traversal) {
+        final AbstractStep<?, Integer> step = (AbstractStep<?, Integer>) traversal.getEndStep();
+        step.setBatchSize(8);
+        final List<Integer> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            while (step.hasNext()) {
+                results.add(step.next().get());
+            }
+        }
+        return results;
+    }
+
+    private static List<Integer> batchSizes(final Traversal<?, ?> traversal) {
+        return batchSizes(traversal, BatchStrategy.instance());
+    }
+
+    private static List<Integer> batchSizes(final Traversal<?, ?> traversal, final BatchStrategy strategy) {
+        applyStrategy(traversal.asAdmin(), strategy);
+        return traversal.asAdmin().getSteps().stream().
+                map(s -> ((AbstractStep) s).getBatchSize()).collect(Collectors.toList());
+    }
+
+    private static void applyStrategy(final Traversal.Admin<?, ?> traversal, final BatchStrategy strategy) {
+        final DefaultTraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(strategy);
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+    }
+}
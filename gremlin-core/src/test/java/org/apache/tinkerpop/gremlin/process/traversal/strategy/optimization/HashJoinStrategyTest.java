@@ -0,0 +1,99 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.HashJoinStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.gt;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.neq;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HashJoinStrategyTest {
+
+    @Test
+    public void shouldJoinOnStartKeyOfWhere() {
+        final Traversal.Admin<?, ?> traversal = __.out().as("a").V().as("b").where("a", eq("b")).by("name").asAdmin();
+        assertThat(stepClasses(traversal), contains(VertexStep.class, HashJoinStep.class));
+
+        final HashJoinStep<?, ?> joinStep = (HashJoinStep<?, ?>) traversal.getEndStep();
+        assertEquals("a", joinStep.getProbeKey());
+        assertEquals(Collections.singleton("b"), joinStep.getLabels());
+        assertThat(stepClasses(joinStep.getBuildTraversal()), contains(GraphStep.class));
+        assertTrue(((GraphStep<?, ?>) joinStep.getBuildTraversal().getStartStep()).isStartStep());
+        assertEquals(2, joinStep.getLocalChildren().size());
+    }
+
+    @Test
+    public void shouldJoinOnCurrentObjectOfWhere() {
+        final Traversal.Admin<?, ?> traversal = __.out().as("a").V().has("age", gt(30)).out("created").as("b").where(eq("a")).asAdmin();
+        assertThat(stepClasses(traversal), contains(VertexStep.class, HashJoinStep.class));
+
+        final HashJoinStep<?, ?> joinStep = (HashJoinStep<?, ?>) traversal.getEndStep();
+        assertEquals("a", joinStep.getProbeKey());
+        assertEquals(Collections.singleton("b"), joinStep.getLabels());
+        assertThat(stepClasses(joinStep.getBuildTraversal()), contains(GraphStep.class, HasStep.class, VertexStep.class));
+        assertTrue(joinStep.getBuildTraversal().getEndStep().getLabels().isEmpty());
+        assertEquals(0, joinStep.getLocalChildren().size());
+    }
+
+    @Test
+    public void shouldNotJoinWhatDependsOnTheOuterTraverser() {
+        assertNotJoined(__.out().as("a").V().as("b").where("a", neq("b")).by("name"));
+        assertNotJoined(__.out().as("a").V().as("b").where("a", eq("c")).by("name"));
+        assertNotJoined(__.V().as("b").where("a", eq("b")).by("name"));
+        assertNotJoined(__.out().as("a").V().as("c").out().as("b").where("a", eq("b")));
+        assertNotJoined(__.out().as("a").V().limit(2).as("b").where("a", eq("b")));
+        assertNotJoined(__.out().as("a").V().where(__.select("a")).as("b").where("a", eq("b")));
+        assertNotJoined(__.out().as("a").V().as("b").where("a", eq("b")).by(__.select("a")));
+        assertNotJoined(__.out().as("a").V().as("b").where("a", eq("b")).path());
+        assertNotJoined(__.out().as("a").V().as("b").where("a", eq("b")).addV());
+    }
+
+    private static void assertNotJoined(final Traversal<?, ?> traversal) {
+        assertTrue(stepClasses(traversal.asAdmin()).contains(WherePredicateStep.class));
+        assertTrue(!stepClasses(traversal.asAdmin()).contains(HashJoinStep.class));
+    }
+
+    private static List<Class<? extends Step>> stepClasses(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.isLocked() && traversal.isRoot()) {
+            final DefaultTraversalStrategies strategies = new DefaultTraversalStrategies();
+            strategies.addStrategies(HashJoinStrategy.instance());
+            traversal.setStrategies(strategies);
+            traversal.applyStrategies();
+        }
+        return traversal.getSteps().stream().map(Step::getClass).collect(Collectors.toList());
+    }
+}
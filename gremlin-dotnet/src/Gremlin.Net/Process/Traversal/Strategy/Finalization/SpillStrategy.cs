@@ -0,0 +1,54 @@
+﻿#region License
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+#endregion
+
+namespace Gremlin.Net.Process.Traversal.Strategy.Finalization
+{
+    /// <summary>
+    ///     Lets steps that hold many traversers, such as order(), write them to disk past a threshold.
+    /// </summary>
+    public class SpillStrategy : AbstractTraversalStrategy
+    {
+        private const string JavaFqcn = FinalizationNamespace + nameof(SpillStrategy);
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="SpillStrategy" /> class.
+        /// </summary>
+        public SpillStrategy() : base(JavaFqcn)
+        {
+        }
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="SpillStrategy" /> class.
+        /// </summary>
+        /// <param name="maxInMemory">The number of distinct traversers a step may hold before it writes them to disk.</param>
+        /// <param name="directory">The directory on the server to write to.</param>
+        public SpillStrategy(int? maxInMemory = null, string? directory = null)
+            : this()
+        {
+            if (maxInMemory != null)
+                Configuration["maxInMemory"] = maxInMemory;
+            if (directory != null)
+                Configuration["directory"] = directory;
+        }
+    }
+}
@@ -37,5 +37,16 @@ namespace Gremlin.Net.Process.Traversal.Strategy.Optimization
         public LazyBarrierStrategy() : base(JavaFqcn)
         {
         }
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="LazyBarrierStrategy" /> class.
+        /// </summary>
+        /// <param name="adaptive">Whether the inserted barriers resize themselves by how well traversers bulk.</param>
+        public LazyBarrierStrategy(bool? adaptive = null)
+            : this()
+        {
+            if (adaptive != null)
+                Configuration["adaptive"] = adaptive;
+        }
     }
 }
\ No newline at end of file
@@ -200,6 +200,26 @@ type MatchAlgorithmStrategyConfig struct {
 	MatchAlgorithm string
 }
 
+// SpillStrategy lets steps that hold many traversers, such as Order(), write them to disk once they hold more
+// than MaxInMemory distinct traversers so that they do not run out of memory.
+func SpillStrategy(config SpillStrategyConfig) TraversalStrategy {
+	configMap := make(map[string]interface{})
+	if config.MaxInMemory != 0 {
+		configMap["maxInMemory"] = config.MaxInMemory
+	}
+	if config.Directory != "" {
+		configMap["directory"] = config.Directory
+	}
+	return &traversalStrategy{name: finalizationNamespace + "SpillStrategy", configuration: configMap}
+}
+
+// SpillStrategyConfig provides configuration options for SpillStrategy.
+// Zeroed (unset) values are ignored.
+type SpillStrategyConfig struct {
+	MaxInMemory int32
+	Directory   string
+}
+
 // Verification strategies
 
 // EdgeLabelVerificationStrategy does not allow Edge traversal steps to have no label specified.
@@ -268,6 +288,22 @@ func AdjacentToIncidentStrategy() TraversalStrategy {
 	return &traversalStrategy{name: optimizationNamespace + "AdjacentToIncidentStrategy"}
 }
 
+// BatchStrategy has the filter, map and flatmap steps of a traversal pass their traversers along in batches of
+// BatchSize so that each step processes a whole batch of its starts at once.
+func BatchStrategy(config BatchStrategyConfig) TraversalStrategy {
+	configMap := make(map[string]interface{})
+	if config.BatchSize != 0 {
+		configMap["batchSize"] = config.BatchSize
+	}
+	return &traversalStrategy{name: optimizationNamespace + "BatchStrategy", configuration: configMap}
+}
+
+// BatchStrategyConfig provides configuration options for BatchStrategy.
+// Zeroed (unset) values are ignored.
+type BatchStrategyConfig struct {
+	BatchSize int32
+}
+
 // ByModulatorOptimizationStrategy looks for standard traversals in By-modulators and replaces them with more
 // optimized traversals (e.g. TokenTraversal) if possible.
 func ByModulatorOptimizationStrategy() TraversalStrategy {
@@ -327,8 +363,19 @@ func InlineFilterStrategy() TraversalStrategy {
 // FlatMapStep if neither Path-tracking nor partial Path-tracking is required, and the next step is not the
 // traversal's last step or a barrier. NoOpBarrierSteps allow Traversers to be bulked, thus this strategy
 // is meant to reduce memory requirements and improve the overall query performance.
-func LazyBarrierStrategy() TraversalStrategy {
-	return &traversalStrategy{name: optimizationNamespace + "LazyBarrierStrategy"}
+func LazyBarrierStrategy(config ...LazyBarrierStrategyConfig) TraversalStrategy {
+	configMap := make(map[string]interface{})
+	if len(config) == 1 && config[0].Adaptive {
+		configMap["adaptive"] = true
+	}
+	return &traversalStrategy{name: optimizationNamespace + "LazyBarrierStrategy", configuration: configMap}
+}
+
+// LazyBarrierStrategyConfig provides configuration options for LazyBarrierStrategy.
+// Zeroed (unset) values are ignored.
+type LazyBarrierStrategyConfig struct {
+	// Adaptive makes the inserted barriers resize themselves by how well traversers bulk.
+	Adaptive bool
 }
 
 // MatchPredicateStrategy will fold any post-Where() step that maintains a traversal constraint into
@@ -27,6 +27,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Partit
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.SpillStrategy
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.BatchStrategy
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.LazyBarrierStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProductiveByStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.EdgeLabelVerificationStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReservedKeysVerificationStrategy
@@ -60,12 +63,14 @@ class StrategyLoader {
 
         // finalization
         MatchAlgorithmStrategy.metaClass.constructor << { Map conf -> MatchAlgorithmStrategy.create(new MapConfiguration(conf)) }
+        SpillStrategy.metaClass.constructor << { Map conf -> SpillStrategy.create(new MapConfiguration(conf)) }
         // # ProfileStrategy is singleton/internal
         // # ReferenceElementStrategy is singleton/internal
         // # ComputerFinalizationStrategy is singleton/internal
 
         // optimization
         ProductiveByStrategy.metaClass.constructor << { Map conf -> ProductiveByStrategy.create(new MapConfiguration(conf)) }
+        BatchStrategy.metaClass.constructor << { Map conf -> BatchStrategy.create(new MapConfiguration(conf)) }
         // # AdjacentToIncidentStrategy is singleton/internal
         // # CountStrategy is singleton/internal
         // # EarlyLimitStrategy is singleton/internal
@@ -73,7 +78,7 @@ class StrategyLoader {
         // # IdentityRemovalStrategy is singleton/internal
         // # IncidentToAdjacentStrategy is singleton/internal
         // # InlineFilterStrategy is singleton/internal
-        // # LazyBarrierStrategy is singleton/internal
+        LazyBarrierStrategy.metaClass.constructor << { Map conf -> LazyBarrierStrategy.create(new MapConfiguration(conf)) }
         // # MatchPredicateStrategy is singleton/internal
         // # OrderLimitStrategy is singleton/internal
         // # PathProcessorStrategy is singleton/internal
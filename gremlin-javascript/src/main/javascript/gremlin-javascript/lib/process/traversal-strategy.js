@@ -179,12 +179,33 @@ class MatchAlgorithmStrategy extends TraversalStrategy {
   }
 }
 
+class SpillStrategy extends TraversalStrategy {
+  /**
+   * @param {Object} [options]
+   * @param {Number} [options.maxInMemory] number of distinct traversers a step may hold before writing them to disk
+   * @param {String} [options.directory] directory on the server to write to
+   */
+  constructor(options) {
+    super('org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.SpillStrategy', options);
+  }
+}
+
 class AdjacentToIncidentStrategy extends TraversalStrategy {
   constructor() {
     super('org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy');
   }
 }
 
+class BatchStrategy extends TraversalStrategy {
+  /**
+   * @param {Object} [options]
+   * @param {Number} [options.batchSize] number of traversers a step passes to the next at a time
+   */
+  constructor(options) {
+    super('org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.BatchStrategy', options);
+  }
+}
+
 class FilterRankingStrategy extends TraversalStrategy {
   constructor() {
     super('org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FilterRankingStrategy');
@@ -210,8 +231,12 @@ class InlineFilterStrategy extends TraversalStrategy {
 }
 
 class LazyBarrierStrategy extends TraversalStrategy {
-  constructor() {
-    super('org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.LazyBarrierStrategy');
+  /**
+   * @param {Object} [options]
+   * @param {Boolean} [options.adaptive] whether the inserted barriers resize themselves by how well traversers bulk
+   */
+  constructor(options) {
+    super('org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.LazyBarrierStrategy', options);
   }
 }
 
@@ -329,8 +354,10 @@ module.exports = {
   VertexProgramStrategy: VertexProgramStrategy,
   // finalization
   MatchAlgorithmStrategy: MatchAlgorithmStrategy,
+  SpillStrategy: SpillStrategy,
   // optimization
   AdjacentToIncidentStrategy: AdjacentToIncidentStrategy,
+  BatchStrategy: BatchStrategy,
   FilterRankingStrategy: FilterRankingStrategy,
   IdentityRemovalStrategy: IdentityRemovalStrategy,
   IncidentToAdjacentStrategy: IncidentToAdjacentStrategy,
@@ -827,18 +827,20 @@ traversalStrategy
 //  | 'SideEffectStrategy' - not supported directly as it's internal to withSideEffect()
     | NEW 'SubgraphStrategy' LPAREN traversalStrategyArgs_SubgraphStrategy? (COMMA traversalStrategyArgs_SubgraphStrategy)* RPAREN
 //  | 'MatchAlgorithmStrategy' - not supported directly as it's internal to match()
+    | NEW? 'SpillStrategy' (LPAREN traversalStrategyArgs_SpillStrategy? (COMMA traversalStrategyArgs_SpillStrategy)* RPAREN)?
 //  | 'ProfileStrategy' - not supported directly as it's internal to profile()
 //  | 'ReferenceElementStrategy' - not supported directly as users really can't/shouldn't change this in our context of a remote Gremlin provider
 //  | 'AdjacentToIncidentStrategy' - not supported as it is a default strategy and we don't allow removal at this time
 //  | 'ByModulatorOptimizationStrategy' - not supported as it is a default strategy and we don't allow removal at this time
     | NEW? 'ProductiveByStrategy' (LPAREN traversalStrategyArgs_ProductiveByStrategy? RPAREN)?
+    | NEW? 'BatchStrategy' (LPAREN ('batchSize' COLON integerLiteral)? RPAREN)?
 //  | 'CountStrategy' - not supported as it is a default strategy and we don't allow removal at this time
 //  | 'EarlyLimitStrategy' - not supported as it is a default strategy and we don't allow removal at this time
 //  | 'FilterRankingStrategy' - not supported as it is a default strategy and we don't allow removal at this time
 //  | 'IdentityRemovalStrategy' - not supported as it is a default strategy and we don't allow removal at this time
 //  | 'IncidentToAdjacentStrategy' - not supported as it is a default strategy and we don't allow removal at this time
 //  | 'InlineFilterStrategy' - not supported as it is a default strategy and we don't allow removal at this time
-//  | 'LazyBarrierStrategy' - not supported as it is a default strategy and we don't allow removal at this time
+    | NEW 'LazyBarrierStrategy' LPAREN ('adaptive' COLON booleanLiteral)? RPAREN
 //  | 'MatchPredicateStrategy' - not supported as it is a default strategy and we don't allow removal at this time
 //  | 'OrderLimitStrategy' - not supported as it is a default strategy and we don't allow removal at this time
 //  | 'PathProcessorStrategy' - not supported as it is a default strategy and we don't allow removal at this time
@@ -856,6 +858,11 @@ traversalStrategyArgs_ProductiveByStrategy
     : 'productiveKeys' COLON stringLiteralList
     ;
 
+traversalStrategyArgs_SpillStrategy
+    : 'maxInMemory' COLON integerLiteral
+    | 'directory' COLON stringBasedLiteral
+    ;
+
 traversalStrategyArgs_PartitionStrategy
     : 'includeMetaProperties' COLON booleanLiteral
     | 'writePartition' COLON stringBasedLiteral
@@ -121,6 +121,15 @@ class MatchAlgorithmStrategy(TraversalStrategy):
             self.configuration["matchAlgorithm"] = match_algorithm
 
 
+class SpillStrategy(TraversalStrategy):
+    def __init__(self, max_in_memory=None, directory=None):
+        TraversalStrategy.__init__(self, fqcn=finalization_namespace + 'SpillStrategy')
+        if max_in_memory is not None:
+            self.configuration["maxInMemory"] = max_in_memory
+        if directory is not None:
+            self.configuration["directory"] = directory
+
+
 ###########################
 # OPTIMIZATION STRATEGIES #
 ###########################
@@ -140,6 +149,13 @@ class CountStrategy(TraversalStrategy):
         TraversalStrategy.__init__(self, fqcn="org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy")
 
 
+class BatchStrategy(TraversalStrategy):
+    def __init__(self, batch_size=None):
+        TraversalStrategy.__init__(self, fqcn=optimization_namespace + 'BatchStrategy')
+        if batch_size is not None:
+            self.configuration["batchSize"] = batch_size
+
+
 class FilterRankingStrategy(TraversalStrategy):
     def __init__(self):
         TraversalStrategy.__init__(self, fqcn=optimization_namespace + 'FilterRankingStrategy')
@@ -161,8 +177,10 @@ class InlineFilterStrategy(TraversalStrategy):
 
 
 class LazyBarrierStrategy(TraversalStrategy):
-    def __init__(self):
+    def __init__(self, adaptive=None):
         TraversalStrategy.__init__(self, fqcn=optimization_namespace + 'LazyBarrierStrategy')
+        if adaptive is not None:
+            self.configuration["adaptive"] = adaptive
 
 
 class MatchPredicateStrategy(TraversalStrategy):
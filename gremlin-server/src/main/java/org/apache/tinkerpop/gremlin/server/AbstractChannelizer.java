@@ -34,6 +34,7 @@ import org.apache.tinkerpop.gremlin.server.authz.Authorizer;
 import org.apache.tinkerpop.gremlin.server.handler.AbstractAuthenticationHandler;
 import org.apache.tinkerpop.gremlin.server.handler.OpExecutorHandler;
 import org.apache.tinkerpop.gremlin.server.handler.OpSelectorHandler;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
 import org.apache.tinkerpop.gremlin.server.util.ServerGremlinExecutor;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import io.netty.channel.ChannelInitializer;
@@ -105,6 +106,7 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
     protected static final String PIPELINE_SSL = "ssl";
     protected static final String PIPELINE_OP_SELECTOR = "op-selector";
     protected static final String PIPELINE_OP_EXECUTOR = "op-executor";
+    protected static final String PIPELINE_WRITABILITY = "writability";
     protected static final String PIPELINE_HTTP_REQUEST_DECODER = "http-request-decoder";
 
     protected static final String GREMLIN_ENDPOINT = "/gremlin";
@@ -170,6 +172,9 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
             pipeline.addLast(new IdleStateHandler(idleConnectionTimeout, keepAliveInterval, 0));
         }
 
+        // wakes the workers that wait on a lagging client to catch up with the results written to it
+        pipeline.addLast(PIPELINE_WRITABILITY, new WritabilityHandler());
+
         // the implementation provides the method by which Gremlin Server will process requests.  the end of the
         // pipeline must decode to an incoming RequestMessage instances and encode to a outgoing ResponseMessage
         // instance
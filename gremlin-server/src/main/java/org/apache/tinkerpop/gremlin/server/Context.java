@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptChecker;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
 import org.apache.tinkerpop.gremlin.server.handler.WsUserAgentHandler;
+import org.apache.tinkerpop.gremlin.server.util.RequestPhases;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +56,7 @@ public class Context {
     private final RequestContentType requestContentType;
     private final Object gremlinArgument;
     private final AtomicBoolean startedResponse = new AtomicBoolean(false);
+    private final RequestPhases requestPhases = new RequestPhases();
 
     /**
      * The type of the request as determined by the contents of {@link Tokens#ARGS_GREMLIN}.
@@ -118,6 +120,13 @@ public class Context {
         return scheduledExecutorService;
     }
 
+    /**
+     * Gets the times measured for the phases of processing the request.
+     */
+    public RequestPhases getRequestPhases() {
+        return requestPhases;
+    }
+
     /**
      * Gets the current request to Gremlin Server.
      */
@@ -39,6 +39,7 @@ import org.apache.tinkerpop.gremlin.server.util.LifeCycleHook;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.server.util.ServerGremlinExecutor;
 import org.apache.tinkerpop.gremlin.server.util.ThreadFactoryUtil;
+import org.apache.tinkerpop.gremlin.server.util.ThreadPerTaskExecutorService;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.util.Gremlin;
@@ -180,8 +181,12 @@ public class GremlinServer {
                     if (channelFuture.isSuccess()) {
                         ch = channelFuture.channel();
 
-                        logger.info("Gremlin Server configured with worker thread pool of {}, gremlin pool of {} and boss thread pool of {}.",
-                                settings.threadPoolWorker, settings.gremlinPool, settings.threadPoolBoss);
+                        if (gremlinExecutorService instanceof ThreadPerTaskExecutorService)
+                            logger.info("Gremlin Server configured with worker thread pool of {}, a thread per request for up to {} requests and boss thread pool of {}.",
+                                    settings.threadPoolWorker, settings.maxWorkQueueSize, settings.threadPoolBoss);
+                        else
+                            logger.info("Gremlin Server configured with worker thread pool of {}, gremlin pool of {} and boss thread pool of {}.",
+                                    settings.threadPoolWorker, settings.gremlinPool, settings.threadPoolBoss);
                         logger.info("Channel started at port {}.", settings.port);
 
                         serverReadyFuture.complete(serverGremlinExecutor);
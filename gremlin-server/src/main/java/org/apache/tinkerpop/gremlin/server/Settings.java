@@ -100,6 +100,16 @@ public class Settings {
      */
     public int gremlinPool = 0;
 
+    /**
+     * Determines if requests are evaluated each on a virtual thread of its own rather than on the fixed number of
+     * threads given by {@link #gremlinPool}. Virtual threads are supported from Java 21 and on older JVMs requests are
+     * evaluated on the {@link #gremlinPool} as if this setting was disabled. In this mode {@link #maxWorkQueueSize}
+     * limits the number of requests that may be evaluated at once, after which requests are rejected. This mode suits graphs whose
+     * operations block on I/O, where a fixed pool would need to be sized to the number of requests waiting on it.
+     * Defaults to {@code false}.
+     */
+    public boolean threadPerRequest = false;
+
     /**
      * Size of the boss thread pool.  Defaults to 1 and should likely stay at 1.  The bossy thread accepts incoming
      * connections on a port until it is unbound. Once a connection is accepted successfully, the boss thread
@@ -202,7 +212,8 @@ public class Settings {
      * Maximum size the general processing queue can grow before starting to reject requests. The general processing
      * queue is managed by a thread pool that has its size determined by {@link #gremlinPool}. All incoming requests
      * will be processed by this thread pool. If the threads are exhausted, the requests will queue to the size
-     * specified by this value after which they will begin to reject the requests.
+     * specified by this value after which they will begin to reject the requests. When {@link #threadPerRequest} is
+     * enabled, requests do not queue and this value is instead the number of requests that may be evaluated at once.
      * <p/>
      * This value should be taken in account with the {@link #maxSessionTaskQueueSize} which is related in some
      * respects. A request that starts a new {@link Session} is handled by this queue, but additional requests to a
@@ -46,6 +46,7 @@ import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.util.ExceptionHelper;
+import org.apache.tinkerpop.gremlin.server.util.RequestPhases;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
@@ -72,7 +73,6 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -269,6 +269,8 @@ public abstract class AbstractSession implements Session, AutoCloseable {
             msg.optionalArgs(Tokens.ARGS_ALIASES).ifPresent(m -> aliasesUsedBySession.addAll(((Map<String,String>) m).values()));
 
         final Timer.Context timer = getMetricsTimer(sessionTask);
+        final RequestPhases phases = sessionTask.getRequestPhases();
+        phases.started();
         try {
             // itty is optional as Bytecode could be a "graph operation" rather than a Traversal. graph operations
             // don't need to be iterated and handle their own lifecycle
@@ -278,12 +280,18 @@ public abstract class AbstractSession implements Session, AutoCloseable {
 
             processAuditLog(sessionTask.getSettings(), sessionTask.getChannelHandlerContext(), gremlinToExecute);
 
-            if (itty.isPresent())
+            if (itty.isPresent()) {
+                final long iterateStart = System.nanoTime();
                 handleIterator(sessionTask, itty.get());
+                phases.stop(RequestPhases.Phase.ITERATE, iterateStart);
+            }
         } catch (Exception ex) {
             handleException(sessionTask, ex);
         } finally {
             timer.stop();
+            // only sessionless requests manage their transactions, so the phases are reported under the name of the
+            // OpProcessor that would have handled the request without the UnifiedChannelizer
+            phases.report(!transactionManaged ? "session" : gremlinToExecute instanceof Bytecode ? "traversal" : "standard", sessionTask);
         }
     }
 
@@ -425,8 +433,11 @@ public abstract class AbstractSession implements Session, AutoCloseable {
         final RequestMessage msg = sessionTask.getRequestMessage();
         final Map<String, Object> args = msg.getArgs();
         final String language = args.containsKey(Tokens.ARGS_LANGUAGE) ? (String) args.get(Tokens.ARGS_LANGUAGE) : "gremlin-groovy";
-        return IteratorUtils.asIterator(getScriptEngine(sessionTask, language).eval(
-                script, mergeBindingsFromRequest(sessionTask, getWorkerBindings())));
+        final long compileStart = System.nanoTime();
+        final Object result = getScriptEngine(sessionTask, language).eval(
+                script, mergeBindingsFromRequest(sessionTask, getWorkerBindings()));
+        sessionTask.getRequestPhases().stop(RequestPhases.Phase.COMPILE, compileStart);
+        return IteratorUtils.asIterator(result);
     }
 
     /**
@@ -451,6 +462,7 @@ public abstract class AbstractSession implements Session, AutoCloseable {
             return Optional.empty();
         } else {
 
+            final long compileStart = System.nanoTime();
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
             if (!lambdaLanguage.isPresent())
                 traversal = JavaTranslator.of(g).translate(bytecode);
@@ -460,9 +472,12 @@ public abstract class AbstractSession implements Session, AutoCloseable {
                 traversal = sessionTask.getGremlinExecutor().getScriptEngineManager().
                         getEngineByName(lambdaLanguage.get()).eval(bytecode, bindings, traversalSourceName);
             }
+            sessionTask.getRequestPhases().stop(RequestPhases.Phase.COMPILE, compileStart);
 
             // compile the traversal - without it getEndStep() has nothing in it
+            final long strategiesStart = System.nanoTime();
             traversal.applyStrategies();
+            sessionTask.getRequestPhases().stop(RequestPhases.Phase.STRATEGIES, strategiesStart);
 
             return Optional.of(new TraverserIterator(traversal));
         }
@@ -598,7 +613,9 @@ public abstract class AbstractSession implements Session, AutoCloseable {
                     final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
                     Frame frame = null;
                     try {
+                        final long serializeStart = System.nanoTime();
                         frame = makeFrame(sessionTask, aggregate, code, itty);
+                        sessionTask.getRequestPhases().stop(RequestPhases.Phase.SERIALIZE, serializeStart);
                     } catch (Exception ex) {
                         // a frame may use a Bytebuf which is a countable release - if it does not get written
                         // downstream it needs to be released here
@@ -656,9 +673,16 @@ public abstract class AbstractSession implements Session, AutoCloseable {
                     warnOnce = true;
                 }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                // since the client is lagging, iteration continues into the batch and once that is full the worker
+                // waits here until the channel is writable again, which wakes it as soon as the client has caught up
+                // rather than after an interval. this isn't blocking the IO thread - just a worker, which can't hand
+                // the rest of the results to another one as a session, even one for a single sessionless request,
+                // runs on its own thread and manages its transaction on it.
+                if (forceFlush || aggregate.size() >= resultIterationBatchSize || !itty.hasNext()) {
+                    final long backpressureStart = System.nanoTime();
+                    WritabilityHandler.awaitWritable(nettyContext.channel());
+                    sessionTask.getRequestPhases().stop(RequestPhases.Phase.BACKPRESSURE, backpressureStart);
+                }
             }
         }
     }
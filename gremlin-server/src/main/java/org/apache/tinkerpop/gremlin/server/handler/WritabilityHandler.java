@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Channel handler which wakes the worker threads that are writing results to a channel once the channel is writable
+ * again. When a client does not read results as fast as they are produced the channel becomes unwritable as the
+ * {@code writeBufferHighWaterMark} is exceeded. A request that may continue on any thread then gives up its worker
+ * and has the rest of its results written by a task registered with {@link #whenWritable(Channel, Runnable)}, which
+ * runs once the buffer drains below the {@code writeBufferLowWaterMark} or the channel closes. A request that is bound
+ * to its thread, like one in a session or one with a managed transaction, waits in {@link #awaitWritable(Channel)}
+ * instead, rather than checking back on the channel at an interval. The wait uses a {@link Lock} rather than a
+ * monitor so that a virtual thread that waits does not pin its carrier thread.
+ */
+public class WritabilityHandler extends ChannelInboundHandlerAdapter {
+
+    /**
+     * The longest a worker waits on a single call to {@link #awaitWritable(Channel)} before it returns to check on
+     * the state of its request.
+     */
+    private static final long MAX_WAIT_MILLIS = 1000;
+
+    /**
+     * The interval that a worker checks back on a channel that has no {@code WritabilityHandler} in its pipeline or
+     * that is no longer active.
+     */
+    private static final long POLL_MILLIS = 10;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition writable = lock.newCondition();
+    private final List<Runnable> resumptions = new ArrayList<>();
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        this.signal(ctx.channel());
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        this.signal(ctx.channel());
+        ctx.fireChannelInactive();
+    }
+
+    private void signal(final Channel channel) {
+        final List<Runnable> ready;
+        this.lock.lock();
+        try {
+            this.writable.signalAll();
+            if (channel.isActive() && !channel.isWritable())
+                return;
+            ready = new ArrayList<>(this.resumptions);
+            this.resumptions.clear();
+        } finally {
+            this.lock.unlock();
+        }
+        ready.forEach(Runnable::run);
+    }
+
+    private boolean register(final Channel channel, final Runnable task) {
+        this.lock.lock();
+        try {
+            // as with await() the check is made under the lock so that a change signalled between the check and the
+            // registration is not missed
+            if (!channel.isActive() || channel.isWritable())
+                return false;
+            this.resumptions.add(task);
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void await(final Channel channel, final long timeoutMillis) throws InterruptedException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.lock.lock();
+        try {
+            // writability only changes on the event loop which then signals under the lock, so checking it under the
+            // lock ensures the change can not be missed between the check and the wait
+            while (channel.isActive() && !channel.isWritable()) {
+                if (remaining <= 0) return;
+                remaining = this.writable.awaitNanos(remaining);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks the calling worker thread until the channel is writable or closed, though it may return earlier so
+     * that the caller can check if its request timed out. The wait may be interrupted like the sleep it replaces.
+     * Channels without a {@code WritabilityHandler} in the pipeline are checked on at a short interval.
+     */
+    public static void awaitWritable(final Channel channel) throws InterruptedException {
+        final WritabilityHandler handler = channel.pipeline().get(WritabilityHandler.class);
+        if (null == handler || !channel.isActive())
+            TimeUnit.MILLISECONDS.sleep(POLL_MILLIS);
+        else
+            handler.await(channel, MAX_WAIT_MILLIS);
+    }
+
+    /**
+     * Registers a task to run once the channel is writable or closed, so that a worker does not have to block until
+     * it is, and returns {@code true}. If the channel already is writable or closed the task is not registered and
+     * {@code false} is returned, in which case the caller carries on itself. The task runs on the event loop of the
+     * channel and should only hand the rest of the work back to a worker. Channels without a
+     * {@code WritabilityHandler} in the pipeline have the task run after a short interval.
+     */
+    public static boolean whenWritable(final Channel channel, final Runnable task) {
+        final WritabilityHandler handler = channel.pipeline().get(WritabilityHandler.class);
+        if (null != handler)
+            return handler.register(channel, task);
+        if (!channel.isActive() || channel.isWritable())
+            return false;
+        channel.eventLoop().schedule(task, POLL_MILLIS, TimeUnit.MILLISECONDS);
+        return true;
+    }
+}
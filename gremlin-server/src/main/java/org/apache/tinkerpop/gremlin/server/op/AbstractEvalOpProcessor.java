@@ -40,6 +40,7 @@ import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.RequestPhases;
 import org.apache.tinkerpop.gremlin.structure.util.TemporaryException;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -58,6 +59,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -230,6 +232,7 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
         final long seto = args.containsKey(Tokens.ARGS_EVAL_TIMEOUT) ?
                 ((Number) args.get(Tokens.ARGS_EVAL_TIMEOUT)).longValue() : settings.getEvaluationTimeout();
 
+        final AtomicLong evalStart = new AtomicLong();
         final GremlinExecutor.LifeCycle lifeCycle = GremlinExecutor.LifeCycle.build()
                 .evaluationTimeoutOverride(seto)
                 .afterFailure((b,t) -> {
@@ -240,6 +243,7 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
                   graphManager.onQueryError(msg, t);
                 })
                 .beforeEval(b -> {
+                    ctx.getRequestPhases().started();
                     graphManager.beforeQueryStart(msg);
                     try {
                         b.putAll(bindingsSupplier.get());
@@ -248,8 +252,11 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
                         // unwrapped and the root cause thrown
                         throw new RuntimeException(ope);
                     }
+                    evalStart.set(System.nanoTime());
                 })
                 .withResult(o -> {
+                    // the script was evaluated from the end of beforeEval to here
+                    ctx.getRequestPhases().stop(RequestPhases.Phase.COMPILE, evalStart.get());
                     final Iterator itty = IteratorUtils.asIterator(o);
 
                     logger.debug("Preparing to iterate results from - {} - in thread [{}]", msg, Thread.currentThread().getName());
@@ -264,7 +271,9 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
                     }
 
                     try {
+                        final long iterateStart = System.nanoTime();
                         handleIterator(ctx, itty);
+                        ctx.getRequestPhases().stop(RequestPhases.Phase.ITERATE, iterateStart);
                         graphManager.onQuerySuccess(msg);
                     } catch (Exception ex) {
                         if (managedTransactionsForRequest) attemptRollback(msg, ctx.getGraphManager(), settings.strictTransactionManagement);
@@ -280,6 +289,7 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
 
             evalFuture.handle((v, t) -> {
                 timerContext.stop();
+                ctx.getRequestPhases().report(getName(), ctx);
 
                 if (t != null) {
                     // if any exception in the chain is TemporaryException or Failure then we should respond with the
@@ -33,6 +33,8 @@ import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
+import org.apache.tinkerpop.gremlin.server.util.RequestPhases;
 import org.apache.tinkerpop.gremlin.util.ExceptionHelper;
 import org.apache.tinkerpop.gremlin.structure.util.TemporaryException;
 import org.slf4j.Logger;
@@ -46,7 +48,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 /**
@@ -165,9 +166,11 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                     // thread that processed the eval of the script so, we have to push serialization down into that
                     Frame frame = null;
                     try {
+                        final long serializeStart = System.nanoTime();
                         frame = makeFrame(context, msg, serializer, useBinary, aggregate, code,
                                 generateResultMetaData(nettyContext, msg, code, itty, settings),
                                 generateStatusAttributes(nettyContext, msg, code, itty, settings));
+                        context.getRequestPhases().stop(RequestPhases.Phase.SERIALIZE, serializeStart);
                     } catch (Exception ex) {
                         // a frame may use a Bytebuf which is a countable release - if it does not get written
                         // downstream it needs to be released here
@@ -219,9 +222,16 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                     warnOnce = true;
                 }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                // since the client is lagging, iteration continues into the batch and once that is full the worker
+                // waits here until the channel is writable again, which wakes it as soon as the client has caught up
+                // rather than after an interval. this isn't blocking the IO thread - just a worker. unlike a
+                // sessionless traversal the worker can't hand the rest of the results to another one, as the
+                // transactions of a sessionless script are always managed and a session is bound to its thread.
+                if (forceFlush || aggregate.size() >= resultIterationBatchSize || !itty.hasNext()) {
+                    final long backpressureStart = System.nanoTime();
+                    WritabilityHandler.awaitWritable(nettyContext.channel());
+                    context.getRequestPhases().stop(RequestPhases.Phase.BACKPRESSURE, backpressureStart);
+                }
             }
         }
     }
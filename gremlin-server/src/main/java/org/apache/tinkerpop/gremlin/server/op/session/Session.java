@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.server.op.session;
 import io.netty.channel.Channel;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
@@ -86,9 +87,10 @@ public class Session {
 
     /**
      * By binding the session to run ScriptEngine evaluations in a specific thread, each request will respect
-     * the ThreadLocal nature of Graph implementations.
+     * the ThreadLocal nature of Graph implementations. That thread is a virtual thread when
+     * {@link Settings#threadPerRequest} is enabled and the JVM supports them.
      */
-    private final ExecutorService executor = Executors.newSingleThreadExecutor(threadFactoryWorker);
+    private final ExecutorService executor;
 
     private final ConcurrentHashMap<String, Session> sessions;
 
@@ -100,6 +102,8 @@ public class Session {
         this.graphManager = context.getGraphManager();
         this.scheduledExecutorService = context.getScheduledExecutorService();
         this.sessions = sessions;
+        this.executor = Executors.newSingleThreadExecutor(settings.threadPerRequest ?
+                ThreadFactoryUtil.createVirtual("session-").orElse(threadFactoryWorker) : threadFactoryWorker);
 
         final Settings.ProcessorSettings processorSettings = this.settings.optionalProcessor(SessionOpProcessor.class).
                 orElse(SessionOpProcessor.DEFAULT_SETTINGS);
@@ -268,6 +272,9 @@ public class Session {
 
     private void registerMetrics(final String engineName) {
         final GremlinScriptEngine engine = gremlinExecutor.getScriptEngineManager().getEngineByName(engineName);
-        MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "session", session, "class-cache");
+        if (engine instanceof GremlinLangScriptEngine)
+            MetricManager.INSTANCE.registerGremlinScriptEngineMetrics((GremlinLangScriptEngine) engine, engineName, "session", session, "query-cache");
+        else
+            MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "session", session, "class-cache");
     }
 }
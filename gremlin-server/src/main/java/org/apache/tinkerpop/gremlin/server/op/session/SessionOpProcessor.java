@@ -40,9 +40,11 @@ import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.RequestPhases;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
@@ -372,6 +374,7 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
         }
 
         final Traversal.Admin<?, ?> traversal;
+        final long compileStart = System.nanoTime();
         try {
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
             if (!lambdaLanguage.isPresent())
@@ -391,6 +394,7 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
                             .statusMessage(ex.getMessage())
                             .statusAttributeException(ex).create());
         }
+        context.getRequestPhases().stop(RequestPhases.Phase.COMPILE, compileStart);
 
         if (settings.enableAuditLog) {
             AuthenticatedUser user = context.getChannelHandlerContext().channel().attr(StateKey.AUTHENTICATED_USER).get();
@@ -407,6 +411,7 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
 
         final FutureTask<Void> evalFuture = new FutureTask<>(() -> {
             context.setStartedResponse();
+            context.getRequestPhases().started();
             final Graph graph = g.getGraph();
 
             try {
@@ -414,8 +419,13 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
 
                 try {
                     // compile the traversal - without it getEndStep() has nothing in it
+                    final long strategiesStart = System.nanoTime();
                     traversal.applyStrategies();
+                    context.getRequestPhases().stop(RequestPhases.Phase.STRATEGIES, strategiesStart);
+
+                    final long iterateStart = System.nanoTime();
                     handleIterator(context, new TraverserIterator(traversal), graph);
+                    context.getRequestPhases().stop(RequestPhases.Phase.ITERATE, iterateStart);
                 } catch (Exception ex) {
                     Throwable t = ex;
                     if (ex instanceof UndeclaredThrowableException)
@@ -478,6 +488,7 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
             } finally {
                 // todo: timer matter???
                 //timerContext.stop();
+                context.getRequestPhases().report(OP_PROCESSOR_NAME, context);
             }
 
             return null;
@@ -665,8 +676,10 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
                     final Map<String, Object> statusAttrb = generateStatusAttributes(nettyContext, msg, code, itty, settings);
                     Frame frame = null;
                     try {
+                        final long serializeStart = System.nanoTime();
                         frame = makeFrame(context, msg, serializer, useBinary, aggregate, code,
                                 metadata, statusAttrb);
+                        context.getRequestPhases().stop(RequestPhases.Phase.SERIALIZE, serializeStart);
                     } catch (Exception ex) {
                         // a frame may use a Bytebuf which is a countable release - if it does not get written
                         // downstream it needs to be released here
@@ -717,9 +730,15 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
                     warnOnce = true;
                 }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                // since the client is lagging, iteration continues into the batch and once that is full the worker
+                // waits here until the channel is writable again, which wakes it as soon as the client has caught up
+                // rather than after an interval. this isn't blocking the IO thread - just a worker, which can't hand
+                // the rest of the results to another one as the session and its transaction are bound to its thread.
+                if (forceFlush || aggregate.size() >= resultIterationBatchSize || !itty.hasNext()) {
+                    final long backpressureStart = System.nanoTime();
+                    WritabilityHandler.awaitWritable(nettyContext.channel());
+                    context.getRequestPhases().stop(RequestPhases.Phase.BACKPRESSURE, backpressureStart);
+                }
             }
         }
     }
@@ -18,7 +18,11 @@
  */
 package org.apache.tinkerpop.gremlin.server.op.traversal;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Timer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.netty.channel.ChannelException;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.tinkerpop.gremlin.util.MessageSerializer;
@@ -31,7 +35,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.Failure;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Seedable;
 import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
@@ -41,9 +47,11 @@ import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
 import org.apache.tinkerpop.gremlin.server.op.AbstractOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.RequestPhases;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.util.TemporaryException;
@@ -56,14 +64,17 @@ import javax.script.ScriptException;
 import javax.script.SimpleBindings;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.codahale.metrics.MetricRegistry.name;
 
@@ -77,13 +88,54 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
     private static final Logger auditLogger = LoggerFactory.getLogger(GremlinServer.AUDIT_LOGGER_NAME);
     public static final String OP_PROCESSOR_NAME = "traversal";
     public static final Timer traversalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "traversal"));
+    public static final Counter traversalCacheHits = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "traversal", "cache", "hit-count"));
+    public static final Counter traversalCacheMisses = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "traversal", "cache", "miss-count"));
+
+    /**
+     * Configuration setting for the number of compiled traversals to keep in a cache from which a request with the
+     * same bytecode as an earlier one is given a clone rather than translating its bytecode and applying strategies
+     * again. The cache is disabled when this is zero, which is the default.
+     */
+    public static final String CONFIG_CACHE_MAX_SIZE = "cacheMaxSize";
+
+    /**
+     * Default size of the cache of compiled traversals, which disables it.
+     */
+    public static final long DEFAULT_CACHE_MAX_SIZE = 0;
 
     private static final Bindings EMPTY_BINDINGS = new SimpleBindings();
 
+    static final Settings.ProcessorSettings DEFAULT_SETTINGS = new Settings.ProcessorSettings();
+
+    static {
+        DEFAULT_SETTINGS.className = TraversalOpProcessor.class.getCanonicalName();
+        DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
+            put(CONFIG_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+        }};
+    }
+
+    private Cache<CacheKey, Traversal.Admin<?, ?>> traversalCache = null;
+
     public TraversalOpProcessor() {
         super(false);
     }
 
+    @Override
+    public void init(final Settings settings) {
+        final long cacheMaxSize = ((Number) settings.optionalProcessor(TraversalOpProcessor.class).orElse(DEFAULT_SETTINGS).config.
+                getOrDefault(CONFIG_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE)).longValue();
+        if (cacheMaxSize > 0) {
+            final Cache<CacheKey, Traversal.Admin<?, ?>> cache = Caffeine.newBuilder().maximumSize(cacheMaxSize).build();
+            this.traversalCache = cache;
+
+            // only register if the metric isn't already registered which typically only happens in testing where
+            // two gremlin server instances are running in the same jvm
+            final String sizeMetric = name(GremlinServer.class, "op", "traversal", "cache", "estimated-size");
+            if (!MetricManager.INSTANCE.contains(sizeMetric))
+                MetricManager.INSTANCE.getGuage((Gauge<Long>) cache::estimatedSize, sizeMetric);
+        }
+    }
+
     @Override
     public String getName() {
         return OP_PROCESSOR_NAME;
@@ -91,7 +143,7 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
     @Override
     public void close() throws Exception {
-        // do nothing = no resources to release
+        if (traversalCache != null) traversalCache.invalidateAll();
     }
 
     @Override
@@ -178,10 +230,25 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final String traversalSourceName = aliases.entrySet().iterator().next().getValue();
         final TraversalSource g = graphManager.getTraversalSource(traversalSourceName);
 
+        // a traversal that was compiled for the same bytecode before is cloned from the cache. it is put in the cache
+        // below once its strategies are applied
+        final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
+        final CacheKey cacheKey = null != traversalCache && !lambdaLanguage.isPresent() && isCacheable(bytecode) ?
+                new CacheKey(g, bytecode) : null;
+        final Traversal.Admin<?, ?> cached = null == cacheKey ? null : traversalCache.getIfPresent(cacheKey);
+        if (cacheKey != null) {
+            if (cached != null)
+                traversalCacheHits.inc();
+            else
+                traversalCacheMisses.inc();
+        }
+
         final Traversal.Admin<?, ?> traversal;
+        final long compileStart = System.nanoTime();
         try {
-            final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
-            if (!lambdaLanguage.isPresent())
+            if (cached != null)
+                traversal = cached.clone();
+            else if (!lambdaLanguage.isPresent())
                 traversal = JavaTranslator.of(g).translate(bytecode);
             else
                 traversal = context.getGremlinExecutor().eval(bytecode, EMPTY_BINDINGS, lambdaLanguage.get(), traversalSourceName);
@@ -198,6 +265,8 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                             .statusMessage(ex.getMessage())
                             .statusAttributeException(ex).create());
         }
+        context.getRequestPhases().stop(RequestPhases.Phase.COMPILE, compileStart);
+
         if (settings.enableAuditLog) {
             AuthenticatedUser user = context.getChannelHandlerContext().channel().attr(StateKey.AUTHENTICATED_USER).get();
             if (null == user) {    // This is expected when using the AllowAllAuthenticator
@@ -209,52 +278,38 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         }
 
         final Timer.Context timerContext = traversalOpTimer.time();
+        final Graph graph = g.getGraph();
+        final ResultIteration iteration = new ResultIteration(context, graph, timerContext);
         final FutureTask<Void> evalFuture = new FutureTask<>(() -> {
             context.setStartedResponse();
-            final Graph graph = g.getGraph();
+            context.getRequestPhases().started();
 
+            // the iteration completes on another worker if it was paused for a client that is not keeping up
+            boolean paused = false;
             try {
                 beforeProcessing(graph, context);
 
                 try {
-                    // compile the traversal - without it getEndStep() has nothing in it
-                    traversal.applyStrategies();
-                    handleIterator(context, new TraverserIterator(traversal), graph);
-                } catch (Exception ex) {
-                    Throwable t = ex;
-                    if (ex instanceof UndeclaredThrowableException)
-                        t = t.getCause();
-
-                    // if any exception in the chain is TemporaryException or Failure then we should respond with the
-                    // right error code so that the client knows to retry
-                    final Optional<Throwable> possibleSpecialException = determineIfSpecialException(ex);
-                    if (possibleSpecialException.isPresent()) {
-                        final Throwable special = possibleSpecialException.get();
-                        final ResponseMessage.Builder specialResponseMsg = ResponseMessage.build(msg).
-                                statusMessage(special.getMessage()).
-                                statusAttributeException(special);
-                        if (special instanceof TemporaryException) {
-                            specialResponseMsg.code(ResponseStatusCode.SERVER_ERROR_TEMPORARY);
-                        } else if (special instanceof Failure) {
-                            final Failure failure = (Failure) special;
-                            specialResponseMsg.code(ResponseStatusCode.SERVER_ERROR_FAIL_STEP).
-                                    statusAttribute(Tokens.STATUS_ATTRIBUTE_FAIL_STEP_MESSAGE, failure.format());
-                        }
-                        context.writeAndFlush(specialResponseMsg.create());
-                    } else if (t instanceof InterruptedException || t instanceof TraversalInterruptedException) {
-                        graphManager.onQueryError(msg, t);
-                        final String errorMessage = String.format("A timeout occurred during traversal evaluation of [%s] - consider increasing the limit given to evaluationTimeout", msg);
-                        logger.warn(errorMessage);
-                        context.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT)
-                                                             .statusMessage(errorMessage)
-                                                             .statusAttributeException(ex).create());
+                    // compile the traversal - without it getEndStep() has nothing in it. a traversal cloned from the
+                    // cache is already compiled and the compiled form is cached before it is iterated
+                    if (!traversal.isLocked()) {
+                        final long strategiesStart = System.nanoTime();
+                        traversal.applyStrategies();
+                        context.getRequestPhases().stop(RequestPhases.Phase.STRATEGIES, strategiesStart);
+                        if (cacheKey != null && isCacheable(traversal)) traversalCache.put(cacheKey, traversal.clone());
+                    }
+
+                    // a transaction is bound to the thread that opened it, so a graph that supports them has its
+                    // results written by this worker alone, which waits for a client that is not keeping up
+                    final long iterateStart = System.nanoTime();
+                    if (graph.features().graph().supportsTransactions()) {
+                        handleIterator(context, new TraverserIterator(traversal), graph);
+                        context.getRequestPhases().stop(RequestPhases.Phase.ITERATE, iterateStart);
                     } else {
-                        logger.warn(String.format("Exception processing a Traversal on iteration for request [%s].", msg.getRequestId()), ex);
-                        context.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
-                                                             .statusMessage(ex.getMessage())
-                                                             .statusAttributeException(ex).create());
+                        paused = !iteration.start(new TraverserIterator(traversal), iterateStart);
                     }
-                    onError(graph, context, ex);
+                } catch (Exception ex) {
+                    onIterationError(context, graph, ex);
                 }
             } catch (Exception ex) {
                 // if any exception in the chain is TemporaryException or Failure then we should respond with the
@@ -281,7 +336,7 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                 }
                 onError(graph, context, ex);
             } finally {
-                timerContext.stop();
+                if (!paused) iteration.complete();
             }
 
             return null;
@@ -293,6 +348,7 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                 // Schedule a timeout in the thread pool for future execution
                 context.getScheduledExecutorService().schedule(() -> {
                     executionFuture.cancel(true);
+                    iteration.cancel();
                     if (!context.getStartedResponse()) {
                         context.sendTimeoutResponse();
                     }
@@ -304,6 +360,73 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         }
     }
 
+    /**
+     * Responds to the client with the error that stopped a traversal from being iterated and rolls back.
+     */
+    private void onIterationError(final Context context, final Graph graph, final Exception ex) {
+        final RequestMessage msg = context.getRequestMessage();
+        final GraphManager graphManager = context.getGraphManager();
+        Throwable t = ex;
+        if (ex instanceof UndeclaredThrowableException)
+            t = t.getCause();
+
+        // if any exception in the chain is TemporaryException or Failure then we should respond with the
+        // right error code so that the client knows to retry
+        final Optional<Throwable> possibleSpecialException = determineIfSpecialException(ex);
+        if (possibleSpecialException.isPresent()) {
+            final Throwable special = possibleSpecialException.get();
+            final ResponseMessage.Builder specialResponseMsg = ResponseMessage.build(msg).
+                    statusMessage(special.getMessage()).
+                    statusAttributeException(special);
+            if (special instanceof TemporaryException) {
+                specialResponseMsg.code(ResponseStatusCode.SERVER_ERROR_TEMPORARY);
+            } else if (special instanceof Failure) {
+                final Failure failure = (Failure) special;
+                specialResponseMsg.code(ResponseStatusCode.SERVER_ERROR_FAIL_STEP).
+                        statusAttribute(Tokens.STATUS_ATTRIBUTE_FAIL_STEP_MESSAGE, failure.format());
+            }
+            context.writeAndFlush(specialResponseMsg.create());
+        } else if (t instanceof InterruptedException || t instanceof TraversalInterruptedException) {
+            graphManager.onQueryError(msg, t);
+            final String errorMessage = String.format("A timeout occurred during traversal evaluation of [%s] - consider increasing the limit given to evaluationTimeout", msg);
+            logger.warn(errorMessage);
+            context.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT)
+                                                 .statusMessage(errorMessage)
+                                                 .statusAttributeException(ex).create());
+        } else {
+            logger.warn(String.format("Exception processing a Traversal on iteration for request [%s].", msg.getRequestId()), ex);
+            context.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
+                                                 .statusMessage(ex.getMessage())
+                                                 .statusAttributeException(ex).create());
+        }
+        onError(graph, context, ex);
+    }
+
+    /**
+     * Determines if the compiled form of the bytecode can be shared by requests through the cache, which is the
+     * case when its source instructions only configure strategies. Other source instructions may carry values that
+     * the traversal changes as it is iterated, like the initial value given to {@code withSideEffect()}, or make the
+     * traversal execute on a {@code GraphComputer}.
+     */
+    private static boolean isCacheable(final Bytecode bytecode) {
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            final String operator = instruction.getOperator();
+            if (!operator.equals(TraversalSource.Symbols.withStrategies) && !operator.equals(TraversalSource.Symbols.withoutStrategies))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Determines if a compiled traversal can be shared by requests through the cache, which is not the case when it
+     * has a step that takes a seed. Such a step holds a {@code Random} that its clones share, so a traversal with a
+     * {@code SeedStrategy} would not repeat its results when served from the cache and requests would draw from the
+     * same generator.
+     */
+    private static boolean isCacheable(final Traversal.Admin<?, ?> traversal) {
+        return TraversalHelper.getStepsOfAssignableClassRecursively(Seedable.class, traversal).isEmpty();
+    }
+
     protected void beforeProcessing(final Graph graph, final Context ctx) {
       final GraphManager graphManager = ctx.getGraphManager();
       final RequestMessage msg = ctx.getRequestMessage();
@@ -326,141 +449,309 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
     }
 
     protected void handleIterator(final Context context, final Iterator itty, final Graph graph) throws InterruptedException {
-        final ChannelHandlerContext nettyContext = context.getChannelHandlerContext();
-        final RequestMessage msg = context.getRequestMessage();
-        final Settings settings = context.getSettings();
-        final MessageSerializer<?> serializer = nettyContext.channel().attr(StateKey.SERIALIZER).get();
-        final boolean useBinary = nettyContext.channel().attr(StateKey.USE_BINARY).get();
-        boolean warnOnce = false;
-
-        // we have an empty iterator - happens on stuff like: g.V().iterate()
-        if (!itty.hasNext()) {
-            final Map<String, Object> attributes = generateStatusAttributes(nettyContext, msg, ResponseStatusCode.NO_CONTENT, itty, settings);
-
-            // as there is nothing left to iterate if we are transaction managed then we should execute a
-            // commit here before we send back a NO_CONTENT which implies success
-            onTraversalSuccess(graph, context);
-            context.writeAndFlush(ResponseMessage.build(msg)
-                    .code(ResponseStatusCode.NO_CONTENT)
-                    .statusAttributes(attributes)
-                    .create());
-            return;
+        final ResultIteration iteration = new ResultIteration(context, graph, null);
+        iteration.itty = itty;
+        while (!iteration.write()) {
+            // this isn't blocking the IO thread - just a worker, which is woken as soon as the client has caught up
+            // rather than after an interval
+            final long backpressureStart = System.nanoTime();
+            WritabilityHandler.awaitWritable(context.getChannelHandlerContext().channel());
+            context.getRequestPhases().stop(RequestPhases.Phase.BACKPRESSURE, backpressureStart);
         }
+    }
 
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
-
-        // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
-        // prevent situations where auto transactions create a new transaction after calls to commit() withing
-        // the loop on calls to hasNext().
-        boolean hasMore = itty.hasNext();
-
-        while (hasMore) {
-            if (Thread.interrupted()) throw new InterruptedException();
-
-            // check if an implementation needs to force flush the aggregated results before the iteration batch
-            // size is reached.
-            final boolean forceFlush = isForceFlushed(nettyContext, msg, itty);
-
-            // have to check the aggregate size because it is possible that the channel is not writeable (below)
-            // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
-            // the expected resultIterationBatchSize.  Total serialization time for the response remains in
-            // effect so if the client is "slow" it may simply timeout.
-            //
-            // there is a need to check hasNext() on the iterator because if the channel is not writeable the
-            // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
-            // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
-            // require a forced flush which can be forced by sub-classes.
-            //
-            // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
-            // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
-            // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
-
-            // Don't keep executor busy if client has already given up; there is no way to catch up if the channel is
-            // not active, and hence we should break the loop.
-            if (!nettyContext.channel().isActive()) {
-                onError(graph, context, new ChannelException("Channel is not active - cannot write any more results"));
-                break;
+    /**
+     * The results of a traversal as they are written back to the client in batches. The results of a traversal on a
+     * graph without transactions are written by as many tasks on the worker pool as it takes: when the channel is
+     * not writable and a batch is ready, the task ends and the rest is written by a new task once the channel has
+     * drained, rather than by a worker that blocks until it does.
+     */
+    private final class ResultIteration {
+        private final Context context;
+        private final Graph graph;
+        private final Timer.Context timerContext;
+        private final int batchSize;
+        private final MessageSerializer<?> serializer;
+        private final boolean useBinary;
+        private final AtomicBoolean paused = new AtomicBoolean(false);
+        private volatile boolean cancelled = false;
+        private volatile Future<?> resumption = null;
+
+        private Iterator itty;
+        private List<Object> aggregate;
+        private boolean started = false;
+        private boolean hasMore = false;
+        private boolean warnOnce = false;
+        private long iterateStart;
+        private long pauseStart;
+
+        private ResultIteration(final Context context, final Graph graph, final Timer.Context timerContext) {
+            final ChannelHandlerContext nettyContext = context.getChannelHandlerContext();
+            this.context = context;
+            this.graph = graph;
+            this.timerContext = timerContext;
+            this.serializer = nettyContext.channel().attr(StateKey.SERIALIZER).get();
+            this.useBinary = nettyContext.channel().attr(StateKey.USE_BINARY).get();
+
+            // the batch size can be overridden by the request
+            this.batchSize = (Integer) context.getRequestMessage().optionalArgs(Tokens.ARGS_BATCH_SIZE)
+                    .orElse(context.getSettings().resultIterationBatchSize);
+        }
+
+        /**
+         * Writes the results until they are all written or the task has to end for a lagging client, in which case
+         * {@code false} is returned and a new task completes the iteration once the channel is writable again.
+         */
+        private boolean start(final Iterator itty, final long iterateStart) throws InterruptedException {
+            this.itty = itty;
+            this.iterateStart = iterateStart;
+            return this.proceed();
+        }
+
+        private boolean proceed() throws InterruptedException {
+            while (!this.write()) {
+                this.pauseStart = System.nanoTime();
+                this.paused.set(true);
+                if (WritabilityHandler.whenWritable(this.context.getChannelHandlerContext().channel(), this::resume)) {
+                    // a timeout that came while this task was still writing could not resume the iteration, so it is
+                    // resumed here to respond with the timeout rather than once the client has caught up
+                    if (this.cancelled) this.resume();
+                    return false;
+                }
+
+                // the channel was writable again before the task was registered so carry on here unless a timeout
+                // already resumed the iteration on another worker
+                if (!this.paused.compareAndSet(true, false))
+                    return false;
+                this.context.getRequestPhases().stop(RequestPhases.Phase.BACKPRESSURE, this.pauseStart);
             }
+            this.context.getRequestPhases().stop(RequestPhases.Phase.ITERATE, this.iterateStart);
+            return true;
+        }
 
-            // send back a page of results if batch size is met or if it's the end of the results being iterated.
-            // also check writeability of the channel to prevent OOME for slow clients.
-            //
-            // clients might decide to close the Netty channel to the server with a CloseWebsocketFrame after errors
-            // like CorruptedFrameException. On the server, although the channel gets closed, there might be some
-            // executor threads waiting for watermark to clear which will not clear in these cases since client has
-            // already given up on these requests. This leads to these executors waiting for the client to consume
-            // results till the timeout. checking for isActive() should help prevent that.
-            if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                    final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
-
-                    // serialize here because in sessionless requests the serialization must occur in the same
-                    // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
-                    // thread that processed the eval of the script so, we have to push serialization down into that
-                    final Map<String, Object> metadata = generateResultMetaData(nettyContext, msg, code, itty, settings);
-                    final Map<String, Object> statusAttrb = generateStatusAttributes(nettyContext, msg, code, itty, settings);
-                    Frame frame = null;
-                    try {
-                        frame = makeFrame(context, msg, serializer, useBinary, aggregate, code,
-                                          metadata, statusAttrb);
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-
-                        // exception is handled in makeFrame() - serialization error gets written back to driver
-                        // at that point
-                        onError(graph, context, ex);
-                        break;
-                    }
+        /**
+         * Submits a task to continue a paused iteration, which is called on the event loop once the channel is
+         * writable or closed and on the scheduler once the request timed out, of which only the first counts.
+         */
+        private void resume() {
+            if (!this.paused.compareAndSet(true, false))
+                return;
+            try {
+                // a task that is resumed after the request timed out responds with the timeout as soon as it runs
+                this.resumption = this.context.getGremlinExecutor().getExecutorService().submit(this::run);
+            } catch (RejectedExecutionException ree) {
+                this.context.writeAndFlush(ResponseMessage.build(this.context.getRequestMessage()).code(ResponseStatusCode.SERVER_ERROR)
+                        .statusMessage("The results could not be written as the server could not resume the request")
+                        .statusAttributeException(ree).create());
+                onError(this.graph, this.context, ree);
+                this.complete();
+            }
+        }
 
-                    // track whether there is anything left in the iterator because it needs to be accessed after
-                    // the transaction could be closed - in that case a call to hasNext() could open a new transaction
-                    // unintentionally
-                    hasMore = itty.hasNext();
-
-                    try {
-                        // only need to reset the aggregation list if there's more stuff to write
-                        if (hasMore)
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
-                        else {
-                            // iteration and serialization are both complete which means this finished successfully. note that
-                            // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
-                            // local errors will get rolled back below because the exceptions aren't thrown in those cases to be
-                            // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
-                            // there are no more items to iterate and serialization is complete
-                            onTraversalSuccess(graph, context);
-                        }
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-                        throw ex;
-                    }
+        private void run() {
+            boolean done = true;
+            try {
+                this.context.getRequestPhases().stop(RequestPhases.Phase.BACKPRESSURE, this.pauseStart);
+                if (this.cancelled) throw new InterruptedException();
+                done = this.proceed();
+            } catch (Exception ex) {
+                onIterationError(this.context, this.graph, ex);
+            } finally {
+                if (done) this.complete();
+            }
+        }
 
-                    if (!hasMore) iterateComplete(nettyContext, msg, itty);
+        /**
+         * Stops the iteration once the request timed out, interrupting the task that writes its results or resuming
+         * it to respond with the timeout if it is paused.
+         */
+        private void cancel() {
+            this.cancelled = true;
+            final Future<?> f = this.resumption;
+            if (f != null) f.cancel(true);
+            this.resume();
+        }
 
-                    // the flush is called after the commit has potentially occurred.  in this way, if a commit was
-                    // required then it will be 100% complete before the client receives it. the "frame" at this point
-                    // should have completely detached objects from the transaction (i.e. serialization has occurred)
-                    // so a new one should not be opened on the flush down the netty pipeline
-                    context.writeAndFlush(code, frame);
+        private void complete() {
+            this.timerContext.stop();
+            this.context.getRequestPhases().report(OP_PROCESSOR_NAME, this.context);
+        }
+
+        /**
+         * Writes the results in batches until they are all written, which returns {@code true}, or until a batch is
+         * ready to be written to a channel that is not writable, which returns {@code false}.
+         */
+        private boolean write() throws InterruptedException {
+            final ChannelHandlerContext nettyContext = this.context.getChannelHandlerContext();
+            final RequestMessage msg = this.context.getRequestMessage();
+            final Settings settings = this.context.getSettings();
+            final Context context = this.context;
+            final Graph graph = this.graph;
+            final Iterator itty = this.itty;
+
+            if (!this.started) {
+                this.started = true;
+
+                // we have an empty iterator - happens on stuff like: g.V().iterate()
+                if (!itty.hasNext()) {
+                    final Map<String, Object> attributes = generateStatusAttributes(nettyContext, msg, ResponseStatusCode.NO_CONTENT, itty, settings);
+
+                    // as there is nothing left to iterate if we are transaction managed then we should execute a
+                    // commit here before we send back a NO_CONTENT which implies success
+                    onTraversalSuccess(graph, context);
+                    context.writeAndFlush(ResponseMessage.build(msg)
+                            .code(ResponseStatusCode.NO_CONTENT)
+                            .statusAttributes(attributes)
+                            .create());
+                    return true;
                 }
-            } else {
-                // don't keep triggering this warning over and over again for the same request
-                if (!warnOnce) {
-                    logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
-                    warnOnce = true;
+
+                this.aggregate = new ArrayList<>(this.batchSize);
+
+                // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
+                // prevent situations where auto transactions create a new transaction after calls to commit() withing
+                // the loop on calls to hasNext().
+                this.hasMore = true;
+            }
+
+            while (this.hasMore) {
+                if (Thread.interrupted()) throw new InterruptedException();
+
+                // check if an implementation needs to force flush the aggregated results before the iteration batch
+                // size is reached.
+                final boolean forceFlush = isForceFlushed(nettyContext, msg, itty);
+
+                // have to check the aggregate size because it is possible that the channel is not writeable (below)
+                // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
+                // the expected resultIterationBatchSize.  Total serialization time for the response remains in
+                // effect so if the client is "slow" it may simply timeout.
+                //
+                // there is a need to check hasNext() on the iterator because if the channel is not writeable the
+                // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
+                // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
+                // require a forced flush which can be forced by sub-classes.
+                //
+                // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
+                // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
+                // while waiting for the client to catch up
+                if (this.aggregate.size() < this.batchSize && itty.hasNext() && !forceFlush) this.aggregate.add(itty.next());
+
+                // Don't keep executor busy if client has already given up; there is no way to catch up if the channel is
+                // not active, and hence we should break the loop.
+                if (!nettyContext.channel().isActive()) {
+                    onError(graph, context, new ChannelException("Channel is not active - cannot write any more results"));
+                    break;
                 }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                // send back a page of results if batch size is met or if it's the end of the results being iterated.
+                // also check writeability of the channel to prevent OOME for slow clients.
+                //
+                // clients might decide to close the Netty channel to the server with a CloseWebsocketFrame after errors
+                // like CorruptedFrameException. On the server, although the channel gets closed, there might be some
+                // executor threads waiting for watermark to clear which will not clear in these cases since client has
+                // already given up on these requests. This leads to these executors waiting for the client to consume
+                // results till the timeout. checking for isActive() should help prevent that.
+                if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
+                    if (forceFlush || this.aggregate.size() == this.batchSize || !itty.hasNext()) {
+                        final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+
+                        // serialize here because in sessionless requests the serialization must occur in the same
+                        // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
+                        // thread that processed the eval of the script so, we have to push serialization down into that
+                        final Map<String, Object> metadata = generateResultMetaData(nettyContext, msg, code, itty, settings);
+                        final Map<String, Object> statusAttrb = generateStatusAttributes(nettyContext, msg, code, itty, settings);
+                        Frame frame = null;
+                        try {
+                            final long serializeStart = System.nanoTime();
+                            frame = makeFrame(context, msg, this.serializer, this.useBinary, this.aggregate, code,
+                                              metadata, statusAttrb);
+                            context.getRequestPhases().stop(RequestPhases.Phase.SERIALIZE, serializeStart);
+                        } catch (Exception ex) {
+                            // a frame may use a Bytebuf which is a countable release - if it does not get written
+                            // downstream it needs to be released here
+                            if (frame != null) frame.tryRelease();
+
+                            // exception is handled in makeFrame() - serialization error gets written back to driver
+                            // at that point
+                            onError(graph, context, ex);
+                            break;
+                        }
+
+                        // track whether there is anything left in the iterator because it needs to be accessed after
+                        // the transaction could be closed - in that case a call to hasNext() could open a new transaction
+                        // unintentionally
+                        this.hasMore = itty.hasNext();
+
+                        try {
+                            // only need to reset the aggregation list if there's more stuff to write
+                            if (this.hasMore)
+                                this.aggregate = new ArrayList<>(this.batchSize);
+                            else {
+                                // iteration and serialization are both complete which means this finished successfully. note that
+                                // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
+                                // local errors will get rolled back below because the exceptions aren't thrown in those cases to be
+                                // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
+                                // there are no more items to iterate and serialization is complete
+                                onTraversalSuccess(graph, context);
+                            }
+                        } catch (Exception ex) {
+                            // a frame may use a Bytebuf which is a countable release - if it does not get written
+                            // downstream it needs to be released here
+                            if (frame != null) frame.tryRelease();
+                            throw ex;
+                        }
+
+                        if (!this.hasMore) iterateComplete(nettyContext, msg, itty);
+
+                        // the flush is called after the commit has potentially occurred.  in this way, if a commit was
+                        // required then it will be 100% complete before the client receives it. the "frame" at this point
+                        // should have completely detached objects from the transaction (i.e. serialization has occurred)
+                        // so a new one should not be opened on the flush down the netty pipeline
+                        context.writeAndFlush(code, frame);
+                    }
+                } else {
+                    // don't keep triggering this warning over and over again for the same request
+                    if (!this.warnOnce) {
+                        logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
+                        this.warnOnce = true;
+                    }
+
+                    // since the client is lagging, iteration continues into the batch and once that is full the
+                    // caller decides whether to wait for the channel to be writable again or to end its task
+                    if (forceFlush || this.aggregate.size() >= this.batchSize || !itty.hasNext())
+                        return false;
+                }
             }
+            return true;
+        }
+    }
+
+    /**
+     * Identifies a compiled traversal by its bytecode and the {@link TraversalSource} it was compiled against, so that
+     * a traversal source that is replaced in the {@link GraphManager} does not serve traversals of the one before.
+     */
+    private static final class CacheKey {
+        private final TraversalSource source;
+        private final Bytecode bytecode;
+        private final int hashCode;
+
+        private CacheKey(final TraversalSource source, final Bytecode bytecode) {
+            this.source = source;
+            this.bytecode = bytecode;
+            this.hashCode = Objects.hash(System.identityHashCode(source), bytecode);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CacheKey)) return false;
+            final CacheKey other = (CacheKey) o;
+            return this.source == other.source && this.bytecode.equals(other.bytecode);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
         }
     }
 }
@@ -35,6 +35,7 @@ import com.codahale.metrics.graphite.GraphiteReporter;
 import info.ganglia.gmetric4j.gmetric.GMetric;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.slf4j.Logger;
@@ -498,4 +499,33 @@ public enum MetricManager {
                     (Gauge<Long>) gremlinGroovyScriptEngine::getClassCacheTotalLoadTime);
         }
     }
+
+    /**
+     * Registers metrics from the query cache of a {@link GremlinLangScriptEngine}.
+     */
+    public void registerGremlinScriptEngineMetrics(final GremlinLangScriptEngine engine, final String... prefix) {
+        // only register if metrics aren't already registered for this prefix - see above
+        final String hitCount = MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "hit-count"));
+        if (getRegistry().getNames().contains(hitCount)) return;
+
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "estimated-size")),
+                (Gauge<Long>) engine::getQueryCacheEstimatedSize);
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "eviction-count")),
+                (Gauge<Long>) engine::getQueryCacheEvictionCount);
+        getRegistry().register(hitCount, (Gauge<Long>) engine::getQueryCacheHitCount);
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "hit-rate")),
+                (Gauge<Double>) engine::getQueryCacheHitRate);
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "miss-count")),
+                (Gauge<Long>) engine::getQueryCacheMissCount);
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "miss-rate")),
+                (Gauge<Double>) engine::getQueryCacheMissRate);
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "request-count")),
+                (Gauge<Long>) engine::getQueryCacheRequestCount);
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.util.Tokens;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Accumulates the time a single request spends in each {@link Phase} of its processing and reports it to timers of
+ * the {@link MetricManager} once the request is complete. Time is measured around whole steps of processing and
+ * around each batch of results rather than for each result, so the cost is a few calls to {@link System#nanoTime()}
+ * per batch. A request is handed between threads as it is processed and may be reported from a thread other than the
+ * one still measuring it, as when a request times out, so the state is guarded by a lock and the phases are only
+ * reported once.
+ */
+public final class RequestPhases {
+
+    /**
+     * The phases of processing a request.
+     */
+    public enum Phase {
+        /**
+         * Time from the request being received until a thread began to process it.
+         */
+        QUEUED,
+
+        /**
+         * Time to turn the script or bytecode into a traversal. For scripts, this is the evaluation of the script
+         * which includes its parsing and compilation.
+         */
+        COMPILE,
+
+        /**
+         * Time to apply strategies to a traversal given as bytecode. Traversals returned by scripts apply their
+         * strategies as they are first iterated which is measured as part of {@link #ITERATE}.
+         */
+        STRATEGIES,
+
+        /**
+         * Time to iterate results, excluding the time of {@link #SERIALIZE} and {@link #BACKPRESSURE}.
+         */
+        ITERATE,
+
+        /**
+         * Time to serialize batches of results.
+         */
+        SERIALIZE,
+
+        /**
+         * Time spent waiting for a slow client to make the channel writable again.
+         */
+        BACKPRESSURE;
+
+        private final String metricName = name().toLowerCase();
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long receivedNanos = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private final boolean[] measured = new boolean[PHASES.length];
+    private final Lock lock = new ReentrantLock();
+    private boolean reported = false;
+
+    /**
+     * Marks the point where a thread began to process the request. The {@link Phase#QUEUED} time is the time since the
+     * request was received less the time of phases measured before this point, as some requests are compiled before
+     * they are queued.
+     */
+    public void started() {
+        lock.lock();
+        try {
+            if (reported) return;
+            long queued = System.nanoTime() - receivedNanos;
+            for (int i = 0; i < PHASES.length; i++) {
+                queued -= nanos[i];
+            }
+            nanos[Phase.QUEUED.ordinal()] = Math.max(0, queued);
+            measured[Phase.QUEUED.ordinal()] = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the time since {@code startNanos}, which is a value of {@link System#nanoTime()}, to the phase. Time that is
+     * measured after the request was reported is ignored.
+     */
+    public void stop(final Phase phase, final long startNanos) {
+        final long elapsed = System.nanoTime() - startNanos;
+        lock.lock();
+        try {
+            if (reported) return;
+            nanos[phase.ordinal()] += elapsed;
+            measured[phase.ordinal()] = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the time in nanoseconds measured for the phase so far. The time of {@link Phase#ITERATE} includes that of
+     * {@link Phase#SERIALIZE} and {@link Phase#BACKPRESSURE} until {@link #report(String, Context)} is called.
+     */
+    public long getNanos(final Phase phase) {
+        lock.lock();
+        try {
+            return nanos[phase.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Updates the timers of the phases that were measured for the request, unless they were already reported. The
+     * timers are named {@code processor.<processor>.phase.<phase>} and when the request aliases a single traversal
+     * source of the {@link org.apache.tinkerpop.gremlin.server.GraphManager}, there is also a timer per traversal
+     * source named {@code processor.<processor>.phase.<phase>.<traversal-source>}.
+     *
+     * @param processor the name of the {@code OpProcessor} of the request, which is "standard", "session" or
+     *                  "traversal", where the empty name of the {@code StandardOpProcessor} is taken as "standard"
+     */
+    public void report(final String processor, final Context context) {
+        final long[] reportedNanos;
+        final boolean[] reportedMeasured;
+        lock.lock();
+        try {
+            if (reported) return;
+            reported = true;
+
+            final int iterate = Phase.ITERATE.ordinal();
+            nanos[iterate] = Math.max(0, nanos[iterate] - nanos[Phase.SERIALIZE.ordinal()] - nanos[Phase.BACKPRESSURE.ordinal()]);
+            reportedNanos = nanos.clone();
+            reportedMeasured = measured.clone();
+        } finally {
+            lock.unlock();
+        }
+
+        final String processorName = processor.isEmpty() ? "standard" : processor;
+        final Optional<String> traversalSource = getTraversalSource(context);
+        for (int i = 0; i < PHASES.length; i++) {
+            if (!reportedMeasured[i]) continue;
+
+            MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "processor", processorName, "phase", PHASES[i].metricName))
+                    .update(reportedNanos[i], TimeUnit.NANOSECONDS);
+            if (traversalSource.isPresent())
+                MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "processor", processorName, "phase", PHASES[i].metricName, traversalSource.get()))
+                        .update(reportedNanos[i], TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Gets the name of the traversal source the request aliases. Only names known to the {@code GraphManager} are
+     * returned so that requests cannot create timers for arbitrary names.
+     */
+    private static Optional<String> getTraversalSource(final Context context) {
+        final Optional<Map<String, String>> aliases = context.getRequestMessage().optionalArgs(Tokens.ARGS_ALIASES);
+        if (!aliases.isPresent() || aliases.get().size() != 1) return Optional.empty();
+
+        final String traversalSource = aliases.get().values().iterator().next();
+        return null == context.getGraphManager().getTraversalSource(traversalSource) ?
+                Optional.empty() : Optional.of(traversalSource);
+    }
+}
@@ -36,6 +36,7 @@ import java.lang.reflect.Constructor;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
@@ -97,7 +98,18 @@ public class ServerGremlinExecutor {
             throw new RuntimeException(e);
         }
 
-        if (null == gremlinExecutorService) {
+        // a platform thread for each of up to maxWorkQueueSize requests would exhaust the server, so without virtual
+        // threads requests are evaluated on the gremlinPool as if threadPerRequest was not enabled
+        final Optional<ThreadFactory> virtualThreadFactory = null == gremlinExecutorService && settings.threadPerRequest ?
+                ThreadFactoryUtil.createVirtual("exec-") : Optional.empty();
+        if (null == gremlinExecutorService && settings.threadPerRequest && !virtualThreadFactory.isPresent())
+            logger.warn("The threadPerRequest setting requires virtual threads which are not supported by this JVM - requests will be evaluated on a gremlinPool of {}",
+                    settings.gremlinPool);
+
+        if (virtualThreadFactory.isPresent()) {
+            logger.info("Evaluating requests on virtual threads");
+            this.gremlinExecutorService = new ThreadPerTaskExecutorService(virtualThreadFactory.get(), settings.maxWorkQueueSize);
+        } else if (null == gremlinExecutorService) {
             final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
             final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(settings.maxWorkQueueSize);
             this.gremlinExecutorService = new ThreadPoolExecutor(settings.gremlinPool, settings.gremlinPool,
@@ -184,7 +196,10 @@ public class ServerGremlinExecutor {
 
     private void registerMetrics(final String engineName) {
         final GremlinScriptEngine engine = gremlinExecutor.getScriptEngineManager().getEngineByName(engineName);
-        MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "sessionless", "class-cache");
+        if (engine instanceof GremlinLangScriptEngine)
+            MetricManager.INSTANCE.registerGremlinScriptEngineMetrics((GremlinLangScriptEngine) engine, engineName, "sessionless", "query-cache");
+        else
+            MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "sessionless", "class-cache");
     }
 
     public void addHostOption(final String key, final Object value) {
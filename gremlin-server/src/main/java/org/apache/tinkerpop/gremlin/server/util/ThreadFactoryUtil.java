@@ -20,6 +20,8 @@ package org.apache.tinkerpop.gremlin.server.util;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
+import java.lang.reflect.Method;
+import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 
 /**
@@ -32,4 +34,21 @@ public final class ThreadFactoryUtil {
     public static ThreadFactory create(final String pattern) {
         return new BasicThreadFactory.Builder().namingPattern(SERVER_THREAD_PREFIX + pattern).build();
     }
+
+    /**
+     * Creates a {@code ThreadFactory} of virtual threads named with the prefix followed by a counter, if the JVM
+     * supports virtual threads, which is the case from Java 21. As Gremlin Server is compiled for older versions of
+     * Java the factory is created reflectively.
+     */
+    public static Optional<ThreadFactory> createVirtual(final String prefix) {
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Method name = builderClass.getMethod("name", String.class, long.class);
+            final Object namedBuilder = name.invoke(builder, SERVER_THREAD_PREFIX + prefix, 0L);
+            return Optional.of((ThreadFactory) builderClass.getMethod("factory").invoke(namedBuilder));
+        } catch (Exception ex) {
+            return Optional.empty();
+        }
+    }
 }
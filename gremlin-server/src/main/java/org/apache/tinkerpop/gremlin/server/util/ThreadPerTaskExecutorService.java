@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} that starts a new thread for each task it is given rather than
+ * handing tasks to a fixed number of threads. The number of tasks that may run at once is limited and a task that
+ * would exceed that limit is rejected with a {@link RejectedExecutionException}, which is the same way a
+ * {@link java.util.concurrent.ThreadPoolExecutor} with a full bounded queue rejects it. Used with a
+ * {@link ThreadFactory} of virtual threads, tasks that block on I/O do not hold a platform thread while they wait.
+ */
+public final class ThreadPerTaskExecutorService extends AbstractExecutorService {
+
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+    private final int maxConcurrentTasks;
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final Lock terminationLock = new ReentrantLock();
+    private final Condition terminated = terminationLock.newCondition();
+    private volatile boolean shutdown = false;
+
+    public ThreadPerTaskExecutorService(final ThreadFactory threadFactory, final int maxConcurrentTasks) {
+        if (maxConcurrentTasks < 1)
+            throw new IllegalArgumentException("maxConcurrentTasks must be greater than zero");
+
+        this.threadFactory = threadFactory;
+        this.maxConcurrentTasks = maxConcurrentTasks;
+        this.permits = new Semaphore(maxConcurrentTasks);
+    }
+
+    /**
+     * Gets the number of tasks that are running.
+     */
+    public int getActiveCount() {
+        return maxConcurrentTasks - permits.availablePermits();
+    }
+
+    public int getMaxConcurrentTasks() {
+        return maxConcurrentTasks;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (null == command) throw new NullPointerException("command");
+        if (shutdown || !permits.tryAcquire())
+            throw new RejectedExecutionException(String.format(
+                    "Task %s rejected as %s tasks are running or the executor is shutdown", command, maxConcurrentTasks));
+
+        try {
+            final Thread thread = threadFactory.newThread(() -> {
+                try {
+                    command.run();
+                } finally {
+                    threads.remove(Thread.currentThread());
+                    release();
+                }
+            });
+            if (null == thread) throw new RejectedExecutionException("Could not create a thread for " + command);
+
+            threads.add(thread);
+            thread.start();
+        } catch (RuntimeException | Error ex) {
+            release();
+            throw ex;
+        }
+    }
+
+    private void release() {
+        permits.release();
+        if (shutdown) signalTermination();
+    }
+
+    private void signalTermination() {
+        // a lock rather than a monitor so that virtual threads which finish their task do not pin their carrier
+        terminationLock.lock();
+        try {
+            terminated.signalAll();
+        } finally {
+            terminationLock.unlock();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        signalTermination();
+    }
+
+    /**
+     * Shuts down the executor and interrupts the threads that are running. As no tasks are queued the returned list
+     * is always empty.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        threads.forEach(Thread::interrupt);
+        return new ArrayList<>();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && permits.availablePermits() == maxConcurrentTasks;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        terminationLock.lock();
+        try {
+            while (!isTerminated()) {
+                if (remaining <= 0) return false;
+                remaining = terminated.awaitNanos(remaining);
+            }
+        } finally {
+            terminationLock.unlock();
+        }
+        return true;
+    }
+}
@@ -20,7 +20,18 @@ package org.apache.tinkerpop.gremlin.server;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
+import io.netty.handler.codec.http.websocketx.WebSocketVersion;
 import io.netty.util.AttributeKey;
 import nl.altindag.log.LogCaptor;
 import org.apache.commons.configuration2.BaseConfiguration;
@@ -40,6 +51,10 @@ import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
 import org.apache.tinkerpop.gremlin.util.ser.Serializers;
+import org.apache.tinkerpop.gremlin.driver.handler.WebSocketClientHandler;
+import org.apache.tinkerpop.gremlin.driver.handler.WebSocketGremlinRequestEncoder;
+import org.apache.tinkerpop.gremlin.driver.handler.WebSocketGremlinResponseDecoder;
+import org.apache.tinkerpop.gremlin.driver.simple.AbstractClient;
 import org.apache.tinkerpop.gremlin.driver.simple.SimpleClient;
 import org.apache.tinkerpop.gremlin.driver.UserAgent;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
@@ -50,10 +65,13 @@ import org.apache.tinkerpop.gremlin.server.handler.OpSelectorHandler;
 import org.apache.tinkerpop.gremlin.server.handler.UnifiedHandler;
 import org.apache.tinkerpop.gremlin.structure.RemoteGraph;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.standard.StandardOpProcessor;
+import org.apache.tinkerpop.gremlin.server.op.traversal.TraversalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.channel.TestChannelizer;
 import org.apache.tinkerpop.gremlin.server.channel.UnifiedChannelizer;
 import org.apache.tinkerpop.gremlin.server.channel.UnifiedTestChannelizer;
@@ -63,6 +81,10 @@ import org.apache.tinkerpop.gremlin.server.handler.WsUserAgentHandler;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryMapper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.util.MessageSerializer;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV1;
 import org.apache.tinkerpop.gremlin.util.function.Lambda;
 import org.apache.tinkerpop.gremlin.util.ExceptionHelper;
 import org.hamcrest.CoreMatchers;
@@ -75,7 +97,10 @@ import org.junit.Test;
 
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -131,6 +156,7 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         setProperty("clusterConfiguration.hosts", "localhost");
     }};
     private static final int POOL_SIZE_FOR_TIMEOUT_TESTS = 1;
+    private static final int LAGGED_RESULT_COUNT = 10000;
 
     private static LogCaptor logCaptor;
 
@@ -159,6 +185,12 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             wsUserAgentHandlerLogger.setLevel(Level.DEBUG);
         }
 
+        if (name.getMethodName().contains("LaggingClient")) {
+            final Logger traversalOpProcessorLogger = (Logger) LoggerFactory.getLogger(TraversalOpProcessor.class);
+            previousLogLevel = traversalOpProcessorLogger.getLevel();
+            traversalOpProcessorLogger.setLevel(Level.WARN);
+        }
+
         logCaptor.clearLogs();
     }
 
@@ -174,6 +206,11 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             final Logger wsUserAgentHandlerLogger = (Logger) LoggerFactory.getLogger(WsUserAgentHandler.class);
             wsUserAgentHandlerLogger.setLevel(previousLogLevel);
         }
+
+        if (name.getMethodName().contains("LaggingClient")) {
+            final Logger traversalOpProcessorLogger = (Logger) LoggerFactory.getLogger(TraversalOpProcessor.class);
+            traversalOpProcessorLogger.setLevel(previousLogLevel);
+        }
     }
 
     /**
@@ -202,6 +239,13 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
                 settings.writeBufferHighWaterMark = 64;
                 settings.writeBufferLowWaterMark = 32;
                 break;
+            case "shouldResumeTraversalPausedForLaggingClientOnAnotherWorker":
+            case "shouldTimeOutTraversalPausedForLaggingClient":
+            case "shouldEndTraversalPausedForLaggingClientWhenChannelCloses":
+                settings.writeBufferHighWaterMark = 64;
+                settings.writeBufferLowWaterMark = 32;
+                settings.gremlinPool = 1;
+                break;
             case "shouldReceiveFailureTimeOutOnScriptEval":
                 settings.evaluationTimeout = 1000;
                 break;
@@ -243,6 +287,16 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldTimeOutRemoteTraversal":
                 settings.evaluationTimeout = 500;
                 break;
+            case "shouldCacheCompiledTraversals":
+            case "shouldRepeatSeededTraversalsWithCache":
+                final Settings.ProcessorSettings processorSettingsCache = new Settings.ProcessorSettings();
+                processorSettingsCache.className = TraversalOpProcessor.class.getName();
+                processorSettingsCache.config = new HashMap<String,Object>() {{
+                    put(TraversalOpProcessor.CONFIG_CACHE_MAX_SIZE, 10);
+                }};
+                settings.processors.clear();
+                settings.processors.add(processorSettingsCache);
+                break;
             case "shouldPingChannelIfClientDies":
                 settings.keepAliveInterval = 1000;
                 break;
@@ -522,6 +576,48 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         g.close();
     }
 
+    @Test
+    public void shouldCacheCompiledTraversals() throws Exception {
+        assumeThat("Must use OpProcessor", isUsingUnifiedChannelizer(), is(false));
+
+        final GraphTraversalSource g = traversal().withRemote(conf);
+        final long hits = TraversalOpProcessor.traversalCacheHits.getCount();
+        final long misses = TraversalOpProcessor.traversalCacheMisses.getCount();
+
+        for (int ix = 0; ix < 3; ix++) {
+            assertEquals(Arrays.asList(1, 2, 3), g.inject(1, 2, 3).toList());
+        }
+        assertEquals(Collections.singletonList(4), g.inject(4).toList());
+
+        // side-effects are not shared between requests so those traversals are not cached
+        assertEquals(Collections.singletonList(1L), g.withSideEffect("x", 1L).inject(1).select("x").toList());
+
+        assertEquals(hits + 2, TraversalOpProcessor.traversalCacheHits.getCount());
+        assertEquals(misses + 2, TraversalOpProcessor.traversalCacheMisses.getCount());
+
+        g.close();
+    }
+
+    @Test
+    public void shouldRepeatSeededTraversalsWithCache() throws Exception {
+        assumeThat("Must use OpProcessor", isUsingUnifiedChannelizer(), is(false));
+
+        final GraphTraversalSource g = traversal().withRemote(conf);
+        final GraphTraversalSource seeded = g.withStrategies(new SeedStrategy(999999L));
+        final long hits = TraversalOpProcessor.traversalCacheHits.getCount();
+
+        final List<Integer> coin = seeded.inject(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).coin(0.5).toList();
+        assertEquals(coin, seeded.inject(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).coin(0.5).toList());
+
+        final List<Integer> sample = seeded.inject(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).sample(3).toList();
+        assertEquals(sample, seeded.inject(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).sample(3).toList());
+
+        // traversals with steps that take a seed are not served from the cache
+        assertEquals(hits, TraversalOpProcessor.traversalCacheHits.getCount());
+
+        g.close();
+    }
+
     @Test
     public void shouldProduceProperExceptionOnTimeout() throws Exception {
         // this test will not work quite right on UnifiedChannelizer
@@ -683,6 +779,72 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldResumeTraversalPausedForLaggingClientOnAnotherWorker() throws Exception {
+        assumeThat("Must use OpProcessor", isUsingUnifiedChannelizer(), is(false));
+
+        try (final LaggingClient lagging = new LaggingClient(TestClientFactory.WEBSOCKET_URI);
+             final SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            final CompletableFuture<List<ResponseMessage>> lagged = lagging.submitAsync(createLaggedRequest(null));
+            waitForLog("Pausing response writing as writeBufferHighWaterMark exceeded on");
+
+            // the only worker in the pool is free to serve other requests while the results wait for the client
+            assertEquals(ResponseStatusCode.SUCCESS, getFinalStatusCode(
+                    client.submitAsync(createRequest(EmptyGraph.instance().traversal().inject(1))).get(30, TimeUnit.SECONDS)));
+            assertThat(lagged.isDone(), is(false));
+
+            lagging.resumeReading();
+            final List<ResponseMessage> responses = lagged.get(30, TimeUnit.SECONDS);
+            assertEquals(ResponseStatusCode.SUCCESS, getFinalStatusCode(responses));
+            assertEquals(LAGGED_RESULT_COUNT, countTraversers(responses));
+        }
+    }
+
+    @Test
+    public void shouldTimeOutTraversalPausedForLaggingClient() throws Exception {
+        assumeThat("Must use OpProcessor", isUsingUnifiedChannelizer(), is(false));
+
+        try (final LaggingClient lagging = new LaggingClient(TestClientFactory.WEBSOCKET_URI);
+             final SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            final CompletableFuture<List<ResponseMessage>> lagged = lagging.submitAsync(createLaggedRequest(3000L));
+            waitForLog("Pausing response writing as writeBufferHighWaterMark exceeded on");
+
+            // the timeout resumes the paused traversal to stop it, after which the worker is free again
+            waitForLog("A timeout occurred during traversal evaluation of");
+            assertEquals(ResponseStatusCode.SUCCESS, getFinalStatusCode(
+                    client.submitAsync(createRequest(EmptyGraph.instance().traversal().inject(1))).get(30, TimeUnit.SECONDS)));
+
+            lagging.resumeReading();
+            final List<ResponseMessage> responses = lagged.get(30, TimeUnit.SECONDS);
+            assertEquals(ResponseStatusCode.SERVER_ERROR_TIMEOUT, getFinalStatusCode(responses));
+            assertThat(countTraversers(responses) < LAGGED_RESULT_COUNT, is(true));
+        }
+    }
+
+    @Test
+    public void shouldEndTraversalPausedForLaggingClientWhenChannelCloses() throws Exception {
+        assumeThat("Must use OpProcessor", isUsingUnifiedChannelizer(), is(false));
+
+        final long completed = TraversalOpProcessor.traversalOpTimer.getCount();
+        try (final LaggingClient lagging = new LaggingClient(TestClientFactory.WEBSOCKET_URI);
+             final SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            final CompletableFuture<List<ResponseMessage>> lagged = lagging.submitAsync(createLaggedRequest(null));
+            waitForLog("Pausing response writing as writeBufferHighWaterMark exceeded on");
+            lagging.closeChannel();
+
+            // the closed channel resumes the paused traversal, which ends without writing the rest of its results
+            final long start = System.currentTimeMillis();
+            while (TraversalOpProcessor.traversalOpTimer.getCount() == completed && System.currentTimeMillis() - start < 30000) {
+                Thread.sleep(50);
+            }
+            assertEquals(completed + 1, TraversalOpProcessor.traversalOpTimer.getCount());
+            assertThat(lagged.isDone(), is(false));
+
+            assertEquals(ResponseStatusCode.SUCCESS, getFinalStatusCode(
+                    client.submitAsync(createRequest(EmptyGraph.instance().traversal().inject(1))).get(30, TimeUnit.SECONDS)));
+        }
+    }
+
     @Test
     public void shouldReturnInvalidRequestArgsWhenGremlinArgIsNotSupplied() throws Exception {
         try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
@@ -1259,6 +1421,46 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         cluster.close();
     }
 
+    /**
+     * Creates a request for a traversal with far more results than a {@link LaggingClient} takes in before it
+     * reads them, written in batches that are small enough to leave each one below the frame size of the client.
+     */
+    private static RequestMessage createLaggedRequest(final Long evaluationTimeout) {
+        final RequestMessage.Builder builder = RequestMessage.build(Tokens.OPS_BYTECODE).processor("traversal").
+                addArg(Tokens.ARGS_GREMLIN, EmptyGraph.instance().traversal().inject(1).
+                        flatMap(Lambda.function("(1.." + LAGGED_RESULT_COUNT + ").collect{ it + 'x' * 1000 }.iterator()")).
+                        asAdmin().getBytecode()).
+                addArg(Tokens.ARGS_ALIASES, Collections.singletonMap("g", "g")).
+                addArg(Tokens.ARGS_BATCH_SIZE, 8);
+        if (evaluationTimeout != null) builder.addArg(Tokens.ARGS_EVAL_TIMEOUT, evaluationTimeout);
+        return builder.create();
+    }
+
+    private static RequestMessage createRequest(final Traversal<?, ?> traversal) {
+        return RequestMessage.build(Tokens.OPS_BYTECODE).processor("traversal").
+                addArg(Tokens.ARGS_GREMLIN, traversal.asAdmin().getBytecode()).
+                addArg(Tokens.ARGS_ALIASES, Collections.singletonMap("g", "g")).create();
+    }
+
+    private static ResponseStatusCode getFinalStatusCode(final List<ResponseMessage> responses) {
+        return responses.get(responses.size() - 1).getStatus().getCode();
+    }
+
+    private static long countTraversers(final List<ResponseMessage> responses) {
+        return responses.stream().filter(r -> r.getResult().getData() instanceof List).
+                flatMap(r -> ((List<?>) r.getResult().getData()).stream()).
+                mapToLong(t -> ((Traverser<?>) t).bulk()).sum();
+    }
+
+    private static void waitForLog(final String message) throws InterruptedException {
+        final long start = System.currentTimeMillis();
+        while (logCaptor.getLogs().stream().noneMatch(m -> m.contains(message))) {
+            if (System.currentTimeMillis() - start > 30000)
+                fail("The server did not log: " + message);
+            Thread.sleep(50);
+        }
+    }
+
     private void runTimeoutTest(GraphTraversalSource g) throws Exception {
         // make a graph with a cycle in it to force a long run traversal
         g.addV("person").as("p").addE("self").to("p").iterate();
@@ -1323,4 +1525,56 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             assertEquals(ResponseStatusCode.SERVER_ERROR_FAIL_STEP, ((ResponseException) t).getResponseStatusCode());
         }
     }
+
+    /**
+     * A websocket client that does not read what the server writes until it is told to, so that the server has to
+     * hold back the results of a request as it would for a client that cannot keep up with them.
+     */
+    private static class LaggingClient extends AbstractClient {
+        private final Channel channel;
+
+        LaggingClient(final URI uri) throws Exception {
+            super("lagging-client-%d");
+            final WebSocketClientHandler wsHandler = new WebSocketClientHandler(WebSocketClientHandshakerFactory.newHandshaker(
+                    uri, WebSocketVersion.V13, null, true, EmptyHttpHeaders.INSTANCE, 65536), 10000, false);
+            final MessageSerializer<GraphBinaryMapper> serializer = new GraphBinaryMessageSerializerV1();
+            final Bootstrap b = new Bootstrap().group(group).channel(NioSocketChannel.class).
+                    option(ChannelOption.SO_RCVBUF, 4096).
+                    handler(new ChannelInitializer<SocketChannel>() {
+                        @Override
+                        protected void initChannel(final SocketChannel ch) {
+                            ch.pipeline().addLast(
+                                    new HttpClientCodec(),
+                                    new HttpObjectAggregator(65536),
+                                    wsHandler,
+                                    new WebSocketGremlinRequestEncoder(true, serializer),
+                                    new WebSocketGremlinResponseDecoder(serializer),
+                                    callbackResponseHandler);
+                        }
+                    });
+
+            channel = b.connect(uri.getHost(), uri.getPort()).sync().channel();
+            wsHandler.handshakeFuture().get(30, TimeUnit.SECONDS);
+            channel.config().setAutoRead(false);
+        }
+
+        void resumeReading() {
+            channel.config().setAutoRead(true);
+        }
+
+        void closeChannel() throws Exception {
+            channel.close().get(30, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void writeAndFlush(final RequestMessage requestMessage) {
+            channel.writeAndFlush(requestMessage);
+        }
+
+        @Override
+        public void close() {
+            channel.close().awaitUninterruptibly(30, TimeUnit.SECONDS);
+            group.shutdownGracefully().awaitUninterruptibly(30, TimeUnit.SECONDS);
+        }
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class WritabilityHandlerTest {
+
+    @Test
+    public void shouldWakeWhenChannelBecomesWritable() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final CountDownLatch woken = awaitWritableOnWorker(channel);
+
+        // the worker waits well beyond the interval at which the channel used to be polled
+        assertThat(woken.await(200, TimeUnit.MILLISECONDS), is(false));
+
+        channel.flush();
+        channel.runPendingTasks();
+        assertThat(channel.isWritable(), is(true));
+        assertThat(woken.await(500, TimeUnit.MILLISECONDS), is(true));
+    }
+
+    @Test
+    public void shouldWakeWhenChannelCloses() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final CountDownLatch woken = awaitWritableOnWorker(channel);
+        assertThat(woken.await(200, TimeUnit.MILLISECONDS), is(false));
+
+        channel.close();
+        channel.runPendingTasks();
+        assertThat(woken.await(500, TimeUnit.MILLISECONDS), is(true));
+    }
+
+    @Test
+    public void shouldNotWaitOnWritableChannel() throws Exception {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler());
+        final long start = System.nanoTime();
+        WritabilityHandler.awaitWritable(channel);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500, is(true));
+    }
+
+    @Test
+    public void shouldRunTaskWhenChannelBecomesWritable() {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final AtomicInteger runs = new AtomicInteger();
+        assertThat(WritabilityHandler.whenWritable(channel, runs::incrementAndGet), is(true));
+        assertThat(runs.get(), is(0));
+
+        channel.flush();
+        channel.runPendingTasks();
+        assertThat(channel.isWritable(), is(true));
+        assertThat(runs.get(), is(1));
+
+        // the task only runs once
+        channel.write(Unpooled.wrappedBuffer(new byte[64]));
+        channel.flush();
+        channel.runPendingTasks();
+        assertThat(runs.get(), is(1));
+    }
+
+    @Test
+    public void shouldRunTaskWhenChannelCloses() {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final AtomicInteger runs = new AtomicInteger();
+        assertThat(WritabilityHandler.whenWritable(channel, runs::incrementAndGet), is(true));
+
+        channel.close();
+        channel.runPendingTasks();
+        assertThat(runs.get(), is(1));
+    }
+
+    @Test
+    public void shouldNotRegisterTaskOnWritableChannel() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler());
+        final AtomicInteger runs = new AtomicInteger();
+        assertThat(WritabilityHandler.whenWritable(channel, runs::incrementAndGet), is(false));
+        assertThat(runs.get(), is(0));
+    }
+
+    private static EmbeddedChannel createUnwritableChannel() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler());
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        channel.write(Unpooled.wrappedBuffer(new byte[64]));
+        assertThat(channel.isWritable(), is(false));
+        return channel;
+    }
+
+    private static CountDownLatch awaitWritableOnWorker(final EmbeddedChannel channel) {
+        final CountDownLatch woken = new CountDownLatch(1);
+        final Thread worker = new Thread(() -> {
+            try {
+                WritabilityHandler.awaitWritable(channel);
+                woken.countDown();
+            } catch (InterruptedException ignored) {
+                // test fails on the latch
+            }
+        });
+        worker.setDaemon(true);
+        worker.start();
+        return woken;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.codahale.metrics.Timer;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.GraphManager;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.util.Tokens;
+import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+
+public class RequestPhasesTest {
+
+    @Test
+    public void shouldReportMeasuredPhasesForProcessorAndTraversalSource() {
+        final GraphManager graphManager = Mockito.mock(GraphManager.class);
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        Mockito.when(graphManager.getTraversalSource("gphases")).thenReturn(g);
+
+        final RequestMessage msg = RequestMessage.build(Tokens.OPS_BYTECODE).
+                addArg(Tokens.ARGS_GREMLIN, g.V().asAdmin().getBytecode()).
+                addArg(Tokens.ARGS_ALIASES, Collections.singletonMap("g", "gphases")).create();
+        final Context context = new Context(msg, null, new Settings(), graphManager, null, null);
+        final RequestPhases phases = context.getRequestPhases();
+
+        final Timer queued = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "processor", "traversal", "phase", "queued"));
+        final Timer compileForSource = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "processor", "traversal", "phase", "compile", "gphases"));
+        final Timer serialize = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "processor", "traversal", "phase", "serialize"));
+        final long queuedCount = queued.getCount();
+        final long serializeCount = serialize.getCount();
+
+        phases.stop(RequestPhases.Phase.COMPILE, System.nanoTime());
+        phases.started();
+        final long iterateStart = System.nanoTime();
+        phases.stop(RequestPhases.Phase.SERIALIZE, System.nanoTime() - 1000);
+        phases.stop(RequestPhases.Phase.ITERATE, iterateStart - 5000);
+
+        phases.report("traversal", context);
+
+        // iterate does not include the time of serialization once reported
+        assertThat(phases.getNanos(RequestPhases.Phase.ITERATE), greaterThanOrEqualTo(4000L));
+        assertEquals(queuedCount + 1, queued.getCount());
+        assertEquals(1, compileForSource.getCount());
+        assertEquals(serializeCount + 1, serialize.getCount());
+
+        // backpressure was not measured so it is not reported
+        assertEquals(0, MetricManager.INSTANCE.getTimer(
+                name(GremlinServer.class, "processor", "traversal", "phase", "backpressure", "gphases")).getCount());
+    }
+
+    @Test
+    public void shouldOnlyReportOnce() {
+        final RequestMessage msg = RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "1+1").create();
+        final Context context = new Context(msg, null, new Settings(), Mockito.mock(GraphManager.class), null, null);
+        final RequestPhases phases = context.getRequestPhases();
+
+        final Timer queued = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "processor", "session", "phase", "queued"));
+        final Timer iterate = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "processor", "session", "phase", "iterate"));
+        final long queuedCount = queued.getCount();
+        final long iterateCount = iterate.getCount();
+
+        phases.started();
+        phases.report("session", context);
+
+        // a worker that is still iterating after a timeout reported the request does not change what was reported
+        phases.stop(RequestPhases.Phase.ITERATE, System.nanoTime() - 1000);
+        phases.report("session", context);
+
+        assertEquals(queuedCount + 1, queued.getCount());
+        assertEquals(iterateCount, iterate.getCount());
+        assertEquals(0, phases.getNanos(RequestPhases.Phase.ITERATE));
+    }
+
+    @Test
+    public void shouldNotReportTraversalSourceUnknownToGraphManager() {
+        final GraphManager graphManager = Mockito.mock(GraphManager.class);
+        final RequestMessage msg = RequestMessage.build(Tokens.OPS_EVAL).
+                addArg(Tokens.ARGS_GREMLIN, "1+1").
+                addArg(Tokens.ARGS_ALIASES, Collections.singletonMap("g", "gunknown")).create();
+        final Context context = new Context(msg, null, new Settings(), graphManager, null, null);
+
+        context.getRequestPhases().started();
+        context.getRequestPhases().report("", context);
+
+        assertEquals(false, MetricManager.INSTANCE.getRegistry().getNames().contains(
+                name(GremlinServer.class, "processor", "standard", "phase", "queued", "gunknown")));
+    }
+}
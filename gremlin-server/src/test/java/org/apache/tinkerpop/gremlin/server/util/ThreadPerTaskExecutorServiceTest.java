@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ThreadPerTaskExecutorServiceTest {
+
+    @Test
+    public void shouldRunTaskOnThreadOfItsOwn() throws Exception {
+        final ThreadPerTaskExecutorService executor = new ThreadPerTaskExecutorService(ThreadFactoryUtil.create("test-%d"), 2);
+        final Future<String> first = executor.submit(() -> Thread.currentThread().getName());
+        final Future<String> second = executor.submit(() -> Thread.currentThread().getName());
+
+        assertThat(first.get(), startsWith("gremlin-server-test-"));
+        assertThat(first.get().equals(second.get()), is(false));
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1000, TimeUnit.MILLISECONDS), is(true));
+    }
+
+    @Test
+    public void shouldRejectTaskWhenLimitIsReached() throws Exception {
+        final ThreadPerTaskExecutorService executor = new ThreadPerTaskExecutorService(ThreadFactoryUtil.create("test-%d"), 1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Future<?> running = executor.submit(() -> {
+            latch.await();
+            return null;
+        });
+
+        try {
+            executor.submit(() -> null);
+            fail("Task should have been rejected as one task is already running");
+        } catch (RejectedExecutionException ignored) {
+            // expected
+        }
+
+        assertEquals(1, executor.getActiveCount());
+        latch.countDown();
+        running.get();
+
+        // the permit is released once the running task completes
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1000, TimeUnit.MILLISECONDS), is(true));
+        assertEquals(0, executor.getActiveCount());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void shouldRejectTaskAfterShutdown() {
+        final ThreadPerTaskExecutorService executor = new ThreadPerTaskExecutorService(ThreadFactoryUtil.create("test-%d"), 1);
+        executor.shutdown();
+        executor.submit(() -> null);
+    }
+
+    @Test
+    public void shouldInterruptRunningTasksOnShutdownNow() throws Exception {
+        final ThreadPerTaskExecutorService executor = new ThreadPerTaskExecutorService(ThreadFactoryUtil.create("test-%d"), 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final Future<Boolean> interrupted = executor.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(30000);
+                return false;
+            } catch (InterruptedException ie) {
+                return true;
+            }
+        });
+
+        started.await();
+        executor.shutdownNow();
+
+        assertThat(interrupted.get(), is(true));
+        assertThat(executor.awaitTermination(1000, TimeUnit.MILLISECONDS), is(true));
+        assertThat(executor.isTerminated(), is(true));
+    }
+}
@@ -117,6 +117,7 @@ public class ProcessLimitedComputerSuite extends AbstractGremlinSuite {
             GraphComputerTest.class,
             MatchTest.CountMatchTraversals.class,
             MatchTest.GreedyMatchTraversals.class,
+            MatchTest.CostMatchTraversals.class,
             ProfileTest.Traversals.class,
             ProgramTest.Traversals.class,
             WriteTest.Traversals.class,
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the bulking and draining of a {@link TraverserSet} as done by barriers and step iterators, comparing the
+ * default set to one that takes a monitor on every {@code add()} and {@code remove()} as the set used to.
+ */
+public class TraverserSetBenchmark extends AbstractBenchmarkBase {
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        public final List<Traverser.Admin<Integer>> traversers = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            // a tenth of the traversers are distinct so that most adds merge bulk into an existing traverser
+            for (int i = 0; i < 10000; i++) {
+                traversers.add(new B_O_Traverser<>(i % 1000, 1).asAdmin());
+            }
+        }
+    }
+
+    @Benchmark
+    public long addAndRemove(final BenchmarkState state) {
+        return drain(new TraverserSet<>(), state.traversers);
+    }
+
+    @Benchmark
+    public long addAndRemoveSynchronized(final BenchmarkState state) {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (final Traverser.Admin<Integer> traverser : state.traversers) {
+            synchronized (traverserSet) {
+                traverserSet.add(traverser.split());
+            }
+        }
+        long bulk = 0;
+        while (true) {
+            synchronized (traverserSet) {
+                if (traverserSet.isEmpty()) return bulk;
+                bulk = bulk + traverserSet.remove().bulk();
+            }
+        }
+    }
+
+    private static long drain(final TraverserSet<Integer> traverserSet, final List<Traverser.Admin<Integer>> traversers) {
+        for (final Traverser.Admin<Integer> traverser : traversers) {
+            traverserSet.add(traverser.split());
+        }
+        long bulk = 0;
+        while (!traverserSet.isEmpty()) {
+            bulk = bulk + traverserSet.remove().bulk();
+        }
+        return bulk;
+    }
+}
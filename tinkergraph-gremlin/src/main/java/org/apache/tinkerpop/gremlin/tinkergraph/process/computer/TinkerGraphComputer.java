@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.optimization.GraphFilterStrategy;
 import org.apache.tinkerpop.gremlin.process.computer.util.ComputerGraph;
@@ -37,10 +38,13 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
@@ -62,6 +66,20 @@ public final class TinkerGraphComputer implements GraphComputer {
                 TraversalStrategies.GlobalCache.getStrategies(GraphComputer.class).clone().removeStrategies(GraphFilterStrategy.class));
     }
 
+    /**
+     * A boolean configuration key which, when {@code true}, has the workers claim small chunks of vertices balanced by
+     * degree as they become idle rather than each taking a fixed contiguous share of the graph, which keeps one
+     * worker with several supernodes from holding up every iteration.
+     */
+    public static final String GREMLIN_TINKERGRAPH_COMPUTER_WORK_STEALING = "gremlin.tinkergraph.computer.workStealing";
+
+    /**
+     * A boolean configuration key which, when {@code true}, executes only the vertices that were sent a message in the
+     * previous iteration once the first iteration is complete. It is only correct for a {@link VertexProgram} whose
+     * {@code execute()} does nothing for a vertex without incoming messages after the first iteration.
+     */
+    public static final String GREMLIN_TINKERGRAPH_COMPUTER_ACTIVE_VERTICES = "gremlin.tinkergraph.computer.activeVertices";
+
     private ResultGraph resultGraph = null;
     private Persist persist = null;
 
@@ -72,6 +90,8 @@ public final class TinkerGraphComputer implements GraphComputer {
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
     private int workers = Runtime.getRuntime().availableProcessors();
+    private boolean workStealing = false;
+    private boolean activeVertices = false;
     private final GraphFilter graphFilter = new GraphFilter();
 
     private final ThreadFactory threadFactoryBoss = new BasicThreadFactory.Builder().namingPattern(TinkerGraphComputer.class.getSimpleName() + "-boss").build();
@@ -116,6 +136,15 @@ public final class TinkerGraphComputer implements GraphComputer {
         return this;
     }
 
+    @Override
+    public GraphComputer configure(final String key, final Object value) {
+        if (GREMLIN_TINKERGRAPH_COMPUTER_WORK_STEALING.equals(key))
+            this.workStealing = value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(value.toString());
+        else if (GREMLIN_TINKERGRAPH_COMPUTER_ACTIVE_VERTICES.equals(key))
+            this.activeVertices = value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(value.toString());
+        return this;
+    }
+
     @Override
     public GraphComputer vertices(final Traversal<Vertex, Vertex> vertexFilter) {
         this.graphFilter.setVertexFilter(vertexFilter);
@@ -157,11 +186,12 @@ public final class TinkerGraphComputer implements GraphComputer {
         final Future<ComputerResult> result = computerService.submit(() -> {
             final long time = System.currentTimeMillis();
             final TinkerGraphComputerView view = TinkerHelper.createGraphComputerView(this.graph, this.graphFilter, null != this.vertexProgram ? this.vertexProgram.getVertexComputeKeys() : Collections.emptySet());
-            final TinkerWorkerPool workers = new TinkerWorkerPool(this.graph, this.memory, this.workers);
+            final TinkerWorkerPool workers = new TinkerWorkerPool(this.graph, this.memory, this.workers, this.workStealing);
             try {
                 if (null != this.vertexProgram) {
                     // execute the vertex program
                     this.vertexProgram.setup(this.memory);
+                    if (this.activeVertices) this.messageBoard.trackActiveVertices();
                     while (true) {
                         if (Thread.interrupted()) throw new TraversalInterruptedException();
                         this.memory.completeSubRound();
@@ -180,6 +210,7 @@ public final class TinkerGraphComputer implements GraphComputer {
                             workerMemory.complete();
                         });
                         this.messageBoard.completeIteration();
+                        if (this.activeVertices) workers.setActiveVertices(this.getActiveVertices(view));
                         this.memory.completeSubRound();
                         if (this.vertexProgram.terminate(this.memory)) {
                             this.memory.incrIteration();
@@ -235,6 +266,7 @@ public final class TinkerGraphComputer implements GraphComputer {
                 // determine the resultant graph based on the result graph/persist state
                 final Graph resultGraph = view.processResultGraphPersist(this.resultGraph, this.persist);
                 TinkerHelper.dropGraphComputerView(this.graph); // drop the view from the original source graph
+                if (this.graph.features().graph().supportsTransactions()) this.graph.tx().commit();
                 return new DefaultComputerResult(resultGraph, this.memory.asImmutable());
             } catch (InterruptedException ie) {
                 workers.closeNow();
@@ -244,6 +276,7 @@ public final class TinkerGraphComputer implements GraphComputer {
                 throw new RuntimeException(ex);
             } finally {
                 workers.close();
+                if (this.graph.features().graph().supportsTransactions()) this.graph.tx().close();
             }
         });
         this.computerService.shutdown();
@@ -255,6 +288,26 @@ public final class TinkerGraphComputer implements GraphComputer {
         return StringFactory.graphComputerString(this);
     }
 
+    /**
+     * Gets the vertices of the graph that were sent messages in the last iteration, resolving those that were
+     * addressed by a {@link MessageScope.Global} with some other {@link Vertex} implementation.
+     */
+    private List<Vertex> getActiveVertices(final TinkerGraphComputerView view) {
+        final List<Vertex> vertices = new ArrayList<>();
+        for (final Vertex vertex : (Set<Vertex>) this.messageBoard.receiveActiveVertices) {
+            if (vertex instanceof TinkerVertex) {
+                if (view.legalVertex(vertex)) vertices.add(vertex);
+            } else {
+                final Iterator<Vertex> iterator = this.graph.vertices(vertex.id());
+                if (iterator.hasNext()) {
+                    final Vertex tinkerVertex = iterator.next();
+                    if (view.legalVertex(tinkerVertex)) vertices.add(tinkerVertex);
+                }
+            }
+        }
+        return vertices;
+    }
+
     private static class SynchronizedIterator<V> {
 
         private final Iterator<V> iterator;
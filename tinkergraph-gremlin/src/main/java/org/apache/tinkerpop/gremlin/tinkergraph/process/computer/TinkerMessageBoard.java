@@ -34,12 +34,37 @@ final class TinkerMessageBoard<M> {
 
     public Map<MessageScope, Map<Vertex,Queue<M>>> sendMessages = new ConcurrentHashMap<>();
     public Map<MessageScope, Map<Vertex, Queue<M>>> receiveMessages = new ConcurrentHashMap<>();
+
+    /**
+     * Messages of a {@link org.apache.tinkerpop.gremlin.process.computer.VertexProgram} that has a
+     * {@link org.apache.tinkerpop.gremlin.process.computer.MessageCombiner} are folded into a single message per
+     * vertex as they are sent, so they are held directly rather than in a queue.
+     */
+    public Map<MessageScope, Map<Vertex, M>> sendCombinedMessages = new ConcurrentHashMap<>();
+    public Map<MessageScope, Map<Vertex, M>> receiveCombinedMessages = new ConcurrentHashMap<>();
+    /**
+     * The vertices that were sent messages in this iteration, which are the only ones executed in the next when
+     * active vertex tracking is on, and otherwise {@code null}.
+     */
+    public Set<Vertex> sendActiveVertices = null;
+    public Set<Vertex> receiveActiveVertices = null;
+
     public Set<MessageScope> previousMessageScopes = new HashSet<>();
     public Set<MessageScope> currentMessageScopes = new HashSet<>();
 
+    public void trackActiveVertices() {
+        this.sendActiveVertices = ConcurrentHashMap.newKeySet();
+    }
+
     public void completeIteration() {
+        if (null != this.sendActiveVertices) {
+            this.receiveActiveVertices = this.sendActiveVertices;
+            this.sendActiveVertices = ConcurrentHashMap.newKeySet();
+        }
         this.receiveMessages = this.sendMessages;
         this.sendMessages = new ConcurrentHashMap<>();
+        this.receiveCombinedMessages = this.sendCombinedMessages;
+        this.sendCombinedMessages = new ConcurrentHashMap<>();
         this.previousMessageScopes = this.currentMessageScopes;
         this.currentMessageScopes = new HashSet<>();
     }
@@ -33,8 +33,10 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.gremlin.util.iterator.MultiIterator;
 
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
@@ -60,7 +62,10 @@ public final class TinkerMessenger<M> implements Messenger<M> {
     @Override
     public Iterator<M> receiveMessages() {
         final MultiIterator<M> multiIterator = new MultiIterator<>();
-        for (final MessageScope messageScope : this.messageBoard.receiveMessages.keySet()) {
+        final Set<MessageScope> messageScopes = null != this.combiner ?
+                this.messageBoard.receiveCombinedMessages.keySet() :
+                this.messageBoard.receiveMessages.keySet();
+        for (final MessageScope messageScope : messageScopes) {
 //        for (final MessageScope messageScope : this.messageBoard.previousMessageScopes) {
             if (messageScope instanceof MessageScope.Local) {
                 final MessageScope.Local<M> localMessageScope = (MessageScope.Local<M>) messageScope;
@@ -76,19 +81,14 @@ public final class TinkerMessenger<M> implements Messenger<M> {
                             } else {
                                 vv = e.outVertex() == this.vertex ? e.inVertex() : e.outVertex();
                             }
-                            return this.messageBoard.receiveMessages.get(messageScope).get(vv);
+                            return vv;
                         })
-                        .filter(q -> null != q)
-                        .flatMap(Queue::stream)
+                        .flatMap(vv -> this.getMessages(messageScope, vv))
                         .map(message -> localMessageScope.getEdgeFunction().apply(message, edge[0]))
                         .iterator());
 
             } else {
-                multiIterator.addIterator(Stream.of(this.vertex)
-                        .map(this.messageBoard.receiveMessages.get(messageScope)::get)
-                        .filter(q -> null != q)
-                        .flatMap(Queue::stream)
-                        .iterator());
+                multiIterator.addIterator(this.getMessages(messageScope, this.vertex).iterator());
             }
         }
         return multiIterator;
@@ -98,22 +98,59 @@ public final class TinkerMessenger<M> implements Messenger<M> {
     public void sendMessage(final MessageScope messageScope, final M message) {
 //        this.messageBoard.currentMessageScopes.add(messageScope);
         if (messageScope instanceof MessageScope.Local) {
+            if (null != this.messageBoard.sendActiveVertices && !this.hasSentMessage(messageScope))
+                this.activateReceivers((MessageScope.Local<M>) messageScope);
             addMessage(this.vertex, message, messageScope);
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> addMessage(v, message, messageScope));
+            ((MessageScope.Global) messageScope).vertices().forEach(v -> {
+                if (null != this.messageBoard.sendActiveVertices)
+                    this.messageBoard.sendActiveVertices.add(v);
+                addMessage(v, message, messageScope);
+            });
+        }
+    }
+
+    private boolean hasSentMessage(final MessageScope messageScope) {
+        final Map<Vertex, ?> messages = null != this.combiner ?
+                this.messageBoard.sendCombinedMessages.get(messageScope) :
+                this.messageBoard.sendMessages.get(messageScope);
+        return null != messages && messages.containsKey(this.vertex);
+    }
+
+    /**
+     * Marks the vertices that will read the messages this vertex sends to a {@link MessageScope.Local} as active. These
+     * are found by walking the incident traversal forward, as the receivers walk it in reverse to find the senders.
+     */
+    private void activateReceivers(final MessageScope.Local<M> localMessageScope) {
+        final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
+        final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
+        while (incidentTraversal.hasNext()) {
+            final Edge edge = incidentTraversal.next();
+            if (direction.equals(Direction.IN) || direction.equals(Direction.OUT))
+                this.messageBoard.sendActiveVertices.add(edge.vertices(direction.opposite()).next());
+            else
+                this.messageBoard.sendActiveVertices.add(edge.outVertex() == this.vertex ? edge.inVertex() : edge.outVertex());
         }
     }
 
     private void addMessage(final Vertex vertex, final M message, MessageScope messageScope) {
-        this.messageBoard.sendMessages.compute(messageScope, (ms, messages) -> {
-            if(null==messages) messages = new ConcurrentHashMap<>();
-            return messages;
-        });
-        this.messageBoard.sendMessages.get(messageScope).compute(vertex, (v, queue) -> {
-            if (null == queue) queue = new ConcurrentLinkedQueue<>();
-            queue.add(null != this.combiner && !queue.isEmpty() ? this.combiner.combine(queue.remove(), message) : message);
-            return queue;
-        });
+        if (null != this.combiner) {
+            this.messageBoard.sendCombinedMessages.computeIfAbsent(messageScope, ms -> new ConcurrentHashMap<>())
+                    .merge(vertex, message, this.combiner::combine);
+        } else {
+            this.messageBoard.sendMessages.computeIfAbsent(messageScope, ms -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(vertex, v -> new ConcurrentLinkedQueue<>()).add(message);
+        }
+    }
+
+    private Stream<M> getMessages(final MessageScope messageScope, final Vertex vertex) {
+        if (null != this.combiner) {
+            final M message = this.messageBoard.receiveCombinedMessages.get(messageScope).get(vertex);
+            return null == message ? Stream.empty() : Stream.of(message);
+        } else {
+            final Queue<M> queue = this.messageBoard.receiveMessages.get(messageScope).get(vertex);
+            return null == queue ? Stream.empty() : queue.stream();
+        }
     }
 
     ///////////
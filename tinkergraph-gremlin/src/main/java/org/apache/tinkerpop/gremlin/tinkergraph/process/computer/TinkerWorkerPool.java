@@ -26,17 +26,22 @@ import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.util.function.TriConsumer;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -56,12 +61,44 @@ public final class TinkerWorkerPool implements AutoCloseable {
     private final Queue<TinkerWorkerMemory> workerMemoryPool = new ConcurrentLinkedQueue<>();
     private final List<List<Vertex>> workerVertices = new ArrayList<>();
 
+    /**
+     * When work stealing, the vertices are split into many chunks of similar degree rather than one list per worker
+     * and each worker claims the next chunk through this counter once it has finished its last one.
+     */
+    private final boolean workStealing;
+    private final AtomicInteger nextChunk = new AtomicInteger();
+
+    /**
+     * The number of chunks per worker when work stealing, which allows a worker that drew supernodes to fall behind
+     * while the others take up the remainder of the vertices.
+     */
+    private static final int CHUNKS_PER_WORKER = 16;
+
+    /**
+     * The chunks of the only vertices to execute in the next iteration, or {@code null} when all vertices execute.
+     */
+    private List<List<Vertex>> activeVertices = null;
+
     public TinkerWorkerPool(final TinkerGraph graph, final TinkerMemory memory, final int numberOfWorkers) {
+        this(graph, memory, numberOfWorkers, false);
+    }
+
+    public TinkerWorkerPool(final TinkerGraph graph, final TinkerMemory memory, final int numberOfWorkers, final boolean workStealing) {
         this.numberOfWorkers = numberOfWorkers;
+        this.workStealing = workStealing;
         this.workerPool = Executors.newFixedThreadPool(numberOfWorkers, THREAD_FACTORY_WORKER);
         this.completionService = new ExecutorCompletionService<>(this.workerPool);
         for (int i = 0; i < this.numberOfWorkers; i++) {
             this.workerMemoryPool.add(new TinkerWorkerMemory(memory));
+        }
+        if (workStealing)
+            this.chunkVertices(graph);
+        else
+            this.partitionVertices(graph);
+    }
+
+    private void partitionVertices(final TinkerGraph graph) {
+        for (int i = 0; i < this.numberOfWorkers; i++) {
             this.workerVertices.add(new ArrayList<>());
         }
         int batchSize = TinkerHelper.getVertices(graph).size() / this.numberOfWorkers;
@@ -84,6 +121,32 @@ public final class TinkerWorkerPool implements AutoCloseable {
         }
     }
 
+    /**
+     * Splits the vertices into chunks that each hold about the same number of vertices plus edges, so that the cost
+     * of a chunk reflects the messages its vertices send and receive rather than just how many vertices it has.
+     */
+    private void chunkVertices(final TinkerGraph graph) {
+        final List<Vertex> vertices = IteratorUtils.list(graph.vertices());
+        long totalWeight = 0;
+        for (final Vertex vertex : vertices) {
+            totalWeight += 1 + TinkerHelper.getDegree((TinkerVertex) vertex);
+        }
+        final long chunkWeight = Math.max(1, totalWeight / ((long) this.numberOfWorkers * CHUNKS_PER_WORKER));
+        List<Vertex> chunk = new ArrayList<>();
+        long weight = 0;
+        for (final Vertex vertex : vertices) {
+            chunk.add(vertex);
+            weight += 1 + TinkerHelper.getDegree((TinkerVertex) vertex);
+            if (weight >= chunkWeight) {
+                this.workerVertices.add(chunk);
+                chunk = new ArrayList<>();
+                weight = 0;
+            }
+        }
+        if (!chunk.isEmpty())
+            this.workerVertices.add(chunk);
+    }
+
     public void setVertexProgram(final VertexProgram vertexProgram) {
         this.vertexProgramPool = new VertexProgramPool(vertexProgram, this.numberOfWorkers);
     }
@@ -92,14 +155,36 @@ public final class TinkerWorkerPool implements AutoCloseable {
         this.mapReducePool = new MapReducePool(mapReduce, this.numberOfWorkers);
     }
 
+    /**
+     * Restricts the next iteration of the {@link VertexProgram} to the given vertices, which are shared out among the
+     * workers in chunks. Passing {@code null} executes all vertices again.
+     */
+    public void setActiveVertices(final List<Vertex> vertices) {
+        if (null == vertices) {
+            this.activeVertices = null;
+            return;
+        }
+        final int chunkSize = Math.max(1, vertices.size() / (this.numberOfWorkers * CHUNKS_PER_WORKER));
+        this.activeVertices = new ArrayList<>();
+        for (int i = 0; i < vertices.size(); i = i + chunkSize) {
+            this.activeVertices.add(vertices.subList(i, Math.min(i + chunkSize, vertices.size())));
+        }
+    }
+
     public void executeVertexProgram(final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
+        this.nextChunk.set(0);
+        final List<List<Vertex>> activeVertices = this.activeVertices;
         for (int i = 0; i < this.numberOfWorkers; i++) {
             final int index = i;
             this.completionService.submit(() -> {
                 final VertexProgram vp = this.vertexProgramPool.take();
                 final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
-                final List<Vertex> vertices = this.workerVertices.get(index);
-                worker.accept(vertices.iterator(), vp, workerMemory);
+                final Iterator<Vertex> vertices = null != activeVertices ?
+                        new ChunkIterator(activeVertices) :
+                        this.workStealing ?
+                                new ChunkIterator(this.workerVertices) :
+                                this.workerVertices.get(index).iterator();
+                worker.accept(vertices, vp, workerMemory);
                 this.vertexProgramPool.offer(vp);
                 this.workerMemoryPool.offer(workerMemory);
                 return null;
@@ -144,4 +229,36 @@ public final class TinkerWorkerPool implements AutoCloseable {
     public void close() throws Exception {
         this.workerPool.shutdown();
     }
-}
\ No newline at end of file
+
+    /**
+     * Iterates the vertices of the chunks a worker claims, taking the next unclaimed chunk only once the current one
+     * is exhausted.
+     */
+    private final class ChunkIterator implements Iterator<Vertex> {
+
+        private final List<List<Vertex>> chunks;
+        private Iterator<Vertex> chunk = Collections.emptyIterator();
+
+        private ChunkIterator(final List<List<Vertex>> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.chunk.hasNext()) {
+                final int index = nextChunk.getAndIncrement();
+                if (index >= this.chunks.size())
+                    return false;
+                this.chunk = this.chunks.get(index).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Vertex next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            return this.chunk.next();
+        }
+    }
+}
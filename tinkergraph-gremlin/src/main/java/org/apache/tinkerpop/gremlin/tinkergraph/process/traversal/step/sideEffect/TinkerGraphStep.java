@@ -19,27 +19,37 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraphIterator;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.util.GremlinValueComparator;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
 /**
@@ -54,6 +64,15 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
      */
     private final List<Iterator> iterators = new ArrayList<>();
 
+    /**
+     * The property key, direction and limit of an {@code order().by(key).limit(n)} that directly follows this step
+     * which allows a {@link TinkerGraph.IndexType#RANGE} index on that key to produce just the first elements in
+     * order. The ordering step itself remains in the traversal to produce the final order.
+     */
+    private String orderKey = null;
+    private boolean orderDescending = false;
+    private long orderLimit = Long.MAX_VALUE;
+
     public TinkerGraphStep(final GraphStep<S, E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
         originalGraphStep.getLabels().forEach(this::addLabel);
@@ -67,6 +86,7 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Edge> edges() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
+        final List<String> compositeKeys = getCompositeIndexKeys(Edge.class);
         final HasContainer indexedContainer = getIndexKey(Edge.class);
         Iterator<Edge> iterator;
         // ids are present, filter on them first
@@ -74,13 +94,29 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
             iterator = Collections.emptyIterator();
         else if (this.ids.length > 0)
             iterator = this.iteratorList(graph.edges(this.ids));
-        else
-            iterator = null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
+        else if (null != compositeKeys)
+            iterator = IteratorUtils.filter((Iterator) TinkerHelper.queryEdgeIndex(graph, compositeKeys, getEqualityValues(compositeKeys)).iterator(),
+                                            edge -> HasContainer.testAll((Edge) edge, this.hasContainers));
+        else if (null != indexedContainer)
+            iterator = TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
                                 .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
                                 .collect(Collectors.<Edge>toList()).iterator();
-
+        else {
+            final String rangeKey = getRangeIndexKey(Edge.class);
+            final Collection<?> labels = getHasLabels();
+            if (null != rangeKey) {
+                final List<IndexRange> ranges = getIndexRanges(rangeKey);
+                final boolean ordered = rangeKey.equals(this.orderKey) && ranges.size() == 1;
+                iterator = this.iteratorRange(IteratorUtils.<IndexRange, Edge>flatMap(ranges.iterator(),
+                        r -> (Iterator) TinkerHelper.queryEdgeIndex(graph, rangeKey, r.low, r.lowInclusive, r.high, r.highInclusive,
+                                ordered && this.orderDescending)), ordered ? this.orderLimit : Long.MAX_VALUE);
+            } else if (null != labels) {
+                iterator = this.iteratorList(IteratorUtils.flatMap(labels.iterator(),
+                        label -> TinkerHelper.getEdges(graph, (String) label).iterator()));
+            } else {
+                iterator = this.iteratorList(graph.edges());
+            }
+        }
 
         iterators.add(iterator);
 
@@ -89,6 +125,7 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Vertex> vertices() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
+        final List<String> compositeKeys = getCompositeIndexKeys(Vertex.class);
         final HasContainer indexedContainer = getIndexKey(Vertex.class);
         Iterator<? extends Vertex> iterator;
         // ids are present, filter on them first
@@ -96,11 +133,28 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
             iterator = Collections.emptyIterator();
         else if (this.ids.length > 0)
             iterator = this.iteratorList(graph.vertices(this.ids));
-        else
-            iterator = (null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
-                                         vertex -> HasContainer.testAll(vertex, this.hasContainers)));
+        else if (null != compositeKeys)
+            iterator = IteratorUtils.filter(TinkerHelper.queryVertexIndex(graph, compositeKeys, getEqualityValues(compositeKeys)).iterator(),
+                                            vertex -> HasContainer.testAll(vertex, this.hasContainers));
+        else if (null != indexedContainer)
+            iterator = IteratorUtils.filter(TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
+                                            vertex -> HasContainer.testAll(vertex, this.hasContainers));
+        else {
+            final String rangeKey = getRangeIndexKey(Vertex.class);
+            final Collection<?> labels = getHasLabels();
+            if (null != rangeKey) {
+                final List<IndexRange> ranges = getIndexRanges(rangeKey);
+                final boolean ordered = rangeKey.equals(this.orderKey) && ranges.size() == 1;
+                iterator = this.iteratorRange(IteratorUtils.flatMap(ranges.iterator(),
+                        r -> TinkerHelper.queryVertexIndex(graph, rangeKey, r.low, r.lowInclusive, r.high, r.highInclusive,
+                                ordered && this.orderDescending)), ordered ? this.orderLimit : Long.MAX_VALUE);
+            } else if (null != labels) {
+                iterator = this.iteratorList(IteratorUtils.flatMap(labels.iterator(),
+                        label -> TinkerHelper.getVertices(graph, (String) label).iterator()));
+            } else {
+                iterator = this.iteratorList(graph.vertices());
+            }
+        }
 
         iterators.add(iterator);
 
@@ -116,13 +170,137 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     }
 
+    /**
+     * Gets the keys of the composite index that has all of its keys matched by equality has containers, preferring
+     * the index with the most keys.
+     */
+    private List<String> getCompositeIndexKeys(final Class<? extends Element> indexedClass) {
+        List<String> compositeKeys = null;
+        for (final List<String> keys : ((TinkerGraph) this.getTraversal().getGraph().get()).getCompositeIndexedKeys(indexedClass)) {
+            if ((null == compositeKeys || keys.size() > compositeKeys.size()) &&
+                    keys.stream().allMatch(k -> null != getEqualityContainer(k)))
+                compositeKeys = keys;
+        }
+        return compositeKeys;
+    }
+
+    private HasContainer getEqualityContainer(final String key) {
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (key.equals(hasContainer.getKey()) && hasContainer.getPredicate().getBiPredicate() == Compare.eq)
+                return hasContainer;
+        }
+        return null;
+    }
+
+    private List<Object> getEqualityValues(final List<String> keys) {
+        return keys.stream().map(k -> getEqualityContainer(k).getPredicate().getValue()).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the labels that an element must have to satisfy a {@code hasLabel()} so that only the elements with those
+     * labels need to be looked at.
+     */
+    private Collection<?> getHasLabels() {
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (!T.label.getAccessor().equals(hasContainer.getKey()))
+                continue;
+
+            final BiPredicate<?, ?> biPredicate = hasContainer.getPredicate().getBiPredicate();
+            final Object value = hasContainer.getPredicate().getValue();
+            if (biPredicate == Compare.eq && value instanceof String)
+                return Collections.singletonList(value);
+            else if (biPredicate == Contains.within && value instanceof Collection &&
+                    ((Collection<?>) value).stream().allMatch(l -> l instanceof String))
+                return new LinkedHashSet<>((Collection<?>) value);
+        }
+        return null;
+    }
+
+    /**
+     * Describes the index that will be used to look up elements for the explanation of the traversal.
+     */
+    private String getIndexDescription() {
+        if (this.hasContainers.isEmpty() && null == this.orderKey)
+            return "";
+
+        final Optional<Graph> graph = this.getTraversal().getGraph();
+        if (!graph.isPresent() || !(graph.get() instanceof TinkerGraph) || null == this.ids || this.ids.length > 0)
+            return "";
+
+        final List<String> compositeKeys = getCompositeIndexKeys(this.returnClass);
+        if (null != compositeKeys)
+            return "index:composite(" + String.join(",", compositeKeys) + ")";
+        final HasContainer indexedContainer = getIndexKey(this.returnClass);
+        if (null != indexedContainer)
+            return "index:" + ((TinkerGraph) graph.get()).getIndexType(indexedContainer.getKey(), this.returnClass).name().toLowerCase() +
+                    "(" + indexedContainer.getKey() + ")";
+        final String rangeKey = getRangeIndexKey(this.returnClass);
+        if (null != rangeKey)
+            return "index:range(" + rangeKey + ")";
+        return null == getHasLabels() ? "" : "index:label";
+    }
+
+    /**
+     * Gets a key with a {@link TinkerGraph.IndexType#RANGE} index that is either constrained by a range predicate
+     * or that the output of this step is ordered by.
+     */
+    private String getRangeIndexKey(final Class<? extends Element> indexedClass) {
+        final Set<String> rangeKeys = ((TinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass, TinkerGraph.IndexType.RANGE);
+        if (rangeKeys.isEmpty())
+            return null;
+
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (rangeKeys.contains(hasContainer.getKey()) && IndexRange.isIndexable(hasContainer.getPredicate()))
+                return hasContainer.getKey();
+        }
+        return null != this.orderKey && rangeKeys.contains(this.orderKey) ? this.orderKey : null;
+    }
+
+    /**
+     * Converts the predicates on the specified key to the ranges of the index that can satisfy them. There will be
+     * more than one range when an {@link OrP} like {@code outside()} is present.
+     */
+    private List<IndexRange> getIndexRanges(final String key) {
+        List<IndexRange> ranges = Collections.singletonList(IndexRange.ALL);
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (!key.equals(hasContainer.getKey()) || !IndexRange.isIndexable(hasContainer.getPredicate()))
+                continue;
+
+            final List<? extends P<?>> predicates = hasContainer.getPredicate() instanceof OrP ?
+                    ((OrP<?>) hasContainer.getPredicate()).getPredicates() :
+                    Collections.singletonList(hasContainer.getPredicate());
+            final List<IndexRange> narrowed = new ArrayList<>();
+            for (final IndexRange range : ranges) {
+                for (final P<?> predicate : predicates) {
+                    narrowed.add(range.narrow(predicate));
+                }
+            }
+            ranges = narrowed;
+        }
+        return ranges;
+    }
+
+    /**
+     * Notifies the step that its output is ordered by the value of the specified key and then limited so that an
+     * index on the key can be used to produce only the first {@code limit} elements in that order.
+     */
+    public void setOrder(final String key, final Order order, final long limit) {
+        if (order != Order.asc && order != Order.desc)
+            throw new IllegalArgumentException("The order must be either asc or desc: " + order);
+
+        this.orderKey = key;
+        this.orderDescending = order == Order.desc;
+        this.orderLimit = limit;
+    }
+
     @Override
     public String toString() {
-        if (this.hasContainers.isEmpty())
+        final String indexDescription = getIndexDescription();
+        if (this.hasContainers.isEmpty() && indexDescription.isEmpty())
             return super.toString();
         else
             return (null == this.ids || 0 == this.ids.length) ?
-                    StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(), this.hasContainers) :
+                    StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(), this.hasContainers, indexDescription) :
                     StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(), Arrays.toString(this.ids), this.hasContainers);
     }
 
@@ -144,6 +322,21 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
         return new TinkerGraphIterator<>(list.iterator());
     }
 
+    /**
+     * Collects the elements from an index lookup that pass the has containers, removing the duplicates that occur
+     * for multi-properties or overlapping ranges and stopping once the limit is reached.
+     */
+    private <E extends Element> Iterator<E> iteratorRange(final Iterator<E> iterator, final long limit) {
+        final Set<E> set = new LinkedHashSet<>();
+        while (iterator.hasNext() && set.size() < limit) {
+            final E e = iterator.next();
+            if (HasContainer.testAll(e, this.hasContainers))
+                set.add(e);
+        }
+
+        return new TinkerGraphIterator<>(set.iterator());
+    }
+
     @Override
     public List<HasContainer> getHasContainers() {
         return Collections.unmodifiableList(this.hasContainers);
@@ -168,4 +361,76 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
     public void close() {
         iterators.forEach(CloseableIterator::closeIterator);
     }
+
+    /**
+     * A range of values in a {@link TinkerGraph.IndexType#RANGE} index where a {@code null} bound is open.
+     */
+    private static final class IndexRange {
+
+        private static final IndexRange ALL = new IndexRange(null, false, null, false);
+
+        private final Object low;
+        private final boolean lowInclusive;
+        private final Object high;
+        private final boolean highInclusive;
+
+        private IndexRange(final Object low, final boolean lowInclusive, final Object high, final boolean highInclusive) {
+            this.low = low;
+            this.lowInclusive = lowInclusive;
+            this.high = high;
+            this.highInclusive = highInclusive;
+        }
+
+        /**
+         * Determines if the predicate is a comparison, or an {@link OrP} of comparisons, against a non-null value
+         * such as those produced by {@code gt()}, {@code lte()} or {@code outside()}.
+         */
+        private static boolean isIndexable(final P<?> predicate) {
+            if (predicate instanceof OrP)
+                return ((OrP<?>) predicate).getPredicates().stream().allMatch(p -> !(p instanceof OrP || p instanceof AndP) && isIndexable(p));
+
+            final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+            return null != predicate.getValue() &&
+                    (biPredicate == Compare.gt || biPredicate == Compare.gte || biPredicate == Compare.lt ||
+                     biPredicate == Compare.lte || biPredicate == Compare.eq);
+        }
+
+        /**
+         * Intersects this range with the range of values that satisfy the predicate. If two bounds are not of the
+         * same type the predicates can never both be satisfied, so whichever bound is kept only needs to produce a
+         * superset of the result as all elements are tested against the predicates anyway.
+         */
+        private IndexRange narrow(final P<?> predicate) {
+            final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+            final Object value = predicate.getValue();
+
+            Object newLow = this.low;
+            boolean newLowInclusive = this.lowInclusive;
+            if (biPredicate == Compare.gt || biPredicate == Compare.gte || biPredicate == Compare.eq) {
+                final boolean inclusive = biPredicate != Compare.gt;
+                final int c = null == this.low ? 1 : GremlinValueComparator.ORDERABILITY.compare(value, this.low);
+                if (c > 0) {
+                    newLow = value;
+                    newLowInclusive = inclusive;
+                } else if (c == 0) {
+                    newLowInclusive = this.lowInclusive && inclusive;
+                }
+            }
+
+            Object newHigh = this.high;
+            boolean newHighInclusive = this.highInclusive;
+            if (biPredicate == Compare.lt || biPredicate == Compare.lte || biPredicate == Compare.eq) {
+                final boolean inclusive = biPredicate != Compare.lt;
+                final int c = null == this.high ? -1 : GremlinValueComparator.ORDERABILITY.compare(value, this.high);
+                if (c < 0) {
+                    newHigh = value;
+                    newHighInclusive = inclusive;
+                } else if (c == 0) {
+                    newHighInclusive = this.highInclusive && inclusive;
+                }
+            }
+
+            return new IndexRange(newLow, newLowInclusive, newHigh, newHighInclusive);
+        }
+    }
 }
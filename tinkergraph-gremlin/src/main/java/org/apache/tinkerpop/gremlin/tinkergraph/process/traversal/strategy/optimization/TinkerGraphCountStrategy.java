@@ -19,10 +19,14 @@
 
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
@@ -31,12 +35,16 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentitySt
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerCountGlobalStep;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -62,6 +70,9 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
     public void apply(final Traversal.Admin<?, ?> traversal) {
         if (!(traversal.isRoot()) || TraversalHelper.onGraphComputer(traversal))
             return;
+        // the sizes of the graph do not account for what the current transaction can see
+        if (traversal.getGraph().map(g -> g.features().graph().supportsTransactions()).orElse(false))
+            return;
         final List<Step> steps = traversal.getSteps();
         if (steps.size() < 2 ||
                 !(steps.get(0) instanceof GraphStep) ||
@@ -69,8 +80,16 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
                 !(steps.get(steps.size() - 1) instanceof CountGlobalStep))
             return;
 
+        Set<String> labels = null;
         for (int i = 1; i < steps.size() - 1; i++) {
             final Step current = steps.get(i);
+            // a single hasLabel() can be answered by the label index of the graph
+            if (null == labels && current instanceof HasStep) {
+                labels = getLabels((HasStep<?>) current);
+                if (null != labels)
+                    continue;
+            }
+
             // used to include "current instanceof MapStep" but they will not necessarily emit an element as
             // demonstrated in https://issues.apache.org/jira/browse/TINKERPOP-1958
             //
@@ -84,7 +103,26 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
         }
         final Class<? extends Element> elementClass = ((GraphStep<?, ?>) steps.get(0)).getReturnClass();
         TraversalHelper.removeAllSteps(traversal);
-        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass));
+        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass, labels));
+    }
+
+    /**
+     * Gets the labels of a {@link HasStep} that only holds a {@code hasLabel()} with one or more literal labels.
+     */
+    private static Set<String> getLabels(final HasStep<?> hasStep) {
+        final List<HasContainer> hasContainers = hasStep.getHasContainers();
+        if (hasContainers.size() != 1 || !T.label.getAccessor().equals(hasContainers.get(0).getKey()))
+            return null;
+
+        final P<?> predicate = hasContainers.get(0).getPredicate();
+        final Object value = predicate.getValue();
+        if (predicate.getBiPredicate() == Compare.eq && value instanceof String)
+            return Collections.singleton((String) value);
+        else if (predicate.getBiPredicate() == Contains.within && value instanceof Collection &&
+                ((Collection<?>) value).stream().allMatch(l -> l instanceof String))
+            return new LinkedHashSet<>((Collection<String>) value);
+        else
+            return null;
     }
 
     @Override
@@ -18,17 +18,24 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ValueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+import org.javatuples.Pair;
+
+import java.util.Comparator;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -60,9 +67,37 @@ public final class TinkerGraphStepStrategy extends AbstractTraversalStrategy<Tra
                 }
                 currentStep = currentStep.getNextStep();
             }
+
+            if (currentStep instanceof OrderGlobalStep)
+                applyOrder(tinkerGraphStep, (OrderGlobalStep<?, ?>) currentStep);
         }
     }
 
+    /**
+     * An {@code order().by(key).limit(n)} directly after the {@link TinkerGraphStep} only needs the first {@code n}
+     * elements in the order of the key, which a range index on the key can produce without a full scan.
+     */
+    private static void applyOrder(final TinkerGraphStep<?, ?> tinkerGraphStep, final OrderGlobalStep<?, ?> orderGlobalStep) {
+        if (orderGlobalStep.getComparators().size() != 1)
+            return;
+
+        final Pair<? extends Traversal.Admin<?, ?>, ? extends Comparator<?>> comparator = orderGlobalStep.getComparators().get(0);
+        if (!(comparator.getValue0() instanceof ValueTraversal) ||
+                null != ((ValueTraversal<?, ?>) comparator.getValue0()).getBypassTraversal() ||
+                (comparator.getValue1() != Order.asc && comparator.getValue1() != Order.desc))
+            return;
+
+        long limit = orderGlobalStep.getLimit();
+        final Step<?, ?> nextStep = orderGlobalStep.getNextStep();
+        if (nextStep instanceof RangeGlobalStep && 0 == ((RangeGlobalStep<?>) nextStep).getLowRange() &&
+                ((RangeGlobalStep<?>) nextStep).getHighRange() >= 0)
+            limit = Math.min(limit, ((RangeGlobalStep<?>) nextStep).getHighRange());
+
+        if (limit != Long.MAX_VALUE)
+            tinkerGraphStep.setOrder(((ValueTraversal<?, ?>) comparator.getValue0()).getPropertyKey(),
+                    (Order) comparator.getValue1(), limit);
+    }
+
     public static TinkerGraphStepStrategy instance() {
         return INSTANCE;
     }
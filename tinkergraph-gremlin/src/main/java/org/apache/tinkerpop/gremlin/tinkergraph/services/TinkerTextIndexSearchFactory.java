@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.services;
+
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.service.Service;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.apache.tinkerpop.gremlin.util.tools.CollectionFactory.asMap;
+
+/**
+ * Text search backed by an inverted index over the tokens of all {@link Property} values, so unlike
+ * {@link TinkerTextSearchFactory} a search does not scan the graph. The index is built when the service is created
+ * and maintained as properties are added and removed. Demonstrates a {@link Service.Type#Start} service.
+ */
+public class TinkerTextIndexSearchFactory<I, R> extends TinkerServiceRegistry.TinkerServiceFactory<I, R> implements Service<I, R> {
+
+    public static final String NAME = "tinker.search.text";
+
+    public interface Params {
+        /**
+         * Specify the search terms - all of them must be present, the last one may end with * to match by prefix
+         */
+        String SEARCH = "search";
+        /**
+         * Specify the type of Element to search for (optional)
+         */
+        String TYPE = TinkerTextSearchFactory.Params.TYPE;
+
+        Map DESCRIBE = asMap(
+                SEARCH, "Specify the search terms - all of them must be present, the last one may end with * to match by prefix",
+                TYPE, "Specify the type of Element to search for, one of Vertex/Edge/VertexProperty (optional)"
+        );
+    }
+
+    public TinkerTextIndexSearchFactory(final TinkerGraph graph) {
+        super(graph, NAME);
+        TinkerHelper.createTextIndex(graph);
+    }
+
+    @Override
+    public Type getType() {
+        return Type.Start;
+    }
+
+    @Override
+    public Map describeParams() {
+        return Params.DESCRIBE;
+    }
+
+    @Override
+    public Set<Type> getSupportedTypes() {
+        return Collections.singleton(Type.Start);
+    }
+
+    @Override
+    public Service<I, R> createService(final boolean isStart, final Map params) {
+        if (!isStart) {
+            throw new UnsupportedOperationException(Service.Exceptions.cannotUseMidTraversal);
+        }
+        return this;
+    }
+
+    @Override
+    public CloseableIterator<R> execute(final ServiceCallContext ctx, final Map params) {
+        if (!params.containsKey(Params.SEARCH))
+            throw new IllegalStateException("Missing search parameter");
+
+        final String search = params.get(Params.SEARCH).toString();
+        final Class type = TinkerTextSearchFactory.Params.type((String) params.get(Params.TYPE));
+
+        return CloseableIterator.of((Iterator<R>) TinkerHelper.searchTextIndex(graph, search, Optional.ofNullable(type)));
+    }
+
+    @Override
+    public void close() {}
+
+}
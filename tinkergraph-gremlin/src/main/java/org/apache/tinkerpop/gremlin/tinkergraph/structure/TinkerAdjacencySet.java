@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * The edges of a {@link TinkerVertex} for one label and direction held in a growable array rather than a
+ * {@code HashSet}, which saves the hash table and the entry object that a {@code HashSet} allocates per edge and lets
+ * adjacent edges be walked sequentially. It is used in place of {@code HashSet} when
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY} is enabled. The price is that {@link #remove(Object)} and
+ * {@link #contains(Object)} are linear in the number of edges, and as each {@link Edge} is only ever added once when it
+ * is created, {@link #add(Edge)} does not check for duplicates.
+ */
+final class TinkerAdjacencySet extends AbstractSet<Edge> {
+
+    private static final int INITIAL_CAPACITY = 2;
+
+    private Edge[] edges = new Edge[INITIAL_CAPACITY];
+    private int size = 0;
+    private int modCount = 0;
+
+    @Override
+    public boolean add(final Edge edge) {
+        if (this.size == this.edges.length)
+            this.edges = Arrays.copyOf(this.edges, this.size + (this.size >> 1) + 1);
+        this.edges[this.size++] = edge;
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object edge) {
+        // recently added edges are the most likely to be removed so search from the end
+        for (int i = this.size - 1; i >= 0; i--) {
+            if (this.edges[i].equals(edge)) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(final Object edge) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.edges[i].equals(edge))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.edges, 0, this.size, null);
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(this.edges, this.size, Object[].class);
+    }
+
+    @Override
+    public void forEach(final Consumer<? super Edge> action) {
+        final int expectedModCount = this.modCount;
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.edges[i]);
+        }
+        if (this.modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    @Override
+    public Iterator<Edge> iterator() {
+        return new Iterator<Edge>() {
+            private int cursor = 0;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return this.cursor < size;
+            }
+
+            @Override
+            public Edge next() {
+                if (modCount != this.expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (this.cursor >= size)
+                    throw new NoSuchElementException();
+                this.last = this.cursor++;
+                return edges[this.last];
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0)
+                    throw new IllegalStateException();
+                if (modCount != this.expectedModCount)
+                    throw new ConcurrentModificationException();
+                // the last edge is moved into the hole so it has to be visited next
+                removeAt(this.last);
+                this.cursor = this.last;
+                this.last = -1;
+                this.expectedModCount = modCount;
+            }
+        };
+    }
+
+    /**
+     * Fills the hole with the last edge so that removal does not shift the array.
+     */
+    private void removeAt(final int i) {
+        this.edges[i] = this.edges[--this.size];
+        this.edges[this.size] = null;
+        this.modCount++;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index over a combination of keys, where the label of the element may be one of those keys by way of
+ * {@link T#label}, such that a conjunction of equality checks against all of the keys can be answered with a single
+ * lookup. Rather than tracking the old and new value of each key as {@link TinkerIndex} does, the entries of an
+ * element are recomputed from its current state whenever one of the keys is mutated which allows multi-properties
+ * to be indexed by every combination of their values.
+ */
+final class TinkerCompositeIndex<E extends Element> {
+
+    private final List<String> keys;
+    private final Map<List<Object>, Set<E>> index = new ConcurrentHashMap<>();
+    private final Map<E, List<List<Object>>> entries = new ConcurrentHashMap<>();
+
+    TinkerCompositeIndex(final List<String> keys) {
+        this.keys = keys;
+    }
+
+    public List<String> getKeys() {
+        return this.keys;
+    }
+
+    public List<E> get(final List<Object> values) {
+        final List<Object> indexableValues = new ArrayList<>(values.size());
+        values.forEach(v -> indexableValues.add(TinkerIndex.indexable(v)));
+        final Set<E> set = this.index.get(indexableValues);
+        return null == set ? Collections.emptyList() : new ArrayList<>(set);
+    }
+
+    /**
+     * Re-indexes the element after one of the indexed keys was mutated.
+     */
+    public void update(final E element) {
+        remove(element);
+
+        final List<List<Object>> tuples = tuples(element);
+        if (!tuples.isEmpty()) {
+            this.entries.put(element, tuples);
+            for (List<Object> tuple : tuples) {
+                this.index.computeIfAbsent(tuple, k -> ConcurrentHashMap.newKeySet()).add(element);
+            }
+        }
+    }
+
+    public void remove(final E element) {
+        final List<List<Object>> tuples = this.entries.remove(element);
+        if (null != tuples) {
+            for (List<Object> tuple : tuples) {
+                final Set<E> set = this.index.get(tuple);
+                if (null != set) {
+                    set.remove(element);
+                    if (set.isEmpty())
+                        this.index.remove(tuple);
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        this.index.clear();
+        this.entries.clear();
+    }
+
+    /**
+     * Gets every combination of the values of the indexed keys on the element or an empty list if any key is absent.
+     */
+    private List<List<Object>> tuples(final E element) {
+        List<List<Object>> tuples = Collections.singletonList(Collections.emptyList());
+        for (String key : this.keys) {
+            final List<Object> values = new ArrayList<>();
+            if (key.equals(T.label.getAccessor()))
+                values.add(element.label());
+            else
+                element.properties(key).forEachRemaining(p -> values.add(TinkerIndex.indexable(p.value())));
+
+            if (values.isEmpty())
+                return Collections.emptyList();
+
+            final List<List<Object>> product = new ArrayList<>(tuples.size() * values.size());
+            for (List<Object> tuple : tuples) {
+                for (Object value : values) {
+                    final List<Object> extended = new ArrayList<>(tuple.size() + 1);
+                    extended.addAll(tuple);
+                    extended.add(value);
+                    product.add(extended);
+                }
+            }
+            tuples = product;
+        }
+        return tuples;
+    }
+}
@@ -29,7 +29,6 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -55,7 +54,7 @@ public final class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public <V> Property<V> property(final String key, final V value) {
-        if (this.removed) throw elementAlreadyRemoved(Edge.class, id);
+        if (state().removed) throw elementAlreadyRemoved(Edge.class, id);
         ElementHelper.validateProperty(key, value);
 
         if (!allowNullPropertyValues && null == value) {
@@ -63,45 +62,64 @@ public final class TinkerEdge extends TinkerElement implements Edge {
             return Property.empty();
         }
 
-        final Property oldProperty = super.property(key);
-        final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-        if (null == this.properties) this.properties = new HashMap<>();
-        this.properties.put(key, newProperty);
-        TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
-        return newProperty;
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        try (final TinkerJournal.Mutation ignored = TinkerJournal.mutation(graph)) {
+            final Property oldProperty = super.property(key);
+            final Property<V> newProperty = new TinkerProperty<>(this, TinkerHelper.internKey(graph, key), value);
+            final TinkerEdge state = mutableState();
+            if (null == state.properties) state.properties = TinkerHelper.createProperties(graph);
+            state.properties.put(newProperty.key(), newProperty);
+            TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+            if (oldProperty.isPresent()) TinkerHelper.removeTextIndex(graph, oldProperty);
+            TinkerHelper.addTextIndex(graph, newProperty);
+            // properties given to addEdge() are journaled with the edge itself
+            if (null != graph.journal && graph.edges.get(this.id) == this) graph.journal.setProperty(newProperty);
+            return newProperty;
+        }
 
     }
 
     @Override
     public <V> Property<V> property(final String key) {
-        return null == this.properties ? Property.<V>empty() : this.properties.getOrDefault(key, Property.<V>empty());
+        final TinkerEdge state = state();
+        return null == state.properties ? Property.<V>empty() : state.properties.getOrDefault(key, Property.<V>empty());
     }
 
     @Override
     public Set<String> keys() {
-        return null == this.properties ? Collections.emptySet() : this.properties.keySet();
+        final TinkerEdge state = state();
+        return null == state.properties ? Collections.emptySet() : state.properties.keySet();
     }
 
     @Override
     public void remove() {
-        final TinkerVertex outVertex = (TinkerVertex) this.outVertex;
-        final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
-
-        if (null != outVertex && null != outVertex.outEdges) {
-            final Set<Edge> edges = outVertex.outEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
-        }
-        if (null != inVertex && null != inVertex.inEdges) {
-            final Set<Edge> edges = inVertex.inEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
+        try (final TinkerJournal.Mutation ignored = TinkerJournal.mutation((TinkerGraph) this.graph())) {
+            final TinkerVertex outVertex = null == this.outVertex ? null : ((TinkerVertex) this.outVertex).mutableState();
+            final TinkerVertex inVertex = null == this.inVertex ? null : ((TinkerVertex) this.inVertex).mutableState();
+
+            if (null != outVertex && null != outVertex.outEdges) {
+                final Set<Edge> edges = outVertex.outEdges.get(this.label());
+                if (null != edges)
+                    edges.remove(this);
+            }
+            if (null != inVertex && null != inVertex.inEdges) {
+                final Set<Edge> edges = inVertex.inEdges.get(this.label());
+                if (null != edges)
+                    edges.remove(this);
+            }
+
+            TinkerHelper.removeElementIndex(this);
+            TinkerHelper.removeElementTextIndex((TinkerGraph) this.graph(), this);
+            // a transactional graph keeps the edge for the transactions that can still see it until none can
+            if (null == ((TinkerGraph) this.graph()).transaction) {
+                ((TinkerGraph) this.graph()).edges.remove(this.id());
+                TinkerHelper.removeLabelIndex(((TinkerGraph) this.graph()).edgesByLabel, this);
+            }
+            final TinkerEdge state = mutableState();
+            state.properties = null;
+            state.removed = true;
+            if (null != ((TinkerGraph) this.graph()).journal) ((TinkerGraph) this.graph()).journal.removeEdge(this);
         }
-
-        TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
-        this.properties = null;
-        this.removed = true;
     }
 
     @Override
@@ -122,7 +140,7 @@ public final class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public Iterator<Vertex> vertices(final Direction direction) {
-        if (removed) return Collections.emptyIterator();
+        if (state().removed) return Collections.emptyIterator();
         switch (direction) {
             case OUT:
                 return IteratorUtils.of(this.outVertex);
@@ -140,11 +158,41 @@ public final class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public <V> Iterator<Property<V>> properties(final String... propertyKeys) {
-        if (null == this.properties) return Collections.emptyIterator();
+        final TinkerEdge state = state();
+        if (null == state.properties) return Collections.emptyIterator();
         if (propertyKeys.length == 1) {
-            final Property<V> property = this.properties.get(propertyKeys[0]);
+            final Property<V> property = state.properties.get(propertyKeys[0]);
             return null == property ? Collections.emptyIterator() : IteratorUtils.of(property);
         } else
-            return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).map(entry -> entry.getValue()).collect(Collectors.toList()).iterator();
+            return (Iterator) state.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).map(entry -> entry.getValue()).collect(Collectors.toList()).iterator();
+    }
+
+    /**
+     * Gets the state of the edge that is visible to the current transaction, which is the edge itself unless the
+     * graph is transactional.
+     */
+    TinkerEdge state() {
+        final TinkerTransaction transaction = ((TinkerGraph) this.graph()).transaction;
+        return null == transaction ? this : transaction.read(this);
+    }
+
+    /**
+     * Gets the state of the edge that the current transaction may change, which is the edge itself unless the graph
+     * is transactional.
+     */
+    TinkerEdge mutableState() {
+        final TinkerTransaction transaction = ((TinkerGraph) this.graph()).transaction;
+        return null == transaction ? this : transaction.write(this);
+    }
+
+    @Override
+    TinkerEdge copy() {
+        final TinkerEdge edge = new TinkerEdge(this.id, this.outVertex, this.label, this.inVertex);
+        if (null != this.properties) {
+            edge.properties = TinkerHelper.createProperties((TinkerGraph) this.graph());
+            edge.properties.putAll(this.properties);
+        }
+        edge.removed = this.removed;
+        return edge;
     }
 }
@@ -30,6 +30,13 @@ public abstract class TinkerElement implements Element {
     protected final String label;
     protected boolean removed = false;
 
+    /**
+     * The newest committed version of the element, linked to the older versions that open transactions may still
+     * read, when the graph is transactional. The element then only serves as the handle by which its versions are
+     * found and never holds any state of its own.
+     */
+    volatile TinkerTransaction.Version versions;
+
     protected TinkerElement(final Object id, final String label) {
         this.id = id;
         this.label = label;
@@ -56,6 +63,12 @@ public abstract class TinkerElement implements Element {
         return ElementHelper.areEqual(this, object);
     }
 
+    /**
+     * Copies the state of the element so that a transaction can change it without affecting what other transactions
+     * read.
+     */
+    abstract TinkerElement copy();
+
     protected static IllegalStateException elementAlreadyRemoved(final Class<? extends Element> clazz, final Object id) {
         return new IllegalStateException(String.format("%s with id %s was removed.", clazz.getSimpleName(), id));
     }
@@ -21,10 +21,15 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.CardinalityEstimator;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -43,9 +48,16 @@ import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -71,7 +83,7 @@ import static org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceReg
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_COMPUTER)
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_LIMITED_STANDARD)
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_LIMITED_COMPUTER)
-public final class TinkerGraph implements Graph {
+public final class TinkerGraph implements Graph, CardinalityEstimator {
 
     static {
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(
@@ -91,23 +103,37 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
     public static final String GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES = "gremlin.tinkergraph.allowNullPropertyValues";
     public static final String GREMLIN_TINKERGRAPH_SERVICE = "gremlin.tinkergraph.service";
+    public static final String GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY = "gremlin.tinkergraph.compactAdjacency";
+    public static final String GREMLIN_TINKERGRAPH_COMPACT_PROPERTIES = "gremlin.tinkergraph.compactProperties";
+    public static final String GREMLIN_TINKERGRAPH_JOURNAL = "gremlin.tinkergraph.journal";
+    public static final String GREMLIN_TINKERGRAPH_JOURNAL_CHECKPOINT_SIZE = "gremlin.tinkergraph.journalCheckpointSize";
+    public static final String GREMLIN_TINKERGRAPH_TRANSACTIONAL = "gremlin.tinkergraph.transactional";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
     protected AtomicLong currentId = new AtomicLong(-1L);
     protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
     protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
+    protected Map<String, Set<Vertex>> verticesByLabel = new ConcurrentHashMap<>();
+    protected Map<String, Set<Edge>> edgesByLabel = new ConcurrentHashMap<>();
 
     protected TinkerGraphVariables variables = null;
     protected TinkerGraphComputerView graphComputerView = null;
     protected TinkerIndex<TinkerVertex> vertexIndex = null;
     protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected TinkerTextIndex textIndex = null;
+    protected TinkerJournal journal = null;
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
     protected final boolean allowNullPropertyValues;
+    protected final boolean compactAdjacency;
+    protected final boolean compactProperties;
+    protected final Map<String, String> propertyKeys = new ConcurrentHashMap<>();
+    protected final TinkerTransaction transaction;
+    protected final TinkerPropertyColumns propertyColumns;
 
     protected final TinkerServiceRegistry serviceRegistry;
 
@@ -126,6 +152,11 @@ public final class TinkerGraph implements Graph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
         allowNullPropertyValues = configuration.getBoolean(GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, false);
+        compactAdjacency = configuration.getBoolean(GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, false);
+        compactProperties = configuration.getBoolean(GREMLIN_TINKERGRAPH_COMPACT_PROPERTIES, false);
+        transaction = configuration.getBoolean(GREMLIN_TINKERGRAPH_TRANSACTIONAL, false) ? new TinkerTransaction(this) : null;
+        // versions of a vertex each need their own properties which a row shared by all of them cannot provide
+        propertyColumns = compactProperties && null == transaction ? new TinkerPropertyColumns() : null;
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -136,6 +167,21 @@ public final class TinkerGraph implements Graph {
 
         if (graphLocation != null) loadGraph();
 
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_JOURNAL, false)) {
+            // the journal records changes as they are made rather than as they are committed
+            if (null != transaction)
+                throw new IllegalStateException(String.format("The %s cannot be enabled if %s is enabled",
+                        GREMLIN_TINKERGRAPH_JOURNAL, GREMLIN_TINKERGRAPH_TRANSACTIONAL));
+            if (null == graphLocation)
+                throw new IllegalStateException(String.format("The %s must be specified if %s is enabled",
+                        GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_JOURNAL));
+            // the journal refers to vertex properties by identifier which graphml does not keep
+            if (graphFormat.equals("graphml"))
+                throw new IllegalStateException(String.format("The %s cannot be graphml if %s is enabled",
+                        GREMLIN_TINKERGRAPH_GRAPH_FORMAT, GREMLIN_TINKERGRAPH_JOURNAL));
+            openJournal(configuration.getLong(GREMLIN_TINKERGRAPH_JOURNAL_CHECKPOINT_SIZE, 64L * 1024 * 1024));
+        }
+
         serviceRegistry = new TinkerServiceRegistry(this);
         configuration.getList(String.class, GREMLIN_TINKERGRAPH_SERVICE, Collections.emptyList()).forEach(serviceClass ->
                 serviceRegistry.registerService(instantiate(serviceClass)));
@@ -178,18 +224,23 @@ public final class TinkerGraph implements Graph {
         Object idValue = vertexIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
         final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
 
-        if (null != idValue) {
-            if (this.vertices.containsKey(idValue))
-                throw Exceptions.vertexWithIdAlreadyExists(idValue);
-        } else {
-            idValue = vertexIdManager.getNextId(this);
-        }
+        try (final TinkerJournal.Mutation ignored = TinkerJournal.mutation(this)) {
+            if (null != idValue) {
+                if (this.vertices.containsKey(idValue))
+                    throw Exceptions.vertexWithIdAlreadyExists(idValue);
+            } else {
+                idValue = vertexIdManager.getNextId(this);
+            }
 
-        final Vertex vertex = new TinkerVertex(idValue, label, this);
-        this.vertices.put(vertex.id(), vertex);
+            final TinkerVertex vertex = new TinkerVertex(idValue, label, this);
+            if (null != this.transaction) this.transaction.add(vertex);
+            this.vertices.put(vertex.id(), vertex);
+            TinkerHelper.addLabelIndex(this.verticesByLabel, vertex);
+            if (null != this.journal) this.journal.addVertex(vertex);
 
-        ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
-        return vertex;
+            ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
+            return vertex;
+        }
     }
 
     @Override
@@ -227,30 +278,58 @@ public final class TinkerGraph implements Graph {
     }
 
     public void clear() {
-        this.vertices.clear();
-        this.edges.clear();
-        this.variables = null;
-        this.currentId.set(-1L);
-        this.vertexIndex = null;
-        this.edgeIndex = null;
-        this.graphComputerView = null;
+        try (final TinkerJournal.Mutation ignored = TinkerJournal.mutation(this)) {
+            this.vertices.clear();
+            this.edges.clear();
+            this.verticesByLabel.clear();
+            this.edgesByLabel.clear();
+            this.variables = null;
+            this.currentId.set(-1L);
+            this.vertexIndex = null;
+            this.edgeIndex = null;
+            this.propertyKeys.clear();
+            if (null != this.propertyColumns) this.propertyColumns.clear();
+            if (null != this.textIndex) this.textIndex.clear();
+            this.graphComputerView = null;
+            if (null != this.journal) this.journal.clear();
+            if (null != this.transaction) this.transaction.clear();
+        }
     }
 
     /**
      * This method only has an effect if the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} is set, in which case the
      * data in the graph is persisted to that location. This method may be called multiple times and does not release
-     * resources.
+     * resources. When {@link #GREMLIN_TINKERGRAPH_TRANSACTIONAL} is enabled the transaction of the current thread is
+     * closed first, but it is up to the caller to deal with transactions left open in other threads.
      */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (null != this.transaction) {
+            this.transaction.close();
+            if (graphLocation != null) {
+                saveGraph();
+                // reading the graph to save it opened a transaction
+                this.transaction.close();
+            }
+        } else if (null != this.journal) {
+            // the journal already holds every change since the last checkpoint
+            try {
+                this.journal.close();
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(String.format("Could not close journal for %s", graphLocation), ioe);
+            }
+        } else if (graphLocation != null) {
+            saveGraph();
+        }
         // shutdown services
         serviceRegistry.close();
     }
 
     @Override
     public Transaction tx() {
-        throw Exceptions.transactionsNotSupported();
+        if (null == this.transaction)
+            throw Exceptions.transactionsNotSupported();
+        return this.transaction;
     }
 
     @Override
@@ -283,9 +362,12 @@ public final class TinkerGraph implements Graph {
                     io(IoCore.graphson()).readGraph(graphLocation);
                 } else if (graphFormat.equals("gryo")) {
                     io(IoCore.gryo()).readGraph(graphLocation);
+                } else if (graphFormat.equals("snapshot")) {
+                    TinkerSnapshot.read(this, f);
                 } else {
                     io(IoCore.createIoBuilder(graphFormat)).readGraph(graphLocation);
                 }
+                if (null != this.transaction) this.transaction.commit();
             } catch (Exception ex) {
                 throw new RuntimeException(String.format("Could not load graph at %s with %s", graphLocation, graphFormat), ex);
             }
@@ -293,6 +375,55 @@ public final class TinkerGraph implements Graph {
     }
 
     private void saveGraph() {
+        saveGraph(graphLocation);
+    }
+
+    private void openJournal(final long checkpointSize) {
+        try {
+            this.journal = TinkerJournal.open(this, new File(graphLocation + ".journal"), checkpointSize);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(String.format("Could not open journal for %s", graphLocation), ioe);
+        }
+
+        // identifiers that were loaded were not generated by this instance so generation has to continue past them
+        // or else a new vertex property could take the identifier by which the journal knows an existing one
+        final Stream<Object> ids = Stream.concat(Stream.concat(this.vertices.keySet().stream(), this.edges.keySet().stream()),
+                this.vertices.values().stream().flatMap(v -> IteratorUtils.stream(v.properties()).map(Element::id)));
+        ids.filter(id -> id instanceof Long || id instanceof Integer).mapToLong(id -> ((Number) id).longValue())
+                .max().ifPresent(max -> this.currentId.accumulateAndGet(max, Math::max));
+    }
+
+    /**
+     * Writes the graph to the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} and, when
+     * {@link #GREMLIN_TINKERGRAPH_JOURNAL} is enabled, starts the journal over. The graph is first written next to
+     * its location and then moved over it so that a failure leaves the previous checkpoint and journal intact. This
+     * happens automatically when the journal grows beyond {@link #GREMLIN_TINKERGRAPH_JOURNAL_CHECKPOINT_SIZE}.
+     * Changes made by other threads while the checkpoint is written wait for it to complete.
+     */
+    public void checkpoint() {
+        if (null == graphLocation)
+            throw new IllegalStateException(String.format("The %s must be specified to checkpoint the graph",
+                    GREMLIN_TINKERGRAPH_GRAPH_LOCATION));
+
+        // the journal holds off changes to the graph while it is written out
+        if (null != this.journal)
+            this.journal.checkpoint();
+        else
+            writeCheckpoint();
+    }
+
+    void writeCheckpoint() {
+        final String checkpointLocation = graphLocation + ".checkpoint";
+        saveGraph(checkpointLocation);
+        try {
+            Files.move(Paths.get(checkpointLocation), Paths.get(graphLocation),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(String.format("Could not checkpoint graph at %s", graphLocation), ioe);
+        }
+    }
+
+    private void saveGraph(final String graphLocation) {
         final File f = new File(graphLocation);
         if (f.exists()) {
             f.delete();
@@ -312,6 +443,8 @@ public final class TinkerGraph implements Graph {
                 io(IoCore.graphson()).writeGraph(graphLocation);
             } else if (graphFormat.equals("gryo")) {
                 io(IoCore.gryo()).writeGraph(graphLocation);
+            } else if (graphFormat.equals("snapshot")) {
+                TinkerSnapshot.write(this, f);
             } else {
                 io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
             }
@@ -325,7 +458,7 @@ public final class TinkerGraph implements Graph {
                                                                   final Object... ids) {
         final Iterator<T> iterator;
         if (0 == ids.length) {
-            iterator = new TinkerGraphIterator<>(elements.values().iterator());
+            iterator = new TinkerGraphIterator<>(visible(elements.values().iterator()));
         } else {
             final List<Object> idList = Arrays.asList(ids);
 
@@ -333,12 +466,12 @@ public final class TinkerGraph implements Graph {
             // to that type and pop off the identifier. there is no need to pass that through the IdManager since
             // the assumption is that if it's already an Element, its identifier must be valid to the Graph and to
             // its associated IdManager. All other objects are passed to the IdManager for conversion.
-            return new TinkerGraphIterator<>(IteratorUtils.filter(IteratorUtils.map(idList, id -> {
+            return new TinkerGraphIterator<>(visible(IteratorUtils.filter(IteratorUtils.map(idList, id -> {
                 // ids cant be null so all of those filter out
                 if (null == id) return null;
                 final Object iid = clazz.isAssignableFrom(id.getClass()) ? clazz.cast(id).id() : idManager.convert(id);
                 return elements.get(idManager.convert(iid));
-            }).iterator(), Objects::nonNull));
+            }).iterator(), Objects::nonNull)));
         }
         return TinkerHelper.inComputerMode(this) ?
                 (Iterator<T>) (clazz.equals(Vertex.class) ?
@@ -347,6 +480,17 @@ public final class TinkerGraph implements Graph {
                 iterator;
     }
 
+    /**
+     * Filters out the elements that the transaction of the current thread cannot see when the graph is transactional,
+     * opening that transaction if needed.
+     */
+    private <T extends Element> Iterator<T> visible(final Iterator<T> elements) {
+        if (null == this.transaction)
+            return elements;
+        if (!TinkerHelper.inComputerMode(this)) this.transaction.readWrite();
+        return IteratorUtils.filter(elements, t -> this.transaction.isVisible((TinkerElement) t));
+    }
+
     /**
      * Return TinkerGraph feature set.
      * <p/>
@@ -455,7 +599,7 @@ public final class TinkerGraph implements Graph {
 
         @Override
         public boolean supportsTransactions() {
-            return false;
+            return null != transaction;
         }
 
         @Override
@@ -503,12 +647,26 @@ public final class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. If the key is already indexed with a different {@link IndexType} then that index is
+     * replaced.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -548,6 +706,186 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Return the {@link IndexType} of the index on the specified key for said element class ({@link Vertex} or
+     * {@link Edge}).
+     *
+     * @param key          the indexed property key
+     * @param elementClass the element class of the index
+     * @param <E>          The type of the element class
+     * @return the type of the index or {@code null} if the key is not indexed
+     */
+    public <E extends Element> IndexType getIndexType(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? null : this.vertexIndex.getIndexType(key);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? null : this.edgeIndex.getIndexType(key);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over a combination of keys so
+     * that a traversal like {@code g.V().hasLabel("person").has("country","NO").has("city","Oslo")} is answered by a
+     * single index lookup. A key may be a property key or {@link T#label} (or its accessor) to include the label of
+     * the element, but at least one property key is required. Elements are only indexed when they have a value for
+     * every key. Like {@link #createIndex(String, Class)}, the index is maintained on mutation and all existing
+     * elements are indexed on creation.
+     *
+     * @param elementClass the element class to index
+     * @param keys         the keys to index, in order, given as {@code String} property keys or {@link T#label}
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final Object... keys) {
+        final List<String> compositeKeys = compositeKeys(keys);
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeIndex(compositeKeys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeIndex(compositeKeys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param keys         the keys of the index, in the order they were given on creation
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final Class<E> elementClass, final Object... keys) {
+        final List<String> compositeKeys = compositeKeys(keys);
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(compositeKeys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(compositeKeys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the keys of all the composite indices for said element class ({@link Vertex} or {@link Edge}) where
+     * the label is represented by the {@link T#label} accessor.
+     *
+     * @param elementClass the element class to get the composite indexed keys for
+     * @param <E>          The type of the element class
+     * @return the set of keys of each composite index
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    private static List<String> compositeKeys(final Object... keys) {
+        if (null == keys || 0 == keys.length)
+            throw Graph.Exceptions.argumentCanNotBeNull("keys");
+
+        final List<String> compositeKeys = new ArrayList<>(keys.length);
+        for (Object key : keys) {
+            if (null == key)
+                throw Graph.Exceptions.argumentCanNotBeNull("key");
+            if (key == T.label)
+                compositeKeys.add(T.label.getAccessor());
+            else if (key instanceof String && !((String) key).isEmpty())
+                compositeKeys.add((String) key);
+            else
+                throw new IllegalArgumentException("The keys for a composite index must be non-empty strings or T.label: " + key);
+        }
+
+        if (compositeKeys.stream().allMatch(k -> k.equals(T.label.getAccessor())))
+            throw new IllegalArgumentException("A composite index must include at least one property key");
+        if (compositeKeys.size() != new HashSet<>(compositeKeys).size())
+            throw new IllegalArgumentException("The keys for a composite index cannot contain duplicates: " + compositeKeys);
+
+        return Collections.unmodifiableList(compositeKeys);
+    }
+
+    /**
+     * Return the keys currently being indexed with the specified {@link IndexType} for said element class
+     * ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the indexed keys for
+     * @param indexType    the type of index to get the keys for
+     * @param <E>          The type of the element class
+     * @return the set of keys currently being indexed with the index type
+     */
+    public <E extends Element> Set<String> getIndexedKeys(final Class<E> elementClass, final IndexType indexType) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getIndexedKeys(indexType);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getIndexedKeys(indexType);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    ///////////// CARDINALITY ESTIMATES ///////////////
+
+    /**
+     * Estimates the average degree from the number of vertices in the graph and the number of edges with the given
+     * labels, as kept by the label index, or of all edges if no labels are given.
+     */
+    @Override
+    public double getAverageDegree(final Direction direction, final String... edgeLabels) {
+        final int vertexCount = this.vertices.size();
+        if (0 == vertexCount)
+            return 0.0d;
+        long edgeCount = 0;
+        if (0 == edgeLabels.length)
+            edgeCount = this.edges.size();
+        else {
+            for (final String label : new HashSet<>(Arrays.asList(edgeLabels))) {
+                edgeCount += getLabelCount(Edge.class, label);
+            }
+        }
+        final double degree = (double) edgeCount / vertexCount;
+        return Direction.BOTH == direction ? 2.0d * degree : degree;
+    }
+
+    @Override
+    public long getCount(final Class<? extends Element> elementClass) {
+        return Vertex.class.isAssignableFrom(elementClass) ? this.vertices.size() : this.edges.size();
+    }
+
+    /**
+     * Counts the elements with the label from the label index.
+     */
+    @Override
+    public long getLabelCount(final Class<? extends Element> elementClass, final String label) {
+        final Map<String, ? extends Set<? extends Element>> byLabel = Vertex.class.isAssignableFrom(elementClass) ?
+                this.verticesByLabel : this.edgesByLabel;
+        final Set<? extends Element> elements = byLabel.get(label);
+        return null == elements ? 0L : elements.size();
+    }
+
+    /**
+     * Takes the selectivity of an equality check on an indexed key from the size of its entry in the index of the
+     * element class and falls back to the default estimate, which uses the label index for a check on the label,
+     * otherwise.
+     */
+    @Override
+    public double getSelectivity(final Class<? extends Element> elementClass, final HasContainer hasContainer) {
+        if (hasContainer.getBiPredicate() == Compare.eq) {
+            final String key = hasContainer.getKey();
+            final boolean isVertex = Vertex.class.isAssignableFrom(elementClass);
+            final TinkerIndex<?> index = isVertex ? this.vertexIndex : this.edgeIndex;
+            final int count = isVertex ? this.vertices.size() : this.edges.size();
+            if (null != index && index.getIndexedKeys().contains(key) && count > 0)
+                return (double) index.count(key, hasContainer.getValue()) / count;
+        }
+        return CardinalityEstimator.super.getSelectivity(elementClass, hasContainer);
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
@@ -573,6 +911,23 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * The types of index that can be created with {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * A hash-based index that answers exact-match lookups such as {@code has(key, value)}.
+         */
+        HASH,
+
+        /**
+         * An ordered index that answers exact-match lookups as well as range lookups such as
+         * {@code has(key, gt(value))} or {@code has(key, between(a, b))} and ordered lookups such as
+         * {@code order().by(key).limit(n)}.
+         */
+        RANGE
+    }
+
     /**
      * TinkerGraph will use an implementation of this interface to generate identifiers when a user does not supply
      * them and to handle identifier conversions when querying to provide better flexibility with respect to
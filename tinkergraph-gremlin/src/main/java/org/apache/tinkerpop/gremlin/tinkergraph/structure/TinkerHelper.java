@@ -41,6 +41,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -67,35 +68,90 @@ public final class TinkerHelper {
             idValue = graph.edgeIdManager.getNextId(graph);
         }
 
-        edge = new TinkerEdge(idValue, outVertex, label, inVertex);
-        ElementHelper.attachProperties(edge, keyValues);
-        graph.edges.put(edge.id(), edge);
-        TinkerHelper.addOutEdge(outVertex, label, edge);
-        TinkerHelper.addInEdge(inVertex, label, edge);
-        return edge;
+        try (final TinkerJournal.Mutation ignored = TinkerJournal.mutation(graph)) {
+            edge = new TinkerEdge(idValue, outVertex, label, inVertex);
+            if (null != graph.transaction) graph.transaction.add((TinkerEdge) edge);
+            ElementHelper.attachProperties(edge, keyValues);
+            graph.edges.put(edge.id(), edge);
+            TinkerHelper.addLabelIndex(graph.edgesByLabel, edge);
+            TinkerHelper.addOutEdge(outVertex, label, edge);
+            TinkerHelper.addInEdge(inVertex, label, edge);
+            if (null != graph.journal) graph.journal.addEdge(edge);
+            return edge;
+        }
 
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
-        Set<Edge> edges = vertex.outEdges.get(label);
+        final TinkerVertex state = vertex.mutableState();
+        if (null == state.outEdges) state.outEdges = new HashMap<>();
+        Set<Edge> edges = state.outEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
-            vertex.outEdges.put(label, edges);
+            edges = createAdjacency((TinkerGraph) vertex.graph());
+            state.outEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
-        Set<Edge> edges = vertex.inEdges.get(label);
+        final TinkerVertex state = vertex.mutableState();
+        if (null == state.inEdges) state.inEdges = new HashMap<>();
+        Set<Edge> edges = state.inEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
-            vertex.inEdges.put(label, edges);
+            edges = createAdjacency((TinkerGraph) vertex.graph());
+            state.inEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
+    /**
+     * Copies the edges of a vertex, by label, for a transaction to change.
+     */
+    protected static Map<String, Set<Edge>> copyAdjacency(final TinkerGraph graph, final Map<String, Set<Edge>> adjacency) {
+        if (null == adjacency)
+            return null;
+
+        final Map<String, Set<Edge>> copy = new HashMap<>();
+        adjacency.forEach((label, edges) -> {
+            final Set<Edge> set = createAdjacency(graph);
+            set.addAll(edges);
+            copy.put(label, set);
+        });
+        return copy;
+    }
+
+    protected static <V> Map<String, V> createProperties(final TinkerGraph graph) {
+        return graph.compactProperties ? new TinkerPropertyMap<>() : new HashMap<>();
+    }
+
+    /**
+     * Shares a single instance of each property key across all elements when properties are compact.
+     */
+    protected static String internKey(final TinkerGraph graph, final String key) {
+        if (!graph.compactProperties)
+            return key;
+        final String interned = graph.propertyKeys.putIfAbsent(key, key);
+        return null == interned ? key : interned;
+    }
+
+    private static Set<Edge> createAdjacency(final TinkerGraph graph) {
+        return graph.compactAdjacency ? new TinkerAdjacencySet() : new HashSet<>();
+    }
+
+    /**
+     * Registers the element with the elements of its label so that they can be looked up without a full scan.
+     */
+    protected static <E extends Element> void addLabelIndex(final Map<String, Set<E>> labelIndex, final E element) {
+        labelIndex.computeIfAbsent(element.label(), k -> ConcurrentHashMap.newKeySet()).add(element);
+    }
+
+    protected static <E extends Element> void removeLabelIndex(final Map<String, Set<E>> labelIndex, final E element) {
+        labelIndex.computeIfPresent(element.label(), (k, elements) -> {
+            elements.remove(element);
+            return elements.isEmpty() ? null : elements;
+        });
+    }
+
     public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object value) {
         return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.get(key, value);
     }
@@ -104,6 +160,32 @@ public final class TinkerHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.getComposite(keys, values);
+    }
+
+    public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.getComposite(keys, values);
+    }
+
+    public static Iterator<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key,
+                                                          final Object low, final boolean lowInclusive,
+                                                          final Object high, final boolean highInclusive,
+                                                          final boolean descending) {
+        return null == graph.vertexIndex ?
+                Collections.emptyIterator() :
+                graph.vertexIndex.getRange(key, low, lowInclusive, high, highInclusive, descending);
+    }
+
+    public static Iterator<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final String key,
+                                                      final Object low, final boolean lowInclusive,
+                                                      final Object high, final boolean highInclusive,
+                                                      final boolean descending) {
+        return null == graph.edgeIndex ?
+                Collections.emptyIterator() :
+                graph.edgeIndex.getRange(key, low, lowInclusive, high, highInclusive, descending);
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphComputerView;
     }
@@ -121,7 +203,15 @@ public final class TinkerHelper {
     }
 
     public static Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
-        return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
+        final TinkerVertex state = vertex.state();
+        final TinkerPropertyColumns columns = ((TinkerGraph) vertex.graph()).propertyColumns;
+        if (null == columns)
+            return null == state.properties ? Collections.emptyMap() : state.properties;
+
+        final Map<String, List<VertexProperty>> properties = new HashMap<>();
+        if (null != state.properties) properties.putAll(state.properties);
+        columns.forEach(state, vertexProperty -> properties.put(vertexProperty.key(), Collections.singletonList(vertexProperty)));
+        return properties;
     }
 
     public static void autoUpdateIndex(final TinkerEdge edge, final String key, final Object newValue, final Object oldValue) {
@@ -160,51 +250,84 @@ public final class TinkerHelper {
             graph.edgeIndex.remove(key, value, edge);
     }
 
+    protected static void addTextIndex(final TinkerGraph graph, final Property property) {
+        if (graph.textIndex != null)
+            graph.textIndex.put(property);
+    }
+
+    protected static void removeTextIndex(final TinkerGraph graph, final Property property) {
+        if (graph.textIndex != null) {
+            graph.textIndex.remove(property);
+            if (property instanceof VertexProperty)
+                ((VertexProperty<?>) property).properties().forEachRemaining(graph.textIndex::remove);
+        }
+    }
+
+    protected static void removeElementTextIndex(final TinkerGraph graph, final Element element) {
+        if (graph.textIndex != null)
+            graph.textIndex.removeElement(element);
+    }
+
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Edge> edges = new ArrayList<>();
+        final TinkerVertex state = vertex.state();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
-            if (vertex.outEdges != null) {
+            if (state.outEdges != null) {
                 if (edgeLabels.length == 0)
-                    vertex.outEdges.values().forEach(edges::addAll);
+                    state.outEdges.values().forEach(edges::addAll);
                 else if (edgeLabels.length == 1)
-                    edges.addAll(vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
+                    edges.addAll(state.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
                 else
-                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
+                    Stream.of(edgeLabels).map(state.outEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
             }
         }
         if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
-            if (vertex.inEdges != null) {
+            if (state.inEdges != null) {
                 if (edgeLabels.length == 0)
-                    vertex.inEdges.values().forEach(edges::addAll);
+                    state.inEdges.values().forEach(edges::addAll);
                 else if (edgeLabels.length == 1)
-                    edges.addAll(vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
+                    edges.addAll(state.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
                 else
-                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
+                    Stream.of(edgeLabels).map(state.inEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
             }
         }
         return (Iterator) edges.iterator();
     }
 
+    /**
+     * Gets the number of edges incident to the vertex without materializing them.
+     */
+    public static int getDegree(final TinkerVertex vertex) {
+        final TinkerVertex state = vertex.state();
+        int degree = 0;
+        if (state.outEdges != null)
+            for (final Set<Edge> edges : state.outEdges.values()) degree += edges.size();
+        if (state.inEdges != null)
+            for (final Set<Edge> edges : state.inEdges.values()) degree += edges.size();
+        return degree;
+    }
+
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Vertex> vertices = new ArrayList<>();
+        final TinkerVertex state = vertex.state();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
-            if (vertex.outEdges != null) {
+            if (state.outEdges != null) {
                 if (edgeLabels.length == 0)
-                    vertex.outEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex)));
+                    state.outEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex)));
                 else if (edgeLabels.length == 1)
-                    vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+                    state.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
                 else
-                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+                    Stream.of(edgeLabels).map(state.outEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
             }
         }
         if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
-            if (vertex.inEdges != null) {
+            if (state.inEdges != null) {
                 if (edgeLabels.length == 0)
-                    vertex.inEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex)));
+                    state.inEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex)));
                 else if (edgeLabels.length == 1)
-                    vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+                    state.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
                 else
-                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+                    Stream.of(edgeLabels).map(state.inEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
             }
         }
         return (Iterator) vertices.iterator();
@@ -218,6 +341,28 @@ public final class TinkerHelper {
         return graph.edges;
     }
 
+    public static Set<Vertex> getVertices(final TinkerGraph graph, final String label) {
+        return getVisible(graph, graph.verticesByLabel.getOrDefault(label, Collections.emptySet()));
+    }
+
+    public static Set<Edge> getEdges(final TinkerGraph graph, final String label) {
+        return getVisible(graph, graph.edgesByLabel.getOrDefault(label, Collections.emptySet()));
+    }
+
+    /**
+     * Filters out the elements that the current transaction cannot see when the graph is transactional as the label
+     * index holds elements from the time they are created until no transaction can see them.
+     */
+    private static <E extends Element> Set<E> getVisible(final TinkerGraph graph, final Set<E> elements) {
+        if (null == graph.transaction)
+            return elements;
+        final Set<E> visible = new HashSet<>();
+        for (E element : elements) {
+            if (graph.transaction.isVisible((TinkerElement) element)) visible.add(element);
+        }
+        return visible;
+    }
+
     /**
      * Search for {@link Property}s attached to {@link Element}s of the supplied element type using the supplied
      * regex. This is a basic scan+filter operation, not a full text search against an index.
@@ -265,4 +410,31 @@ public final class TinkerHelper {
         return search(graph, regex, Optional.empty());
     }
 
+    /**
+     * Builds an inverted index over the tokens of every {@link Property} value in the graph which is then maintained
+     * as properties are added and removed. Calling this method when the index already exists has no effect.
+     */
+    public static void createTextIndex(final TinkerGraph graph) {
+        if (null == graph.textIndex)
+            graph.textIndex = new TinkerTextIndex(graph);
+    }
+
+    public static void dropTextIndex(final TinkerGraph graph) {
+        if (null != graph.textIndex) {
+            graph.textIndex.clear();
+            graph.textIndex = null;
+        }
+    }
+
+    /**
+     * Search for {@link Property}s whose value contains every token of the supplied search terms, where the last
+     * term may end with {@code *} to match by prefix, using the index built by {@link #createTextIndex(TinkerGraph)}.
+     */
+    public static <E extends Element> Iterator<Property> searchTextIndex(final TinkerGraph graph, final String search,
+                                                                         final Optional<Class<E>> type) {
+        if (null == graph.textIndex)
+            throw new IllegalStateException("The text index has not been created for this graph");
+        return graph.textIndex.search(search, type.orElse(null));
+    }
+
 }
@@ -22,26 +22,45 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.GremlinValueComparator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> {
 
+    /**
+     * Orders the keys of a {@link TinkerGraph.IndexType#RANGE} index with Gremlin orderability semantics so that
+     * the index iterates in the same order as {@code order().by(key)}.
+     */
+    private static final Comparator<Object> RANGE_ORDER = Comparator.comparing(TinkerIndex::unindexable,
+            GremlinValueComparator.ORDERABILITY);
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    private final Map<String, TinkerGraph.IndexType> indexedKeys = new HashMap<>();
+    private final Map<List<String>, TinkerCompositeIndex<T>> compositeIndices = new ConcurrentHashMap<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
+        // an index holds the values of the elements as they are changed rather than as they are committed
+        if (null != graph.transaction)
+            throw new IllegalStateException(String.format("Indices cannot be created if %s is enabled",
+                    TinkerGraph.GREMLIN_TINKERGRAPH_TRANSACTIONAL));
         this.graph = graph;
         this.indexClass = indexClass;
     }
@@ -49,13 +68,15 @@ final class TinkerIndex<T extends Element> {
     protected void put(final String key, final Object value, final T element) {
         Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
-            this.index.putIfAbsent(key, new ConcurrentHashMap<>());
+            this.index.putIfAbsent(key, TinkerGraph.IndexType.RANGE == this.indexedKeys.get(key) ?
+                    new ConcurrentSkipListMap<>(RANGE_ORDER) : new ConcurrentHashMap<>());
             keyMap = this.index.get(key);
         }
-        Set<T> objects = keyMap.get(value);
+        final Object indexableValue = indexable(value);
+        Set<T> objects = keyMap.get(indexableValue);
         if (null == objects) {
-            keyMap.putIfAbsent(value, ConcurrentHashMap.newKeySet());
-            objects = keyMap.get(value);
+            keyMap.putIfAbsent(indexableValue, ConcurrentHashMap.newKeySet());
+            objects = keyMap.get(indexableValue);
         }
         objects.add(element);
     }
@@ -73,6 +94,49 @@ final class TinkerIndex<T extends Element> {
         }
     }
 
+    /**
+     * Gets the elements of a {@link TinkerGraph.IndexType#RANGE} index whose values fall between the supplied bounds
+     * where a {@code null} bound means that side of the range is open. A bounded range is further restricted to
+     * values of the same comparability type as its bounds given that values of other types can never satisfy a
+     * range predicate. Elements with multiple values for the key may be returned more than once.
+     */
+    public Iterator<T> getRange(final String key, final Object low, final boolean lowInclusive,
+                                final Object high, final boolean highInclusive, final boolean descending) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (!(keyMap instanceof NavigableMap))
+            return Collections.emptyIterator();
+
+        NavigableMap<Object, Set<T>> range = (NavigableMap<Object, Set<T>>) keyMap;
+        final List<Set<T>> sets = new ArrayList<>();
+        if (null == low && null == high) {
+            (descending ? range.descendingMap() : range).values().forEach(sets::add);
+        } else {
+            // walk away from the bound that is present and stop at the first value of a different type as all
+            // values of one type are contiguous under orderability
+            final GremlinValueComparator.Type type = GremlinValueComparator.Type.type(null == low ? high : low);
+            if (null != low && null != high) {
+                if (RANGE_ORDER.compare(low, high) > 0)
+                    return Collections.emptyIterator();
+                range = range.subMap(low, lowInclusive, high, highInclusive);
+            } else if (null != low) {
+                range = range.tailMap(low, lowInclusive);
+            } else {
+                range = range.headMap(high, highInclusive).descendingMap();
+            }
+
+            for (Map.Entry<Object, Set<T>> entry : range.entrySet()) {
+                if (GremlinValueComparator.Type.type(unindexable(entry.getKey())) != type) break;
+                sets.add(entry.getValue());
+            }
+
+            // only the headMap() was walked from high to low
+            if ((null == low) != descending)
+                Collections.reverse(sets);
+        }
+
+        return IteratorUtils.flatMap(sets.iterator(), Set::iterator);
+    }
+
     public long count(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
@@ -87,13 +151,14 @@ final class TinkerIndex<T extends Element> {
     }
 
     public void remove(final String key, final Object value, final T element) {
+        updateCompositeIndices(key, element);
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null != keyMap) {
             final Set<T> objects = keyMap.get(indexable(value));
             if (null != objects) {
                 objects.remove(element);
                 if (objects.size() == 0) {
-                    keyMap.remove(value);
+                    keyMap.remove(indexable(value));
                 }
             }
         }
@@ -106,25 +171,76 @@ final class TinkerIndex<T extends Element> {
                     set.remove(element);
                 }
             }
+            for (TinkerCompositeIndex<T> compositeIndex : compositeIndices.values()) {
+                compositeIndex.remove(element);
+            }
         }
     }
 
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
-        if (this.indexedKeys.contains(key)) {
+        if (this.indexedKeys.containsKey(key)) {
             this.remove(key, oldValue, element);
             this.put(key, newValue, element);
+        } else {
+            updateCompositeIndices(key, element);
         }
     }
 
+    private void updateCompositeIndices(final String key, final T element) {
+        if (this.compositeIndices.isEmpty() || !this.indexClass.isAssignableFrom(element.getClass()))
+            return;
+
+        for (TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+            if (compositeIndex.getKeys().contains(key))
+                compositeIndex.update(element);
+        }
+    }
+
+    public List<T> getComposite(final List<String> keys, final List<Object> values) {
+        final TinkerCompositeIndex<T> compositeIndex = this.compositeIndices.get(keys);
+        return null == compositeIndex ? Collections.emptyList() : compositeIndex.get(values);
+    }
+
+    public void createCompositeIndex(final List<String> keys) {
+        if (this.compositeIndices.containsKey(keys))
+            return;
+
+        final TinkerCompositeIndex<T> compositeIndex = new TinkerCompositeIndex<>(keys);
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values().parallelStream() :
+                this.graph.edges.values().parallelStream())
+                .forEach(e -> compositeIndex.update((T) e));
+        this.compositeIndices.put(keys, compositeIndex);
+    }
+
+    public void dropCompositeIndex(final List<String> keys) {
+        final TinkerCompositeIndex<T> compositeIndex = this.compositeIndices.remove(keys);
+        if (null != compositeIndex)
+            compositeIndex.clear();
+    }
+
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return this.compositeIndices.keySet();
+    }
+
     public void createKeyIndex(final String key) {
+        createKeyIndex(key, TinkerGraph.IndexType.HASH);
+    }
+
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
 
-        if (this.indexedKeys.contains(key))
+        if (this.indexedKeys.get(key) == indexType)
             return;
-        this.indexedKeys.add(key);
+
+        // an index of another type on the same key is replaced
+        dropKeyIndex(key);
+        this.indexedKeys.put(key, indexType);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
                 this.graph.vertices.values().parallelStream() :
@@ -149,8 +265,24 @@ final class TinkerIndex<T extends Element> {
         return null == obj ? IndexedNull.instance() : obj;
     }
 
+    /**
+     * Reverses {@link #indexable(Object)}.
+     */
+    private static Object unindexable(final Object obj) {
+        return obj instanceof IndexedNull ? null : obj;
+    }
+
     public Set<String> getIndexedKeys() {
-        return this.indexedKeys;
+        return this.indexedKeys.keySet();
+    }
+
+    public TinkerGraph.IndexType getIndexType(final String key) {
+        return this.indexedKeys.get(key);
+    }
+
+    public Set<String> getIndexedKeys(final TinkerGraph.IndexType indexType) {
+        return this.indexedKeys.entrySet().stream().filter(e -> e.getValue() == indexType).
+                map(Map.Entry::getKey).collect(Collectors.toSet());
     }
 
     public static final class IndexedNull {
@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An append-only log of the mutations made to a {@link TinkerGraph} since it was last written to its
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION}, which is enabled with
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_JOURNAL}. Each mutation is appended once it has been applied to the graph
+ * and the log is replayed on top of the last checkpoint when the graph is opened, so the cost of persistence follows
+ * the number of changes rather than the size of the graph. When the log grows beyond
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_JOURNAL_CHECKPOINT_SIZE} bytes the graph is written out again and the log
+ * starts over. Records are written with the encoding of {@link TinkerSnapshot}.
+ * <p/>
+ * Threads may change the graph concurrently. Each change is made within a {@link Mutation}, which holds the read side
+ * of a lock whose write side is held by a checkpoint, so that a checkpoint waits for the changes in progress to be
+ * applied and appended and no change is made while the graph is written out. Records are appended one at a time.
+ */
+final class TinkerJournal implements AutoCloseable {
+
+    private static final int MAGIC = 0x54474a31;
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte ADD_EDGE = 2;
+    private static final byte ADD_VERTEX_PROPERTY = 3;
+    private static final byte SET_META_PROPERTY = 4;
+    private static final byte SET_EDGE_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX = 6;
+    private static final byte REMOVE_EDGE = 7;
+    private static final byte REMOVE_VERTEX_PROPERTY = 8;
+    private static final byte REMOVE_META_PROPERTY = 9;
+    private static final byte REMOVE_EDGE_PROPERTY = 10;
+    private static final byte CLEAR = 11;
+
+    private static final Mutation NO_MUTATION = () -> {};
+
+    private final TinkerGraph graph;
+    private final File file;
+    private final long checkpointSize;
+    private final ReentrantReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    private final Lock appendLock = new ReentrantLock();
+    private final Mutation mutation = this::endMutation;
+    private volatile boolean checkpointDue = false;
+    private TinkerSnapshot.Writer writer;
+
+    private TinkerJournal(final TinkerGraph graph, final File file, final long checkpointSize,
+                          final TinkerSnapshot.Writer writer) {
+        this.graph = graph;
+        this.file = file;
+        this.checkpointSize = checkpointSize;
+        this.writer = writer;
+    }
+
+    /**
+     * Replays the log at the supplied location, if there is one, and then continues it. A record that was only
+     * partially written when the process stopped is discarded.
+     */
+    static TinkerJournal open(final TinkerGraph graph, final File file, final long checkpointSize) throws IOException {
+        if (!file.exists() || file.length() == 0)
+            return new TinkerJournal(graph, file, checkpointSize, create(file));
+
+        long end = 0;
+        List<String> strings = Collections.emptyList();
+        try (final TinkerSnapshot.Reader reader = new TinkerSnapshot.Reader(FileChannel.open(file.toPath(), StandardOpenOption.READ))) {
+            if (reader.readInt() != MAGIC)
+                throw new IOException(String.format("%s is not a TinkerGraph journal", file));
+
+            end = reader.position();
+            int stringCount = 0;
+            try {
+                while (reader.hasRemaining()) {
+                    replay(graph, reader);
+                    end = reader.position();
+                    stringCount = reader.strings().size();
+                }
+            } catch (EOFException ignored) {
+                // the last record was not completely written
+            }
+            strings = new ArrayList<>(reader.strings().subList(0, stringCount));
+        }
+
+        final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+        channel.truncate(end);
+        channel.position(end);
+        return new TinkerJournal(graph, file, checkpointSize, new TinkerSnapshot.Writer(channel, strings));
+    }
+
+    private static TinkerSnapshot.Writer create(final File file) throws IOException {
+        final TinkerSnapshot.Writer writer = new TinkerSnapshot.Writer(FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+        writer.writeInt(MAGIC);
+        writer.flush();
+        return writer;
+    }
+
+    private static void replay(final TinkerGraph graph, final TinkerSnapshot.Reader reader) throws IOException {
+        final byte op = reader.readByte();
+        switch (op) {
+            case ADD_VERTEX:
+                graph.addVertex(T.id, reader.readValue(), T.label, reader.readString());
+                break;
+            case ADD_EDGE: {
+                final Object id = reader.readValue();
+                final String label = reader.readString();
+                final Vertex outVertex = vertex(graph, reader.readValue());
+                final Vertex inVertex = vertex(graph, reader.readValue());
+                final List<Object> keyValues = reader.readProperties();
+                keyValues.add(T.id);
+                keyValues.add(id);
+                outVertex.addEdge(label, inVertex, keyValues.toArray());
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = vertex(graph, reader.readValue());
+                final Object id = reader.readValue();
+                final String key = reader.readString();
+                vertex.property(VertexProperty.Cardinality.list, key, reader.readValue(), T.id, id);
+                break;
+            }
+            case SET_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = vertexProperty(graph, reader.readValue(), reader.readValue());
+                vertexProperty.property(reader.readString(), reader.readValue());
+                break;
+            }
+            case SET_EDGE_PROPERTY:
+                edge(graph, reader.readValue()).property(reader.readString(), reader.readValue());
+                break;
+            case REMOVE_VERTEX:
+                vertex(graph, reader.readValue()).remove();
+                break;
+            case REMOVE_EDGE:
+                edge(graph, reader.readValue()).remove();
+                break;
+            case REMOVE_VERTEX_PROPERTY:
+                vertexProperty(graph, reader.readValue(), reader.readValue()).remove();
+                break;
+            case REMOVE_META_PROPERTY:
+                vertexProperty(graph, reader.readValue(), reader.readValue()).property(reader.readString()).remove();
+                break;
+            case REMOVE_EDGE_PROPERTY:
+                edge(graph, reader.readValue()).property(reader.readString()).remove();
+                break;
+            case CLEAR:
+                graph.clear();
+                break;
+            default:
+                throw new IOException("Unknown operation in journal: " + op);
+        }
+    }
+
+    private static Vertex vertex(final TinkerGraph graph, final Object id) throws IOException {
+        final Vertex vertex = graph.vertices.get(graph.vertexIdManager.convert(id));
+        if (null == vertex)
+            throw new IOException("Journal refers to a vertex that does not exist: " + id);
+        return vertex;
+    }
+
+    private static Edge edge(final TinkerGraph graph, final Object id) throws IOException {
+        final Edge edge = graph.edges.get(graph.edgeIdManager.convert(id));
+        if (null == edge)
+            throw new IOException("Journal refers to an edge that does not exist: " + id);
+        return edge;
+    }
+
+    private static VertexProperty<?> vertexProperty(final TinkerGraph graph, final Object vertexId, final Object id) throws IOException {
+        final Iterator<VertexProperty<Object>> properties = vertex(graph, vertexId).properties();
+        while (properties.hasNext()) {
+            final VertexProperty<Object> property = properties.next();
+            if (property.id().equals(id))
+                return property;
+        }
+        throw new IOException("Journal refers to a vertex property that does not exist: " + id);
+    }
+
+    /**
+     * Begins a change to the graph, which is to be closed once the change is applied and appended to its journal.
+     * Changes may be nested and when the graph has no journal the returned {@link Mutation} does nothing.
+     */
+    static Mutation mutation(final TinkerGraph graph) {
+        final TinkerJournal journal = graph.journal;
+        if (null == journal) return NO_MUTATION;
+        journal.checkpointLock.readLock().lock();
+        return journal.mutation;
+    }
+
+    private void endMutation() {
+        this.checkpointLock.readLock().unlock();
+        // the checkpoint is left to the outermost change as it has to wait for all changes to end
+        if (this.checkpointDue && 0 == this.checkpointLock.getReadHoldCount())
+            checkpoint(true);
+    }
+
+    void addVertex(final Vertex vertex) {
+        append(w -> {
+            w.writeByte(ADD_VERTEX);
+            w.writeValue(vertex.id());
+            w.writeString(vertex.label());
+        });
+    }
+
+    void addEdge(final Edge edge) {
+        append(w -> {
+            w.writeByte(ADD_EDGE);
+            w.writeValue(edge.id());
+            w.writeString(edge.label());
+            w.writeValue(edge.outVertex().id());
+            w.writeValue(edge.inVertex().id());
+            w.writeProperties(edge.properties());
+        });
+    }
+
+    void addVertexProperty(final VertexProperty<?> vertexProperty) {
+        append(w -> {
+            w.writeByte(ADD_VERTEX_PROPERTY);
+            w.writeValue(vertexProperty.element().id());
+            w.writeValue(vertexProperty.id());
+            w.writeString(vertexProperty.key());
+            w.writeValue(vertexProperty.value());
+        });
+    }
+
+    void setProperty(final Property<?> property) {
+        append(w -> {
+            if (property.element() instanceof Edge) {
+                w.writeByte(SET_EDGE_PROPERTY);
+            } else {
+                w.writeByte(SET_META_PROPERTY);
+                w.writeValue(((VertexProperty<?>) property.element()).element().id());
+            }
+            w.writeValue(property.element().id());
+            w.writeString(property.key());
+            w.writeValue(property.value());
+        });
+    }
+
+    void removeVertex(final Vertex vertex) {
+        append(w -> {
+            w.writeByte(REMOVE_VERTEX);
+            w.writeValue(vertex.id());
+        });
+    }
+
+    void removeEdge(final Edge edge) {
+        append(w -> {
+            w.writeByte(REMOVE_EDGE);
+            w.writeValue(edge.id());
+        });
+    }
+
+    void removeVertexProperty(final VertexProperty<?> vertexProperty) {
+        append(w -> {
+            w.writeByte(REMOVE_VERTEX_PROPERTY);
+            w.writeValue(vertexProperty.element().id());
+            w.writeValue(vertexProperty.id());
+        });
+    }
+
+    void removeProperty(final Property<?> property) {
+        append(w -> {
+            if (property.element() instanceof Edge) {
+                w.writeByte(REMOVE_EDGE_PROPERTY);
+            } else {
+                w.writeByte(REMOVE_META_PROPERTY);
+                w.writeValue(((VertexProperty<?>) property.element()).element().id());
+            }
+            w.writeValue(property.element().id());
+            w.writeString(property.key());
+        });
+    }
+
+    void clear() {
+        append(w -> w.writeByte(CLEAR));
+    }
+
+    /**
+     * Writes the graph out and starts the log over. No change is made to the graph in the meantime, so the
+     * checkpoint includes every record that is discarded with it.
+     */
+    void checkpoint() {
+        checkpoint(false);
+    }
+
+    private void checkpoint(final boolean onlyIfDue) {
+        if (this.checkpointLock.getReadHoldCount() > 0)
+            throw new IllegalStateException("The graph cannot be checkpointed by a thread that is changing it");
+
+        this.checkpointLock.writeLock().lock();
+        try {
+            if (onlyIfDue && !this.checkpointDue) return;
+            this.graph.writeCheckpoint();
+            this.appendLock.lock();
+            try {
+                this.writer.close();
+                this.writer = create(this.file);
+                this.checkpointDue = false;
+            } finally {
+                this.appendLock.unlock();
+            }
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(String.format("Could not start journal at %s over", this.file), ioe);
+        } finally {
+            this.checkpointLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.appendLock.lock();
+        try {
+            this.writer.close();
+        } finally {
+            this.appendLock.unlock();
+        }
+    }
+
+    /**
+     * Writes a record through to the file so that it survives the process stopping, and marks the checkpoint as due
+     * when the log has grown too large. Records are appended by the thread that made the change while still within
+     * its {@link Mutation}.
+     */
+    private void append(final Record record) {
+        this.appendLock.lock();
+        try {
+            record.write(this.writer);
+            this.writer.flush();
+            if (this.writer.position() >= this.checkpointSize)
+                this.checkpointDue = true;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(String.format("Could not write to journal at %s", this.file), ioe);
+        } finally {
+            this.appendLock.unlock();
+        }
+    }
+
+    /**
+     * A change to the graph in progress, which is ended by closing it.
+     */
+    @FunctionalInterface
+    interface Mutation extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    @FunctionalInterface
+    private interface Record {
+        void write(final TinkerSnapshot.Writer writer) throws IOException;
+    }
+}
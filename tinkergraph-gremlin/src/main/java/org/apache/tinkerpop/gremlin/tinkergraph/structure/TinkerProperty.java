@@ -79,11 +79,18 @@ public final class TinkerProperty<V> implements Property<V> {
 
     @Override
     public void remove() {
-        if (this.element instanceof Edge) {
-            ((TinkerEdge) this.element).properties.remove(this.key);
-            TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
-        } else {
-            ((TinkerVertexProperty) this.element).properties.remove(this.key);
+        final TinkerGraph graph = (TinkerGraph) this.element.graph();
+        try (final TinkerJournal.Mutation ignored = TinkerJournal.mutation(graph)) {
+            if (this.element instanceof Edge) {
+                ((TinkerEdge) this.element).mutableState().properties.remove(this.key);
+                TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
+            } else {
+                ((TinkerVertexProperty) this.element).mutableState().properties.remove(this.key);
+            }
+            TinkerHelper.removeTextIndex(graph, this);
+            if (null != graph.journal && (this.element instanceof Edge ?
+                    graph.edges.get(this.element.id()) == this.element : ((TinkerVertexProperty) this.element).isAttached()))
+                graph.journal.removeProperty(this);
         }
     }
 }
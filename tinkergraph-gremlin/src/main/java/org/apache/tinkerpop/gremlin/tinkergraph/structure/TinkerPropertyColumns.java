@@ -0,0 +1,362 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * The vertex properties of a graph held in a column per property key rather than as a {@link TinkerVertexProperty}
+ * per value, which is used when {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_PROPERTIES} is enabled and the graph is
+ * not transactional. Each key is interned to a small integer that indexes its column and each vertex is given a row
+ * that is the same in every column. The values and identifiers of a column are held in {@code int}, {@code long} or
+ * {@code double} arrays for as long as they are all {@code Integer}, {@code Long} or {@code Double} respectively.
+ * <p/>
+ * A column only holds a property that is the only value of its key on the vertex and that has no meta-properties,
+ * which is the common case. Any other property, as well as one that is given a meta-property or a second value of
+ * its key, is held by the vertex as a {@link TinkerVertexProperty} as it would be without this option. The
+ * properties in the columns are presented to the Structure API through a {@link TinkerVertexProperty} that is
+ * created on each access and which is equal to any other created for the same property.
+ * <p/>
+ * The columns are shared by all vertices of the graph and are guarded by a read-write lock, so as with the
+ * properties held by vertices, threads may concurrently write to the properties of different vertices.
+ */
+final class TinkerPropertyColumns {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> keyIds = new HashMap<>();
+    private KeyColumn[] columns = new KeyColumn[0];
+    private int rows = 0;
+    private int[] freeRows = new int[0];
+    private int freeRowCount = 0;
+
+    /**
+     * Determines if the vertex has a value for the key in the columns.
+     */
+    boolean contains(final TinkerVertex vertex, final String key) {
+        final Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            final KeyColumn column = column(key);
+            return null != column && vertex.row >= 0 && column.present.get(vertex.row);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Determines if the vertex property is a view of a property that is still held in the columns.
+     */
+    boolean holds(final TinkerVertexProperty<?> vertexProperty) {
+        final TinkerVertex vertex = (TinkerVertex) vertexProperty.element();
+        final Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            final KeyColumn column = column(vertexProperty.key());
+            return null != column && vertex.row >= 0 && column.present.get(vertex.row) &&
+                    vertexProperty.id().equals(column.ids.get(vertex.row));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Gets a view of the value of the key for the vertex or {@code null} if the columns do not hold one.
+     */
+    <V> TinkerVertexProperty<V> get(final TinkerVertex vertex, final String key) {
+        final Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            final KeyColumn column = column(key);
+            return null == column || vertex.row < 0 ? null : column.view(vertex);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Sets the value of the key for the vertex which must not already have one and returns a view of it.
+     */
+    <V> TinkerVertexProperty<V> put(final TinkerVertex vertex, final Object id, final String key, final V value) {
+        final Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            Integer keyId = this.keyIds.get(key);
+            if (null == keyId) {
+                keyId = this.columns.length;
+                this.columns = Arrays.copyOf(this.columns, keyId + 1);
+                this.columns[keyId] = new KeyColumn(key);
+                this.keyIds.put(key, keyId);
+            }
+            if (vertex.row < 0) vertex.row = allocateRow();
+            final KeyColumn column = this.columns[keyId];
+            column.set(vertex.row, id, value);
+            return column.view(vertex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the value of the key for the vertex and returns a view of it or {@code null} if the columns did not
+     * hold one.
+     */
+    <V> TinkerVertexProperty<V> remove(final TinkerVertex vertex, final String key) {
+        final Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            final KeyColumn column = column(key);
+            if (null == column || vertex.row < 0) return null;
+            final TinkerVertexProperty<V> vertexProperty = column.view(vertex);
+            if (null != vertexProperty) column.clear(vertex.row);
+            return vertexProperty;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the action to a view of each value that the columns hold for the vertex. The action is applied once the
+     * views are taken so that it may itself change the columns.
+     */
+    void forEach(final TinkerVertex vertex, final Consumer<TinkerVertexProperty<?>> action) {
+        final List<TinkerVertexProperty<?>> vertexProperties = new ArrayList<>();
+        final Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            if (vertex.row < 0) return;
+            for (KeyColumn column : this.columns) {
+                final TinkerVertexProperty<?> vertexProperty = column.view(vertex);
+                if (null != vertexProperty) vertexProperties.add(vertexProperty);
+            }
+        } finally {
+            readLock.unlock();
+        }
+        vertexProperties.forEach(action);
+    }
+
+    /**
+     * Removes all of the values of the vertex so that its row can be given to another vertex.
+     */
+    void release(final TinkerVertex vertex) {
+        final Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            if (vertex.row < 0) return;
+            for (KeyColumn column : this.columns) {
+                column.clear(vertex.row);
+            }
+            if (this.freeRowCount == this.freeRows.length)
+                this.freeRows = Arrays.copyOf(this.freeRows, this.freeRowCount + (this.freeRowCount >> 1) + 1);
+            this.freeRows[this.freeRowCount++] = vertex.row;
+            vertex.row = -1;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void clear() {
+        final Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            this.keyIds.clear();
+            this.columns = new KeyColumn[0];
+            this.rows = 0;
+            this.freeRows = new int[0];
+            this.freeRowCount = 0;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private KeyColumn column(final String key) {
+        final Integer keyId = this.keyIds.get(key);
+        return null == keyId ? null : this.columns[keyId];
+    }
+
+    private int allocateRow() {
+        return this.freeRowCount > 0 ? this.freeRows[--this.freeRowCount] : this.rows++;
+    }
+
+    /**
+     * The values of a property key along with the identifiers of the vertex properties that hold them.
+     */
+    private static final class KeyColumn {
+        private final String key;
+        private final BitSet present = new BitSet();
+        private Column values = null;
+        private Column ids = null;
+
+        private KeyColumn(final String key) {
+            this.key = key;
+        }
+
+        private void set(final int row, final Object id, final Object value) {
+            this.values = Column.set(this.values, this.present, row, value);
+            this.ids = Column.set(this.ids, this.present, row, id);
+            this.present.set(row);
+        }
+
+        private void clear(final int row) {
+            if (!this.present.get(row)) return;
+            this.present.clear(row);
+            this.values.clear(row);
+            this.ids.clear(row);
+        }
+
+        private <V> TinkerVertexProperty<V> view(final TinkerVertex vertex) {
+            return this.present.get(vertex.row) ?
+                    new TinkerVertexProperty<>(this.ids.get(vertex.row), vertex, this.key, (V) this.values.get(vertex.row)) :
+                    null;
+        }
+    }
+
+    /**
+     * An array of values indexed by row.
+     */
+    private abstract static class Column {
+
+        abstract boolean accepts(final Object value);
+
+        abstract Object get(final int row);
+
+        abstract void put(final int row, final Object value);
+
+        void clear(final int row) {
+        }
+
+        /**
+         * Sets the value of the row in the column, which is replaced by one that can hold any value if it cannot
+         * hold this one, and returns the column that holds it.
+         */
+        static Column set(final Column column, final BitSet present, final int row, final Object value) {
+            Column target = column;
+            if (null == target) {
+                target = value instanceof Integer ? new IntColumn() :
+                        value instanceof Long ? new LongColumn() :
+                                value instanceof Double ? new DoubleColumn() : new ObjectColumn();
+            } else if (!target.accepts(value)) {
+                final ObjectColumn objects = new ObjectColumn();
+                for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+                    objects.put(i, column.get(i));
+                }
+                target = objects;
+            }
+            target.put(row, value);
+            return target;
+        }
+
+        static int capacity(final int length, final int row) {
+            return Math.max(row + 1, length + (length >> 1));
+        }
+    }
+
+    private static final class IntColumn extends Column {
+        private int[] values = new int[0];
+
+        @Override
+        boolean accepts(final Object value) {
+            return value instanceof Integer;
+        }
+
+        @Override
+        Object get(final int row) {
+            return this.values[row];
+        }
+
+        @Override
+        void put(final int row, final Object value) {
+            if (row >= this.values.length) this.values = Arrays.copyOf(this.values, capacity(this.values.length, row));
+            this.values[row] = (Integer) value;
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        private long[] values = new long[0];
+
+        @Override
+        boolean accepts(final Object value) {
+            return value instanceof Long;
+        }
+
+        @Override
+        Object get(final int row) {
+            return this.values[row];
+        }
+
+        @Override
+        void put(final int row, final Object value) {
+            if (row >= this.values.length) this.values = Arrays.copyOf(this.values, capacity(this.values.length, row));
+            this.values[row] = (Long) value;
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        private double[] values = new double[0];
+
+        @Override
+        boolean accepts(final Object value) {
+            return value instanceof Double;
+        }
+
+        @Override
+        Object get(final int row) {
+            return this.values[row];
+        }
+
+        @Override
+        void put(final int row, final Object value) {
+            if (row >= this.values.length) this.values = Arrays.copyOf(this.values, capacity(this.values.length, row));
+            this.values[row] = (Double) value;
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+        private Object[] values = new Object[0];
+
+        @Override
+        boolean accepts(final Object value) {
+            return true;
+        }
+
+        @Override
+        Object get(final int row) {
+            return this.values[row];
+        }
+
+        @Override
+        void put(final int row, final Object value) {
+            if (row >= this.values.length) this.values = Arrays.copyOf(this.values, capacity(this.values.length, row));
+            this.values[row] = value;
+        }
+
+        @Override
+        void clear(final int row) {
+            this.values[row] = null;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A map of property keys to values held in a pair of parallel arrays rather than a {@code HashMap}, which is used for
+ * the properties of elements when {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_PROPERTIES} is enabled. Elements
+ * typically have few properties so a linear scan is as fast as hashing while the hash table and the entry object per
+ * property are avoided. As the keys are interned by the graph, most lookups are resolved by reference equality.
+ */
+final class TinkerPropertyMap<V> extends AbstractMap<String, V> {
+
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private String[] keys = EMPTY_KEYS;
+    private Object[] values = EMPTY_VALUES;
+    private int size = 0;
+    private int modCount = 0;
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int i = indexOf(key);
+        return i < 0 ? null : (V) this.values[i];
+    }
+
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        final int i = indexOf(key);
+        return i < 0 ? defaultValue : (V) this.values[i];
+    }
+
+    @Override
+    public V put(final String key, final V value) {
+        final int i = indexOf(key);
+        if (i >= 0) {
+            final V old = (V) this.values[i];
+            this.values[i] = value;
+            return old;
+        }
+
+        if (this.size == this.keys.length) {
+            final int capacity = this.size + (this.size >> 1) + 1;
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+        this.keys[this.size] = key;
+        this.values[this.size++] = value;
+        this.modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final int i = indexOf(key);
+        if (i < 0)
+            return null;
+
+        final V old = (V) this.values[i];
+        removeAt(i);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        this.keys = EMPTY_KEYS;
+        this.values = EMPTY_VALUES;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super V> action) {
+        final int expectedModCount = this.modCount;
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.keys[i], (V) this.values[i]);
+        }
+        if (this.modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<Entry<String, V>>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                return new Iterator<Entry<String, V>>() {
+                    private int cursor = 0;
+                    private int last = -1;
+                    private int expectedModCount = modCount;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.cursor < size;
+                    }
+
+                    @Override
+                    public Entry<String, V> next() {
+                        if (modCount != this.expectedModCount)
+                            throw new ConcurrentModificationException();
+                        if (this.cursor >= size)
+                            throw new NoSuchElementException();
+                        this.last = this.cursor++;
+                        final int i = this.last;
+                        return new SimpleEntry<String, V>(keys[i], (V) values[i]) {
+                            @Override
+                            public V setValue(final V value) {
+                                values[i] = value;
+                                return super.setValue(value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (this.last < 0)
+                            throw new IllegalStateException();
+                        if (modCount != this.expectedModCount)
+                            throw new ConcurrentModificationException();
+                        removeAt(this.last);
+                        this.cursor = this.last;
+                        this.last = -1;
+                        this.expectedModCount = modCount;
+                    }
+                };
+            }
+        };
+    }
+
+    private int indexOf(final Object key) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.keys[i] == key) return i;
+        }
+        // keys that were not interned, such as those supplied to a lookup, are compared by value
+        if (null != key) {
+            for (int i = 0; i < this.size; i++) {
+                if (key.equals(this.keys[i])) return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Shifts the entries after the removed one so that the insertion order of the keys is kept.
+     */
+    private void removeAt(final int i) {
+        final int moved = this.size - i - 1;
+        if (moved > 0) {
+            System.arraycopy(this.keys, i + 1, this.keys, i, moved);
+            System.arraycopy(this.values, i + 1, this.values, i, moved);
+        }
+        this.size--;
+        this.keys[this.size] = null;
+        this.values[this.size] = null;
+        this.modCount++;
+    }
+}
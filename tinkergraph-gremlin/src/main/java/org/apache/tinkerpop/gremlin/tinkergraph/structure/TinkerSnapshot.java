@@ -0,0 +1,419 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads and writes the {@code snapshot} value of {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT}, a binary
+ * format native to {@link TinkerGraph} that is loaded by memory mapping the file rather than streaming it through a
+ * general purpose {@code GraphReader}. Labels and property keys are written once and referred to by number from then
+ * on, common value types are written directly and any other value is written with Gryo. The file holds the vertices
+ * with their properties and meta-properties followed by the edges with their properties.
+ */
+final class TinkerSnapshot {
+
+    private static final int MAGIC = 0x54475331;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte SHORT = 7;
+    private static final byte BYTE = 8;
+    private static final byte UUID_VALUE = 9;
+    private static final byte GRYO = 127;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int WINDOW_SIZE = 1 << 30;
+
+    private TinkerSnapshot() {}
+
+    public static void write(final TinkerGraph graph, final File file) throws IOException {
+        try (final Writer writer = new Writer(FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+            writer.writeInt(MAGIC);
+
+            // a transactional graph holds elements that the transaction writing the snapshot may not see
+            final Collection<Vertex> vertices = null == graph.transaction ?
+                    graph.vertices.values() : IteratorUtils.list(graph.vertices());
+            final Collection<Edge> edges = null == graph.transaction ?
+                    graph.edges.values() : IteratorUtils.list(graph.edges());
+
+            writer.writeLong(vertices.size());
+            for (Vertex vertex : vertices) {
+                writer.writeValue(vertex.id());
+                writer.writeString(vertex.label());
+                final List<VertexProperty<Object>> properties = new ArrayList<>();
+                vertex.properties().forEachRemaining(p -> properties.add((VertexProperty<Object>) p));
+                writer.writeInt(properties.size());
+                for (VertexProperty<Object> property : properties) {
+                    writer.writeValue(property.id());
+                    writer.writeString(property.key());
+                    writer.writeValue(property.value());
+                    writer.writeProperties(property.properties());
+                }
+            }
+
+            writer.writeLong(edges.size());
+            for (Edge edge : edges) {
+                writer.writeValue(edge.id());
+                writer.writeString(edge.label());
+                writer.writeValue(edge.outVertex().id());
+                writer.writeValue(edge.inVertex().id());
+                writer.writeProperties(edge.properties());
+            }
+        }
+    }
+
+    public static void read(final TinkerGraph graph, final File file) throws IOException {
+        try (final Reader reader = new Reader(FileChannel.open(file.toPath(), StandardOpenOption.READ))) {
+            if (reader.readInt() != MAGIC)
+                throw new IOException(String.format("%s is not a TinkerGraph snapshot", file));
+
+            final long vertexCount = reader.readLong();
+            for (long i = 0; i < vertexCount; i++) {
+                final Vertex vertex = graph.addVertex(T.id, reader.readValue(), T.label, reader.readString());
+                final int propertyCount = reader.readInt();
+                for (int j = 0; j < propertyCount; j++) {
+                    final Object id = reader.readValue();
+                    final String key = reader.readString();
+                    final Object value = reader.readValue();
+                    final List<Object> keyValues = reader.readProperties();
+                    keyValues.add(T.id);
+                    keyValues.add(id);
+                    vertex.property(VertexProperty.Cardinality.list, key, value, keyValues.toArray());
+                }
+            }
+
+            final long edgeCount = reader.readLong();
+            for (long i = 0; i < edgeCount; i++) {
+                final Object id = reader.readValue();
+                final String label = reader.readString();
+                final Vertex outVertex = graph.vertices.get(graph.vertexIdManager.convert(reader.readValue()));
+                final Vertex inVertex = graph.vertices.get(graph.vertexIdManager.convert(reader.readValue()));
+                final List<Object> keyValues = reader.readProperties();
+                keyValues.add(T.id);
+                keyValues.add(id);
+                outVertex.addEdge(label, inVertex, keyValues.toArray());
+            }
+        }
+    }
+
+    private static Kryo createKryo() {
+        return GryoMapper.build().addRegistry(TinkerIoRegistryV3d0.instance()).create().createMapper();
+    }
+
+    /**
+     * Writes the encoding of the snapshot and is shared with {@link TinkerJournal}.
+     */
+    static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final Map<String, Integer> strings = new HashMap<>();
+        private Kryo kryo;
+
+        Writer(final FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Continues a file that was written up to its current position with the supplied strings.
+         */
+        Writer(final FileChannel channel, final List<String> strings) {
+            this.channel = channel;
+            for (String s : strings) {
+                this.strings.put(s, this.strings.size());
+            }
+        }
+
+        long position() throws IOException {
+            return this.channel.position() + this.buffer.position();
+        }
+
+        void writeByte(final byte b) throws IOException {
+            ensure(1);
+            this.buffer.put(b);
+        }
+
+        void writeInt(final int i) throws IOException {
+            ensure(Integer.BYTES);
+            this.buffer.putInt(i);
+        }
+
+        void writeLong(final long l) throws IOException {
+            ensure(Long.BYTES);
+            this.buffer.putLong(l);
+        }
+
+        void writeBytes(final byte[] bytes) throws IOException {
+            writeInt(bytes.length);
+            if (bytes.length > this.buffer.capacity()) {
+                flush();
+                final ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+                while (wrapped.hasRemaining()) this.channel.write(wrapped);
+            } else {
+                ensure(bytes.length);
+                this.buffer.put(bytes);
+            }
+        }
+
+        /**
+         * Writes the number of a string that was written before or -1 followed by the string itself.
+         */
+        void writeString(final String s) throws IOException {
+            final Integer number = this.strings.get(s);
+            if (null != number) {
+                writeInt(number);
+            } else {
+                this.strings.put(s, this.strings.size());
+                writeInt(-1);
+                writeBytes(s.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        void writeProperties(final Iterator<? extends Property<Object>> properties) throws IOException {
+            final List<Property<Object>> list = new ArrayList<>();
+            properties.forEachRemaining(list::add);
+            writeInt(list.size());
+            for (Property<Object> property : list) {
+                writeString(property.key());
+                writeValue(property.value());
+            }
+        }
+
+        void writeValue(final Object value) throws IOException {
+            ensure(Long.BYTES * 2 + 1);
+            if (null == value) {
+                this.buffer.put(NULL);
+            } else if (value instanceof String) {
+                this.buffer.put(STRING);
+                writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+            } else if (value instanceof Integer) {
+                this.buffer.put(INTEGER).putInt((Integer) value);
+            } else if (value instanceof Long) {
+                this.buffer.put(LONG).putLong((Long) value);
+            } else if (value instanceof Double) {
+                this.buffer.put(DOUBLE).putDouble((Double) value);
+            } else if (value instanceof Float) {
+                this.buffer.put(FLOAT).putFloat((Float) value);
+            } else if (value instanceof Boolean) {
+                this.buffer.put(BOOLEAN).put((byte) ((Boolean) value ? 1 : 0));
+            } else if (value instanceof Short) {
+                this.buffer.put(SHORT).putShort((Short) value);
+            } else if (value instanceof Byte) {
+                this.buffer.put(BYTE).put((Byte) value);
+            } else if (value instanceof UUID) {
+                this.buffer.put(UUID_VALUE).putLong(((UUID) value).getMostSignificantBits())
+                        .putLong(((UUID) value).getLeastSignificantBits());
+            } else {
+                if (null == this.kryo) this.kryo = createKryo();
+                final Output output = new Output(256, -1);
+                this.kryo.writeClassAndObject(output, value);
+                this.buffer.put(GRYO);
+                writeBytes(output.toBytes());
+            }
+        }
+
+        private void ensure(final int bytes) throws IOException {
+            if (this.buffer.remaining() < bytes) flush();
+        }
+
+        void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) this.channel.write(this.buffer);
+            this.buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!this.channel.isOpen())
+                return;
+
+            try {
+                flush();
+                this.channel.force(false);
+            } finally {
+                this.channel.close();
+            }
+        }
+    }
+
+    /**
+     * Reads the file through a window that is mapped into memory and moved along the file as it is read, as a
+     * single mapping cannot exceed two gigabytes. It is shared with {@link TinkerJournal}.
+     */
+    static final class Reader implements AutoCloseable {
+        private final FileChannel channel;
+        private final long size;
+        private final List<String> strings = new ArrayList<>();
+        private MappedByteBuffer window;
+        private long windowStart = 0;
+        private Kryo kryo;
+
+        Reader(final FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0, 0);
+        }
+
+        long position() {
+            return this.windowStart + this.window.position();
+        }
+
+        boolean hasRemaining() {
+            return position() < this.size;
+        }
+
+        /**
+         * Gets the strings that have been read so far in the order they were numbered.
+         */
+        List<String> strings() {
+            return this.strings;
+        }
+
+        byte readByte() throws IOException {
+            ensure(1);
+            return this.window.get();
+        }
+
+        int readInt() throws IOException {
+            ensure(Integer.BYTES);
+            return this.window.getInt();
+        }
+
+        long readLong() throws IOException {
+            ensure(Long.BYTES);
+            return this.window.getLong();
+        }
+
+        byte[] readBytes() throws IOException {
+            final int length = readInt();
+            ensure(length);
+            final byte[] bytes = new byte[length];
+            this.window.get(bytes);
+            return bytes;
+        }
+
+        String readString() throws IOException {
+            final int number = readInt();
+            if (number >= 0)
+                return this.strings.get(number);
+
+            final String s = new String(readBytes(), StandardCharsets.UTF_8);
+            this.strings.add(s);
+            return s;
+        }
+
+        List<Object> readProperties() throws IOException {
+            final int count = readInt();
+            final List<Object> keyValues = new ArrayList<>(count * 2 + 2);
+            for (int i = 0; i < count; i++) {
+                keyValues.add(readString());
+                keyValues.add(readValue());
+            }
+            return keyValues;
+        }
+
+        Object readValue() throws IOException {
+            ensure(1);
+            final byte type = this.window.get();
+            switch (type) {
+                case NULL:
+                    return null;
+                case STRING:
+                    return new String(readBytes(), StandardCharsets.UTF_8);
+                case INTEGER:
+                    return readInt();
+                case LONG:
+                    return readLong();
+                case DOUBLE:
+                    ensure(Double.BYTES);
+                    return this.window.getDouble();
+                case FLOAT:
+                    ensure(Float.BYTES);
+                    return this.window.getFloat();
+                case BOOLEAN:
+                    ensure(1);
+                    return this.window.get() == 1;
+                case SHORT:
+                    ensure(Short.BYTES);
+                    return this.window.getShort();
+                case BYTE:
+                    ensure(1);
+                    return this.window.get();
+                case UUID_VALUE:
+                    return new UUID(readLong(), readLong());
+                case GRYO:
+                    if (null == this.kryo) this.kryo = createKryo();
+                    return this.kryo.readClassAndObject(new Input(readBytes()));
+                default:
+                    throw new IOException("Unknown value type in snapshot: " + type);
+            }
+        }
+
+        private void ensure(final int bytes) throws IOException {
+            if (this.window.remaining() < bytes) {
+                final long position = position();
+                if (position + bytes > this.size)
+                    throw new EOFException("Unexpected end of snapshot");
+                map(position, bytes);
+            }
+        }
+
+        private void map(final long position, final int minimum) throws IOException {
+            this.windowStart = position;
+            this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(this.size - position, Math.max(WINDOW_SIZE, minimum)));
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * An inverted index over the tokens of all property values in the graph which maps each token to the posting list of
+ * {@link Property} objects whose value contains it. Values are tokenized by splitting their string form on anything
+ * that is not a letter or a digit and lower-casing what remains. The tokens are kept sorted so that a search term
+ * ending with {@code *} can be answered as a prefix scan. Like {@link TinkerIndex}, the index is kept up to date as
+ * properties are added and removed rather than being rebuilt per query.
+ */
+final class TinkerTextIndex {
+
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public static final String WILDCARD = "*";
+
+    private final NavigableMap<String, Set<Property>> postings = new ConcurrentSkipListMap<>();
+
+    TinkerTextIndex(final TinkerGraph graph) {
+        if (null != graph.transaction)
+            throw new IllegalStateException(String.format("The text index cannot be created if %s is enabled",
+                    TinkerGraph.GREMLIN_TINKERGRAPH_TRANSACTIONAL));
+        graph.vertices.values().forEach(v -> v.properties().forEachRemaining(vp -> {
+            put(vp);
+            vp.properties().forEachRemaining(this::put);
+        }));
+        graph.edges.values().forEach(e -> e.properties().forEachRemaining(this::put));
+    }
+
+    public void put(final Property property) {
+        for (String token : tokenize(property.value())) {
+            this.postings.computeIfAbsent(token, k -> ConcurrentHashMap.newKeySet()).add(property);
+        }
+    }
+
+    public void remove(final Property property) {
+        for (String token : tokenize(property.value())) {
+            this.postings.computeIfPresent(token, (k, set) -> {
+                set.remove(property);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    /**
+     * Removes all of the properties of the element including, for a {@link Vertex}, the meta-properties of its
+     * {@link VertexProperty} objects.
+     */
+    public void removeElement(final Element element) {
+        element.properties().forEachRemaining(p -> {
+            remove(p);
+            if (p instanceof VertexProperty)
+                ((VertexProperty<?>) p).properties().forEachRemaining(this::remove);
+        });
+    }
+
+    /**
+     * Gets the properties whose value contains every term of the search where a term ending with {@link #WILDCARD}
+     * matches any token that starts with it. The optional type restricts the results to properties of a
+     * {@link Vertex}, {@link Edge} or {@link VertexProperty}.
+     */
+    public Iterator<Property> search(final String search, final Class<? extends Element> type) {
+        final List<Set<Property>> matches = new ArrayList<>();
+        final boolean prefix = search.endsWith(WILDCARD);
+        final List<String> terms = tokenize(search);
+        for (int i = 0; i < terms.size(); i++) {
+            final Set<Property> match = prefix && i == terms.size() - 1 ? getPrefix(terms.get(i)) : getToken(terms.get(i));
+            if (match.isEmpty())
+                return Collections.emptyIterator();
+            matches.add(match);
+        }
+
+        if (matches.isEmpty())
+            return Collections.emptyIterator();
+
+        // intersect starting from the shortest posting list
+        matches.sort(Comparator.comparingInt(Set::size));
+        final List<Property> results = new ArrayList<>();
+        for (Property property : matches.get(0)) {
+            if (null != type && !type.isInstance(property.element()))
+                continue;
+            boolean all = true;
+            for (int i = 1; all && i < matches.size(); i++) {
+                all = matches.get(i).contains(property);
+            }
+            if (all) results.add(property);
+        }
+        return results.iterator();
+    }
+
+    public void clear() {
+        this.postings.clear();
+    }
+
+    private Set<Property> getToken(final String token) {
+        return this.postings.getOrDefault(token, Collections.emptySet());
+    }
+
+    private Set<Property> getPrefix(final String prefix) {
+        final Collection<Set<Property>> sets = this.postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values();
+        if (sets.size() == 1)
+            return sets.iterator().next();
+
+        final Set<Property> union = new HashSet<>();
+        sets.forEach(union::addAll);
+        return union;
+    }
+
+    /**
+     * Splits the string form of the value into distinct, lower-cased tokens.
+     */
+    static List<String> tokenize(final Object value) {
+        if (null == value)
+            return Collections.emptyList();
+
+        final Set<String> tokens = new LinkedHashSet<>();
+        for (String token : DELIMITER.split(value.toString().toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return new ArrayList<>(tokens);
+    }
+}
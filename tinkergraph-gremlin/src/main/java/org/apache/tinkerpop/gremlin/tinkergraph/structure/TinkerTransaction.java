@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.util.AbstractThreadLocalTransaction;
+import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The transaction of a {@link TinkerGraph} that has {@link TinkerGraph#GREMLIN_TINKERGRAPH_TRANSACTIONAL} enabled,
+ * which gives each thread snapshot isolation. A transaction reads the versions of the elements that were committed
+ * when it opened and changes copies of the elements that no other transaction can see. Committing publishes those
+ * copies as the newest versions of their elements unless another transaction committed a newer version of one of
+ * them first, in which case the transaction is rolled back. Reads never wait on writers as the versions themselves
+ * are never changed once committed and older versions are kept for as long as an open transaction may read them.
+ */
+final class TinkerTransaction extends AbstractThreadLocalTransaction {
+
+    private final TinkerGraph graph;
+    private final ThreadLocal<Context> context = new ThreadLocal<>();
+    private final Set<Context> open = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Elements that have older versions, or a removal, that may still be read by an open transaction.
+     */
+    private final Set<TinkerElement> retained = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private volatile long committedVersion = 0L;
+
+    TinkerTransaction(final TinkerGraph graph) {
+        super(graph);
+        this.graph = graph;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return null != this.context.get();
+    }
+
+    @Override
+    protected void doOpen() {
+        final Context context = new Context(this.committedVersion);
+        this.open.add(context);
+        // a commit that happened before the transaction was registered may have already dropped the versions of the
+        // snapshot taken above so the transaction reads from the newest one which it is now known to hold back
+        context.version = this.committedVersion;
+        this.context.set(context);
+    }
+
+    @Override
+    protected void doCommit() throws TransactionException {
+        final Context context = this.context.get();
+        if (context.writes.isEmpty()) {
+            close(context);
+            return;
+        }
+
+        try {
+            synchronized (this) {
+                for (TinkerElement element : context.writes.keySet()) {
+                    final Version newest = element.versions;
+                    if (null != newest && newest.version > context.version) {
+                        discard(context);
+                        throw new TransactionException(String.format(
+                                "%s with id %s was changed by a transaction that committed after this one opened",
+                                element.getClass().getSimpleName().replace("Tinker", ""), element.id()));
+                    }
+                }
+
+                final long version = this.committedVersion + 1;
+                context.writes.forEach((element, written) -> {
+                    element.versions = new Version(written, version, element.versions);
+                    this.retained.add(element);
+                });
+                this.committedVersion = version;
+                this.open.remove(context);
+                prune();
+            }
+        } finally {
+            close(context);
+        }
+    }
+
+    @Override
+    protected void doRollback() throws TransactionException {
+        final Context context = this.context.get();
+        discard(context);
+        close(context);
+    }
+
+    /**
+     * Gets the state of the element that is visible to the transaction of the current thread, opening one if
+     * needed. An element that the transaction cannot see is returned as a removed copy.
+     */
+    <E extends TinkerElement> E read(final E element) {
+        if (TinkerHelper.inComputerMode(this.graph)) {
+            // a graph computer reads the latest versions from its worker threads and works with vertex properties
+            // of its own that never have a version
+            final Version newest = element.versions;
+            return null == newest ? element : (E) newest.element;
+        }
+
+        final Context context = context();
+        final TinkerElement written = context.writes.get(element);
+        return null == written ? visible(element, context.version) : (E) written;
+    }
+
+    /**
+     * Gets the state of the element that the transaction of the current thread may change, which is a copy of the
+     * visible state made on the first change. An element that is removed, or that the transaction cannot see, is
+     * returned as a removed copy that is not part of the transaction.
+     */
+    <E extends TinkerElement> E write(final E element) {
+        final Context context = context();
+        TinkerElement written = context.writes.get(element);
+        if (null == written) {
+            final E visible = visible(element, context.version);
+            if (visible.removed)
+                return visible;
+            written = visible.copy();
+            context.writes.put(element, written);
+        }
+        return (E) written;
+    }
+
+    /**
+     * Makes a newly created element part of the transaction of the current thread so that it is only seen by others
+     * once committed.
+     */
+    void add(final TinkerElement element) {
+        final Context context = context();
+        context.writes.put(element, element.copy());
+        if (element instanceof TinkerVertex || element instanceof TinkerEdge)
+            context.added.add(element);
+    }
+
+    boolean isVisible(final TinkerElement element) {
+        if (TinkerHelper.inComputerMode(this.graph)) {
+            final Version newest = element.versions;
+            return null != newest && !newest.element.removed;
+        }
+        return !read(element).removed;
+    }
+
+    /**
+     * Forgets the elements whose older versions were being kept when the graph is cleared.
+     */
+    synchronized void clear() {
+        this.retained.clear();
+    }
+
+    private Context context() {
+        Context context = this.context.get();
+        if (null == context) {
+            readWrite();
+            context = this.context.get();
+        }
+        return context;
+    }
+
+    private static <E extends TinkerElement> E visible(final E element, final long version) {
+        for (Version v = element.versions; v != null; v = v.previous) {
+            if (v.version <= version)
+                return (E) v.element;
+        }
+
+        final TinkerElement removed = element.copy();
+        removed.removed = true;
+        return (E) removed;
+    }
+
+    /**
+     * Drops the versions that no open transaction can read anymore and unlinks the elements whose removal every open
+     * transaction can see.
+     */
+    private void prune() {
+        long oldest = this.committedVersion;
+        for (Context context : this.open) {
+            oldest = Math.min(oldest, context.version);
+        }
+
+        final long readable = oldest;
+        this.retained.removeIf(element -> {
+            final Version newest = element.versions;
+            Version v = newest;
+            while (v.version > readable && null != v.previous) {
+                v = v.previous;
+            }
+            v.previous = null;
+
+            if (newest.version > readable)
+                return newest == v && !newest.element.removed;
+
+            if (newest.element.removed) unlink(element);
+            return true;
+        });
+    }
+
+    private void discard(final Context context) {
+        context.added.forEach(this::unlink);
+        context.writes.clear();
+        context.added.clear();
+    }
+
+    private void close(final Context context) {
+        this.open.remove(context);
+        this.context.remove();
+    }
+
+    private void unlink(final TinkerElement element) {
+        if (element instanceof TinkerVertex) {
+            if (this.graph.vertices.remove(element.id(), element))
+                TinkerHelper.removeLabelIndex(this.graph.verticesByLabel, (TinkerVertex) element);
+        } else if (element instanceof TinkerEdge) {
+            if (this.graph.edges.remove(element.id(), element))
+                TinkerHelper.removeLabelIndex(this.graph.edgesByLabel, (TinkerEdge) element);
+        }
+    }
+
+    /**
+     * A committed state of an element along with the version of the commit that produced it.
+     */
+    static final class Version {
+        private final TinkerElement element;
+        private final long version;
+        private Version previous;
+
+        private Version(final TinkerElement element, final long version, final Version previous) {
+            this.element = element;
+            this.version = version;
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * The snapshot read by the transaction of a thread along with the copies of the elements it changed.
+     */
+    private static final class Context {
+        private long version;
+        private final Map<TinkerElement, TinkerElement> writes = new IdentityHashMap<>();
+        private final List<TinkerElement> added = new ArrayList<>();
+
+        private Context(final long version) {
+            this.version = version;
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
@@ -29,7 +30,7 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +49,11 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
     private final TinkerGraph graph;
     private boolean allowNullPropertyValues;
 
+    /**
+     * The row of the vertex in the {@link TinkerPropertyColumns} of the graph or {@code -1} if it has none.
+     */
+    int row = -1;
+
     protected TinkerVertex(final Object id, final String label, final TinkerGraph graph) {
         super(id, label);
         this.graph = graph;
@@ -61,7 +67,8 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public <V> VertexProperty<V> property(final String key) {
-        if (this.removed) return VertexProperty.empty();
+        final TinkerVertex state = state();
+        if (state.removed) return VertexProperty.empty();
         if (TinkerHelper.inComputerMode(this.graph)) {
             final List<VertexProperty> list = (List) this.graph.graphComputerView.getProperty(this, key);
             if (list.size() == 0)
@@ -71,12 +78,15 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
             else
                 throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
         } else {
-            if (this.properties != null && this.properties.containsKey(key)) {
-                final List<VertexProperty> list = (List) this.properties.get(key);
+            if (state.properties != null && state.properties.containsKey(key)) {
+                final List<VertexProperty> list = (List) state.properties.get(key);
                 if (list.size() > 1)
                     throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
                 else
                     return list.get(0);
+            } else if (null != this.graph.propertyColumns) {
+                final VertexProperty<V> vertexProperty = this.graph.propertyColumns.get(state, key);
+                return null == vertexProperty ? VertexProperty.<V>empty() : vertexProperty;
             } else
                 return VertexProperty.<V>empty();
         }
@@ -84,7 +94,7 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public <V> VertexProperty<V> property(final VertexProperty.Cardinality cardinality, final String key, final V value, final Object... keyValues) {
-        if (this.removed) throw elementAlreadyRemoved(Vertex.class, id);
+        if (state().removed) throw elementAlreadyRemoved(Vertex.class, id);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         ElementHelper.validateProperty(key, value);
 
@@ -106,46 +116,107 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
         } else {
-            final Object idValue = optionalId.isPresent() ?
-                    graph.vertexPropertyIdManager.convert(optionalId.get()) :
-                    graph.vertexPropertyIdManager.getNextId(graph);
+            try (final TinkerJournal.Mutation ignored = TinkerJournal.mutation(this.graph)) {
+                final Object idValue = optionalId.isPresent() ?
+                        graph.vertexPropertyIdManager.convert(optionalId.get()) :
+                        graph.vertexPropertyIdManager.getNextId(graph);
 
-            final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
+                final String propertyKey = TinkerHelper.internKey(this.graph, key);
+                final TinkerVertex state = mutableState();
+                final TinkerPropertyColumns columns = this.graph.propertyColumns;
+                final VertexProperty<V> vertexProperty;
+                if (null != columns && !hasMetaProperties(keyValues) && !columns.contains(state, propertyKey) &&
+                        (null == state.properties || !state.properties.containsKey(propertyKey))) {
+                    vertexProperty = columns.put(state, idValue, propertyKey, value);
+                } else {
+                    // a second value of a key moves the first out of the columns as they hold one value per key
+                    if (null != columns) {
+                        final TinkerVertexProperty<?> columnProperty = columns.remove(state, propertyKey);
+                        if (null != columnProperty) addProperty(state, columnProperty);
+                    }
+                    vertexProperty = new TinkerVertexProperty<V>(idValue, this, propertyKey, value);
+                    if (null != this.graph.transaction) this.graph.transaction.add((TinkerVertexProperty) vertexProperty);
+                    addProperty(state, vertexProperty);
+                }
+                if (null != this.graph.journal) this.graph.journal.addVertexProperty(vertexProperty);
+                TinkerHelper.autoUpdateIndex(this, key, value, null);
+                TinkerHelper.addTextIndex(this.graph, vertexProperty);
+                ElementHelper.attachProperties(vertexProperty, keyValues);
+                return vertexProperty;
+            }
+        }
+    }
 
-            if (null == this.properties) this.properties = new HashMap<>();
-            final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
-            list.add(vertexProperty);
-            this.properties.put(key, list);
-            TinkerHelper.autoUpdateIndex(this, key, value, null);
-            ElementHelper.attachProperties(vertexProperty, keyValues);
-            return vertexProperty;
+    /**
+     * Moves a vertex property that is held in the {@link TinkerPropertyColumns} of the graph to the vertex so that
+     * it can be given meta-properties.
+     */
+    void detachFromColumns(final TinkerVertexProperty<?> vertexProperty) {
+        final TinkerVertex state = mutableState();
+        this.graph.propertyColumns.remove(state, vertexProperty.key());
+        addProperty(state, vertexProperty);
+    }
+
+    private void addProperty(final TinkerVertex state, final VertexProperty<?> vertexProperty) {
+        if (null == state.properties) state.properties = TinkerHelper.createProperties(this.graph);
+        List<VertexProperty> list = state.properties.get(vertexProperty.key());
+        if (null == list) {
+            // most keys hold a single value so the list is sized to fit it when properties are compact
+            list = this.graph.compactProperties ? new ArrayList<>(1) : new ArrayList<>();
+            state.properties.put(vertexProperty.key(), list);
+        }
+        list.add(vertexProperty);
+    }
+
+    private static boolean hasMetaProperties(final Object... keyValues) {
+        for (int i = 0; i < keyValues.length; i = i + 2) {
+            if (!keyValues[i].equals(T.id) && !keyValues[i].equals(T.label))
+                return true;
         }
+        return false;
     }
 
     @Override
     public Set<String> keys() {
-        if (null == this.properties) return Collections.emptySet();
-        return TinkerHelper.inComputerMode((TinkerGraph) graph()) ?
-                Vertex.super.keys() :
-                this.properties.keySet();
+        final TinkerVertex state = state();
+        if (null == this.graph.propertyColumns || TinkerHelper.inComputerMode(this.graph)) {
+            if (null == state.properties) return Collections.emptySet();
+            return TinkerHelper.inComputerMode(this.graph) ?
+                    Vertex.super.keys() :
+                    state.properties.keySet();
+        }
+
+        final Set<String> keys = null == state.properties ? new HashSet<>() : new HashSet<>(state.properties.keySet());
+        this.graph.propertyColumns.forEach(state, vertexProperty -> keys.add(vertexProperty.key()));
+        return keys;
     }
 
     @Override
     public Edge addEdge(final String label, final Vertex vertex, final Object... keyValues) {
         if (null == vertex) throw Graph.Exceptions.argumentCanNotBeNull("vertex");
-        if (this.removed) throw elementAlreadyRemoved(Vertex.class, this.id);
+        if (state().removed) throw elementAlreadyRemoved(Vertex.class, this.id);
         return TinkerHelper.addEdge(this.graph, this, (TinkerVertex) vertex, label, keyValues);
     }
 
     @Override
     public void remove() {
-        final List<Edge> edges = new ArrayList<>();
-        this.edges(Direction.BOTH).forEachRemaining(edges::add);
-        edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
-        this.properties = null;
-        TinkerHelper.removeElementIndex(this);
-        this.graph.vertices.remove(this.id);
-        this.removed = true;
+        try (final TinkerJournal.Mutation ignored = TinkerJournal.mutation(this.graph)) {
+            final List<Edge> edges = new ArrayList<>();
+            this.edges(Direction.BOTH).forEachRemaining(edges::add);
+            edges.stream().filter(edge -> !((TinkerEdge) edge).state().removed).forEach(Edge::remove);
+            TinkerHelper.removeElementTextIndex(this.graph, this);
+            final TinkerVertex state = mutableState();
+            state.properties = null;
+            if (null != this.graph.propertyColumns) this.graph.propertyColumns.release(state);
+            TinkerHelper.removeElementIndex(this);
+            // a transactional graph keeps the vertex for the transactions that can still see it until none can
+            if (null == this.graph.transaction) {
+                this.graph.vertices.remove(this.id);
+                TinkerHelper.removeLabelIndex(this.graph.verticesByLabel, this);
+            }
+            state.removed = true;
+            if (null != this.graph.journal) this.graph.journal.removeVertex(this);
+        }
     }
 
     @Override
@@ -174,22 +245,66 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public <V> Iterator<VertexProperty<V>> properties(final String... propertyKeys) {
-        if (this.removed) return Collections.emptyIterator();
+        final TinkerVertex state = state();
+        if (state.removed) return Collections.emptyIterator();
         if (TinkerHelper.inComputerMode((TinkerGraph) graph()))
             return (Iterator) ((TinkerGraph) graph()).graphComputerView.getProperties(TinkerVertex.this).stream().filter(p -> ElementHelper.keyExists(p.key(), propertyKeys)).iterator();
         else {
-            if (null == this.properties) return Collections.emptyIterator();
+            final TinkerPropertyColumns columns = this.graph.propertyColumns;
+            if (null == state.properties && null == columns) return Collections.emptyIterator();
             if (propertyKeys.length == 1) {
-                final List<VertexProperty> properties = this.properties.getOrDefault(propertyKeys[0], Collections.emptyList());
+                final List<VertexProperty> properties = null == state.properties ?
+                        Collections.emptyList() : state.properties.getOrDefault(propertyKeys[0], Collections.emptyList());
                 if (properties.size() == 1) {
                     return IteratorUtils.of(properties.get(0));
                 } else if (properties.isEmpty()) {
-                    return Collections.emptyIterator();
+                    final VertexProperty<V> vertexProperty = null == columns ? null : columns.get(state, propertyKeys[0]);
+                    return null == vertexProperty ? Collections.emptyIterator() : IteratorUtils.of(vertexProperty);
                 } else {
                     return (Iterator) new ArrayList<>(properties).iterator();
                 }
-            } else
-                return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).flatMap(entry -> entry.getValue().stream()).collect(Collectors.toList()).iterator();
+            } else if (null == columns) {
+                return (Iterator) state.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).flatMap(entry -> entry.getValue().stream()).collect(Collectors.toList()).iterator();
+            } else {
+                final List<VertexProperty> properties = new ArrayList<>();
+                if (null != state.properties)
+                    state.properties.forEach((key, list) -> {
+                        if (ElementHelper.keyExists(key, propertyKeys)) properties.addAll(list);
+                    });
+                columns.forEach(state, vertexProperty -> {
+                    if (ElementHelper.keyExists(vertexProperty.key(), propertyKeys)) properties.add(vertexProperty);
+                });
+                return (Iterator) properties.iterator();
+            }
+        }
+    }
+
+    /**
+     * Gets the state of the vertex that is visible to the current transaction, which is the vertex itself unless the
+     * graph is transactional.
+     */
+    TinkerVertex state() {
+        return null == this.graph.transaction ? this : this.graph.transaction.read(this);
+    }
+
+    /**
+     * Gets the state of the vertex that the current transaction may change, which is the vertex itself unless the
+     * graph is transactional.
+     */
+    TinkerVertex mutableState() {
+        return null == this.graph.transaction ? this : this.graph.transaction.write(this);
+    }
+
+    @Override
+    TinkerVertex copy() {
+        final TinkerVertex vertex = new TinkerVertex(this.id, this.label, this.graph);
+        if (null != this.properties) {
+            vertex.properties = TinkerHelper.createProperties(this.graph);
+            this.properties.forEach((key, list) -> vertex.properties.put(key, new ArrayList<>(list)));
         }
+        vertex.outEdges = TinkerHelper.copyAdjacency(this.graph, this.outEdges);
+        vertex.inEdges = TinkerHelper.copyAdjacency(this.graph, this.inEdges);
+        vertex.removed = this.removed;
+        return vertex;
     }
 }
@@ -28,8 +28,8 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComp
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -105,27 +105,37 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public Set<String> keys() {
-        return null == this.properties ? Collections.emptySet() : this.properties.keySet();
+        final TinkerVertexProperty<V> state = state();
+        return null == state.properties ? Collections.emptySet() : state.properties.keySet();
     }
 
     @Override
     public <U> Property<U> property(final String key) {
-        return null == this.properties ? Property.<U>empty() : this.properties.getOrDefault(key, Property.<U>empty());
+        final TinkerVertexProperty<V> state = state();
+        return null == state.properties ? Property.<U>empty() : state.properties.getOrDefault(key, Property.<U>empty());
     }
 
     @Override
     public <U> Property<U> property(final String key, final U value) {
-        if (this.removed) throw elementAlreadyRemoved(VertexProperty.class, id);
+        if (state().removed) throw elementAlreadyRemoved(VertexProperty.class, id);
 
         if ((!allowNullPropertyValues && null == value)) {
             properties(key).forEachRemaining(Property::remove);
             return Property.empty();
         }
 
-        final Property<U> property = new TinkerProperty<>(this, key, value);
-        if (this.properties == null) this.properties = new HashMap<>();
-        this.properties.put(key, property);
-        return property;
+        final TinkerGraph graph = (TinkerGraph) this.vertex.graph();
+        try (final TinkerJournal.Mutation ignored = TinkerJournal.mutation(graph)) {
+            if (null != graph.propertyColumns && graph.propertyColumns.holds(this)) this.vertex.detachFromColumns(this);
+            final Property<U> property = new TinkerProperty<>(this, TinkerHelper.internKey(graph, key), value);
+            final TinkerVertexProperty<V> state = mutableState();
+            if (state.properties == null) state.properties = TinkerHelper.createProperties(graph);
+            final Property<U> oldProperty = state.properties.put(property.key(), property);
+            if (null != oldProperty) TinkerHelper.removeTextIndex(graph, oldProperty);
+            TinkerHelper.addTextIndex(graph, property);
+            if (null != graph.journal && isAttached()) graph.journal.setProperty(property);
+            return property;
+        }
     }
 
     @Override
@@ -135,31 +145,91 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public void remove() {
-        if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
-            this.vertex.properties.get(this.key).remove(this);
-            if (this.vertex.properties.get(this.key).size() == 0) {
-                this.vertex.properties.remove(this.key);
+        final TinkerGraph graph = (TinkerGraph) this.vertex.graph();
+        try (final TinkerJournal.Mutation ignored = TinkerJournal.mutation(graph)) {
+            if (null != graph.propertyColumns && graph.propertyColumns.holds(this)) {
+                // the only value of the key on the vertex so nothing else can keep it in the index
+                graph.propertyColumns.remove(this.vertex, this.key);
                 TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                TinkerHelper.removeTextIndex(graph, this);
+                this.removed = true;
+                if (null != graph.journal) graph.journal.removeVertexProperty(this);
+                return;
+            }
+
+            final TinkerVertex vertex = this.vertex.state();
+            if (null != vertex.properties && vertex.properties.containsKey(this.key)) {
+                final Map<String, List<VertexProperty>> properties = this.vertex.mutableState().properties;
+                properties.get(this.key).remove(this);
+                if (properties.get(this.key).size() == 0) {
+                    properties.remove(this.key);
+                    TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                }
+                final AtomicBoolean delete = new AtomicBoolean(true);
+                this.vertex.properties(this.key).forEachRemaining(property -> {
+                    final Object currentPropertyValue = property.value();
+                    if ((currentPropertyValue != null && currentPropertyValue.equals(this.value) || null == currentPropertyValue && null == this.value))
+                        delete.set(false);
+                });
+                if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                TinkerHelper.removeTextIndex((TinkerGraph) this.vertex.graph(), this);
+                final TinkerVertexProperty<V> state = mutableState();
+                state.properties = null;
+                state.removed = true;
+                if (null != graph.journal) graph.journal.removeVertexProperty(this);
             }
-            final AtomicBoolean delete = new AtomicBoolean(true);
-            this.vertex.properties(this.key).forEachRemaining(property -> {
-                final Object currentPropertyValue = property.value();
-                if ((currentPropertyValue != null && currentPropertyValue.equals(this.value) || null == currentPropertyValue && null == this.value))
-                    delete.set(false);
-            });
-            if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
-            this.properties = null;
-            this.removed = true;
         }
     }
 
+    /**
+     * Determines if this property belongs to its vertex, as opposed to one that is still being constructed or that
+     * only exists in a {@link org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView}.
+     */
+    boolean isAttached() {
+        final TinkerVertex vertex = this.vertex.state();
+        final TinkerPropertyColumns columns = ((TinkerGraph) this.vertex.graph()).propertyColumns;
+        return (null != vertex.properties &&
+                vertex.properties.getOrDefault(this.key, Collections.emptyList()).contains(this)) ||
+                (null != columns && columns.holds(this));
+    }
+
     @Override
     public <U> Iterator<Property<U>> properties(final String... propertyKeys) {
-        if (null == this.properties) return Collections.emptyIterator();
+        final TinkerVertexProperty<V> state = state();
+        if (null == state.properties) return Collections.emptyIterator();
         if (propertyKeys.length == 1) {
-            final Property<U> property = this.properties.get(propertyKeys[0]);
+            final Property<U> property = state.properties.get(propertyKeys[0]);
             return null == property ? Collections.emptyIterator() : IteratorUtils.of(property);
         } else
-            return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).map(entry -> entry.getValue()).collect(Collectors.toList()).iterator();
+            return (Iterator) state.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).map(entry -> entry.getValue()).collect(Collectors.toList()).iterator();
+    }
+
+    /**
+     * Gets the state of the vertex property that is visible to the current transaction, which is the vertex property
+     * itself unless the graph is transactional.
+     */
+    TinkerVertexProperty<V> state() {
+        final TinkerTransaction transaction = ((TinkerGraph) this.vertex.graph()).transaction;
+        return null == transaction ? this : transaction.read(this);
+    }
+
+    /**
+     * Gets the state of the vertex property that the current transaction may change, which is the vertex property
+     * itself unless the graph is transactional.
+     */
+    TinkerVertexProperty<V> mutableState() {
+        final TinkerTransaction transaction = ((TinkerGraph) this.vertex.graph()).transaction;
+        return null == transaction ? this : transaction.write(this);
+    }
+
+    @Override
+    TinkerVertexProperty<V> copy() {
+        final TinkerVertexProperty<V> vertexProperty = new TinkerVertexProperty<>(this.id, this.vertex, this.key, this.value);
+        if (null != this.properties) {
+            vertexProperty.properties = TinkerHelper.createProperties((TinkerGraph) this.vertex.graph());
+            vertexProperty.properties.putAll(this.properties);
+        }
+        vertexProperty.removed = this.removed;
+        return vertexProperty;
     }
 }
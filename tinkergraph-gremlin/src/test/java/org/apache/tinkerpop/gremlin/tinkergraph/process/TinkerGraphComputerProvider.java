@@ -46,6 +46,7 @@ public class TinkerGraphComputerProvider extends TinkerGraphProvider {
             put(VertexProgramStrategy.GRAPH_COMPUTER, RANDOM.nextBoolean() ?
                     GraphComputer.class.getCanonicalName() :
                     TinkerGraphComputer.class.getCanonicalName());
+            put(TinkerGraphComputer.GREMLIN_TINKERGRAPH_COMPUTER_WORK_STEALING, RANDOM.nextBoolean());
         }})));
     }
 }
@@ -26,8 +26,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequire
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerDegreeCentralityFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
+import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerTextIndexSearchFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerTextSearchFactory;
 import org.apache.tinkerpop.gremlin.util.function.TriFunction;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -37,6 +39,7 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -164,6 +167,51 @@ public class TinkerGraphServiceTest {
 
     }
 
+    /**
+     * Demonstrate / test the inverted index text search service.
+     */
+    @Test
+    public void g_call_search_text() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final GraphTraversalSource g = graph.traversal();
+        graph.getServiceRegistry().registerService(new TinkerTextIndexSearchFactory(graph));
+
+        checkResults(Arrays.asList("vp[name->marko]"),
+                g.call("tinker.search.text", asMap("search", "Marko")).map(t -> t.get().toString()));
+        checkResults(Arrays.asList("vp[name->marko]"),
+                g.call("tinker.search.text", asMap("search", "mar*")).map(t -> t.get().toString()));
+        checkResults(Arrays.asList("vp[lang->java]", "vp[lang->java]"),
+                g.call("tinker.search.text").with("search", "java").with("type", "Vertex").map(t -> t.get().toString()));
+        checkResults(Collections.emptyList(),
+                g.call("tinker.search.text").with("search", "java").with("type", "Edge"));
+
+        /*
+         * The index follows mutations of vertex properties, meta-properties and edge properties.
+         */
+        final Vertex v = g.addV("person").property("name", "stephen hawking").next();
+        checkResults(Arrays.asList("vp[name->stephen hawking]"),
+                g.call("tinker.search.text", asMap("search", "hawking stephen")).map(t -> t.get().toString()));
+        checkResults(Collections.emptyList(), g.call("tinker.search.text", asMap("search", "stephen marko")));
+
+        g.V(v).properties("name").property("nickname", "steve").iterate();
+        checkResults(Arrays.asList("p[nickname->steve]"),
+                g.call("tinker.search.text").with("search", "steve").with("type", "VertexProperty").map(t -> t.get().toString()));
+
+        g.V(v).property(VertexProperty.Cardinality.single, "name", "stephen").iterate();
+        checkResults(Collections.emptyList(), g.call("tinker.search.text", asMap("search", "hawking")));
+        checkResults(Collections.emptyList(), g.call("tinker.search.text", asMap("search", "steve")));
+
+        g.E(7).property("weight", "very heavy").iterate();
+        checkResults(Arrays.asList("p[weight->very heavy]"),
+                g.call("tinker.search.text", asMap("search", "heavy")).map(t -> t.get().toString()));
+        g.E(7).property("weight", "light").iterate();
+        checkResults(Collections.emptyList(), g.call("tinker.search.text", asMap("search", "heavy")));
+
+        g.V().has("name", "marko").drop().iterate();
+        checkResults(Collections.emptyList(), g.call("tinker.search.text", asMap("search", "marko")));
+        checkResults(Collections.emptyList(), g.call("tinker.search.text", asMap("search", "light")));
+    }
+
     @Test
     public void g_V_call_degree_centrality() {
         assertArrayEquals(new String[] {
@@ -23,14 +23,21 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ConnectedComponent;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.PageRank;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.AbstractLambdaTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.SpillStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.HashJoinStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ComputerVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReservedKeysVerificationStrategy;
@@ -38,6 +45,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.Veri
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -56,7 +64,10 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoClassResolverV1d0;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
@@ -83,7 +94,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -91,10 +109,16 @@ import java.util.function.Supplier;
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeThat;
@@ -328,6 +352,382 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseRangeIndexForVertexComparisons() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27);
+        g.addVertex("name", "josh", "age", 32L);
+        g.addVertex("name", "peter", "age", 35);
+        g.addVertex("name", "stephen", "age", "unknown");
+
+        // spy into the pipeline with a fake BiPredicate on "name" - only those vertices selected from the range
+        // index by "age" should be tested against it
+        final List<Object> seen = new ArrayList<>();
+        final P<Object> spy = P.test((t, u) -> seen.add(t), "spy");
+        assertEquals(Arrays.asList("josh", "peter"),
+                g.traversal().V().has("age", P.gt(30)).has("name", spy).<String>values("name").order().toList());
+        assertEquals(2, seen.size());
+
+        seen.clear();
+        assertEquals(Arrays.asList("marko", "vadas"),
+                g.traversal().V().has("age", P.between(27, 30)).has("name", spy).<String>values("name").order().toList());
+        assertEquals(2, seen.size());
+
+        seen.clear();
+        assertEquals(Collections.singletonList("marko"),
+                g.traversal().V().has("age", P.inside(27, 32)).has("name", spy).<String>values("name").toList());
+        assertEquals(1, seen.size());
+
+        seen.clear();
+        assertEquals(Arrays.asList("peter", "vadas"),
+                g.traversal().V().has("age", P.outside(28, 32)).has("name", spy).<String>values("name").order().toList());
+        assertEquals(2, seen.size());
+
+        seen.clear();
+        assertEquals(Collections.singletonList("vadas"),
+                g.traversal().V().has("age", P.lt(29)).has("name", spy).<String>values("name").toList());
+        assertEquals(1, seen.size());
+
+        seen.clear();
+        assertEquals(Collections.singletonList("stephen"),
+                g.traversal().V().has("age", P.gte("a")).has("name", spy).<String>values("name").toList());
+        assertEquals(1, seen.size());
+
+        assertEquals(Collections.singletonList("josh"), g.traversal().V().has("age", 32).<String>values("name").toList());
+    }
+
+    @Test
+    public void shouldUseRangeIndexForOrderLimit() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27);
+        g.addVertex("name", "josh", "age", 32);
+        g.addVertex("name", "peter", "age", 35);
+        g.addVertex("name", "lop");
+
+        final List<Object> seen = new ArrayList<>();
+        final P<Object> spy = P.test((t, u) -> seen.add(t), "spy");
+        assertEquals(Arrays.asList("vadas", "marko"),
+                g.traversal().V().has("name", spy).order().by("age").limit(2).<String>values("name").toList());
+        assertEquals(2, seen.size());
+
+        seen.clear();
+        assertEquals(Arrays.asList("peter", "josh", "marko"),
+                g.traversal().V().has("name", spy).order().by("age", Order.desc).limit(3).<String>values("name").toList());
+        assertEquals(3, seen.size());
+
+        seen.clear();
+        assertEquals(Collections.singletonList("josh"),
+                g.traversal().V().has("age", P.gt(29)).has("name", spy).order().by("age").limit(1).<String>values("name").toList());
+        assertEquals(1, seen.size());
+
+        assertEquals(Arrays.asList("vadas", "marko", "josh", "peter"),
+                g.traversal().V().order().by("age").limit(10).<String>values("name").toList());
+    }
+
+    @Test
+    public void shouldUpdateRangeIndicesOnMutation() {
+        final TinkerGraph g = TinkerGraph.open();
+
+        final Vertex v1 = g.addVertex("name", "marko", "age", 29);
+        final Vertex v2 = g.addVertex("name", "josh", "age", 32);
+        v1.addEdge("knows", v2, "weight", 1.0d);
+        final Edge e2 = v1.addEdge("created", v1, "weight", 0.4d);
+
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.RANGE);
+        assertEquals(Collections.singleton("age"), g.getIndexedKeys(Vertex.class, TinkerGraph.IndexType.RANGE));
+        assertEquals(Collections.emptySet(), g.getIndexedKeys(Vertex.class, TinkerGraph.IndexType.HASH));
+
+        assertEquals(1, g.traversal().V().has("age", P.gt(30)).count().next().intValue());
+        assertEquals(1, g.traversal().E().has("weight", P.gte(0.5)).count().next().intValue());
+
+        v1.property("age", 31);
+        assertEquals(2, g.traversal().V().has("age", P.gt(30)).count().next().intValue());
+
+        v2.remove();
+        assertEquals(1, g.traversal().V().has("age", P.gt(30)).count().next().intValue());
+        assertEquals(0, g.traversal().E().has("weight", P.gte(0.5)).count().next().intValue());
+
+        e2.property("weight", 0.6d);
+        assertEquals(1, g.traversal().E().has("weight", P.gte(0.5)).count().next().intValue());
+
+        // replacing the range index with a hash index must not lose data
+        g.createIndex("age", Vertex.class);
+        assertEquals(Collections.singleton("age"), g.getIndexedKeys(Vertex.class, TinkerGraph.IndexType.HASH));
+        assertEquals(1, g.traversal().V().has("age", P.gt(30)).count().next().intValue());
+        assertEquals(1, g.traversal().V().has("age", 31).count().next().intValue());
+    }
+
+    @Test
+    public void shouldUseCompositeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Vertex.class, T.label, "country", "city");
+        assertEquals(Collections.singleton(Arrays.asList("~label", "country", "city")), g.getCompositeIndexedKeys(Vertex.class));
+
+        g.addVertex(T.label, "person", "name", "marko", "country", "NO", "city", "Oslo");
+        g.addVertex(T.label, "person", "name", "vadas", "country", "NO", "city", "Bergen");
+        g.addVertex(T.label, "person", "name", "josh", "country", "SE", "city", "Oslo");
+        g.addVertex(T.label, "company", "name", "lop", "country", "NO", "city", "Oslo");
+        final Vertex peter = g.addVertex(T.label, "person", "name", "peter", "country", "NO");
+
+        // spy into the pipeline with a fake BiPredicate on "name" - only the vertices selected from the composite
+        // index should be tested against it
+        final List<Object> seen = new ArrayList<>();
+        final P<Object> spy = P.test((t, u) -> seen.add(t), "spy");
+        assertEquals(Collections.singletonList("marko"),
+                g.traversal().V().hasLabel("person").has("country", "NO").has("city", "Oslo").has("name", spy).values("name").toList());
+        assertEquals(Collections.singletonList("marko"), seen);
+        assertThat(g.traversal().V().hasLabel("person").has("country", "NO").has("city", "Oslo").explain().toString(),
+                containsString("index:composite(~label,country,city)"));
+
+        // index is maintained when a key is mutated
+        seen.clear();
+        peter.property("city", "Oslo");
+        assertEquals(Arrays.asList("marko", "peter"),
+                g.traversal().V().hasLabel("person").has("country", "NO").has("city", "Oslo").has("name", spy).<String>values("name").order().toList());
+        assertEquals(2, seen.size());
+
+        peter.property("city").remove();
+        assertEquals(1, g.traversal().V().hasLabel("person").has("country", "NO").has("city", "Oslo").count().next().intValue());
+
+        g.traversal().V().has("name", "marko").drop().iterate();
+        assertEquals(0, g.traversal().V().hasLabel("person").has("country", "NO").has("city", "Oslo").count().next().intValue());
+
+        // the index is not applicable if one of the keys is not constrained by equality
+        assertThat(g.traversal().V().hasLabel("person").has("country", "NO").explain().toString(),
+                not(containsString("index:composite")));
+
+        g.dropCompositeIndex(Vertex.class, T.label, "country", "city");
+        assertEquals(0, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(1, g.traversal().V().hasLabel("company").has("country", "NO").has("city", "Oslo").count().next().intValue());
+    }
+
+    @Test
+    public void shouldUseCompositeIndexWithMultiPropertiesAndEdges() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex(T.label, "person", "name", "marko");
+        v.property(VertexProperty.Cardinality.list, "location", "santa cruz");
+        v.property(VertexProperty.Cardinality.list, "location", "brussels");
+        v.addEdge("knows", v, "weight", 0.5d, "since", 2010);
+        v.addEdge("knows", v, "weight", 0.5d, "since", 2011);
+
+        g.createCompositeIndex(Vertex.class, "name", "location");
+        g.createCompositeIndex(Edge.class, "weight", "since");
+
+        assertEquals(1, g.traversal().V().has("location", "brussels").has("name", "marko").count().next().intValue());
+        assertEquals(1, g.traversal().V().has("location", "santa cruz").has("name", "marko").count().next().intValue());
+        assertEquals(0, g.traversal().V().has("location", "oslo").has("name", "marko").count().next().intValue());
+        assertEquals(1, g.traversal().E().has("since", 2011).has("weight", 0.5d).count().next().intValue());
+        assertThat(g.traversal().E().has("since", 2011).has("weight", 0.5d).explain().toString(),
+                containsString("index:composite(weight,since)"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithOnlyLabel() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Vertex.class, T.label);
+    }
+
+    @Test
+    public void shouldMaintainLabelIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex marko = g.addVertex(T.label, "person", "name", "marko");
+        final Vertex vadas = g.addVertex(T.label, "person", "name", "vadas");
+        final Vertex lop = g.addVertex(T.label, "software", "name", "lop");
+        final Edge e = marko.addEdge("knows", vadas);
+        marko.addEdge("created", lop);
+
+        final List<Object> seen = new ArrayList<>();
+        final P<Object> spy = P.test((t, u) -> seen.add(t), "spy");
+        assertEquals(Collections.singletonList("lop"), g.traversal().V().hasLabel("software").has("name", spy).values("name").toList());
+        assertEquals(Collections.singletonList("lop"), seen);
+        assertEquals(3, g.traversal().V().hasLabel("person", "software").count().next().intValue());
+        assertEquals(1, g.traversal().E().hasLabel("knows").count().next().intValue());
+        assertThat(g.traversal().V().hasLabel("software").explain().toString(), containsString("index:label"));
+
+        vadas.remove();
+        assertEquals(1, g.traversal().V().hasLabel("person").count().next().intValue());
+        assertEquals(1, g.traversal().V().hasLabel("person").toList().size());
+        assertEquals(0, g.traversal().E().hasLabel("knows").count().next().intValue());
+        assertEquals(Collections.emptySet(), TinkerHelper.getEdges(g, "knows"));
+        assertTrue(((TinkerEdge) e).removed);
+
+        g.clear();
+        assertEquals(0, g.traversal().V().hasLabel("software").count().next().intValue());
+    }
+
+    @Test
+    public void shouldUseCompactAdjacency() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+
+        final Vertex hub = graph.addVertex("hub");
+        final List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Vertex v = graph.addVertex("spoke");
+            v.property("i", i);
+            edges.add(hub.addEdge(i % 2 == 0 ? "even" : "odd", v));
+            v.addEdge("back", hub);
+        }
+        hub.addEdge("self", hub);
+
+        assertThat(((TinkerVertex) hub).outEdges.get("even"), instanceOf(TinkerAdjacencySet.class));
+        assertEquals(101, g.V(hub).out().count().next().intValue());
+        assertEquals(50, g.V(hub).out("odd").count().next().intValue());
+        assertEquals(101, g.V(hub).in("back", "self").count().next().intValue());
+        assertEquals(2, g.V(hub).bothE("self").count().next().intValue());
+        assertEquals(4950, g.V(hub).out("even", "odd").values("i").sum().next().intValue());
+
+        edges.get(0).remove();
+        edges.get(99).remove();
+        g.V().has("i", 50).drop().iterate();
+        assertEquals(98, g.V(hub).out().count().next().intValue());
+        assertEquals(97, g.V(hub).out("even", "odd").count().next().intValue());
+        assertEquals(99, g.V(hub).in("back").count().next().intValue());
+        assertEquals(4950 - 99 - 50, g.V(hub).out("even", "odd").values("i").sum().next().intValue());
+        assertEquals(0, g.V(hub).out("even", "odd").has("i", P.within(0, 50, 99)).count().next().intValue());
+
+        g.V(hub).outE().drop().iterate();
+        assertEquals(0, g.V(hub).out().count().next().intValue());
+        assertEquals(0, g.V(hub).in("self").count().next().intValue());
+        assertEquals(99, g.V(hub).in().count().next().intValue());
+    }
+
+    @Test
+    public void shouldUseCompactProperties() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_PROPERTIES, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+
+        final Vertex marko = g.addV("person").property("name", new String("marko")).property("age", 29).next();
+        final Vertex vadas = g.addV("person").property(new String("name"), "vadas").property("age", 27).next();
+        final Edge e = marko.addEdge("knows", vadas, "weight", 0.5d, "since", 2010);
+
+        // single values without meta-properties are held in the columns and viewed on access
+        assertNull(((TinkerVertex) marko).properties);
+        assertEquals(marko.property("name"), marko.property("name"));
+        assertNotSame(marko.property("name"), marko.property("name"));
+        assertThat(((TinkerEdge) e).properties, instanceOf(TinkerPropertyMap.class));
+        assertSame(marko.property("name").key(), vadas.property("name").key());
+        assertEquals(Arrays.asList("marko", "vadas"), g.V().values("name").toList());
+        assertEquals(2010, (int) g.E().values("since").next());
+
+        marko.property("name", "mark", "acl", "public", "since", 2001);
+        assertThat(((TinkerVertex) marko).properties.get("name"), hasSize(2));
+        assertEquals(Arrays.asList("marko", "mark"), g.V(marko).values("name").toList());
+        assertEquals(2001, (int) g.V(marko).properties("name").has("acl", "public").values("since").next());
+        g.V(marko).properties("name").hasValue("marko").drop().iterate();
+        g.V(marko).properties("name").properties("acl").drop().iterate();
+        assertEquals(Collections.singleton("since"), marko.properties("name").next().keys());
+
+        marko.property("age").remove();
+        assertEquals(Collections.singleton("name"), marko.keys());
+        e.property("weight", 1.0d);
+        e.property("since").remove();
+        assertEquals(Collections.singletonMap("weight", 1.0d), g.E(e).valueMap().next());
+
+        graph.createIndex("age", Vertex.class);
+        assertEquals(Collections.singletonList("vadas"), g.V().has("age", 27).values("name").toList());
+
+        // a column of int values takes values of any type once they are mixed
+        g.addV("person").property("age", "unknown").iterate();
+        vadas.property("age").property("acl", "private");
+        assertEquals(Arrays.asList(27, "unknown"), g.V().values("age").toList());
+        assertEquals("private", g.V(vadas).properties("age").values("acl").next());
+
+        graph.clear();
+        assertEquals(0, graph.propertyKeys.size());
+        assertEquals(0, g.V().count().next().intValue());
+    }
+
+    @Test
+    public void shouldEstimateCardinalitiesByLabelAndElementClass() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        graph.createIndex("name", Vertex.class);
+        graph.createIndex("weight", Edge.class);
+
+        assertEquals(1.0d, graph.getAverageDegree(Direction.OUT), 0.001d);
+        assertEquals(2.0d / 6, graph.getAverageDegree(Direction.OUT, "knows"), 0.001d);
+        assertEquals(2.0d * 6 / 6, graph.getAverageDegree(Direction.BOTH, "knows", "created", "knows"), 0.001d);
+        assertEquals(0.0d, graph.getAverageDegree(Direction.IN, "likes"), 0.001d);
+
+        assertEquals(4.0d / 6, graph.getSelectivity(Vertex.class, new HasContainer(T.label.getAccessor(), P.eq("person"))), 0.001d);
+        assertEquals(2.0d / 6, graph.getSelectivity(Edge.class, new HasContainer(T.label.getAccessor(), P.eq("knows"))), 0.001d);
+        assertEquals(1.0d, graph.getSelectivity(Edge.class, new HasContainer(T.label.getAccessor(), P.within("knows", "created"))), 0.001d);
+        assertEquals(1.0d / 6, graph.getSelectivity(Vertex.class, new HasContainer("name", P.eq("marko"))), 0.001d);
+        assertEquals(2.0d / 6, graph.getSelectivity(Edge.class, new HasContainer("weight", P.eq(0.4d))), 0.001d);
+        // the vertex index says nothing about edges
+        assertEquals(0.1d, graph.getSelectivity(Edge.class, new HasContainer("name", P.eq("marko"))), 0.001d);
+    }
+
+    @Test
+    public void shouldReuseColumnRowsOfRemovedVertices() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+
+        final TinkerVertex a = (TinkerVertex) g.addV().property("weight", 0.5d).property("count", 10L).next();
+        final int row = a.row;
+        a.remove();
+        final TinkerVertex b = (TinkerVertex) g.addV().property("count", 20L).next();
+
+        assertEquals(row, b.row);
+        assertEquals(Collections.singleton("count"), b.keys());
+        assertEquals(20L, (long) g.V(b).values("count").next());
+        assertEquals(0, g.V().has("weight").count().next().intValue());
+    }
+
+    @Test
+    public void shouldWriteCompactPropertiesOfDifferentVerticesConcurrently() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final int threads = 8;
+        final int verticesPerThread = 20000;
+        final ExecutorService writers = Executors.newFixedThreadPool(threads);
+        final CyclicBarrier start = new CyclicBarrier(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t * verticesPerThread;
+                futures.add(writers.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < verticesPerThread; i++) {
+                        final int id = offset + i;
+                        final Vertex v = graph.addVertex(T.id, id, "k" + id % 3, id);
+                        // remove some vertices so that their rows are reused by other threads
+                        if (id % 10 == 0) v.remove();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            writers.shutdown();
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(threads * verticesPerThread * 9 / 10, g.V().count().next().intValue());
+        g.V().forEachRemaining(v -> {
+            final int id = (int) v.id();
+            assertEquals(Collections.singleton("k" + id % 3), v.keys());
+            assertEquals(id, (int) v.value("k" + id % 3));
+        });
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -514,6 +914,323 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshot.tgs");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotAndHandleMultiProperties() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshotMulti.tgs");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.toString());
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotWithAnyValues() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshotAny.tgs");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final UUID id = UUID.randomUUID();
+        final Vertex v = graph.addVertex(T.id, id, T.label, "thing", "list", Arrays.asList(1, "two", 3.0d),
+                "flag", true, "f", 1.5f, "s", (short) 2, "b", (byte) 3, "l", 4L);
+        v.addEdge("self", v, T.id, "e", "uuid", id, "name", "\u00fcber");
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final Vertex reloaded = reloadedGraph.vertices(id).next();
+        assertEquals("thing", reloaded.label());
+        assertEquals(Arrays.asList(1, "two", 3.0d), reloaded.value("list"));
+        assertEquals(true, reloaded.value("flag"));
+        assertEquals(1.5f, reloaded.<Float>value("f"), 0.0f);
+        assertEquals((short) 2, (short) reloaded.value("s"));
+        assertEquals((byte) 3, (byte) reloaded.value("b"));
+        assertEquals(4L, (long) reloaded.value("l"));
+        final Edge e = reloadedGraph.edges("e").next();
+        assertEquals(id, e.value("uuid"));
+        assertEquals("\u00fcber", e.value("name"));
+        assertEquals(reloaded, e.inVertex());
+        assertEquals(reloaded, e.outVertex());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldReplayJournal() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldReplayJournal.kryo");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        final File journal = new File(graphLocation + ".journal");
+        if (journal.exists()) journal.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.toString());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        final GraphTraversalSource g = graph.traversal();
+        g.V().has("name", "marko").properties("location").has("startTime", 1997).property("endTime", 2006).iterate();
+        g.V().has("name", "stephen").properties("location").hasValue("purcellville").drop().iterate();
+        g.V().has("name", "gremlin").property(VertexProperty.Cardinality.single, "name", "gremlin2").iterate();
+        g.E().hasLabel("uses").has("skill", 5).property("skill", 6).iterate();
+        g.V().has("name", "tinkergraph").drop().iterate();
+        g.addV("person").property("name", "hsaplin").as("h").V().has("name", "marko").addE("knows").to("h").property("since", 2023).iterate();
+
+        // the graph is not closed so nothing but the journal has been written
+        assertThat(f.exists(), is(false));
+        final Map<String, Object> expected = summarize(graph);
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(expected, summarize(reloadedGraph));
+        reloadedGraph.close();
+
+        // a partially written record at the end of the journal is discarded
+        try (final FileOutputStream out = new FileOutputStream(journal, true)) {
+            out.write(new byte[]{1, 3, 0});
+        }
+        final TinkerGraph reloadedAgain = TinkerGraph.open(conf);
+        assertEquals(expected, summarize(reloadedAgain));
+        reloadedAgain.addVertex("name", "kelvin");
+        reloadedAgain.close();
+
+        assertEquals(1L, TinkerGraph.open(conf).traversal().V().has("name", "kelvin").count().next().longValue());
+    }
+
+    @Test
+    public void shouldCheckpointJournal() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldCheckpointJournal.tgs");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        final File journal = new File(graphLocation + ".journal");
+        if (journal.exists()) journal.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL_CHECKPOINT_SIZE, 256);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.traversal().V().has("name", "vadas").drop().iterate();
+
+        assertThat(f.exists(), is(true));
+        assertThat(journal.length(), lessThan(256L));
+        final Map<String, Object> expected = summarize(graph);
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(expected, summarize(reloadedGraph));
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldReplayJournalOfConcurrentChangesAndCheckpoints() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldReplayJournalOfConcurrentChangesAndCheckpoints.tgs");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        final File journal = new File(graphLocation + ".journal");
+        if (journal.exists()) journal.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL_CHECKPOINT_SIZE, 16 * 1024);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+
+        final int threads = 4;
+        final ExecutorService writers = Executors.newFixedThreadPool(threads + 1);
+        final CyclicBarrier start = new CyclicBarrier(threads + 1);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final String name = "t" + t;
+                futures.add(writers.submit(() -> {
+                    start.await();
+                    Vertex previous = null;
+                    for (int i = 0; i < 2000; i++) {
+                        final Vertex v = graph.addVertex(T.label, name, "i", i);
+                        v.property("name", name + "-" + i);
+                        if (null != previous) previous.addEdge("next", v, "weight", i);
+                        if (i % 7 == 0) v.property("name").remove();
+                        if (i % 11 == 0 && null != previous) previous.remove();
+                        previous = v;
+                    }
+                    return null;
+                }));
+            }
+            // explicit checkpoints race with the automatic ones and the changes
+            futures.add(writers.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20; i++) {
+                    graph.checkpoint();
+                    Thread.sleep(5);
+                }
+                return null;
+            }));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            writers.shutdown();
+        }
+
+        final Map<String, Object> expected = summarize(graph);
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(expected, summarize(reloadedGraph));
+        reloadedGraph.close();
+        graph.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireGraphLocationForJournal() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_JOURNAL, true);
+        TinkerGraph.open(conf);
+    }
+
+    @Test
+    public void shouldIsolateTransactionsWithSnapshots() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_TRANSACTIONAL, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+        final ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            final Vertex marko = graph.addVertex("name", "marko");
+            graph.tx().commit();
+
+            // the reader opens its transaction before the changes below are committed
+            assertEquals(Arrays.asList("marko"), reader.submit(() -> g.V().values("name").toList()).get());
+
+            marko.property("name", "mark");
+            marko.addEdge("knows", graph.addVertex("name", "vadas"));
+            assertEquals(Arrays.asList("vadas"), g.V(marko).out().values("name").toList());
+            assertEquals(Arrays.asList("marko"), reader.submit(() -> g.V().values("name").toList()).get());
+
+            graph.tx().commit();
+            assertEquals(Arrays.asList("marko"), reader.submit(() -> g.V().values("name").toList()).get());
+            assertEquals(0L, reader.submit(() -> g.E().count().next()).get().longValue());
+
+            reader.submit(() -> graph.tx().rollback()).get();
+            assertEquals(Arrays.asList("mark", "vadas"), reader.submit(() -> g.V().values("name").order().toList()).get());
+            assertEquals(1L, reader.submit(() -> g.E().count().next()).get().longValue());
+        } finally {
+            reader.submit(() -> graph.tx().close()).get();
+            reader.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldRollbackTransaction() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_TRANSACTIONAL, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+        final Vertex marko = graph.addVertex("name", "marko");
+        marko.addEdge("knows", graph.addVertex("name", "vadas"), "weight", 0.5d);
+        graph.tx().commit();
+
+        marko.property("name", "mark");
+        marko.addEdge("created", graph.addVertex("name", "lop"));
+        g.E().hasLabel("knows").property("weight", 1.0d).iterate();
+        graph.tx().rollback();
+
+        assertEquals(Arrays.asList("marko", "vadas"), g.V().values("name").order().toList());
+        assertEquals(Arrays.asList(0.5d), g.V(marko).outE().values("weight").toList());
+
+        marko.remove();
+        assertEquals(0L, g.E().count().next().longValue());
+        graph.tx().rollback();
+
+        assertEquals(2L, g.V().count().next().longValue());
+        assertEquals(Arrays.asList("vadas"), g.V(marko).out("knows").values("name").toList());
+        graph.tx().close();
+    }
+
+    @Test
+    public void shouldFailTransactionThatChangedWhatAnotherCommittedFirst() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_TRANSACTIONAL, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+        final ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            final Vertex marko = graph.addVertex("name", "marko", "age", 29);
+            graph.tx().commit();
+
+            writer.submit(() -> marko.property("age", 30)).get();
+            marko.property("age", 31);
+            graph.tx().commit();
+
+            try {
+                writer.submit(() -> graph.tx().commit()).get();
+                fail("The transaction should not commit as the vertex was changed after it opened");
+            } catch (ExecutionException ex) {
+                assertThat(ex.getCause(), instanceOf(TransactionException.class));
+            }
+
+            assertEquals(31, g.V(marko).values("age").next());
+            assertEquals(false, writer.submit(() -> graph.tx().isOpen()).get());
+        } finally {
+            writer.shutdown();
+            graph.tx().close();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotCreateIndexWhenTransactional() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_TRANSACTIONAL, true);
+        TinkerGraph.open(conf).createIndex("name", Vertex.class);
+    }
+
+    /**
+     * Describes every element of the graph with its identifier, label and properties.
+     */
+    private static Map<String, Object> summarize(final TinkerGraph graph) {
+        final Map<String, Object> summary = new TreeMap<>();
+        graph.vertices().forEachRemaining(v -> {
+            final List<String> properties = new ArrayList<>();
+            v.properties().forEachRemaining(vp -> properties.add(vp.id() + ":" + vp + ":" +
+                    new TreeMap<>(ElementHelper.propertyValueMap(vp))));
+            Collections.sort(properties);
+            summary.put("v" + v.id(), v.label() + properties);
+        });
+        graph.edges().forEachRemaining(e -> summary.put("e" + e.id(), e + ":" + new TreeMap<>(ElementHelper.propertyValueMap(e))));
+        return summary;
+    }
+
     @Test
     public void shouldPersistWithRelativePath() {
         final String graphLocation = TestHelper.convertToRelative(TinkerGraphTest.class,
@@ -702,6 +1419,135 @@ public class TinkerGraphTest {
         assertEquals(expected, g.withComputer(Computer.compute().workers(4)).V(1, 2).optional(__.bothE().dedup()).order().by(T.id).toList());
     }
 
+    @Test
+    public void shouldComputePageRankWithWorkStealing() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final GraphTraversalSource g = graph.traversal();
+        final Vertex hub = graph.addVertex(T.id, 0);
+        for (int i = 1; i < 500; i++) {
+            final Vertex v = graph.addVertex(T.id, i);
+            v.addEdge("link", hub);
+            hub.addEdge("link", v);
+            if (i > 1) v.addEdge("link", graph.vertices(i - 1).next());
+        }
+
+        final int workers = Runtime.getRuntime().availableProcessors();
+        final Map<Object, Object> expected = g.withComputer(Computer.compute().workers(workers)).
+                V().pageRank().with(PageRank.propertyName, "pr").group().by(T.id).by(__.values("pr").sum()).next();
+        final Map<Object, Object> actual = g.withComputer(Computer.compute().workers(workers).
+                configure(TinkerGraphComputer.GREMLIN_TINKERGRAPH_COMPUTER_WORK_STEALING, true)).
+                V().pageRank().with(PageRank.propertyName, "pr").group().by(T.id).by(__.values("pr").sum()).next();
+
+        assertEquals(500, actual.size());
+        expected.forEach((id, pr) -> assertEquals(((Number) pr).doubleValue(), ((Number) actual.get(id)).doubleValue(), 0.000001d));
+    }
+
+    @Test
+    public void shouldComputeConnectedComponentsWithActiveVertices() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final GraphTraversalSource g = graph.traversal();
+        Vertex previous = graph.addVertex(T.id, 0);
+        for (int i = 1; i < 100; i++) {
+            final Vertex v = graph.addVertex(T.id, i);
+            if (i != 50) previous.addEdge("link", v);
+            previous = v;
+        }
+
+        final Map<Object, Object> expected = g.withComputer().
+                V().connectedComponent().group().by(T.id).by(ConnectedComponent.component).next();
+        final Map<Object, Object> actual = g.withComputer(Computer.compute().
+                configure(TinkerGraphComputer.GREMLIN_TINKERGRAPH_COMPUTER_ACTIVE_VERTICES, true)).
+                V().connectedComponent().group().by(T.id).by(ConnectedComponent.component).next();
+
+        assertEquals(expected, actual);
+        assertEquals(2, new HashSet<>(actual.values()).size());
+    }
+
+    @Test
+    public void shouldTraverseInParallel() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final GraphTraversalSource g = graph.traversal();
+        for (int i = 0; i < 200; i++) {
+            graph.addVertex(T.id, i, "group", i % 7);
+        }
+        for (int i = 0; i < 200; i++) {
+            for (int j = 1; j <= i % 5; j++) {
+                g.V(i).addE("link").to(__.V((i * j + 13) % 200)).iterate();
+            }
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final GraphTraversalSource p = g.withStrategies(ParallelStrategy.build().pool(pool).partitions(16).create());
+            assertEquals(g.V().out().out().count().next(), p.V().out().out().count().next());
+            assertEquals(g.V().out().out().values("group").sum().next(), p.V().out().out().values("group").sum().next());
+            assertEquals(g.V().out().out().groupCount().by("group").next(), p.V().out().out().groupCount().by("group").next());
+            // the partitions bulk at barrier() on their own so only the contents of a fold() are the same
+            assertEquals(g.V().both().id().order().fold().next(), p.V().both().id().order().fold().next());
+            assertEquals(new HashSet<>(g.V().both().id().fold().next()), new HashSet<>(p.V().both().id().fold().next()));
+            assertEquals(g.V().out().out().order().by(T.id, Order.desc).id().toList(),
+                    p.V().out().out().order().by(T.id, Order.desc).id().toList());
+            assertThat(p.V().out().out().count().explain().toString(), containsString("ParallelStep"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldJoinByHash() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final GraphTraversalSource g = graph.traversal();
+        for (int i = 0; i < 200; i++) {
+            // numbers of different types that are still equal to one another
+            final Number score = i % 3 == 0 ? (Number) (i % 10) : i % 3 == 1 ? (Number) (long) (i % 10) : (Number) (double) (i % 10);
+            graph.addVertex(T.id, i, "group", i % 7, "score", score);
+        }
+        for (int i = 0; i < 200; i++) {
+            for (int j = 1; j <= i % 5; j++) {
+                g.V(i).addE("link").to(__.V((i * j + 13) % 200)).iterate();
+            }
+        }
+
+        final GraphTraversalSource h = g.withStrategies(HashJoinStrategy.instance());
+        assertEquals(g.V().as("a").out().V().as("b").where("a", P.eq("b")).by("group").select("a", "b").by(T.id).toList(),
+                h.V().as("a").out().V().as("b").where("a", P.eq("b")).by("group").select("a", "b").by(T.id).toList());
+        assertEquals(g.V().has("group", 3).as("a").V().out().as("b").where(P.eq("a")).by("score").select("a", "b").by(T.id).toList(),
+                h.V().has("group", 3).as("a").V().out().as("b").where(P.eq("a")).by("score").select("a", "b").by(T.id).toList());
+        assertEquals(g.V().out().as("a").V().has("group", P.gt(2)).out().as("b").where("a", P.eq("b")).by("group").by("score").count().next(),
+                h.V().out().as("a").V().has("group", P.gt(2)).out().as("b").where("a", P.eq("b")).by("group").by("score").count().next());
+        assertEquals(g.V().out().out().as("a").V().as("b").where("a", P.eq("b")).count().next(),
+                h.V().out().out().as("a").V().as("b").where("a", P.eq("b")).count().next());
+        assertThat(h.V().as("a").V().as("b").where("a", P.eq("b")).by("group").explain().toString(), containsString("HashJoinStep"));
+    }
+
+    @Test
+    public void shouldSpillOrderToDisk() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final GraphTraversalSource g = graph.traversal();
+        for (int i = 0; i < 300; i++) {
+            graph.addVertex(T.id, i, "name", "v" + (i * 7919 % 300), "score", i % 17);
+        }
+        for (int i = 0; i < 300; i++) {
+            g.V(i).addE("link").to(__.V((i * 31 + 7) % 300)).property("weight", i % 5).iterate();
+            g.V(i).addE("link").to(__.V((i * 17 + 3) % 300)).property("weight", i % 3).iterate();
+        }
+
+        final GraphTraversalSource h = g.withStrategies(SpillStrategy.build().maxInMemory(16).create());
+        assertEquals(g.V().order().by("name").values("name").toList(),
+                h.V().order().by("name").values("name").toList());
+        assertEquals(g.V().out().order().by("score", Order.desc).by(T.id).out().id().toList(),
+                h.V().out().order().by("score", Order.desc).by(T.id).out().id().toList());
+        assertEquals(g.E().order().by("weight").by(T.id).inV().values("name").toList(),
+                h.E().order().by("weight").by(T.id).inV().values("name").toList());
+        assertEquals(g.V().properties("name").order().by(T.value, Order.desc).element().id().toList(),
+                h.V().properties("name").order().by(T.value, Order.desc).element().id().toList());
+        assertEquals(g.V().as("a").out().order().by("name").select("a").id().toList(),
+                h.V().as("a").out().order().by("name").select("a").id().toList());
+        try (final Traversal<Vertex, Vertex> traversal = h.V().order().by("name")) {
+            assertThat(traversal.next(), instanceOf(TinkerVertex.class));
+        }
+    }
+
     @Test
     public void shouldReservedKeyVerify() {
         final Set<String> reserved = new HashSet<>(Arrays.asList("something", "id", "label"));